@@ -0,0 +1,103 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers.chocosolver;
+
+import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.solvers.CancellationToken;
+import nl.svenkonings.jacomo.solvers.PreparedModel;
+import nl.svenkonings.jacomo.solvers.SolveResult;
+import nl.svenkonings.jacomo.solvers.SolveStatistics;
+import nl.svenkonings.jacomo.solvers.SolveStatus;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.IntVar;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Prepared model which keeps the translated Choco model.
+ * <p>
+ * Choco models can't be copied, so the same model is reused for every solve.
+ * Before solving, an equality constraint is posted for every bound parameter
+ * var. After solving, the solver is reset to its initial state and the
+ * equality constraints are removed again.
+ */
+final class ChocoPreparedModel extends PreparedModel {
+    private final @NotNull ChocoVisitor visitor;
+    private final @Nullable IntVar objectiveVar;
+    private final long timeLimit;
+    private final @NotNull Map<String, IntVar> parameterVars;
+
+    /**
+     * Create a new prepared model.
+     *
+     * @param model        the checked and presolved model
+     * @param parameters   the names of the parameter vars
+     * @param visitor      the visitor which translated the model
+     * @param objectiveVar the Choco var of the objective, or {@code null} if the model has no objective
+     * @param timeLimit    the time limit in milliseconds, or 0 for no time limit
+     */
+    ChocoPreparedModel(@NotNull Model model, @NotNull Collection<String> parameters, @NotNull ChocoVisitor visitor,
+                       @Nullable IntVar objectiveVar, long timeLimit) {
+        super(model, parameters);
+        this.visitor = visitor;
+        this.objectiveVar = objectiveVar;
+        this.timeLimit = timeLimit;
+        parameterVars = new HashMap<>(parameters.size());
+        for (String name : parameters) {
+            IntVar var = visitor.getIntVars().get(name);
+            if (var == null) {
+                var = visitor.getBoolVars().get(name);
+            }
+            if (var == null) {
+                throw new UnexpectedTypeException("Parameter %s has not been translated to a Choco var", name);
+            }
+            parameterVars.put(name, var);
+        }
+    }
+
+    @Override
+    public @NotNull SolveResult optimize(@Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation) {
+        org.chocosolver.solver.Model chocoModel = visitor.getModel();
+        Solver solver = chocoModel.getSolver();
+        List<Constraint> bindings = new ArrayList<>();
+        try {
+            getBindings().forEach((name, value) -> {
+                Constraint binding = chocoModel.arithm(parameterVars.get(name), "=", value);
+                binding.post();
+                bindings.add(binding);
+            });
+            ChocoSolver.configure(solver, timeLimit, cancellation);
+            if (objectiveVar == null) {
+                long start = System.nanoTime();
+                boolean solved = solver.solve();
+                List<ChocoVisitor> visitors = Collections.singletonList(visitor);
+                SolveStatistics statistics = ChocoSolver.statistics(visitors, 0, System.nanoTime() - start);
+                if (!solved) {
+                    SolveStatus status = ChocoSolver.completed(visitors) ? SolveStatus.INFEASIBLE : SolveStatus.UNKNOWN;
+                    return SolveResult.noSolution(status).withStatistics(statistics);
+                }
+                return new SolveResult(SolveStatus.OPTIMAL, ChocoSolver.getResult(getModel(), visitor), null, null, statistics);
+            }
+            return ChocoSolver.optimize(getModel(), getModel().getObjective(), Collections.singletonList(visitor),
+                    Collections.singletonList(objectiveVar), null, 0, improvements);
+        } finally {
+            // Resetting also removes the stop criteria, constraints can only be removed from the initial state
+            solver.reset();
+            chocoModel.unpost(bindings.toArray(new Constraint[0]));
+        }
+    }
+}
@@ -11,23 +11,67 @@ import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
 import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
 import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
 import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.Objective;
+import nl.svenkonings.jacomo.model.SearchStrategy;
+import nl.svenkonings.jacomo.model.ValueMap;
 import nl.svenkonings.jacomo.model.VarMap;
+import nl.svenkonings.jacomo.solvers.CancellationToken;
+import nl.svenkonings.jacomo.solvers.PreparedModel;
+import nl.svenkonings.jacomo.solvers.Projection;
+import nl.svenkonings.jacomo.solvers.SolutionIterator;
+import nl.svenkonings.jacomo.solvers.SolveResult;
+import nl.svenkonings.jacomo.solvers.SolveStatistics;
+import nl.svenkonings.jacomo.solvers.SolveStatus;
 import nl.svenkonings.jacomo.solvers.Solver;
 import org.chocosolver.solver.ParallelPortfolio;
+import org.chocosolver.solver.objective.IObjectiveManager;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.measure.IMeasures;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Solver implementation using ChocoSolver.
+ * <p>
+ * With multiple workers, the model is translated concurrently for every
+ * member of a parallel portfolio. The members use different search
+ * heuristics, restart policies and random seeds, so they explore different
+ * parts of the search space. If the model has a {@link SearchStrategy}, every
+ * member uses it and the members only differ by their random seed.
+ * <p>
+ * The statistics of a solve contain the counters {@link #NODES},
+ * {@link #FAILS} and {@link #RESTARTS} measured by ChocoSolver.
  */
 public class ChocoSolver implements Solver {
+    /**
+     * Name of the counter of the number of search nodes, summed over the models of the portfolio.
+     */
+    public static final @NotNull String NODES = "nodes";
+    /**
+     * Name of the counter of the number of failures, summed over the models of the portfolio.
+     */
+    public static final @NotNull String FAILS = "fails";
+    /**
+     * Name of the counter of the number of restarts, summed over the models of the portfolio.
+     */
+    public static final @NotNull String RESTARTS = "restarts";
 
     private int workers;
     private long timeLimit;
+    private boolean presolve;
 
     /**
      * Create a new ChocoSolver solver.
@@ -35,6 +79,7 @@ public class ChocoSolver implements Solver {
     public ChocoSolver() {
         workers = 0;
         timeLimit = 0;
+        presolve = false;
     }
 
     /**
@@ -91,45 +136,452 @@ public class ChocoSolver implements Solver {
         this.timeLimit = timeLimit;
     }
 
+    /**
+     * Returns whether models are presolved before they are solved.
+     * A value of {@code false} (default) means the checked model is translated directly.
+     *
+     * @return {@code true} if models are presolved
+     */
+    @Override
+    public boolean isPresolve() {
+        return presolve;
+    }
+
+    /**
+     * Set whether models are presolved before they are solved.
+     * A value of {@code false} (default) means the checked model is translated directly.
+     *
+     * @param presolve {@code true} to presolve models
+     */
+    @Override
+    public void setPresolve(boolean presolve) {
+        this.presolve = presolve;
+    }
+
+    @Override
+    public @NotNull ChocoSolver withWorkers(int workers) {
+        ChocoSolver solver = new ChocoSolver();
+        solver.setWorkers(workers);
+        solver.setTimeLimit(timeLimit);
+        solver.setPresolve(presolve);
+        return solver;
+    }
+
     @Override
     public @Nullable VarMap solveUnchecked(@NotNull Model model) {
-        ChocoVisitor visitor;
-        if (workers == 1) {
-            visitor = new ChocoVisitor();
-            model.visit(visitor);
-            if (!visitor.getModel().getSolver().solve()) {
-                return null;
+        return optimizeUnchecked(model, null, new CancellationToken()).getSolution();
+    }
+
+    private @NotNull SolveResult satisfy(@NotNull Model model, @Nullable VarMap hint, @Nullable Projection projection,
+                                         @NotNull CancellationToken cancellation) {
+        long start = System.nanoTime();
+        List<ChocoVisitor> visitors = translate(model, hint, cancellation);
+        List<ProjectedVars> projected = ProjectedVars.of(model, visitors, projection);
+        long translationTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        ChocoVisitor visitor = null;
+        if (visitors.size() == 1) {
+            if (visitors.get(0).getModel().getSolver().solve()) {
+                visitor = visitors.get(0);
             }
         } else {
-            int threadCount = workers <= 0 ? Runtime.getRuntime().availableProcessors() : workers;
-            ParallelPortfolio parallelPortfolio = new ParallelPortfolio();
-            List<ChocoVisitor> parallelVisitors = new ArrayList<>(threadCount);
-            for (int i = 0; i < threadCount; i++) {
-                ChocoVisitor parallelVisitor = new ChocoVisitor();
-                model.visit(parallelVisitor);
-                org.chocosolver.solver.Model chocoModel = parallelVisitor.getModel();
-                if (timeLimit > 0) chocoModel.getSolver().limitTime(timeLimit);
-                parallelPortfolio.addModel(chocoModel);
-                parallelVisitors.add(parallelVisitor);
+            ParallelPortfolio parallelPortfolio = new ParallelPortfolio(!model.hasSearchStrategy());
+            visitors.forEach(parallelVisitor -> parallelPortfolio.addModel(parallelVisitor.getModel()));
+            parallelPortfolio.stealNogoodsOnRestarts();
+            if (parallelPortfolio.solve()) {
+                org.chocosolver.solver.Model bestModel = parallelPortfolio.getBestModel();
+                visitor = visitors.stream()
+                        .filter(v -> v.getModel() == bestModel)
+                        .findAny()
+                        .orElseThrow(() -> new NoSuchElementException("No visitor matching the solved model was found"));
+            }
+        }
+        SolveStatistics statistics = statistics(visitors, translationTime, System.nanoTime() - start);
+        if (visitor == null) {
+            return SolveResult.noSolution(completed(visitors) ? SolveStatus.INFEASIBLE : SolveStatus.UNKNOWN).withStatistics(statistics);
+        }
+        return result(model, visitor, projected == null ? null : projected.get(visitors.indexOf(visitor)),
+                SolveStatus.OPTIMAL, null, null, statistics);
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective. Every model in the
+     * parallel portfolio optimizes the objective, and each improving solution
+     * found by one of the models is passed to the specified consumer.
+     *
+     * @param model        the specified model
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @return the result containing the best solution found
+     */
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements) {
+        return optimizeUnchecked(model, improvements, new CancellationToken());
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective if it has one. The
+     * token is added as stop criterion to the solver of every model in the
+     * parallel portfolio, so all search threads stop at their next search node
+     * when the token is cancelled.
+     *
+     * @param model        the specified model
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     */
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements,
+                                                  @NotNull CancellationToken cancellation) {
+        return optimizeUnchecked(model, null, null, improvements, cancellation);
+    }
+
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable VarMap hint, @Nullable Consumer<SolveResult> improvements,
+                                                  @NotNull CancellationToken cancellation) {
+        return optimizeUnchecked(model, hint, null, improvements, cancellation);
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective if it has one. The
+     * values of the hint are added as hints to the solver of every model in
+     * the parallel portfolio, so each search branches on the hinted values
+     * before falling back to its own search strategy. If a projection is
+     * specified, only the values of the projected vars are read from the
+     * Choco solutions.
+     *
+     * @param model        the specified model
+     * @param hint         the hinted values by var name, or {@code null}
+     * @param projection   the vars to include in the solutions, or {@code null} for all vars
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     */
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable VarMap hint, @Nullable Projection projection,
+                                                  @Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation) {
+        Objective objective = model.getObjective();
+        if (objective == null) {
+            return satisfy(model, hint, projection, cancellation);
+        }
+        long start = System.nanoTime();
+        List<ChocoVisitor> visitors = translate(model, hint, cancellation);
+        List<org.chocosolver.solver.variables.IntVar> objectiveVars = new ArrayList<>(visitors.size());
+        for (ChocoVisitor visitor : visitors) {
+            objectiveVars.add((org.chocosolver.solver.variables.IntVar) visitor.getModel().getObjective());
+        }
+        List<ProjectedVars> projected = ProjectedVars.of(model, visitors, projection);
+        return optimize(model, objective, visitors, objectiveVars, projected, System.nanoTime() - start, improvements);
+    }
+
+    /**
+     * Translate the specified model to a Choco model for every member of the
+     * parallel portfolio. The members are translated concurrently, the first
+     * member on the calling thread. The members only read the model, the
+     * expressions they create are interned by the thread-safe ExprFactory and
+     * the intervals of shared expressions are cached by thread-safe interval
+     * caches.
+     *
+     * @param model        the specified model
+     * @param hint         the hinted values by var name, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the translated members in member order
+     */
+    private @NotNull List<ChocoVisitor> translate(@NotNull Model model, @Nullable VarMap hint, @NotNull CancellationToken cancellation) {
+        int memberCount = workers == 1 ? 1 : workers <= 0 ? Runtime.getRuntime().availableProcessors() : workers;
+        if (memberCount == 1) {
+            return Collections.singletonList(translate(model, hint, 0, cancellation));
+        }
+        List<Future<ChocoVisitor>> futures = new ArrayList<>(memberCount - 1);
+        try {
+            for (int i = 1; i < memberCount; i++) {
+                int member = i;
+                futures.add(TranslationPool.POOL.submit(() -> translate(model, hint, member, cancellation)));
+            }
+            List<ChocoVisitor> visitors = new ArrayList<>(memberCount);
+            visitors.add(translate(model, hint, 0, cancellation));
+            for (Future<ChocoVisitor> future : futures) {
+                visitors.add(future.get());
+            }
+            return visitors;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while translating the model", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // Stops the remaining translations if one of them failed, completed translations are not affected
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private @NotNull ChocoVisitor translate(@NotNull Model model, @Nullable VarMap hint, int member,
+                                            @NotNull CancellationToken cancellation) {
+        ChocoVisitor visitor = new ChocoVisitor();
+        model.visit(visitor);
+        Objective objective = model.getObjective();
+        if (objective != null) {
+            visitor.objective(objective);
+        }
+        if (hint != null) {
+            visitor.hint(hint);
+        }
+        diversify(visitor.getModel(), member);
+        SearchStrategy strategy = model.getSearchStrategy();
+        if (strategy != null) {
+            visitor.search(strategy);
+        }
+        configure(visitor.getModel().getSolver(), timeLimit, cancellation);
+        return visitor;
+    }
+
+    // The parallel portfolio configures the search heuristic and restart policy of each member by its position,
+    // which repeats after a few members. A seed per member also breaks ties differently, so no two members are identical.
+    private static void diversify(@NotNull org.chocosolver.solver.Model model, int member) {
+        model.setSeed(model.getSeed() + member);
+    }
+
+    /**
+     * Translate the specified model to a Choco model, which can be solved
+     * repeatedly with different values for the specified parameter vars.
+     * The number of workers is not used, a prepared model is always solved by
+     * a single Choco solver.
+     *
+     * @param model      the specified model
+     * @param parameters the names of the parameter vars of the model
+     * @return the prepared model
+     */
+    @Override
+    public @NotNull PreparedModel prepareUnchecked(@NotNull Model model, @NotNull Collection<String> parameters) {
+        ChocoVisitor visitor = new ChocoVisitor();
+        model.visit(visitor);
+        org.chocosolver.solver.variables.IntVar objectiveVar = model.hasObjective() ? visitor.objective(model.getObjective()) : null;
+        SearchStrategy strategy = model.getSearchStrategy();
+        if (strategy != null) {
+            visitor.search(strategy);
+        }
+        return new ChocoPreparedModel(model, parameters, visitor, objectiveVar, timeLimit);
+    }
+
+    // Search the improving solutions of the translated models, using a portfolio if there are multiple models
+    static @NotNull SolveResult optimize(@NotNull Model model, @NotNull Objective objective, @NotNull List<ChocoVisitor> visitors,
+                                         @NotNull List<org.chocosolver.solver.variables.IntVar> objectiveVars,
+                                         @Nullable List<ProjectedVars> projected, long translationTime,
+                                         @Nullable Consumer<SolveResult> improvements) {
+        long start = System.nanoTime();
+        ParallelPortfolio parallelPortfolio = null;
+        if (visitors.size() > 1) {
+            parallelPortfolio = new ParallelPortfolio(!model.hasSearchStrategy());
+            for (ChocoVisitor visitor : visitors) {
+                parallelPortfolio.addModel(visitor.getModel());
             }
             parallelPortfolio.stealNogoodsOnRestarts();
-            if (!parallelPortfolio.solve()) {
+        }
+        SolveResult best = SolveResult.noSolution();
+        while (parallelPortfolio == null ? visitors.get(0).getModel().getSolver().solve() : parallelPortfolio.solve()) {
+            int index = 0;
+            if (parallelPortfolio != null) {
+                org.chocosolver.solver.Model bestModel = parallelPortfolio.getBestModel();
+                while (visitors.get(index).getModel() != bestModel) {
+                    index++;
+                }
+            }
+            long value = objectiveVars.get(index).getValue();
+            if (best.hasSolution() && !(objective.isMaximize() ? value > best.getObjectiveValue() : value < best.getObjectiveValue())) {
+                continue;
+            }
+            ChocoVisitor visitor = visitors.get(index);
+            IObjectiveManager<?> objectiveManager = visitor.getModel().getSolver().getObjectiveManager();
+            Number bound = objective.isMaximize() ? objectiveManager.getBestUB() : objectiveManager.getBestLB();
+            best = result(model, visitor, projected == null ? null : projected.get(index), SolveStatus.FEASIBLE,
+                    value, bound.longValue(), SolveStatistics.none());
+            if (improvements != null) {
+                improvements.accept(best);
+            }
+        }
+        SolveStatistics statistics = statistics(visitors, translationTime, System.nanoTime() - start);
+        // The search of one of the models completed, so no better solution exists
+        boolean completed = completed(visitors);
+        if (completed && best.hasSolution() && best.getValues() != null) {
+            return SolveResult.projected(SolveStatus.OPTIMAL, best.getValues(), best.getObjectiveValue(), best.getObjectiveValue(), statistics);
+        } else if (completed && best.hasSolution()) {
+            return new SolveResult(SolveStatus.OPTIMAL, best.getSolution(), best.getObjectiveValue(), best.getObjectiveValue(), statistics);
+        } else if (completed) {
+            return SolveResult.noSolution(SolveStatus.INFEASIBLE).withStatistics(statistics);
+        }
+        return best.withStatistics(statistics);
+    }
+
+    // The search of a model is only terminated when it has been completed, not when it has been stopped
+    static boolean completed(@NotNull List<ChocoVisitor> visitors) {
+        return visitors.stream()
+                .anyMatch(visitor -> visitor.getModel().getSolver().getSearchState() == SearchState.TERMINATED);
+    }
+
+    // The counters are summed over the models of the portfolio
+    static @NotNull SolveStatistics statistics(@NotNull List<ChocoVisitor> visitors, long translationTime, long searchTime) {
+        long nodes = 0;
+        long fails = 0;
+        long restarts = 0;
+        for (ChocoVisitor visitor : visitors) {
+            IMeasures measures = visitor.getModel().getSolver().getMeasures();
+            nodes += measures.getNodeCount();
+            fails += measures.getFailCount();
+            restarts += measures.getRestartCount();
+        }
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put(NODES, nodes);
+        counters.put(FAILS, fails);
+        counters.put(RESTARTS, restarts);
+        return new SolveStatistics(translationTime, searchTime, counters);
+    }
+
+    /**
+     * Returns an iterator which lazily searches the solutions of the specified
+     * model. The model is translated once, and each solution is found by
+     * resuming the search of the Choco solver. The number of workers is not
+     * used, solutions are always enumerated by a single solver.
+     *
+     * @param model the specified model
+     * @param limit the maximum number of solutions, or 0 for all solutions
+     * @return an iterator over the solutions
+     */
+    @Override
+    public @NotNull SolutionIterator solutionsUnchecked(@NotNull Model model, long limit) {
+        ChocoVisitor visitor = new ChocoVisitor();
+        model.visit(visitor);
+        SearchStrategy strategy = model.getSearchStrategy();
+        if (strategy != null) {
+            visitor.search(strategy);
+        }
+        org.chocosolver.solver.Solver solver = visitor.getModel().getSolver();
+        if (timeLimit > 0) solver.limitTime(timeLimit);
+        return new SolutionIterator(limit) {
+            @Override
+            protected @Nullable VarMap findNext() {
+                return solver.solve() ? getResult(model, visitor) : null;
+            }
+        };
+    }
+
+    static void configure(@NotNull org.chocosolver.solver.Solver solver, long timeLimit, @NotNull CancellationToken cancellation) {
+        if (timeLimit > 0) solver.limitTime(timeLimit);
+        solver.addStopCriterion(cancellation::isCancelled);
+    }
+
+    private static @NotNull SolveResult result(@NotNull Model model, @NotNull ChocoVisitor visitor, @Nullable ProjectedVars projected,
+                                               @NotNull SolveStatus status, @Nullable Long objectiveValue,
+                                               @Nullable Long objectiveBound, @NotNull SolveStatistics statistics) {
+        if (projected == null) {
+            return new SolveResult(status, getResult(model, visitor), objectiveValue, objectiveBound, statistics);
+        }
+        return SolveResult.projected(status, projected.getValues(), objectiveValue, objectiveBound, statistics);
+    }
+
+    /**
+     * The Choco vars of a projection, of which the values are read into a
+     * {@link ValueMap} without creating a var for each value. The models of a
+     * portfolio share the same index.
+     */
+    static class ProjectedVars {
+        private final @NotNull ValueMap.Index index;
+        private final @NotNull org.chocosolver.solver.variables.IntVar[] vars;
+
+        private ProjectedVars(@NotNull ValueMap.Index index, @NotNull ChocoVisitor visitor) {
+            this.index = index;
+            vars = new org.chocosolver.solver.variables.IntVar[index.size()];
+            for (int i = 0; i < vars.length; i++) {
+                String name = index.getName(i);
+                vars[i] = index.isBool(i) ? visitor.getBoolVars().get(name) : visitor.getIntVars().get(name);
+            }
+        }
+
+        static @Nullable List<ProjectedVars> of(@NotNull Model model, @NotNull List<ChocoVisitor> visitors,
+                                                @Nullable Projection projection) {
+            if (projection == null) {
                 return null;
             }
-            org.chocosolver.solver.Model bestModel = parallelPortfolio.getBestModel();
-            visitor = parallelVisitors.stream()
-                    .filter(v -> v.getModel() == bestModel)
-                    .findAny()
-                    .orElseThrow(() -> new NoSuchElementException("No visitor matching the solved model was found"));
+            List<String> names = projection.getNames(model);
+            ChocoVisitor first = visitors.get(0);
+            ValueMap.Index index = new ValueMap.Index(names.size());
+            for (String name : names) {
+                if (first.getBoolVars().containsKey(name)) {
+                    index.addBool(name);
+                } else if (first.getIntVars().containsKey(name)) {
+                    index.addInt(name);
+                }
+            }
+            List<ProjectedVars> result = new ArrayList<>(visitors.size());
+            for (ChocoVisitor visitor : visitors) {
+                result.add(new ProjectedVars(index, visitor));
+            }
+            return result;
+        }
+
+        @NotNull ValueMap getValues() {
+            int[] values = new int[vars.length];
+            for (int i = 0; i < vars.length; i++) {
+                values[i] = vars[i].getValue();
+                if (index.isBool(i) && values[i] != 0 && values[i] != 1) {
+                    throw new UnexpectedTypeException("Invalid boolean value returned by: %s", index.getName(i));
+                }
+            }
+            return new ValueMap(index, values);
+        }
+    }
+
+    static @NotNull VarMap getResult(@NotNull Model model, @NotNull ChocoVisitor visitor) {
+        Map<String, org.chocosolver.solver.variables.BoolVar> boolVars = visitor.getBoolVars();
+        Map<String, org.chocosolver.solver.variables.IntVar> intVars = visitor.getIntVars();
+        VarMap result = new VarMap(boolVars.size() + intVars.size());
+        // Add the model vars first, so the result indices match the model indices
+        for (int i = 0; i < model.varCount(); i++) {
+            addResult(result, model.getVar(i).getName(), boolVars, intVars);
+        }
+        if (result.size() < boolVars.size() + intVars.size()) {
+            boolVars.keySet().forEach(name -> addResult(result, name, boolVars, intVars));
+            intVars.keySet().forEach(name -> addResult(result, name, boolVars, intVars));
+        }
+        return result;
+    }
+
+    private static void addResult(@NotNull VarMap result, @NotNull String name,
+                                  @NotNull Map<String, org.chocosolver.solver.variables.BoolVar> boolVars,
+                                  @NotNull Map<String, org.chocosolver.solver.variables.IntVar> intVars) {
+        if (result.containsVar(name)) {
+            return;
         }
-        VarMap result = new VarMap();
-        visitor.getBoolVars().forEach((name, var) -> {
-            if (var.getValue() != 0 && var.getValue() != 1) {
+        org.chocosolver.solver.variables.BoolVar boolVar = boolVars.get(name);
+        if (boolVar != null) {
+            if (boolVar.getValue() != 0 && boolVar.getValue() != 1) {
                 throw new UnexpectedTypeException("Invalid boolean value returned by: %s", name);
             }
-            result.add(BoolVar.constant(name, var.getValue() == 1));
+            result.add(BoolVar.constant(name, boolVar.getValue() == 1));
+            return;
+        }
+        org.chocosolver.solver.variables.IntVar intVar = intVars.get(name);
+        if (intVar != null) {
+            result.add(IntVar.constant(name, intVar.getValue()));
+        }
+    }
+
+    /**
+     * Daemon threads which translate the portfolio members, shared by all
+     * solvers and created on first use. Idle threads are reused by later
+     * solves and expire when no models are translated.
+     */
+    private static final class TranslationPool {
+        private static final @NotNull ExecutorService POOL = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "jacomo-choco");
+            thread.setDaemon(true);
+            return thread;
         });
-        visitor.getIntVars().forEach((name, var) -> result.add(IntVar.constant(name, var.getValue())));
-        return result;
+
+        private TranslationPool() {
+        }
     }
 }
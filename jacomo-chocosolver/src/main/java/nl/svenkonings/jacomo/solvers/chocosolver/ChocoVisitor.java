@@ -10,22 +10,58 @@ import nl.svenkonings.jacomo.elem.Elem;
 import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
 import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.ConstantBoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.binary.AndExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.BiBoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.binary.OrExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryAndExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryBoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryOrExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.relational.ReBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.NotExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.CompositeIntExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.ConstantIntExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.AddExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.binary.BiIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.MulExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.SubExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.SumExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
+import nl.svenkonings.jacomo.elem.variables.Var;
 import nl.svenkonings.jacomo.elem.variables.bool.ExpressionBoolVar;
 import nl.svenkonings.jacomo.elem.variables.integer.ExpressionIntVar;
 import nl.svenkonings.jacomo.exceptions.unchecked.DuplicateNameException;
 import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
+import nl.svenkonings.jacomo.model.Objective;
+import nl.svenkonings.jacomo.model.SearchStrategy;
+import nl.svenkonings.jacomo.model.VarMap;
+import nl.svenkonings.jacomo.visitor.PostOrderTraverser;
 import nl.svenkonings.jacomo.visitor.Visitor;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Operator;
 import org.chocosolver.solver.expression.discrete.arithmetic.ArExpression;
 import org.chocosolver.solver.expression.discrete.arithmetic.NaArExpression;
 import org.chocosolver.solver.expression.discrete.relational.ReExpression;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMax;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMedian;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMiddle;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.selectors.variables.AntiFirstFail;
+import org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg;
+import org.chocosolver.solver.search.strategy.selectors.variables.FirstFail;
+import org.chocosolver.solver.search.strategy.selectors.variables.InputOrder;
+import org.chocosolver.solver.search.strategy.selectors.variables.Largest;
+import org.chocosolver.solver.search.strategy.selectors.variables.Smallest;
+import org.chocosolver.solver.search.strategy.selectors.variables.VariableSelector;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.jetbrains.annotations.NotNull;
@@ -46,6 +82,8 @@ public class ChocoVisitor implements Visitor<ChocoType> {
     private final @NotNull Map<Elem, ReExpression> reExpressionMap;
     private final @NotNull Map<Elem, ArExpression> arExpressionMap;
 
+    private boolean traversing;
+
     /**
      * Create a new ChocoSolver visitor.
      */
@@ -56,6 +94,7 @@ public class ChocoVisitor implements Visitor<ChocoType> {
         constraintMap = new HashMap<>();
         reExpressionMap = new HashMap<>();
         arExpressionMap = new HashMap<>();
+        traversing = false;
     }
 
     /**
@@ -85,6 +124,152 @@ public class ChocoVisitor implements Visitor<ChocoType> {
         return intVars;
     }
 
+    /**
+     * Sets the objective of the ChocoSolver model to the specified objective.
+     * The vars used by the objective should have been visited first.
+     *
+     * @param objective the specified objective
+     * @return the ChocoSolver variable containing the objective value
+     */
+    public @NotNull IntVar objective(@NotNull Objective objective) {
+        IntVar var = arExpression(objective.getExpr()).intVar();
+        model.setObjective(objective.isMaximize() ? Model.MAXIMIZE : Model.MINIMIZE, var);
+        return var;
+    }
+
+    /**
+     * Adds the values of the specified hint as hints to the solver of the
+     * ChocoSolver model. The solver branches on the hinted values first, until
+     * the first solution is found or the hinted values fail. Vars of the hint
+     * are matched by name, vars which have not been visited, have no value or
+     * have a value outside their domain are ignored. The vars should have been
+     * visited first.
+     *
+     * @param hint the hinted values by var name
+     */
+    public void hint(@NotNull VarMap hint) {
+        for (Var var : hint) {
+            if (!var.hasValue()) {
+                continue;
+            }
+            IntVar target;
+            int value;
+            if (var instanceof nl.svenkonings.jacomo.elem.variables.bool.BoolVar) {
+                target = boolVars.get(var.getName());
+                value = ((nl.svenkonings.jacomo.elem.variables.bool.BoolVar) var).getValue() ? 1 : 0;
+            } else if (var instanceof nl.svenkonings.jacomo.elem.variables.integer.IntVar) {
+                target = intVars.get(var.getName());
+                value = ((nl.svenkonings.jacomo.elem.variables.integer.IntVar) var).getValue();
+            } else {
+                continue;
+            }
+            if (target != null && !target.isInstantiated() && target.contains(value)) {
+                model.getSolver().addHint(target, value);
+            }
+        }
+    }
+
+    /**
+     * Sets the search of the solver of the ChocoSolver model to the specified
+     * search strategy. Decision vars which have not been visited are ignored,
+     * and the vars which are not decision vars are searched by the default
+     * search afterwards. The vars should have been visited first.
+     *
+     * @param strategy the specified search strategy
+     */
+    public void search(@NotNull SearchStrategy strategy) {
+        List<IntVar> decisionVars = new ArrayList<>();
+        if (strategy.getVars().isEmpty()) {
+            decisionVars.addAll(boolVars.values());
+            decisionVars.addAll(intVars.values());
+        } else {
+            for (String name : strategy.getVars()) {
+                IntVar var = boolVars.containsKey(name) ? boolVars.get(name) : intVars.get(name);
+                if (var != null) {
+                    decisionVars.add(var);
+                }
+            }
+        }
+        // Constants and aliased vars share ChocoSolver vars
+        IntVar[] vars = decisionVars.stream()
+                .filter(var -> !var.isInstantiated())
+                .distinct()
+                .toArray(IntVar[]::new);
+        org.chocosolver.solver.Solver solver = model.getSolver();
+        if (vars.length > 0) {
+            AbstractStrategy<IntVar> search;
+            if (strategy.getVarSelection() == SearchStrategy.VarSelection.ACTIVITY) {
+                search = Search.activityBasedSearch(vars);
+            } else {
+                search = Search.intVarSearch(varSelector(strategy.getVarSelection(), vars), valueSelector(strategy.getValueSelection()),
+                        decisionOperator(strategy.getValueSelection()), vars);
+            }
+            if (strategy.isLastConflict()) {
+                search = Search.lastConflict(search);
+            }
+            solver.setSearch(search);
+            solver.makeCompleteStrategy(true);
+        }
+        SearchStrategy.Restarts restarts = strategy.getRestarts();
+        switch (restarts.getPolicy()) {
+            case LUBY:
+                solver.setLubyRestart(restarts.getScale(), new FailCounter(model, 0), Integer.MAX_VALUE);
+                break;
+            case GEOMETRIC:
+                solver.setGeometricalRestart(restarts.getScale(), restarts.getFactor(), new FailCounter(model, 0), Integer.MAX_VALUE);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private VariableSelector<IntVar> varSelector(SearchStrategy.VarSelection varSelection, IntVar[] vars) {
+        switch (varSelection) {
+            case INPUT_ORDER:
+                return new InputOrder<>(model);
+            case SMALLEST_DOMAIN:
+                return new FirstFail(model);
+            case LARGEST_DOMAIN:
+                return new AntiFirstFail(model);
+            case SMALLEST_MIN:
+                return new Smallest();
+            case LARGEST_MAX:
+                return new Largest();
+            case DOM_OVER_WDEG:
+                return new DomOverWDeg<>(vars, model.getSeed());
+            default:
+                throw new UnexpectedTypeException("Unexpected var selection: %s", varSelection);
+        }
+    }
+
+    private static IntValueSelector valueSelector(SearchStrategy.ValueSelection valueSelection) {
+        switch (valueSelection) {
+            case MIN_VALUE:
+                return new IntDomainMin();
+            case MAX_VALUE:
+                return new IntDomainMax();
+            case MEDIAN_VALUE:
+                return new IntDomainMedian();
+            case SPLIT_LOWER:
+                return new IntDomainMiddle(IntDomainMiddle.FLOOR);
+            case SPLIT_UPPER:
+                return new IntDomainMiddle(!IntDomainMiddle.FLOOR);
+            default:
+                throw new UnexpectedTypeException("Unexpected value selection: %s", valueSelection);
+        }
+    }
+
+    private static DecisionOperator<IntVar> decisionOperator(SearchStrategy.ValueSelection valueSelection) {
+        switch (valueSelection) {
+            case SPLIT_LOWER:
+                return DecisionOperatorFactory.makeIntSplit();
+            case SPLIT_UPPER:
+                return DecisionOperatorFactory.makeIntReverseSplit();
+            default:
+                return DecisionOperatorFactory.makeIntEq();
+        }
+    }
+
     private void addBoolVar(String name, BoolVar var) {
         if (boolVars.containsKey(name)) {
             throw new DuplicateNameException("Variable name %s already exists. Var1: %s, Var2: %s", name, boolVars.get(name), var);
@@ -103,21 +288,49 @@ public class ChocoVisitor implements Visitor<ChocoType> {
         intVars.put(name, var);
     }
 
+    // Translates the descendants of the specified element bottom-up, in the context they are used in.
+    // Visiting the element afterwards only requires cached lookups for its children.
+    private void prepare(Elem elem) {
+        if (traversing) {
+            return;
+        }
+        traversing = true;
+        try {
+            new PostOrderTraverser(this::isTranslated, this::translate).traverseChildren(elem);
+        } finally {
+            traversing = false;
+        }
+    }
+
+    private boolean isTranslated(Elem elem) {
+        if (elem instanceof IntExpr) {
+            return arExpressionMap.containsKey(elem);
+        } else if (elem instanceof BoolExpr) {
+            return reExpressionMap.containsKey(elem);
+        } else {
+            return false;
+        }
+    }
+
+    private void translate(Elem elem) {
+        if (elem instanceof IntExpr) {
+            arExpression(elem);
+        } else if (elem instanceof BoolExpr) {
+            reExpression(elem);
+        }
+    }
+
     private Constraint constraint(Elem elem) {
         if (constraintMap.containsKey(elem)) {
             return constraintMap.get(elem);
         }
+        prepare(elem);
         ChocoType result = visit(elem);
         Constraint constraint;
         if (result.isConstraint()) {
             constraint = result.getConstraint();
         } else if (result.isReExpression()) {
-            ReExpression expr = result.getReExpression();
-            if (expr instanceof BoolVar) {
-                constraint = model.arithm((BoolVar) expr, "=", 1);
-            } else {
-                constraint = expr.decompose();
-            }
+            constraint = constraint(result.getReExpression());
         } else {
             throw new UnexpectedTypeException(elem);
         }
@@ -125,10 +338,187 @@ public class ChocoVisitor implements Visitor<ChocoType> {
         return constraint;
     }
 
+    private Constraint constraint(ReExpression expr) {
+        if (expr instanceof BoolVar) {
+            return model.arithm((BoolVar) expr, "=", 1);
+        } else {
+            return expr.decompose();
+        }
+    }
+
+    // Posts the specified top-level boolean expression, which holds if positive and does not hold otherwise.
+    // Conjunctions, negations and relations are posted directly without reification, as long as no disjunction
+    // or other element requires a reification literal.
+    private void post(BoolExpr root) {
+        Deque<Map.Entry<BoolExpr, Boolean>> stack = new ArrayDeque<>();
+        stack.push(new AbstractMap.SimpleImmutableEntry<>(root, true));
+        while (!stack.isEmpty()) {
+            Map.Entry<BoolExpr, Boolean> entry = stack.pop();
+            BoolExpr expr = entry.getKey();
+            boolean positive = entry.getValue();
+            if (expr instanceof NotExpr) {
+                stack.push(new AbstractMap.SimpleImmutableEntry<>(((NotExpr) expr).getExpr(), !positive));
+            } else if (positive && (expr instanceof AndExpr || expr instanceof NaryAndExpr)
+                    || !positive && (expr instanceof OrExpr || expr instanceof NaryOrExpr)) {
+                // Both a conjunction and a negated disjunction require every (negated) child to hold
+                List<? extends Elem> children = expr.getChildren();
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(new AbstractMap.SimpleImmutableEntry<>((BoolExpr) children.get(i), positive));
+                }
+            } else if (expr instanceof ReBoolExpr) {
+                post((ReBoolExpr) expr, positive);
+            } else if (positive) {
+                post(constraint(expr));
+            } else {
+                constraint(reExpression(expr).not()).post();
+            }
+        }
+    }
+
+    // Posts the specified cached constraint, unless it has already been posted for another top-level constraint
+    // which shares the same subexpression. A ChocoSolver constraint can only be posted once.
+    private static void post(Constraint constraint) {
+        if (constraint.getStatus() != Constraint.Status.POSTED) {
+            constraint.post();
+        }
+    }
+
+    private Operator operator(ReBoolExpr reBoolExpr) {
+        switch (reBoolExpr.getType()) {
+            case "EqExpr":
+                return Operator.EQ;
+            case "NeExpr":
+                return Operator.NQ;
+            case "GtExpr":
+                return Operator.GT;
+            case "GeExpr":
+                return Operator.GE;
+            case "LtExpr":
+                return Operator.LT;
+            case "LeExpr":
+                return Operator.LE;
+            default:
+                throw new UnexpectedTypeException(reBoolExpr);
+        }
+    }
+
+    // Posts left - right <operator> 0 as a single arithm, sum or scalar constraint over the linear terms of both sides
+    private void post(ReBoolExpr reBoolExpr, boolean positive) {
+        Operator operator = positive ? operator(reBoolExpr) : Operator.getOpposite(operator(reBoolExpr));
+        Map<IntVar, Long> terms = new LinkedHashMap<>();
+        IntVar[] vars;
+        int[] coeffs;
+        int rhs;
+        try {
+            long constant = Math.addExact(linear(reBoolExpr.getLeft(), 1, terms), linear(reBoolExpr.getRight(), -1, terms));
+            terms.values().removeIf(coeff -> coeff == 0);
+            vars = terms.keySet().toArray(new IntVar[0]);
+            coeffs = terms.values().stream().mapToInt(Math::toIntExact).toArray();
+            rhs = Math.toIntExact(Math.negateExact(constant));
+        } catch (ArithmeticException e) {
+            // The coefficients do not fit in an int, the reified expression handles large intermediate values
+            ReExpression expr = reExpression(reBoolExpr);
+            constraint(positive ? expr : expr.not()).post();
+            return;
+        }
+        String op = operator.toString();
+        if (vars.length == 0) {
+            (holds(operator, rhs) ? model.trueConstraint() : model.falseConstraint()).post();
+        } else if (vars.length == 1 && coeffs[0] == 1) {
+            model.arithm(vars[0], op, rhs).post();
+        } else if (vars.length == 1 && coeffs[0] == -1 && rhs == Integer.MIN_VALUE) {
+            // The negated rhs does not fit in an int, but -x is always larger than the minimum value
+            (holds(operator, -1) ? model.trueConstraint() : model.falseConstraint()).post();
+        } else if (vars.length == 1 && coeffs[0] == -1) {
+            model.arithm(vars[0], Operator.getFlip(op), -rhs).post();
+        } else if (vars.length == 2 && coeffs[0] == 1 && coeffs[1] == 1) {
+            model.arithm(vars[0], "+", vars[1], op, rhs).post();
+        } else if (vars.length == 2 && coeffs[0] == 1 && coeffs[1] == -1) {
+            model.arithm(vars[0], "-", vars[1], op, rhs).post();
+        } else if (vars.length == 2 && coeffs[0] == -1 && coeffs[1] == 1) {
+            model.arithm(vars[1], "-", vars[0], op, rhs).post();
+        } else if (Arrays.stream(coeffs).allMatch(coeff -> coeff == 1)) {
+            model.sum(vars, op, rhs).post();
+        } else {
+            model.scalar(vars, coeffs, op, rhs).post();
+        }
+    }
+
+    // Returns whether 0 <operator> rhs holds
+    private static boolean holds(Operator operator, int rhs) {
+        switch (operator) {
+            case EQ:
+                return 0 == rhs;
+            case NQ:
+                return 0 != rhs;
+            case GT:
+                return 0 > rhs;
+            case GE:
+                return 0 >= rhs;
+            case LT:
+                return 0 < rhs;
+            case LE:
+                return 0 <= rhs;
+            default:
+                throw new UnexpectedTypeException("Unexpected operator: %s", operator);
+        }
+    }
+
+    // Adds the linear terms of the specified expression multiplied by the specified factor, and returns the constant.
+    // Non-linear subexpressions and subexpressions which occur more than once are translated to a single var.
+    private long linear(IntExpr root, long factor, Map<IntVar, Long> terms) {
+        long constant = 0;
+        Set<IntExpr> expanded = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Map.Entry<IntExpr, Long>> stack = new ArrayDeque<>();
+        stack.push(new AbstractMap.SimpleImmutableEntry<>(root, factor));
+        while (!stack.isEmpty()) {
+            Map.Entry<IntExpr, Long> entry = stack.pop();
+            IntExpr expr = entry.getKey();
+            long coeff = entry.getValue();
+            if (expr instanceof ConstantIntExpr) {
+                constant = Math.addExact(constant, Math.multiplyExact(coeff, ((ConstantIntExpr) expr).getValue()));
+                continue;
+            } else if (isLinear(expr) && expanded.add(expr)) {
+                if (expr instanceof WeightedSumExpr) {
+                    WeightedSumExpr weightedSumExpr = (WeightedSumExpr) expr;
+                    constant = Math.addExact(constant, Math.multiplyExact(coeff, weightedSumExpr.getOffset()));
+                    for (int i = 0; i < weightedSumExpr.size(); i++) {
+                        stack.push(new AbstractMap.SimpleImmutableEntry<>(weightedSumExpr.getChildren().get(i),
+                                Math.multiplyExact(coeff, weightedSumExpr.getCoeff(i))));
+                    }
+                } else if (expr instanceof MulExpr) {
+                    MulExpr mulExpr = (MulExpr) expr;
+                    boolean leftConstant = mulExpr.getLeft() instanceof ConstantIntExpr;
+                    int value = ((ConstantIntExpr) (leftConstant ? mulExpr.getLeft() : mulExpr.getRight())).getValue();
+                    stack.push(new AbstractMap.SimpleImmutableEntry<>(leftConstant ? mulExpr.getRight() : mulExpr.getLeft(),
+                            Math.multiplyExact(coeff, value)));
+                } else if (expr instanceof SubExpr) {
+                    stack.push(new AbstractMap.SimpleImmutableEntry<>(((SubExpr) expr).getLeft(), coeff));
+                    stack.push(new AbstractMap.SimpleImmutableEntry<>(((SubExpr) expr).getRight(), -coeff));
+                } else {
+                    for (IntExpr child : ((CompositeIntExpr) expr).getChildren()) {
+                        stack.push(new AbstractMap.SimpleImmutableEntry<>(child, coeff));
+                    }
+                }
+                continue;
+            }
+            terms.merge(arExpression(expr).intVar(), coeff, Math::addExact);
+        }
+        return constant;
+    }
+
+    private static boolean isLinear(IntExpr expr) {
+        if (expr instanceof MulExpr) {
+            return ((MulExpr) expr).getLeft() instanceof ConstantIntExpr || ((MulExpr) expr).getRight() instanceof ConstantIntExpr;
+        }
+        return expr instanceof AddExpr || expr instanceof SubExpr || expr instanceof SumExpr || expr instanceof WeightedSumExpr;
+    }
+
     private ReExpression reExpression(Elem elem) {
         if (reExpressionMap.containsKey(elem)) {
             return reExpressionMap.get(elem);
         }
+        prepare(elem);
         ChocoType result = visit(elem);
         ReExpression expr;
         if (result.isReExpression()) {
@@ -146,6 +536,7 @@ public class ChocoVisitor implements Visitor<ChocoType> {
         if (arExpressionMap.containsKey(elem)) {
             return arExpressionMap.get(elem);
         }
+        prepare(elem);
         ChocoType result = visit(elem);
         ArExpression expr;
         if (result.isArExpression()) {
@@ -159,8 +550,7 @@ public class ChocoVisitor implements Visitor<ChocoType> {
 
     @Override
     public ChocoType visitBoolExprConstraint(BoolExprConstraint boolExprConstraint) {
-        Constraint constraint = constraint(boolExprConstraint.getExpr());
-        constraint.post();
+        post(boolExprConstraint.getExpr());
         return ChocoType.none();
     }
 
@@ -178,34 +568,30 @@ public class ChocoVisitor implements Visitor<ChocoType> {
 
     @Override
     public ChocoType visitBiBoolExpr(BiBoolExpr biBoolExpr) {
-        BoolVar[] vars = collectAll(biBoolExpr).toArray(new BoolVar[0]);
+        BoolVar left = reExpression(biBoolExpr.getLeft()).boolVar();
+        BoolVar right = reExpression(biBoolExpr.getRight()).boolVar();
         switch (biBoolExpr.getType()) {
             case "AndExpr":
-                return ChocoType.constraint(model.and(vars));
+                return ChocoType.constraint(model.and(left, right));
             case "OrExpr":
-                return ChocoType.constraint(model.or(vars));
+                return ChocoType.constraint(model.or(left, right));
             default:
                 throw new UnexpectedTypeException(biBoolExpr);
         }
     }
 
-    // Collects all children of chained binary boolean expressions with the same type
-    private List<BoolVar> collectAll(BiBoolExpr expr) {
-        List<BoolVar> vars = new ArrayList<>();
-        collectAll(expr, vars);
-        return vars;
-    }
-
-    private void collectAll(BiBoolExpr expr, List<BoolVar> vars) {
-        collectAll(expr, expr.getLeft(), vars);
-        collectAll(expr, expr.getRight(), vars);
-    }
-
-    private void collectAll(BiBoolExpr expr, BoolExpr child, List<BoolVar> vars) {
-        if (expr.getType().equals(child.getType())) {
-            collectAll((BiBoolExpr) child, vars);
-        } else {
-            vars.add(reExpression(child).boolVar());
+    @Override
+    public ChocoType visitNaryBoolExpr(NaryBoolExpr naryBoolExpr) {
+        BoolVar[] vars = naryBoolExpr.getChildren().stream()
+                .map(child -> reExpression(child).boolVar())
+                .toArray(BoolVar[]::new);
+        switch (naryBoolExpr.getType()) {
+            case "NaryAndExpr":
+                return ChocoType.constraint(model.and(vars));
+            case "NaryOrExpr":
+                return ChocoType.constraint(model.or(vars));
+            default:
+                throw new UnexpectedTypeException(naryBoolExpr);
         }
     }
 
@@ -239,73 +625,71 @@ public class ChocoVisitor implements Visitor<ChocoType> {
 
     @Override
     public ChocoType visitBiIntExpr(BiIntExpr biIntExpr) {
-        switch (biIntExpr.getType()) {
-            case "SubExpr":
-            case "DivExpr":
-                return nonAssociativeBiIntExpr(biIntExpr);
-            case "AddExpr":
-            case "MulExpr":
-            case "MinExpr":
-            case "MaxExpr":
-                return associativeBiIntExpr(biIntExpr);
-            default:
-                throw new UnexpectedTypeException(biIntExpr);
-        }
-    }
-
-    private ChocoType nonAssociativeBiIntExpr(BiIntExpr biIntExpr) {
         ArExpression left = arExpression(biIntExpr.getLeft());
         ArExpression right = arExpression(biIntExpr.getRight());
         switch (biIntExpr.getType()) {
+            case "AddExpr":
+                return ChocoType.arExpression(left.add(right));
             case "SubExpr":
                 return ChocoType.arExpression(left.sub(right));
+            case "MulExpr":
+                return ChocoType.arExpression(left.mul(right));
             case "DivExpr":
                 return ChocoType.arExpression(left.div(right));
+            case "MinExpr":
+                return ChocoType.arExpression(left.min(right));
+            case "MaxExpr":
+                return ChocoType.arExpression(left.max(right));
             default:
                 throw new UnexpectedTypeException(biIntExpr);
         }
     }
 
-    private ChocoType associativeBiIntExpr(BiIntExpr biIntExpr) {
-        ArExpression[] children = collectAll(biIntExpr).toArray(new ArExpression[0]);
+    @Override
+    public ChocoType visitNaryIntExpr(NaryIntExpr naryIntExpr) {
+        ArExpression[] children = naryIntExpr.getChildren().stream()
+                .map(this::arExpression)
+                .toArray(ArExpression[]::new);
+        if (children.length == 1) {
+            return ChocoType.arExpression(children[0]);
+        }
         ArExpression.Operator operator;
-        switch (biIntExpr.getType()) {
-            case "AddExpr":
+        switch (naryIntExpr.getType()) {
+            case "SumExpr":
                 operator = ArExpression.Operator.ADD;
                 break;
-            case "MulExpr":
-                operator = ArExpression.Operator.MUL;
-                break;
-            case "MinExpr":
+            case "NaryMinExpr":
                 operator = ArExpression.Operator.MIN;
                 break;
-            case "MaxExpr":
+            case "NaryMaxExpr":
                 operator = ArExpression.Operator.MAX;
                 break;
             default:
-                throw new UnexpectedTypeException(biIntExpr);
+                throw new UnexpectedTypeException(naryIntExpr);
         }
         return ChocoType.arExpression(new NaArExpression(operator, children));
     }
 
-    // Collects all children of chained binary integer expressions with the same type
-    private List<ArExpression> collectAll(BiIntExpr expr) {
-        List<ArExpression> results = new ArrayList<>();
-        collectAll(expr, results);
-        return results;
-    }
-
-    private void collectAll(BiIntExpr expr, List<ArExpression> results) {
-        collectAll(expr, expr.getLeft(), results);
-        collectAll(expr, expr.getRight(), results);
-    }
-
-    private void collectAll(BiIntExpr expr, IntExpr child, List<ArExpression> results) {
-        if (expr.getType().equals(child.getType())) {
-            collectAll((BiIntExpr) child, results);
-        } else {
-            results.add(arExpression(child));
+    @Override
+    public ChocoType visitWeightedSumExpr(WeightedSumExpr weightedSumExpr) {
+        int size = weightedSumExpr.size();
+        IntVar[] vars = new IntVar[size + 1];
+        int[] coeffs = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            vars[i] = arExpression(weightedSumExpr.getChildren().get(i)).intVar();
+            coeffs[i] = weightedSumExpr.getCoeff(i);
         }
+        // The sum may exceed the default bounds of ChocoSolver vars, only values outside the int range are impossible
+        Interval interval = weightedSumExpr.getInterval();
+        long lb = Math.max(interval.getLower(), Integer.MIN_VALUE);
+        long ub = Math.min(interval.getUpper(), Integer.MAX_VALUE);
+        // If the sum is always outside the int range, the scalar constraint below makes the model infeasible
+        IntVar var = lb <= ub ? model.intVar((int) lb, (int) ub) : model.intVar(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        // sum(coeffs * vars) - var == -offset
+        vars[size] = var;
+        coeffs[size] = -1;
+        model.scalar(vars, coeffs, "=", -weightedSumExpr.getOffset()).post();
+        return ChocoType.arExpression(var);
     }
 
     @Override
@@ -6,8 +6,17 @@
 
 package nl.svenkonings.jacomo.solvers.chocosolver;
 
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.VarMap;
+import nl.svenkonings.jacomo.solvers.SolveResult;
+import nl.svenkonings.jacomo.solvers.SolveStatus;
 import nl.svenkonings.jacomo.solvers.Solver;
 import nl.svenkonings.jacomo.solvers.SolverTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ChocoSolverTest implements SolverTest {
 
@@ -15,4 +24,77 @@ public class ChocoSolverTest implements SolverTest {
     public Solver getSolver() {
         return new ChocoSolver();
     }
+
+    @Test
+    public void weightedSumBeyondDefaultBounds() {
+        // The weighted sum exceeds the default bounds of ChocoSolver vars
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 100000);
+        IntVar z = model.intVar("z", 0, 100000);
+        IntVar y = model.intVar("y", IntExpr.weightedSum(new IntExpr[]{x, z}, new int[]{1000, 1}));
+        model.constraint(x.ge(IntExpr.constant(50000)));
+        model.constraint(y.ne(z));
+        VarMap solution = getSolver().solve(model);
+        assertNotNull(solution);
+        int xValue = ((IntVar) solution.getVar("x")).getValue();
+        int zValue = ((IntVar) solution.getVar("z")).getValue();
+        assertEquals(1000 * xValue + zValue, ((IntVar) solution.getVar("y")).getValue());
+        assertTrue(xValue >= 50000);
+    }
+
+    @Test
+    public void defaultBoundTightening() {
+        // Presolving is disabled by default, the unary constraints still determine the translated domains
+        Model model = new Model();
+        IntVar x = model.intVar("x");
+        IntVar y = model.intVar("y");
+        model.constraint(x.ge(IntExpr.constant(0)).and(x.le(IntExpr.constant(10))));
+        model.constraint(y.mul(IntExpr.constant(2)).add(IntExpr.constant(1)).le(IntExpr.constant(9)));
+        model.constraint(y.ge(IntExpr.constant(-3)));
+        model.constraint(x.add(y).ge(IntExpr.constant(5)));
+        Solver solver = getSolver();
+        assertFalse(solver.isPresolve());
+        Model presolved = solver.presolve(model.check());
+        assertNotNull(presolved);
+        ChocoVisitor visitor = new ChocoVisitor();
+        presolved.visit(visitor);
+        org.chocosolver.solver.variables.IntVar chocoX = visitor.getIntVars().get("x");
+        org.chocosolver.solver.variables.IntVar chocoY = visitor.getIntVars().get("y");
+        assertEquals(0, chocoX.getLB());
+        assertEquals(10, chocoX.getUB());
+        assertEquals(-3, chocoY.getLB());
+        assertEquals(4, chocoY.getUB());
+        assertEquals(1, presolved.constraintCount());
+    }
+
+    @Test
+    public void concurrentTranslation() {
+        // Every member of the portfolio translates the same model on its own thread, so the members
+        // intern expressions and compute the intervals of the shared expressions concurrently
+        for (int round = 0; round < 5; round++) {
+            SolveResult single = concurrentTranslationModel(1, round);
+            SolveResult portfolio = concurrentTranslationModel(4, round);
+            assertEquals(SolveStatus.OPTIMAL, single.getStatus());
+            assertEquals(SolveStatus.OPTIMAL, portfolio.getStatus());
+            assertEquals(single.getObjectiveValue(), portfolio.getObjectiveValue());
+        }
+    }
+
+    private static SolveResult concurrentTranslationModel(int workers, int round) {
+        Model model = new Model();
+        IntVar[] vars = new IntVar[6];
+        int[] coeffs = new int[vars.length];
+        for (int i = 0; i < vars.length; i++) {
+            vars[i] = model.intVar("x" + i, 0, 10);
+            coeffs[i] = 1 + (i + round) % 4;
+        }
+        IntExpr shared = IntExpr.weightedSum(vars, coeffs);
+        for (int i = 0; i < vars.length; i++) {
+            model.constraint(shared.add(vars[i].mul(IntExpr.constant(i + 1))).le(IntExpr.constant(60 + round)));
+        }
+        model.maximize(shared.sub(IntExpr.maximum(vars)));
+        ChocoSolver solver = new ChocoSolver();
+        solver.setWorkers(workers);
+        return solver.optimize(model);
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers.ortools;
+
+import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.IntegerVariableProto;
+import com.google.ortools.sat.Literal;
+import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.solvers.CancellationToken;
+import nl.svenkonings.jacomo.solvers.PreparedModel;
+import nl.svenkonings.jacomo.solvers.SolveResult;
+import nl.svenkonings.jacomo.solvers.SolveStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Prepared model which keeps the translated CP-SAT model.
+ * <p>
+ * Parameter vars are bound by replacing their domain in the CP-SAT model with
+ * the bound value, and unbound by restoring their original domain. The CP-SAT
+ * model itself is reused for every solve.
+ */
+final class OrToolsPreparedModel extends PreparedModel {
+    private final @NotNull OrToolsVisitor visitor;
+    private final int workers;
+    private final long timeLimit;
+    private final @NotNull Map<String, IntVar> parameterVars;
+    private final @NotNull Map<String, long[]> domains;
+
+    /**
+     * Create a new prepared model.
+     *
+     * @param model      the checked and presolved model
+     * @param parameters the names of the parameter vars
+     * @param visitor    the visitor which translated the model, including its objective
+     * @param workers    the number of workers used to search for a solution
+     * @param timeLimit  the time limit in milliseconds, or 0 for no time limit
+     */
+    OrToolsPreparedModel(@NotNull Model model, @NotNull Collection<String> parameters, @NotNull OrToolsVisitor visitor,
+                         int workers, long timeLimit) {
+        super(model, parameters);
+        this.visitor = visitor;
+        this.workers = workers;
+        this.timeLimit = timeLimit;
+        parameterVars = new HashMap<>(parameters.size());
+        domains = new HashMap<>(parameters.size());
+        for (String name : parameters) {
+            IntVar var = parameterVar(name);
+            parameterVars.put(name, var);
+            domains.put(name, var.getDomain().flattenedIntervals());
+        }
+    }
+
+    private @NotNull IntVar parameterVar(@NotNull String name) {
+        IntVar intVar = visitor.getIntVars().get(name);
+        if (intVar != null) {
+            return intVar;
+        }
+        Literal boolVar = visitor.getBoolVars().get(name);
+        if (boolVar instanceof IntVar) {
+            return (IntVar) boolVar;
+        }
+        throw new UnexpectedTypeException("Parameter %s has not been translated to a CP-SAT var", name);
+    }
+
+    @Override
+    public @NotNull SolveResult optimize(@Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation) {
+        Map<String, Integer> bindings = getBindings();
+        for (Map.Entry<String, IntVar> entry : parameterVars.entrySet()) {
+            long[] domain = domains.get(entry.getKey());
+            Integer value = bindings.get(entry.getKey());
+            if (value != null && !contains(domain, value)) {
+                return SolveResult.noSolution(SolveStatus.INFEASIBLE);
+            }
+            // Constants are shared by the CP-SAT model, so their domain is never replaced
+            if (domain.length > 2 || domain[0] != domain[1]) {
+                IntegerVariableProto.Builder builder = entry.getValue().getBuilder().clearDomain();
+                if (value == null) {
+                    for (long bound : domain) {
+                        builder.addDomain(bound);
+                    }
+                } else {
+                    builder.addDomain(value).addDomain(value);
+                }
+            }
+        }
+        return OrToolsSolver.solve(getModel(), visitor, null, new OrToolsSearch(workers, timeLimit), 0, improvements, cancellation);
+    }
+
+    private static boolean contains(long[] domain, long value) {
+        for (int i = 0; i < domain.length; i += 2) {
+            if (domain[i] <= value && value <= domain[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers.ortools;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverResponse;
+import com.google.ortools.sat.CpSolverSolutionCallback;
+import com.google.ortools.sat.LinearArgument;
+import com.google.ortools.sat.LinearExpr;
+import com.google.ortools.sat.SatParameters;
+import com.google.ortools.sat.SolveWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Single CP-SAT search which can be stopped before it has started.
+ * <p>
+ * {@link CpSolver} only creates its native solver once the search starts, so
+ * {@link CpSolver#stopSearch()} has no effect before then. This search
+ * creates the native solver up front, which keeps a stop request until the
+ * search starts and stops it immediately.
+ */
+final class OrToolsSearch {
+    private final @NotNull SolveWrapper wrapper;
+    private @Nullable CpSolverResponse response;
+
+    /**
+     * Create a new search using the specified number of workers and time limit.
+     *
+     * @param workers   the number of CP-SAT workers
+     * @param timeLimit the time limit in milliseconds, or 0 for no time limit
+     */
+    OrToolsSearch(int workers, long timeLimit) {
+        SatParameters.Builder parameters = SatParameters.newBuilder().setNumSearchWorkers(workers);
+        if (timeLimit > 0) parameters.setMaxTimeInSeconds(timeLimit / 1000.0);
+        wrapper = new SolveWrapper();
+        wrapper.setParameters(parameters.build());
+        response = null;
+    }
+
+    /**
+     * Stop this search. Can be called from any thread, before or during the search.
+     */
+    void stop() {
+        wrapper.stopSearch();
+    }
+
+    /**
+     * Search the specified model. Can only be called once.
+     *
+     * @param model    the translated model
+     * @param callback the callback which receives every solution, or {@code null}
+     * @return the response of CP-SAT
+     */
+    @NotNull CpSolverResponse solve(@NotNull CpModel model, @Nullable CpSolverSolutionCallback callback) {
+        if (response != null) {
+            throw new IllegalStateException("The search has already been run");
+        }
+        if (callback != null) {
+            wrapper.addSolutionCallback(callback);
+        }
+        response = wrapper.solve(model.model());
+        if (callback != null) {
+            wrapper.clearSolutionCallback(callback);
+        }
+        return response;
+    }
+
+    /**
+     * Returns the response of CP-SAT.
+     *
+     * @return the response of CP-SAT
+     * @throws IllegalStateException if the search has not been run yet
+     */
+    @NotNull CpSolverResponse getResponse() throws IllegalStateException {
+        if (response == null) {
+            throw new IllegalStateException("The search has not been run yet");
+        }
+        return response;
+    }
+
+    /**
+     * Returns the value of the specified expression in the solution of CP-SAT.
+     *
+     * @param argument the specified expression
+     * @return the value of the expression
+     */
+    long value(@NotNull LinearArgument argument) {
+        CpSolverResponse solution = getResponse();
+        LinearExpr expr = argument.build();
+        long value = expr.getOffset();
+        for (int i = 0; i < expr.numElements(); i++) {
+            value += solution.getSolution(expr.getVariableIndex(i)) * expr.getCoefficient(i);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers.ortools;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.Literal;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.solvers.CancellationToken;
+import nl.svenkonings.jacomo.solvers.SolveResult;
+import nl.svenkonings.jacomo.solvers.SolveStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Session which retains a translated CP-SAT model, and solves it repeatedly
+ * under different assumptions on its boolean vars.
+ * <p>
+ * Assumptions are passed to CP-SAT as assumption literals, so changing them
+ * does not change or translate the model. When the model has no solution
+ * under the current assumptions, CP-SAT reports a subset of the assumptions
+ * which is sufficient for the infeasibility, see {@link #getUnsatCore()}.
+ */
+public final class OrToolsSession {
+    private final @NotNull Model model;
+    private final @NotNull OrToolsVisitor visitor;
+    private final int workers;
+    private final long timeLimit;
+    private final @NotNull Map<String, Boolean> assumptions;
+    private @NotNull Map<String, Boolean> unsatCore;
+
+    /**
+     * Create a new session.
+     *
+     * @param model     the checked and presolved model
+     * @param visitor   the visitor which translated the model, including its objective
+     * @param workers   the number of workers used to search for a solution
+     * @param timeLimit the time limit in milliseconds, or 0 for no time limit
+     */
+    OrToolsSession(@NotNull Model model, @NotNull OrToolsVisitor visitor, int workers, long timeLimit) {
+        this.model = model;
+        this.visitor = visitor;
+        this.workers = workers;
+        this.timeLimit = timeLimit;
+        assumptions = new LinkedHashMap<>();
+        unsatCore = Collections.emptyMap();
+    }
+
+    /**
+     * Returns the checked and presolved model which has been translated.
+     *
+     * @return the model of this session
+     */
+    public @NotNull Model getModel() {
+        return model;
+    }
+
+    /**
+     * Assume the specified boolean var has the specified value in the next solves.
+     *
+     * @param var   the specified var
+     * @param value the assumed value
+     * @throws InvalidInputException if the var is not a boolean var of the model
+     */
+    public void assume(@NotNull BoolVar var, boolean value) throws InvalidInputException {
+        assume(var.getName(), value);
+    }
+
+    /**
+     * Assume the boolean var with the specified name has the specified value in the next solves.
+     *
+     * @param name  the name of the var
+     * @param value the assumed value
+     * @throws InvalidInputException if the var is not a boolean var of the model
+     */
+    public void assume(@NotNull String name, boolean value) throws InvalidInputException {
+        literal(name);
+        assumptions.put(name, value);
+    }
+
+    /**
+     * Remove the assumption on the boolean var with the specified name.
+     *
+     * @param name the name of the var
+     */
+    public void retract(@NotNull String name) {
+        assumptions.remove(name);
+    }
+
+    /**
+     * Remove all assumptions.
+     */
+    public void clearAssumptions() {
+        assumptions.clear();
+    }
+
+    /**
+     * Returns the current assumptions.
+     *
+     * @return the assumed values by var name
+     */
+    public @NotNull Map<String, Boolean> getAssumptions() {
+        return Collections.unmodifiableMap(assumptions);
+    }
+
+    /**
+     * Solve the model under the current assumptions, optimizing its objective
+     * if it has one.
+     *
+     * @return the result containing the best solution found
+     */
+    public @NotNull SolveResult solve() {
+        return solve(null, new CancellationToken());
+    }
+
+    /**
+     * Solve the model under the current assumptions, optimizing its objective
+     * if it has one, until the search completes or the specified token is
+     * cancelled. See {@link OrToolsSolver#optimizeUnchecked(Model, Consumer, CancellationToken)}.
+     *
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     */
+    public @NotNull SolveResult solve(@Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation) {
+        CpModel cpModel = visitor.getModel();
+        cpModel.clearAssumptions();
+        Map<Integer, String> names = new HashMap<>(assumptions.size());
+        assumptions.forEach((name, value) -> {
+            Literal literal = value ? literal(name) : literal(name).not();
+            cpModel.addAssumption(literal);
+            names.put(literal.getIndex(), name);
+        });
+        OrToolsSearch search = new OrToolsSearch(workers, timeLimit);
+        SolveResult result = OrToolsSolver.solve(model, visitor, null, search, 0, improvements, cancellation);
+        unsatCore = Collections.emptyMap();
+        if (result.getStatus() == SolveStatus.INFEASIBLE && !cancellation.isCancelled()) {
+            Map<String, Boolean> core = new LinkedHashMap<>();
+            for (int index : search.getResponse().getSufficientAssumptionsForInfeasibilityList()) {
+                String name = names.get(index);
+                core.put(name, assumptions.get(name));
+            }
+            unsatCore = Collections.unmodifiableMap(core);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the unsat core of the last solve: a subset of the assumptions
+     * which is sufficient for the model to have no solution. The core is empty
+     * if the last solve found a solution, did not prove that there is no
+     * solution, or if the model has no solution regardless of the assumptions.
+     *
+     * @return the assumed values of the unsat core by var name
+     */
+    public @NotNull Map<String, Boolean> getUnsatCore() {
+        return unsatCore;
+    }
+
+    private @NotNull Literal literal(@NotNull String name) throws InvalidInputException {
+        Literal literal = visitor.getBoolVars().get(name);
+        if (literal == null) {
+            throw new InvalidInputException("%s is not a boolean var of the model", name);
+        }
+        return literal;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers.ortools;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverSolutionCallback;
+import nl.svenkonings.jacomo.model.VarMap;
+import nl.svenkonings.jacomo.solvers.SolutionIterator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.concurrent.SynchronousQueue;
+import java.util.function.Function;
+
+/**
+ * Iterator over the solutions of a CP-SAT search.
+ * <p>
+ * CP-SAT reports solutions to a callback, while the iterator is pulled by the
+ * consumer. The search therefore runs on a separate thread, which hands every
+ * solution to the consumer and waits inside the callback until the next
+ * solution is requested. Closing the iterator stops the search.
+ */
+final class OrToolsSolutionIterator extends SolutionIterator {
+    private final @NotNull CpSolver solver;
+    private final @NotNull CpModel model;
+    private final @NotNull Function<CpSolverSolutionCallback, VarMap> results;
+    // An empty optional marks the end of the search
+    private final @NotNull SynchronousQueue<Optional<VarMap>> solutions;
+    private volatile @Nullable RuntimeException error;
+    private volatile boolean stopped;
+    private @Nullable Thread thread;
+
+    /**
+     * Create a new iterator which searches the solutions of the specified model.
+     *
+     * @param limit   the maximum number of solutions, or 0 for all solutions
+     * @param solver  the solver, configured to enumerate all solutions
+     * @param model   the translated model
+     * @param results the function which creates a result from the current solution of the callback
+     */
+    OrToolsSolutionIterator(long limit, @NotNull CpSolver solver, @NotNull CpModel model,
+                            @NotNull Function<CpSolverSolutionCallback, VarMap> results) {
+        super(limit);
+        this.solver = solver;
+        this.model = model;
+        this.results = results;
+        solutions = new SynchronousQueue<>();
+        error = null;
+        stopped = false;
+        thread = null;
+    }
+
+    @Override
+    protected @Nullable VarMap findNext() {
+        if (thread == null) {
+            thread = new Thread(this::search, "jacomo-ortools-solutions");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        Optional<VarMap> solution;
+        try {
+            solution = solutions.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        RuntimeException searchError = error;
+        if (!solution.isPresent() && searchError != null) {
+            throw searchError;
+        }
+        return solution.orElse(null);
+    }
+
+    private void search() {
+        try {
+            solver.solve(model, new CpSolverSolutionCallback() {
+                @Override
+                public void onSolutionCallback() {
+                    if (stopped) {
+                        stopSearch();
+                        return;
+                    }
+                    try {
+                        solutions.put(Optional.of(results.apply(this)));
+                    } catch (InterruptedException e) {
+                        stopSearch();
+                    } catch (RuntimeException e) {
+                        // Exceptions can't be propagated through the native search, report them afterwards
+                        error = e;
+                        stopSearch();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            error = e;
+        } finally {
+            if (!stopped) {
+                try {
+                    solutions.put(Optional.empty());
+                } catch (InterruptedException ignored) {
+                    // The iterator has been closed, nobody is waiting for the end of the search
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void release() {
+        stopped = true;
+        if (thread != null) {
+            solver.stopSearch();
+            // Wake the search thread if it is waiting for the next request
+            thread.interrupt();
+        }
+    }
+}
@@ -7,24 +7,62 @@
 package nl.svenkonings.jacomo.solvers.ortools;
 
 import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverResponse;
+import com.google.ortools.sat.CpSolverSolutionCallback;
 import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.LinearArgument;
+import com.google.ortools.sat.Literal;
 import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
 import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.CheckException;
 import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
 import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
 import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.Objective;
+import nl.svenkonings.jacomo.model.ValueMap;
 import nl.svenkonings.jacomo.model.VarMap;
+import nl.svenkonings.jacomo.solvers.CancellationToken;
+import nl.svenkonings.jacomo.solvers.PreparedModel;
+import nl.svenkonings.jacomo.solvers.Projection;
+import nl.svenkonings.jacomo.solvers.SolutionIterator;
+import nl.svenkonings.jacomo.solvers.SolveResult;
+import nl.svenkonings.jacomo.solvers.SolveStatistics;
+import nl.svenkonings.jacomo.solvers.SolveStatus;
 import nl.svenkonings.jacomo.solvers.Solver;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
 /**
  * Solver implementation using the CP-SAT solver from OR-Tools.
+ * <p>
+ * The statistics of a solve contain the counters {@link #CONFLICTS},
+ * {@link #BRANCHES} and {@link #WALL_TIME} reported by CP-SAT.
  */
 public class OrToolsSolver implements Solver {
+    /**
+     * Name of the counter of the number of conflicts during the CP-SAT search.
+     */
+    public static final @NotNull String CONFLICTS = "conflicts";
+    /**
+     * Name of the counter of the number of branches during the CP-SAT search.
+     */
+    public static final @NotNull String BRANCHES = "branches";
+    /**
+     * Name of the counter of the wall time of the CP-SAT search as reported by CP-SAT, in nanoseconds.
+     */
+    public static final @NotNull String WALL_TIME = "wallTime";
 
     private int workers;
     private long timeLimit;
+    private boolean presolve;
 
     /**
      * Create a new OR-Tools solver.
@@ -32,6 +70,7 @@ public class OrToolsSolver implements Solver {
     public OrToolsSolver() {
         workers = 0;
         timeLimit = 0;
+        presolve = false;
     }
 
     /**
@@ -88,36 +127,384 @@ public class OrToolsSolver implements Solver {
         this.timeLimit = timeLimit;
     }
 
+    /**
+     * Returns whether models are presolved before they are solved.
+     * A value of {@code false} (default) means the checked model is translated directly.
+     *
+     * @return {@code true} if models are presolved
+     */
+    @Override
+    public boolean isPresolve() {
+        return presolve;
+    }
+
+    /**
+     * Set whether models are presolved before they are solved.
+     * A value of {@code false} (default) means the checked model is translated directly.
+     *
+     * @param presolve {@code true} to presolve models
+     */
+    @Override
+    public void setPresolve(boolean presolve) {
+        this.presolve = presolve;
+    }
+
+    @Override
+    public @NotNull OrToolsSolver withWorkers(int workers) {
+        OrToolsSolver solver = new OrToolsSolver();
+        solver.setWorkers(workers);
+        solver.setTimeLimit(timeLimit);
+        solver.setPresolve(presolve);
+        return solver;
+    }
+
     @Override
     public @Nullable VarMap solveUnchecked(@NotNull Model model) {
+        return optimizeUnchecked(model, null, new CancellationToken()).getSolution();
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective using the native
+     * CP-SAT objective. Each improving solution reported by CP-SAT is passed to
+     * the specified consumer.
+     *
+     * @param model        the specified model
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @return the result containing the best solution found
+     */
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements) {
+        return optimizeUnchecked(model, improvements, new CancellationToken());
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective if it has one. When
+     * the token is cancelled, the search is stopped, which stops all CP-SAT
+     * workers. A search which has not started yet stops as soon as it starts.
+     *
+     * @param model        the specified model
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     */
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements,
+                                                  @NotNull CancellationToken cancellation) {
+        return optimizeUnchecked(model, null, null, improvements, cancellation);
+    }
+
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable VarMap hint, @Nullable Consumer<SolveResult> improvements,
+                                                  @NotNull CancellationToken cancellation) {
+        return optimizeUnchecked(model, hint, null, improvements, cancellation);
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective if it has one. The
+     * values of the hint are added as solution hint to the CP-SAT model, which
+     * CP-SAT tries first and repairs if they are not a solution. If a
+     * projection is specified, only the values of the projected vars are read
+     * from the CP-SAT solutions.
+     *
+     * @param model        the specified model
+     * @param hint         the hinted values by var name, or {@code null}
+     * @param projection   the vars to include in the solutions, or {@code null} for all vars
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     */
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable VarMap hint, @Nullable Projection projection,
+                                                  @Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation) {
+        long start = System.nanoTime();
         OrToolsVisitor visitor = new OrToolsVisitor();
         model.visit(visitor);
-        CpSolver solver = new CpSolver();
-        solver.getParameters().setNumSearchWorkers(workers);
-        if (timeLimit > 0) solver.getParameters().setMaxTimeInSeconds(timeLimit / 1000.0);
-        CpSolverStatus status = solver.solve(visitor.getModel());
+        if (model.hasObjective()) {
+            visitor.objective(model.getObjective());
+        }
+        if (model.hasSearchStrategy()) {
+            visitor.search(model.getSearchStrategy());
+        }
+        if (hint != null) {
+            visitor.hint(hint);
+        }
+        ProjectedVars projected = projection == null ? null : new ProjectedVars(visitor, projection.getNames(model));
+        return solve(model, visitor, projected, new OrToolsSearch(workers, timeLimit), System.nanoTime() - start, improvements, cancellation);
+    }
+
+    /**
+     * Translate the specified model to a CP-SAT model, which can be solved
+     * repeatedly with different values for the specified parameter vars.
+     * Parameter vars are bound by changing their domain in the CP-SAT model.
+     *
+     * @param model      the specified model
+     * @param parameters the names of the parameter vars of the model
+     * @return the prepared model
+     */
+    @Override
+    public @NotNull PreparedModel prepareUnchecked(@NotNull Model model, @NotNull Collection<String> parameters) {
+        OrToolsVisitor visitor = new OrToolsVisitor();
+        model.visit(visitor);
+        if (model.hasObjective()) {
+            visitor.objective(model.getObjective());
+        }
+        if (model.hasSearchStrategy()) {
+            visitor.search(model.getSearchStrategy());
+        }
+        return new OrToolsPreparedModel(model, parameters, visitor, workers, timeLimit);
+    }
+
+    /**
+     * Check, optimize and presolve the specified model and translate it to a
+     * CP-SAT model, which is retained by the returned session. The session
+     * solves the model repeatedly under different assumptions on its boolean
+     * vars, without translating the model again.
+     *
+     * @param model the specified model
+     * @return the session
+     * @throws CheckException if one of the checks fails
+     */
+    public @NotNull OrToolsSession session(@NotNull Model model) throws CheckException {
+        Model checked = model.check();
+        Model presolved = presolve(checked);
+        // The checked model has no solution, CP-SAT proves this regardless of the assumptions
+        return sessionUnchecked(presolved == null ? checked : presolved);
+    }
+
+    /**
+     * Translate the specified model to a CP-SAT model, which is retained by
+     * the returned session. Does not check or optimize the model.
+     *
+     * @param model the specified model
+     * @return the session
+     */
+    public @NotNull OrToolsSession sessionUnchecked(@NotNull Model model) {
+        OrToolsVisitor visitor = new OrToolsVisitor();
+        model.visit(visitor);
+        if (model.hasObjective()) {
+            visitor.objective(model.getObjective());
+        }
+        if (model.hasSearchStrategy()) {
+            visitor.search(model.getSearchStrategy());
+        }
+        return new OrToolsSession(model, visitor, workers, timeLimit);
+    }
+
+    // Solve the translated model, the objective of the model should already have been added to the visitor
+    static @NotNull SolveResult solve(@NotNull Model model, @NotNull OrToolsVisitor visitor, @Nullable ProjectedVars projected,
+                                      @NotNull OrToolsSearch search, long translationTime,
+                                      @Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation) {
+        Objective objective = model.getObjective();
+        long start;
+        CpSolverResponse response;
+        // The search keeps a stop request until it starts, so a cancel between the check and the start is not lost.
+        // The listener is unregistered after the search, so a shared token does not retain the search.
+        CancellationToken.Registration registration = cancellation.onCancel(search::stop);
+        try {
+            if (cancellation.isCancelled()) {
+                return SolveResult.noSolution();
+            }
+            start = System.nanoTime();
+            if (objective == null || improvements == null) {
+                response = search.solve(visitor.getModel(), null);
+            } else {
+                ImprovementCallback callback = new ImprovementCallback(model, visitor, projected, objective, improvements);
+                response = search.solve(visitor.getModel(), callback);
+                callback.rethrow();
+            }
+        } finally {
+            registration.close();
+        }
+        CpSolverStatus status = response.getStatus();
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put(CONFLICTS, response.getNumConflicts());
+        counters.put(BRANCHES, response.getNumBranches());
+        counters.put(WALL_TIME, Math.round(response.getWallTime() * 1_000_000_000.0));
+        SolveStatistics statistics = new SolveStatistics(translationTime, System.nanoTime() - start, counters);
         switch (status) {
-            case UNKNOWN:
-            case UNRECOGNIZED:
-            case MODEL_INVALID:
+            case OPTIMAL:
+            case FEASIBLE:
+                break;
             case INFEASIBLE:
-                return null;
+                return SolveResult.noSolution(SolveStatus.INFEASIBLE).withStatistics(statistics);
+            case MODEL_INVALID:
+                return SolveResult.noSolution(SolveStatus.MODEL_INVALID).withStatistics(statistics);
+            default:
+                return SolveResult.noSolution().withStatistics(statistics);
+        }
+        SolveStatus solveStatus = status == CpSolverStatus.OPTIMAL ? SolveStatus.OPTIMAL : SolveStatus.FEASIBLE;
+        Long value = null;
+        Long bound = null;
+        if (objective != null) {
+            value = Math.round(response.getObjectiveValue());
+            bound = status == CpSolverStatus.OPTIMAL ? value : bound(objective, response.getBestObjectiveBound());
+        }
+        return result(model, visitor, projected, search::value, solveStatus, value, bound, statistics);
+    }
+
+    private static @NotNull SolveResult result(@NotNull Model model, @NotNull OrToolsVisitor visitor, @Nullable ProjectedVars projected,
+                                               @NotNull ToLongFunction<LinearArgument> values, @NotNull SolveStatus status,
+                                               @Nullable Long objectiveValue, @Nullable Long objectiveBound,
+                                               @NotNull SolveStatistics statistics) {
+        if (projected == null) {
+            return new SolveResult(status, getResult(model, visitor, values), objectiveValue, objectiveBound, statistics);
+        }
+        return SolveResult.projected(status, projected.getValues(values), objectiveValue, objectiveBound, statistics);
+    }
+
+    // The objective is integral, so the bound can be rounded towards the objective value
+    private static long bound(@NotNull Objective objective, double bound) {
+        return (long) (objective.isMaximize() ? Math.floor(bound) : Math.ceil(bound));
+    }
+
+    /**
+     * Callback which passes every improving solution to a consumer.
+     * Exceptions thrown by the consumer stop the search and are rethrown afterwards.
+     */
+    private static class ImprovementCallback extends CpSolverSolutionCallback {
+        private final @NotNull Model model;
+        private final @NotNull OrToolsVisitor visitor;
+        private final @Nullable ProjectedVars projected;
+        private final @NotNull Objective objective;
+        private final @NotNull Consumer<SolveResult> improvements;
+        private @Nullable RuntimeException error;
+
+        ImprovementCallback(@NotNull Model model, @NotNull OrToolsVisitor visitor, @Nullable ProjectedVars projected,
+                            @NotNull Objective objective, @NotNull Consumer<SolveResult> improvements) {
+            this.model = model;
+            this.visitor = visitor;
+            this.projected = projected;
+            this.objective = objective;
+            this.improvements = improvements;
+            error = null;
+        }
+
+        @Override
+        public void onSolutionCallback() {
+            if (error != null) {
+                return;
+            }
+            try {
+                long value = Math.round(objectiveValue());
+                improvements.accept(result(model, visitor, projected, this::value, SolveStatus.FEASIBLE, value,
+                        bound(objective, bestObjectiveBound()), SolveStatistics.none()));
+            } catch (RuntimeException e) {
+                error = e;
+                stopSearch();
+            }
+        }
+
+        void rethrow() {
+            if (error != null) {
+                throw error;
+            }
         }
-        VarMap result = new VarMap();
-        visitor.getBoolVars().forEach((name, var) -> {
-            long value = solver.value(var);
+    }
+
+    /**
+     * Returns an iterator which lazily searches the solutions of the specified
+     * model. The model is translated once and all solutions are enumerated by a
+     * single CP-SAT search, which is paused until the next solution is requested.
+     * The number of workers is not used, since enumerating all solutions
+     * requires a single worker.
+     *
+     * @param model the specified model
+     * @param limit the maximum number of solutions, or 0 for all solutions
+     * @return an iterator over the solutions
+     */
+    @Override
+    public @NotNull SolutionIterator solutionsUnchecked(@NotNull Model model, long limit) {
+        OrToolsVisitor visitor = new OrToolsVisitor();
+        model.visit(visitor);
+        if (model.hasSearchStrategy()) {
+            visitor.search(model.getSearchStrategy());
+        }
+        CpSolver solver = new CpSolver();
+        solver.getParameters().setNumSearchWorkers(1);
+        solver.getParameters().setEnumerateAllSolutions(true);
+        if (timeLimit > 0) solver.getParameters().setMaxTimeInSeconds(timeLimit / 1000.0);
+        return new OrToolsSolutionIterator(limit, solver, visitor.getModel(),
+                callback -> getResult(model, visitor, callback::value));
+    }
+
+    /**
+     * The CP-SAT vars of a projection, of which the values are read into a
+     * {@link ValueMap} without creating a var for each value.
+     */
+    static class ProjectedVars {
+        private final @NotNull ValueMap.Index index;
+        private final @NotNull LinearArgument[] vars;
+
+        ProjectedVars(@NotNull OrToolsVisitor visitor, @NotNull List<String> names) {
+            index = new ValueMap.Index(names.size());
+            List<LinearArgument> projected = new ArrayList<>(names.size());
+            for (String name : names) {
+                Literal boolVar = visitor.getBoolVars().get(name);
+                if (boolVar != null) {
+                    index.addBool(name);
+                    projected.add(boolVar);
+                    continue;
+                }
+                com.google.ortools.sat.IntVar intVar = visitor.getIntVars().get(name);
+                if (intVar != null) {
+                    index.addInt(name);
+                    projected.add(intVar);
+                }
+            }
+            vars = projected.toArray(new LinearArgument[0]);
+        }
+
+        @NotNull ValueMap getValues(@NotNull ToLongFunction<LinearArgument> values) {
+            int[] result = new int[vars.length];
+            for (int i = 0; i < vars.length; i++) {
+                long value = values.applyAsLong(vars[i]);
+                if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                    throw new UnexpectedTypeException("Invalid integer value returned by: %s", index.getName(i));
+                }
+                result[i] = (int) value;
+            }
+            return new ValueMap(index, result);
+        }
+    }
+
+    private static @NotNull VarMap getResult(@NotNull Model model, @NotNull OrToolsVisitor visitor,
+                                             @NotNull ToLongFunction<LinearArgument> values) {
+        Map<String, Literal> boolVars = visitor.getBoolVars();
+        Map<String, com.google.ortools.sat.IntVar> intVars = visitor.getIntVars();
+        VarMap result = new VarMap(boolVars.size() + intVars.size());
+        // Add the model vars first, so the result indices match the model indices
+        for (int i = 0; i < model.varCount(); i++) {
+            addResult(result, values, model.getVar(i).getName(), boolVars, intVars);
+        }
+        if (result.size() < boolVars.size() + intVars.size()) {
+            boolVars.keySet().forEach(name -> addResult(result, values, name, boolVars, intVars));
+            intVars.keySet().forEach(name -> addResult(result, values, name, boolVars, intVars));
+        }
+        return result;
+    }
+
+    private static void addResult(@NotNull VarMap result, @NotNull ToLongFunction<LinearArgument> values, @NotNull String name,
+                                  @NotNull Map<String, Literal> boolVars,
+                                  @NotNull Map<String, com.google.ortools.sat.IntVar> intVars) {
+        if (result.containsVar(name)) {
+            return;
+        }
+        Literal boolVar = boolVars.get(name);
+        if (boolVar != null) {
+            long value = values.applyAsLong(boolVar);
             if (value != 0L && value != 1L) {
                 throw new UnexpectedTypeException("Invalid boolean value returned by: %s", name);
             }
             result.add(BoolVar.constant(name, value == 1L));
-        });
-        visitor.getIntVars().forEach((name, var) -> {
-            long value = solver.value(var);
+            return;
+        }
+        com.google.ortools.sat.IntVar intVar = intVars.get(name);
+        if (intVar != null) {
+            long value = values.applyAsLong(intVar);
             if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
                 throw new UnexpectedTypeException("Invalid integer value returned by: %s", name);
             }
             result.add(IntVar.constant(name, (int) value));
-        });
-        return result;
+        }
     }
 }
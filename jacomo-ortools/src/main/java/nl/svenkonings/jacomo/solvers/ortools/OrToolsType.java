@@ -8,6 +8,7 @@ package nl.svenkonings.jacomo.solvers.ortools;
 
 import com.google.ortools.sat.Constraint;
 import com.google.ortools.sat.IntVar;
+import com.google.ortools.sat.LinearExpr;
 import com.google.ortools.sat.Literal;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,11 +18,13 @@ import java.util.function.Supplier;
 
 /**
  * Represents the return value of visited elements using the {@link OrToolsVisitor}.
- * The return value can be empty, an {@link IntVar} or a {@link Constraint}.
+ * The return value can be empty, a {@link Literal}, an {@link IntVar}, a
+ * {@link LinearExpr} or a {@link Constraint}.
  */
 public class OrToolsType {
     private final @Nullable Literal boolVar;
     private final @Nullable IntVar intVar;
+    private final @Nullable LinearExpr linearExpr;
     private final @Nullable Constraint constraint;
     private final @Nullable Supplier<Constraint> inverseSupplier;
     private @Nullable Constraint inverseConstraint;
@@ -32,7 +35,7 @@ public class OrToolsType {
      * @return the created return value
      */
     public static OrToolsType none() {
-        return new OrToolsType(null, null, null, null);
+        return new OrToolsType(null, null, null, null, null);
     }
 
     /**
@@ -42,7 +45,7 @@ public class OrToolsType {
      * @return the created return value
      */
     public static OrToolsType boolVar(@NotNull Literal boolVar) {
-        return new OrToolsType(boolVar, null, null, null);
+        return new OrToolsType(boolVar, null, null, null, null);
     }
 
     /**
@@ -52,7 +55,17 @@ public class OrToolsType {
      * @return the created return value
      */
     public static OrToolsType intVar(@NotNull IntVar intVar) {
-        return new OrToolsType(null, intVar, null, null);
+        return new OrToolsType(null, intVar, null, null, null);
+    }
+
+    /**
+     * Create an {@link LinearExpr} return value.
+     *
+     * @param linearExpr the value to encapsulate
+     * @return the created return value
+     */
+    public static OrToolsType linearExpr(@NotNull LinearExpr linearExpr) {
+        return new OrToolsType(null, null, linearExpr, null, null);
     }
 
     /**
@@ -64,13 +77,15 @@ public class OrToolsType {
      * @return the created return value
      */
     public static OrToolsType constraint(@NotNull Constraint constraint, @NotNull Supplier<Constraint> inverseSupplier) {
-        return new OrToolsType(null, null, constraint, inverseSupplier);
+        return new OrToolsType(null, null, null, constraint, inverseSupplier);
     }
 
-    private OrToolsType(@Nullable Literal boolVar, @Nullable IntVar intVar, @Nullable Constraint constraint, @Nullable Supplier<Constraint> inverseSupplier) {
+    private OrToolsType(@Nullable Literal boolVar, @Nullable IntVar intVar, @Nullable LinearExpr linearExpr,
+                        @Nullable Constraint constraint, @Nullable Supplier<Constraint> inverseSupplier) {
         assert constraint == null || inverseSupplier != null;
         this.boolVar = boolVar;
         this.intVar = intVar;
+        this.linearExpr = linearExpr;
         this.constraint = constraint;
         this.inverseSupplier = inverseSupplier;
         this.inverseConstraint = null;
@@ -112,6 +127,24 @@ public class OrToolsType {
         return intVar;
     }
 
+    /**
+     * Returns whether this value is an {@link LinearExpr}.
+     *
+     * @return {@code true} if this value is an {@link LinearExpr}
+     */
+    public boolean isLinearExpr() {
+        return linearExpr != null;
+    }
+
+    /**
+     * Returns the inner {@link LinearExpr}.
+     *
+     * @return the inner {@link LinearExpr} if it exists, {@code null} otherwise
+     */
+    public @Nullable LinearExpr getLinearExpr() {
+        return linearExpr;
+    }
+
     /**
      * Returns whether this value is an {@link Constraint}.
      *
@@ -154,6 +187,8 @@ public class OrToolsType {
             return "Literal: " + boolVar;
         } else if (isIntVar()) {
             return "IntVar: " + intVar;
+        } else if (isLinearExpr()) {
+            return "LinearExpr: " + linearExpr;
         } else if (isConstraint()) {
             return "Constraint: " + constraint;
         } else {
@@ -168,11 +203,12 @@ public class OrToolsType {
         OrToolsType orToolsType = (OrToolsType) o;
         return Objects.equals(boolVar, orToolsType.boolVar) &&
                 Objects.equals(intVar, orToolsType.intVar) &&
+                Objects.equals(linearExpr, orToolsType.linearExpr) &&
                 Objects.equals(constraint, orToolsType.constraint);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(boolVar, intVar, constraint);
+        return Objects.hash(boolVar, intVar, linearExpr, constraint);
     }
 }
@@ -8,30 +8,50 @@ package nl.svenkonings.jacomo.solvers.ortools;
 
 import com.google.ortools.Loader;
 import com.google.ortools.sat.*;
+import com.google.ortools.util.Domain;
 import nl.svenkonings.jacomo.elem.Elem;
 import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.ConstantBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.BiBoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.relational.ReBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.NotExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.ConstantIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
 import nl.svenkonings.jacomo.elem.expressions.integer.binary.BiIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
+import nl.svenkonings.jacomo.elem.variables.Var;
 import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
 import nl.svenkonings.jacomo.elem.variables.bool.ExpressionBoolVar;
 import nl.svenkonings.jacomo.elem.variables.integer.ExpressionIntVar;
 import nl.svenkonings.jacomo.exceptions.unchecked.DuplicateNameException;
 import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
-import nl.svenkonings.jacomo.util.ElemUtil;
+import nl.svenkonings.jacomo.model.Objective;
+import nl.svenkonings.jacomo.model.SearchStrategy;
+import nl.svenkonings.jacomo.model.VarMap;
+import nl.svenkonings.jacomo.visitor.PostOrderTraverser;
 import nl.svenkonings.jacomo.visitor.Visitor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Visitor which builds a OR-Tools CP-SAT model from the visited elements.
+ * <p>
+ * Sums, differences, weighted sums and products with a constant are
+ * translated to linear expressions, which CP-SAT accepts directly in
+ * relational constraints and objectives. Auxiliary vars are only created for
+ * non-linear expressions, or when a linear expression is used as operand of
+ * a non-linear expression.
  */
 @SuppressWarnings("ConstantConditions")
 public class OrToolsVisitor implements Visitor<OrToolsType> {
@@ -44,8 +64,10 @@ public class OrToolsVisitor implements Visitor<OrToolsType> {
     private final @NotNull Map<Elem, Constraint> constraintMap;
     private final @NotNull Map<Elem, Literal> boolVarMap;
     private final @NotNull Map<Elem, IntVar> intVarMap;
+    private final @NotNull Map<Elem, LinearExpr> linearExprMap;
 
     private int genNameCounter;
+    private boolean traversing;
 
     /**
      * Create a new OR-Tools visitor.
@@ -58,7 +80,9 @@ public class OrToolsVisitor implements Visitor<OrToolsType> {
         constraintMap = new HashMap<>();
         boolVarMap = new HashMap<>();
         intVarMap = new HashMap<>();
+        linearExprMap = new HashMap<>();
         genNameCounter = 0;
+        traversing = false;
     }
 
     /**
@@ -88,6 +112,145 @@ public class OrToolsVisitor implements Visitor<OrToolsType> {
         return intVars;
     }
 
+    /**
+     * Sets the objective of the OR-Tools CP-SAT model to the specified objective.
+     * The vars used by the objective should have been visited first.
+     *
+     * @param objective the specified objective
+     * @return the OR-Tools CP-SAT expression of the objective value
+     */
+    public @NotNull LinearArgument objective(@NotNull Objective objective) {
+        LinearArgument expr = linearExpr(objective.getExpr());
+        if (objective.isMaximize()) {
+            model.maximize(expr);
+        } else {
+            model.minimize(expr);
+        }
+        return expr;
+    }
+
+    /**
+     * Adds the values of the specified hint as solution hint to the OR-Tools
+     * CP-SAT model. Vars of the hint are matched by name, vars which have not
+     * been visited, have no value or have a value outside their domain are
+     * ignored. The vars should have been visited first.
+     *
+     * @param hint the hinted values by var name
+     */
+    public void hint(@NotNull VarMap hint) {
+        // Constants and aliased vars share CP-SAT vars, which should be hinted at most once
+        Set<Integer> hinted = new HashSet<>();
+        for (Var var : hint) {
+            if (!var.hasValue()) {
+                continue;
+            }
+            IntVar target;
+            long value;
+            if (var instanceof BoolVar && boolVars.containsKey(var.getName())) {
+                Literal literal = boolVars.get(var.getName());
+                boolean boolValue = ((BoolVar) var).getValue();
+                if (!(literal instanceof IntVar)) {
+                    literal = literal.not();
+                    boolValue = !boolValue;
+                }
+                target = (IntVar) literal;
+                value = boolValue ? 1L : 0L;
+            } else if (var instanceof nl.svenkonings.jacomo.elem.variables.integer.IntVar && intVars.containsKey(var.getName())) {
+                target = intVars.get(var.getName());
+                value = ((nl.svenkonings.jacomo.elem.variables.integer.IntVar) var).getValue();
+            } else {
+                continue;
+            }
+            Domain domain = target.getDomain();
+            if (domain.size() > 1 && domain.contains(value) && hinted.add(target.getIndex())) {
+                model.addHint(target, value);
+            }
+        }
+    }
+
+    /**
+     * Adds the specified search strategy as decision strategy to the OR-Tools
+     * CP-SAT model. Decision vars which have not been visited are ignored.
+     * CP-SAT has no restarts or last conflict reasoning for decision
+     * strategies, so these are ignored, and var selections without a CP-SAT
+     * counterpart are approximated. The vars should have been visited first.
+     *
+     * @param strategy the specified search strategy
+     */
+    public void search(@NotNull SearchStrategy strategy) {
+        DecisionStrategyProto.VariableSelectionStrategy varSelection;
+        switch (strategy.getVarSelection()) {
+            case INPUT_ORDER:
+                varSelection = DecisionStrategyProto.VariableSelectionStrategy.CHOOSE_FIRST;
+                break;
+            case SMALLEST_DOMAIN:
+            case DOM_OVER_WDEG:
+                varSelection = DecisionStrategyProto.VariableSelectionStrategy.CHOOSE_MIN_DOMAIN_SIZE;
+                break;
+            case LARGEST_DOMAIN:
+                varSelection = DecisionStrategyProto.VariableSelectionStrategy.CHOOSE_MAX_DOMAIN_SIZE;
+                break;
+            case SMALLEST_MIN:
+                varSelection = DecisionStrategyProto.VariableSelectionStrategy.CHOOSE_LOWEST_MIN;
+                break;
+            case LARGEST_MAX:
+                varSelection = DecisionStrategyProto.VariableSelectionStrategy.CHOOSE_HIGHEST_MAX;
+                break;
+            case ACTIVITY:
+                // The default search of CP-SAT is activity based
+                return;
+            default:
+                throw new UnexpectedTypeException("Unexpected var selection: %s", strategy.getVarSelection());
+        }
+        DecisionStrategyProto.DomainReductionStrategy valueSelection;
+        switch (strategy.getValueSelection()) {
+            case MIN_VALUE:
+                valueSelection = DecisionStrategyProto.DomainReductionStrategy.SELECT_MIN_VALUE;
+                break;
+            case MAX_VALUE:
+                valueSelection = DecisionStrategyProto.DomainReductionStrategy.SELECT_MAX_VALUE;
+                break;
+            case MEDIAN_VALUE:
+                valueSelection = DecisionStrategyProto.DomainReductionStrategy.SELECT_MEDIAN_VALUE;
+                break;
+            case SPLIT_LOWER:
+                valueSelection = DecisionStrategyProto.DomainReductionStrategy.SELECT_LOWER_HALF;
+                break;
+            case SPLIT_UPPER:
+                valueSelection = DecisionStrategyProto.DomainReductionStrategy.SELECT_UPPER_HALF;
+                break;
+            default:
+                throw new UnexpectedTypeException("Unexpected value selection: %s", strategy.getValueSelection());
+        }
+        Iterable<String> names = strategy.getVars().isEmpty() ? allVarNames() : strategy.getVars();
+        // Constants and aliased vars share CP-SAT vars, which should be decided at most once
+        Map<Integer, IntVar> decisionVars = new LinkedHashMap<>();
+        for (String name : names) {
+            IntVar target;
+            if (boolVars.containsKey(name)) {
+                Literal literal = boolVars.get(name);
+                // A negated literal is decided through the var it negates
+                target = (IntVar) (literal instanceof IntVar ? literal : literal.not());
+            } else if (intVars.containsKey(name)) {
+                target = intVars.get(name);
+            } else {
+                continue;
+            }
+            if (target.getDomain().size() > 1) {
+                decisionVars.putIfAbsent(target.getIndex(), target);
+            }
+        }
+        if (!decisionVars.isEmpty()) {
+            model.addDecisionStrategy(decisionVars.values().toArray(new IntVar[0]), varSelection, valueSelection);
+        }
+    }
+
+    private @NotNull Iterable<String> allVarNames() {
+        Set<String> names = new LinkedHashSet<>(boolVars.keySet());
+        names.addAll(intVars.keySet());
+        return names;
+    }
+
     private void addBoolVar(String name, Literal var) {
         if (boolVars.containsKey(name)) {
             throw new DuplicateNameException("Variable name %s already exists. Var1: %s, Var2: %s", name, boolVars.get(name), var);
@@ -114,14 +277,69 @@ public class OrToolsVisitor implements Visitor<OrToolsType> {
         return model.newBoolVar(genName());
     }
 
-    private IntVar genIntVar() {
-        return model.newIntVar(Integer.MIN_VALUE, Integer.MAX_VALUE, genName());
+    // Tight domains strengthen the presolve and linear relaxation of CP-SAT, and keep products within its overflow checks
+    private IntVar genIntVar(Interval interval) {
+        long lb = Math.max(interval.getLower(), Integer.MIN_VALUE);
+        long ub = Math.min(interval.getUpper(), Integer.MAX_VALUE);
+        if (lb > ub) {
+            // The value is outside the int range, which the equality defining the var makes infeasible
+            return model.newIntVar(Integer.MIN_VALUE, Integer.MAX_VALUE, genName());
+        }
+        return model.newIntVar(lb, ub, genName());
+    }
+
+    private static Interval interval(IntVar var) {
+        Domain domain = var.getDomain();
+        return Interval.of(domain.min(), domain.max());
+    }
+
+    private Interval interval(LinearExpr expr) {
+        Interval interval = Interval.of(expr.getOffset(), expr.getOffset());
+        for (int i = 0; i < expr.numElements(); i++) {
+            IntegerVariableProto var = model.getBuilder().getVariables(expr.getVariableIndex(i));
+            Interval domain = Interval.of(var.getDomain(0), var.getDomain(var.getDomainCount() - 1));
+            interval = interval.add(domain.mul(Interval.of(expr.getCoefficient(i), expr.getCoefficient(i))));
+        }
+        return interval;
+    }
+
+    // Translates the descendants of the specified element bottom-up, in the context they are used in.
+    // Visiting the element afterwards only requires cached lookups for its children.
+    private void prepare(Elem elem) {
+        if (traversing) {
+            return;
+        }
+        traversing = true;
+        try {
+            new PostOrderTraverser(this::isTranslated, this::translate).traverseChildren(elem);
+        } finally {
+            traversing = false;
+        }
+    }
+
+    private boolean isTranslated(Elem elem) {
+        if (elem instanceof IntExpr) {
+            return intVarMap.containsKey(elem) || linearExprMap.containsKey(elem);
+        } else if (elem instanceof BoolExpr) {
+            return boolVarMap.containsKey(elem);
+        } else {
+            return false;
+        }
+    }
+
+    private void translate(Elem elem) {
+        if (elem instanceof IntExpr) {
+            linearExpr(elem);
+        } else if (elem instanceof BoolExpr) {
+            boolVar(elem);
+        }
     }
 
     private Constraint constraint(Elem elem) {
         if (constraintMap.containsKey(elem)) {
             return constraintMap.get(elem);
         }
+        prepare(elem);
         OrToolsType result = visit(elem);
         Constraint constraint;
         if (result.isConstraint()) {
@@ -139,6 +357,7 @@ public class OrToolsVisitor implements Visitor<OrToolsType> {
         if (boolVarMap.containsKey(elem)) {
             return boolVarMap.get(elem);
         }
+        prepare(elem);
         OrToolsType result = visit(elem);
         Literal boolVar;
         if (result.isBoolVar()) {
@@ -155,17 +374,43 @@ public class OrToolsVisitor implements Visitor<OrToolsType> {
         return boolVar;
     }
 
-    private IntVar intVar(Elem elem) {
+    private LinearArgument linearExpr(Elem elem) {
         if (intVarMap.containsKey(elem)) {
             return intVarMap.get(elem);
+        } else if (linearExprMap.containsKey(elem)) {
+            return linearExprMap.get(elem);
         }
+        prepare(elem);
         OrToolsType result = visit(elem);
-        IntVar intVar;
         if (result.isIntVar()) {
-            intVar = result.getIntVar();
+            intVarMap.put(elem, result.getIntVar());
+            return result.getIntVar();
+        } else if (result.isLinearExpr()) {
+            linearExprMap.put(elem, result.getLinearExpr());
+            return result.getLinearExpr();
         } else {
             throw new UnexpectedTypeException(elem);
         }
+    }
+
+    // Linear expressions are only materialized as var when they are the operand of a non-linear expression
+    private IntVar intVar(Elem elem) {
+        if (intVarMap.containsKey(elem)) {
+            return intVarMap.get(elem);
+        }
+        LinearArgument linearExpr = linearExpr(elem);
+        IntVar intVar;
+        if (linearExpr instanceof IntVar) {
+            intVar = (IntVar) linearExpr;
+        } else {
+            LinearExpr expr = linearExpr.build();
+            if (expr.numElements() == 0) {
+                intVar = model.newConstant(expr.getOffset());
+            } else {
+                intVar = genIntVar(interval(expr));
+                model.addEquality(intVar, expr);
+            }
+        }
         intVarMap.put(elem, intVar);
         return intVar;
     }
@@ -191,25 +436,46 @@ public class OrToolsVisitor implements Visitor<OrToolsType> {
 
     @Override
     public OrToolsType visitBiBoolExpr(BiBoolExpr biBoolExpr) {
-        Literal[] vars = ElemUtil.collectAll(biBoolExpr).stream()
-                .map(this::boolVar)
-                .toArray(Literal[]::new);
+        Literal[] vars = {boolVar(biBoolExpr.getLeft()), boolVar(biBoolExpr.getRight())};
         switch (biBoolExpr.getType()) {
             case "AndExpr":
-                return OrToolsType.constraint(model.addBoolAnd(vars),
-                        () -> model.addBoolOr(Arrays.stream(vars).map(Literal::not).toArray(Literal[]::new)));
+                return boolAnd(vars);
             case "OrExpr":
-                return OrToolsType.constraint(model.addBoolOr(vars),
-                        () -> model.addBoolAnd(Arrays.stream(vars).map(Literal::not).toArray(Literal[]::new)));
+                return boolOr(vars);
             default:
                 throw new UnexpectedTypeException(biBoolExpr);
         }
     }
 
+    @Override
+    public OrToolsType visitNaryBoolExpr(NaryBoolExpr naryBoolExpr) {
+        Literal[] vars = naryBoolExpr.getChildren().stream()
+                .map(this::boolVar)
+                .toArray(Literal[]::new);
+        switch (naryBoolExpr.getType()) {
+            case "NaryAndExpr":
+                return boolAnd(vars);
+            case "NaryOrExpr":
+                return boolOr(vars);
+            default:
+                throw new UnexpectedTypeException(naryBoolExpr);
+        }
+    }
+
+    private OrToolsType boolAnd(Literal[] vars) {
+        return OrToolsType.constraint(model.addBoolAnd(vars),
+                () -> model.addBoolOr(Arrays.stream(vars).map(Literal::not).toArray(Literal[]::new)));
+    }
+
+    private OrToolsType boolOr(Literal[] vars) {
+        return OrToolsType.constraint(model.addBoolOr(vars),
+                () -> model.addBoolAnd(Arrays.stream(vars).map(Literal::not).toArray(Literal[]::new)));
+    }
+
     @Override
     public OrToolsType visitReBoolExpr(ReBoolExpr reBoolExpr) {
-        IntVar left = intVar(reBoolExpr.getLeft());
-        IntVar right = intVar(reBoolExpr.getRight());
+        LinearArgument left = linearExpr(reBoolExpr.getLeft());
+        LinearArgument right = linearExpr(reBoolExpr.getRight());
         switch (reBoolExpr.getType()) {
             case "EqExpr":
                 return OrToolsType.constraint(model.addEquality(left, right),
@@ -236,74 +502,138 @@ public class OrToolsVisitor implements Visitor<OrToolsType> {
 
     @Override
     public OrToolsType visitConstantIntExpr(ConstantIntExpr constantIntExpr) {
-        return OrToolsType.intVar(model.newConstant(constantIntExpr.getValue()));
+        return OrToolsType.linearExpr(LinearExpr.constant(constantIntExpr.getValue()));
     }
 
     @Override
     public OrToolsType visitBiIntExpr(BiIntExpr biIntExpr) {
         switch (biIntExpr.getType()) {
-            case "SubExpr":
-            case "MulExpr": // Although multiplication is associative, OR-Tools does not yet support flattening them
+            case "MulExpr":
+                return mul(biIntExpr);
             case "DivExpr":
-                return nonAssociativeBiIntExpr(biIntExpr);
+                return div(biIntExpr);
             case "AddExpr":
+                return OrToolsType.linearExpr(LinearExpr.newBuilder()
+                        .add(linearExpr(biIntExpr.getLeft()))
+                        .add(linearExpr(biIntExpr.getRight()))
+                        .build());
+            case "SubExpr":
+                return OrToolsType.linearExpr(LinearExpr.newBuilder()
+                        .add(linearExpr(biIntExpr.getLeft()))
+                        .addTerm(linearExpr(biIntExpr.getRight()), -1L)
+                        .build());
             case "MinExpr":
+                return min(intVar(biIntExpr.getLeft()), intVar(biIntExpr.getRight()));
             case "MaxExpr":
-                return associativeBiIntExpr(biIntExpr);
+                return max(intVar(biIntExpr.getLeft()), intVar(biIntExpr.getRight()));
             default:
                 throw new UnexpectedTypeException(biIntExpr);
         }
     }
 
-    private OrToolsType nonAssociativeBiIntExpr(BiIntExpr biIntExpr) {
+    private OrToolsType mul(BiIntExpr biIntExpr) {
+        LinearExpr left = linearExpr(biIntExpr.getLeft()).build();
+        LinearExpr right = linearExpr(biIntExpr.getRight()).build();
+        // A product with a constant remains linear
+        LinearExpr scaled = null;
+        if (left.numElements() == 0) {
+            scaled = scale(right, left.getOffset());
+        } else if (right.numElements() == 0) {
+            scaled = scale(left, right.getOffset());
+        }
+        if (scaled != null) {
+            return OrToolsType.linearExpr(scaled);
+        }
+        IntVar leftVar = intVar(biIntExpr.getLeft());
+        IntVar rightVar = intVar(biIntExpr.getRight());
+        IntVar var = genIntVar(interval(leftVar).mul(interval(rightVar)));
+        model.addMultiplicationEquality(var, new IntVar[]{leftVar, rightVar});
+        return OrToolsType.intVar(var);
+    }
+
+    // Returns null if a scaled coefficient or offset does not fit in an int, which keeps the expression within the bounds of CP-SAT
+    private static LinearExpr scale(LinearExpr expr, long factor) {
+        try {
+            for (int i = 0; i < expr.numElements(); i++) {
+                Math.toIntExact(Math.multiplyExact(expr.getCoefficient(i), factor));
+            }
+            Math.toIntExact(Math.multiplyExact(expr.getOffset(), factor));
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return LinearExpr.newBuilder().addTerm(expr, factor).build();
+    }
+
+    private OrToolsType div(BiIntExpr biIntExpr) {
         IntVar left = intVar(biIntExpr.getLeft());
         IntVar right = intVar(biIntExpr.getRight());
-        IntVar var = genIntVar();
-        switch (biIntExpr.getType()) {
-            case "SubExpr":
-                // OPTIMIZATION: Combine multiple subtraction scalar expressions
-                model.addEquality(var, LinearExpr.weightedSum(new IntVar[]{left, right}, new long[]{1L, -1L}));
-                return OrToolsType.intVar(var);
-            case "MulExpr":
-                model.addMultiplicationEquality(var, new IntVar[]{left, right});
-                return OrToolsType.intVar(var);
-            case "DivExpr":
-                // OR-Tools does not support negative integer division
-                if (left.getDomain().min() < 0) {
-                    IntVar oldLeftVar = left;
-                    left = model.newIntVar(0, Integer.MAX_VALUE, genName());
-                    model.addEquality(oldLeftVar, left);
-                }
-                if (right.getDomain().min() < 1) {
-                    IntVar oldRightVar = right;
-                    right = model.newIntVar(1, Integer.MAX_VALUE, genName());
-                    model.addEquality(oldRightVar, right);
-                }
-                model.addDivisionEquality(var, left, right);
-                return OrToolsType.intVar(var);
-            default:
-                throw new UnexpectedTypeException(biIntExpr);
+        // OR-Tools does not support negative integer division
+        if (left.getDomain().min() < 0) {
+            IntVar oldLeftVar = left;
+            left = model.newIntVar(0, Math.max(oldLeftVar.getDomain().max(), 0), genName());
+            model.addEquality(oldLeftVar, left);
         }
+        if (right.getDomain().min() < 1) {
+            IntVar oldRightVar = right;
+            right = model.newIntVar(1, Math.max(oldRightVar.getDomain().max(), 1), genName());
+            model.addEquality(oldRightVar, right);
+        }
+        IntVar var = genIntVar(interval(left).div(interval(right)));
+        model.addDivisionEquality(var, left, right);
+        return OrToolsType.intVar(var);
     }
 
-    private OrToolsType associativeBiIntExpr(BiIntExpr biIntExpr) {
-        IntVar[] vars = ElemUtil.collectAll(biIntExpr).stream()
-                .map(this::intVar)
-                .toArray(IntVar[]::new);
-        IntVar var = genIntVar();
-        switch (biIntExpr.getType()) {
-            case "AddExpr":
-                model.addEquality(var, LinearExpr.sum(vars));
-                return OrToolsType.intVar(var);
-            case "MinExpr":
-                model.addMinEquality(var, vars);
-                return OrToolsType.intVar(var);
-            case "MaxExpr":
-                model.addMaxEquality(var, vars);
-                return OrToolsType.intVar(var);
+    @Override
+    public OrToolsType visitNaryIntExpr(NaryIntExpr naryIntExpr) {
+        switch (naryIntExpr.getType()) {
+            case "SumExpr":
+                return OrToolsType.linearExpr(LinearExpr.newBuilder()
+                        .addSum(naryIntExpr.getChildren().stream()
+                                .map(this::linearExpr)
+                                .toArray(LinearArgument[]::new))
+                        .build());
+            case "NaryMinExpr":
+                return min(naryIntExpr.getChildren().stream()
+                        .map(this::intVar)
+                        .toArray(IntVar[]::new));
+            case "NaryMaxExpr":
+                return max(naryIntExpr.getChildren().stream()
+                        .map(this::intVar)
+                        .toArray(IntVar[]::new));
             default:
-                throw new UnexpectedTypeException(biIntExpr);
+                throw new UnexpectedTypeException(naryIntExpr);
+        }
+    }
+
+    @Override
+    public OrToolsType visitWeightedSumExpr(WeightedSumExpr weightedSumExpr) {
+        LinearArgument[] exprs = weightedSumExpr.getChildren().stream()
+                .map(this::linearExpr)
+                .toArray(LinearArgument[]::new);
+        return OrToolsType.linearExpr(LinearExpr.newBuilder()
+                .addWeightedSum(exprs, weightedSumExpr.getCoeffs())
+                .add(weightedSumExpr.getOffset())
+                .build());
+    }
+
+    private OrToolsType min(IntVar... vars) {
+        Interval interval = vars.length == 0 ? Interval.UNBOUNDED : interval(vars[0]);
+        for (int i = 1; i < vars.length; i++) {
+            interval = interval.min(interval(vars[i]));
         }
+        IntVar var = genIntVar(interval);
+        model.addMinEquality(var, vars);
+        return OrToolsType.intVar(var);
+    }
+
+    private OrToolsType max(IntVar... vars) {
+        Interval interval = vars.length == 0 ? Interval.UNBOUNDED : interval(vars[0]);
+        for (int i = 1; i < vars.length; i++) {
+            interval = interval.max(interval(vars[i]));
+        }
+        IntVar var = genIntVar(interval);
+        model.addMaxEquality(var, vars);
+        return OrToolsType.intVar(var);
     }
 
     @Override
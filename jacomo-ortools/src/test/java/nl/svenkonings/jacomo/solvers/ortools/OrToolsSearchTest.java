@@ -0,0 +1,50 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers.ortools;
+
+import com.google.ortools.Loader;
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolverResponse;
+import com.google.ortools.sat.CpSolverStatus;
+import com.google.ortools.sat.Literal;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrToolsSearchTest {
+
+    @Test
+    public void stopBeforeSearchTest() {
+        Loader.loadNativeLibraries();
+        // Placing 13 pigeons in 12 holes takes CP-SAT far longer than the timeout to refute
+        int holes = 12;
+        CpModel model = new CpModel();
+        Literal[][] placed = new Literal[holes + 1][holes];
+        for (int pigeon = 0; pigeon <= holes; pigeon++) {
+            for (int hole = 0; hole < holes; hole++) {
+                placed[pigeon][hole] = model.newBoolVar("p" + pigeon + "h" + hole);
+            }
+            model.addBoolOr(placed[pigeon]);
+        }
+        for (int hole = 0; hole < holes; hole++) {
+            Literal[] pigeons = new Literal[holes + 1];
+            for (int pigeon = 0; pigeon <= holes; pigeon++) {
+                pigeons[pigeon] = placed[pigeon][hole];
+            }
+            model.addAtMostOne(pigeons);
+        }
+        OrToolsSearch search = new OrToolsSearch(1, 60_000);
+        // A stop before the search has started is kept until the search starts
+        search.stop();
+        CpSolverResponse response = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> search.solve(model, null));
+        assertEquals(CpSolverStatus.UNKNOWN, response.getStatus());
+        assertSame(response, search.getResponse());
+        assertThrows(IllegalStateException.class, () -> search.solve(model, null));
+    }
+}
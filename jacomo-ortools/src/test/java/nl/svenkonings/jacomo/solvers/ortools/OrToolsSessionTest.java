@@ -0,0 +1,64 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers.ortools;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.solvers.SolveResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("ConstantConditions")
+public class OrToolsSessionTest {
+
+    @Test
+    public void assumptionTest() {
+        Model model = new Model();
+        BoolVar a = model.boolVar("a");
+        BoolVar b = model.boolVar("b");
+        BoolVar c = model.boolVar("c");
+        IntVar x = model.intVar("x", 0, 10);
+        model.constraint(a.not().or(x.ge(IntExpr.constant(8))));
+        model.constraint(b.not().or(x.le(IntExpr.constant(3))));
+        model.constraint(c.not().or(x.ge(IntExpr.constant(1))));
+        model.minimize(x);
+        OrToolsSession session = new OrToolsSolver().session(model);
+
+        SolveResult result = session.solve();
+        assertEquals(0L, result.getObjectiveValue());
+        assertTrue(session.getUnsatCore().isEmpty());
+
+        session.assume(a, true);
+        session.assume(b, true);
+        session.assume(c, true);
+        assertFalse(session.solve().hasSolution());
+        Map<String, Boolean> core = session.getUnsatCore();
+        assertEquals(Boolean.TRUE, core.get("a"));
+        assertEquals(Boolean.TRUE, core.get("b"));
+        assertTrue(session.getAssumptions().entrySet().containsAll(core.entrySet()));
+
+        session.retract("b");
+        result = session.solve();
+        assertEquals(8L, result.getObjectiveValue());
+        assertEquals(Boolean.FALSE, result.getSolution().getVar("b").getValue());
+        assertTrue(session.getUnsatCore().isEmpty());
+
+        session.assume(a, false);
+        session.assume(b, true);
+        assertEquals(1L, session.solve().getObjectiveValue());
+
+        session.clearAssumptions();
+        assertTrue(session.getAssumptions().isEmpty());
+        assertThrows(RuntimeException.class, () -> session.assume("x", true));
+        assertThrows(RuntimeException.class, () -> session.assume("d", true));
+    }
+}
@@ -18,6 +18,7 @@ import java.util.Objects;
  */
 public class BoolExprConstraint implements Constraint {
     private final @NotNull BoolExpr expr;
+    private final int hashCode;
 
     /**
      * Create a constraint with the specified expression.
@@ -26,6 +27,7 @@ public class BoolExprConstraint implements Constraint {
      */
     public BoolExprConstraint(@NotNull BoolExpr expr) {
         this.expr = expr;
+        hashCode = Objects.hash("BoolExprConstraint", expr);
     }
 
     /**
@@ -52,11 +54,12 @@ public class BoolExprConstraint implements Constraint {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BoolExprConstraint that = (BoolExprConstraint) o;
+        if (hashCode != that.hashCode) return false;
         return Objects.equals(expr, that.expr);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("BoolExprConstraint", expr);
+        return hashCode;
     }
 }
@@ -0,0 +1,179 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions;
+
+import nl.svenkonings.jacomo.elem.Elem;
+import nl.svenkonings.jacomo.elem.expressions.bool.ConstantBoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.ConstantIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interning factory for expressions.
+ * <p>
+ * Structurally identical expressions which are built through this factory
+ * are shared, so a subtree is only stored once and equality checks between
+ * interned expressions reduce to identity checks.
+ * The factory methods of {@code IntExpr} and {@code BoolExpr} intern every
+ * expression they create, but expressions which are created by calling their
+ * constructors directly are not interned. Comparing such an expression to
+ * another expression falls back to a structural comparison, which takes time
+ * linear in the size of both subtrees.
+ * <p>
+ * Expressions are interned by their class and the identity of their children.
+ * Children are never compared structurally, so two expressions which refer to
+ * different (but equal) var instances are not merged.
+ * Constant expressions are interned by their value, and weighted sums by their
+ * coefficients and offset as well. Other leaves, like vars, are returned as-is.
+ * <p>
+ * Interned expressions are weakly referenced and removed from the factory
+ * once they are no longer in use.
+ * <p>
+ * This class is thread-safe. Expressions are stored in a concurrent map, so
+ * threads which intern different expressions do not block each other.
+ */
+public final class ExprFactory {
+    private static final @NotNull ConcurrentMap<Key, ExprReference> exprs = new ConcurrentHashMap<>();
+    private static final @NotNull ReferenceQueue<Expr> queue = new ReferenceQueue<>();
+
+    private ExprFactory() {
+    }
+
+    /**
+     * Returns the canonical instance of the specified expression.
+     * If a structurally identical expression has been interned before and is still
+     * in use, that expression is returned. Otherwise, the specified expression is
+     * interned and returned.
+     *
+     * @param expr the specified expression
+     * @param <T>  the type of the expression
+     * @return the canonical instance of the specified expression
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Expr> @NotNull T intern(@NotNull T expr) {
+        expungeStaleEntries();
+        Key key = Key.of(expr);
+        if (key == null) {
+            return expr;
+        }
+        ExprReference created = null;
+        while (true) {
+            ExprReference reference = exprs.get(key);
+            if (reference != null) {
+                Expr interned = reference.get();
+                if (interned != null) {
+                    return (T) interned;
+                }
+            }
+            if (created == null) {
+                created = new ExprReference(expr, key, queue);
+            }
+            // Retry if another thread has interned or replaced the expression in the meantime
+            if (reference == null ? exprs.putIfAbsent(key, created) == null : exprs.replace(key, reference, created)) {
+                return expr;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of interned expressions.
+     * Expressions which are no longer in use, but have not been removed yet, are included.
+     *
+     * @return the number of interned expressions
+     */
+    public static int size() {
+        expungeStaleEntries();
+        return exprs.size();
+    }
+
+    private static void expungeStaleEntries() {
+        ExprReference reference;
+        while ((reference = (ExprReference) queue.poll()) != null) {
+            // Only remove the entry if it has not been replaced already
+            exprs.remove(reference.key, reference);
+        }
+    }
+
+    private static class ExprReference extends WeakReference<Expr> {
+        private final @NotNull Key key;
+
+        private ExprReference(@NotNull Expr referent, @NotNull Key key, @NotNull ReferenceQueue<Expr> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+
+    private static class Key {
+        private final @NotNull Class<?> type;
+        private final @NotNull Object[] children;
+        private final @NotNull Object[] values;
+        private final int hashCode;
+
+        // Children are compared by identity, values by equality
+        private Key(@NotNull Class<?> type, @NotNull Object[] children, @NotNull Object[] values) {
+            this.type = type;
+            this.children = children;
+            this.values = values;
+            int hash = type.hashCode();
+            for (Object child : children) {
+                hash = 31 * hash + System.identityHashCode(child);
+            }
+            for (Object value : values) {
+                hash = 31 * hash + value.hashCode();
+            }
+            this.hashCode = hash;
+        }
+
+        private static Key of(@NotNull Expr expr) {
+            List<? extends Elem> children = expr.getChildren();
+            if (expr instanceof WeightedSumExpr) {
+                WeightedSumExpr weightedSumExpr = (WeightedSumExpr) expr;
+                Object[] values = new Object[children.size() + 1];
+                for (int i = 0; i < children.size(); i++) {
+                    values[i] = weightedSumExpr.getCoeff(i);
+                }
+                values[children.size()] = weightedSumExpr.getOffset();
+                return new Key(expr.getClass(), children.toArray(), values);
+            } else if (!children.isEmpty()) {
+                return new Key(expr.getClass(), children.toArray(), new Object[0]);
+            } else if (expr instanceof ConstantIntExpr || expr instanceof ConstantBoolExpr) {
+                return new Key(expr.getClass(), new Object[0], new Object[]{expr.getValue()});
+            } else {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            if (hashCode != key.hashCode || type != key.type ||
+                    children.length != key.children.length || values.length != key.values.length) {
+                return false;
+            }
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] != key.children[i]) {
+                    return false;
+                }
+            }
+            return Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
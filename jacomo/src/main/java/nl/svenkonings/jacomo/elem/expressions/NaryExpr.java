@@ -0,0 +1,34 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Represents an n-ary expression with one or more sub-expressions.
+ */
+public interface NaryExpr extends Expr {
+    /**
+     * Returns the sub-expressions.
+     * The list cannot be modified.
+     *
+     * @return the list of sub-expressions
+     */
+    @Override
+    @NotNull List<? extends Expr> getChildren();
+
+    /**
+     * Returns the number of sub-expressions.
+     *
+     * @return the number of sub-expressions
+     */
+    default int size() {
+        return getChildren().size();
+    }
+}
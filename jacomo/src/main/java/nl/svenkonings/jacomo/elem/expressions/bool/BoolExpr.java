@@ -7,8 +7,11 @@
 package nl.svenkonings.jacomo.elem.expressions.bool;
 
 import nl.svenkonings.jacomo.elem.expressions.Expr;
+import nl.svenkonings.jacomo.elem.expressions.ExprFactory;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.AndExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.OrExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryAndExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryOrExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.NotExpr;
 import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
 import org.jetbrains.annotations.Nullable;
@@ -31,7 +34,7 @@ public interface BoolExpr extends Expr {
      * @return the created boolean constant
      */
     static ConstantBoolExpr constant(boolean value) {
-        return new ConstantBoolExpr(value);
+        return ExprFactory.intern(new ConstantBoolExpr(value));
     }
 
     // Unary bool expressions
@@ -42,10 +45,10 @@ public interface BoolExpr extends Expr {
      * @return the created Not expression
      */
     default NotExpr not() {
-        return new NotExpr(this);
+        return ExprFactory.intern(new NotExpr(this));
     }
 
-    // Binary bool expressions
+    // Binary and n-ary bool expressions
 
     /**
      * Creates a And expression of this expression and the specified expression.
@@ -54,18 +57,32 @@ public interface BoolExpr extends Expr {
      * @return the created And expression
      */
     default AndExpr and(BoolExpr other) {
-        return new AndExpr(this, other);
+        return ExprFactory.intern(new AndExpr(this, other));
     }
 
     /**
-     * Creates an And expression of the specified elements.
+     * Creates an And expression of the specified elements from left to right.
      *
      * @param exprs the specified elements
      * @return the created And expression
      * @throws InvalidInputException when less than two elements are specified
+     * @deprecated nests binary expressions, use {@link #all(BoolExpr...)} to create a single n-ary expression
      */
+    @Deprecated
     static AndExpr and(BoolExpr... exprs) throws InvalidInputException {
-        return foldLeft(exprs, AndExpr::new);
+        return foldLeft(exprs, (left, right) -> left.and(right));
+    }
+
+    /**
+     * Creates an And expression of the specified elements.
+     * The elements are stored in a single n-ary expression.
+     *
+     * @param exprs the specified elements
+     * @return the created And expression
+     * @throws InvalidInputException when no elements are specified
+     */
+    static NaryAndExpr all(BoolExpr... exprs) throws InvalidInputException {
+        return ExprFactory.intern(new NaryAndExpr(exprs));
     }
 
     /**
@@ -75,17 +92,31 @@ public interface BoolExpr extends Expr {
      * @return the created Or expression
      */
     default OrExpr or(BoolExpr other) {
-        return new OrExpr(this, other);
+        return ExprFactory.intern(new OrExpr(this, other));
     }
 
     /**
-     * Creates an Or expression of the specified elements.
+     * Creates an Or expression of the specified elements from left to right.
      *
      * @param exprs the specified elements
      * @return the created Or expression
      * @throws InvalidInputException when less than two elements are specified
+     * @deprecated nests binary expressions, use {@link #any(BoolExpr...)} to create a single n-ary expression
      */
+    @Deprecated
     static OrExpr or(BoolExpr... exprs) throws InvalidInputException {
-        return foldLeft(exprs, OrExpr::new);
+        return foldLeft(exprs, (left, right) -> left.or(right));
+    }
+
+    /**
+     * Creates an Or expression of the specified elements.
+     * The elements are stored in a single n-ary expression.
+     *
+     * @param exprs the specified elements
+     * @return the created Or expression
+     * @throws InvalidInputException when no elements are specified
+     */
+    static NaryOrExpr any(BoolExpr... exprs) throws InvalidInputException {
+        return ExprFactory.intern(new NaryOrExpr(exprs));
     }
 }
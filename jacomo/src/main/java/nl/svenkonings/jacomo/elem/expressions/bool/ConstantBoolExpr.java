@@ -16,6 +16,7 @@ import java.util.Objects;
 public class ConstantBoolExpr implements BoolExpr {
 
     private final boolean value;
+    private final int hashCode;
 
     /**
      * Create a new constant boolean expression with the specified value.
@@ -24,6 +25,7 @@ public class ConstantBoolExpr implements BoolExpr {
      */
     public ConstantBoolExpr(boolean value) {
         this.value = value;
+        hashCode = Objects.hash("ConstantBoolExpr", value);
     }
 
     @Override
@@ -46,11 +48,12 @@ public class ConstantBoolExpr implements BoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ConstantBoolExpr that = (ConstantBoolExpr) o;
+        if (hashCode != that.hashCode) return false;
         return value == that.value;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("ConstantBoolExpr", value);
+        return hashCode;
     }
 }
@@ -19,6 +19,7 @@ import java.util.Objects;
 public class AndExpr implements BiBoolExpr {
     private final @NotNull BoolExpr left;
     private final @NotNull BoolExpr right;
+    private final int hashCode;
 
     /**
      * Create a new And boolean expression.
@@ -29,6 +30,7 @@ public class AndExpr implements BiBoolExpr {
     public AndExpr(@NotNull BoolExpr left, @NotNull BoolExpr right) {
         this.left = left;
         this.right = right;
+        hashCode = Objects.hash("AndExpr", left, right);
     }
 
     @Override
@@ -71,12 +73,13 @@ public class AndExpr implements BiBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AndExpr andExpr = (AndExpr) o;
+        if (hashCode != andExpr.hashCode) return false;
         return Objects.equals(left, andExpr.left) &&
                 Objects.equals(right, andExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("AndExpr", left, right);
+        return hashCode;
     }
 }
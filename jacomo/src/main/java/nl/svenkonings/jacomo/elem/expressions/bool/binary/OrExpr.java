@@ -19,6 +19,7 @@ import java.util.Objects;
 public class OrExpr implements BiBoolExpr {
     private final @NotNull BoolExpr left;
     private final @NotNull BoolExpr right;
+    private final int hashCode;
 
     /**
      * Create a new Or boolean expression.
@@ -29,6 +30,7 @@ public class OrExpr implements BiBoolExpr {
     public OrExpr(@NotNull BoolExpr left, @NotNull BoolExpr right) {
         this.left = left;
         this.right = right;
+        hashCode = Objects.hash("OrExpr", left, right);
     }
 
     @Override
@@ -71,12 +73,13 @@ public class OrExpr implements BiBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         OrExpr orExpr = (OrExpr) o;
+        if (hashCode != orExpr.hashCode) return false;
         return Objects.equals(left, orExpr.left) &&
                 Objects.equals(right, orExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("OrExpr", left, right);
+        return hashCode;
     }
 }
@@ -0,0 +1,21 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.bool.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.NaryExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Represent an n-ary boolean expression of one or more boolean expressions.
+ */
+public interface NaryBoolExpr extends BoolExpr, NaryExpr {
+    @Override
+    @NotNull List<? extends BoolExpr> getChildren();
+}
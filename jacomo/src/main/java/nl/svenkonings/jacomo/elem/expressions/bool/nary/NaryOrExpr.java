@@ -0,0 +1,89 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.bool.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.util.ListUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Represent an n-ary Or boolean expression.
+ */
+@SuppressWarnings("ConstantConditions")
+public class NaryOrExpr implements NaryBoolExpr {
+    private final @NotNull BoolExpr[] exprs;
+    private final int hashCode;
+
+    /**
+     * Create a new n-ary Or boolean expression.
+     *
+     * @param exprs the operands of the Or expression
+     * @throws InvalidInputException when no operands are specified
+     */
+    public NaryOrExpr(@NotNull BoolExpr... exprs) throws InvalidInputException {
+        if (exprs.length < 1) {
+            throw new InvalidInputException("At least 1 element is required");
+        }
+        this.exprs = exprs.clone();
+        hashCode = Objects.hash("NaryOrExpr", Arrays.hashCode(this.exprs));
+    }
+
+    @Override
+    public @NotNull List<? extends BoolExpr> getChildren() {
+        return ListUtil.of(exprs);
+    }
+
+    @Override
+    public int size() {
+        return exprs.length;
+    }
+
+    @Override
+    public boolean hasValue() {
+        return getValue() != null;
+    }
+
+    @Override
+    public @Nullable Boolean getValue() {
+        // The result is known if any operand is true, or if all operands are known
+        boolean known = true;
+        for (BoolExpr expr : exprs) {
+            if (!expr.hasValue()) {
+                known = false;
+            } else if (expr.getValue()) {
+                return true;
+            }
+        }
+        return known ? false : null;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(exprs).map(Object::toString).collect(Collectors.joining(" || ", "(", ")"));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NaryOrExpr that = (NaryOrExpr) o;
+        if (hashCode != that.hashCode) return false;
+        return Arrays.equals(exprs, that.exprs);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -20,6 +20,7 @@ public class EqExpr implements ReBoolExpr {
 
     private final @NotNull IntExpr left;
     private final @NotNull IntExpr right;
+    private final int hashCode;
 
     /**
      * Create a new Equals boolean expression.
@@ -30,6 +31,7 @@ public class EqExpr implements ReBoolExpr {
     public EqExpr(@NotNull IntExpr left, @NotNull IntExpr right) {
         this.left = left;
         this.right = right;
+        hashCode = Objects.hash("EqExpr", left, right);
     }
 
     @Override
@@ -72,12 +74,13 @@ public class EqExpr implements ReBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         EqExpr eqExpr = (EqExpr) o;
+        if (hashCode != eqExpr.hashCode) return false;
         return Objects.equals(left, eqExpr.left) &&
                 Objects.equals(right, eqExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("EqExpr", left, right);
+        return hashCode;
     }
 }
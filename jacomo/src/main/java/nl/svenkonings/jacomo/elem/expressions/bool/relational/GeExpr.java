@@ -20,6 +20,7 @@ public class GeExpr implements ReBoolExpr {
 
     private final @NotNull IntExpr left;
     private final @NotNull IntExpr right;
+    private final int hashCode;
 
     /**
      * Create a new Greater-or-equals boolean expression.
@@ -30,6 +31,7 @@ public class GeExpr implements ReBoolExpr {
     public GeExpr(@NotNull IntExpr left, @NotNull IntExpr right) {
         this.left = left;
         this.right = right;
+        hashCode = Objects.hash("GeExpr", left, right);
     }
 
     @Override
@@ -72,12 +74,13 @@ public class GeExpr implements ReBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         GeExpr geExpr = (GeExpr) o;
+        if (hashCode != geExpr.hashCode) return false;
         return Objects.equals(left, geExpr.left) &&
                 Objects.equals(right, geExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("GeExpr", left, right);
+        return hashCode;
     }
 }
@@ -20,6 +20,7 @@ public class GtExpr implements ReBoolExpr {
 
     private final @NotNull IntExpr left;
     private final @NotNull IntExpr right;
+    private final int hashCode;
 
     /**
      * Create a new Greater-than boolean expression.
@@ -30,6 +31,7 @@ public class GtExpr implements ReBoolExpr {
     public GtExpr(@NotNull IntExpr left, @NotNull IntExpr right) {
         this.left = left;
         this.right = right;
+        hashCode = Objects.hash("GtExpr", left, right);
     }
 
     @Override
@@ -72,12 +74,13 @@ public class GtExpr implements ReBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         GtExpr gtExpr = (GtExpr) o;
+        if (hashCode != gtExpr.hashCode) return false;
         return Objects.equals(left, gtExpr.left) &&
                 Objects.equals(right, gtExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("GtExpr", left, right);
+        return hashCode;
     }
 }
@@ -20,6 +20,7 @@ public class LeExpr implements ReBoolExpr {
 
     private final @NotNull IntExpr left;
     private final @NotNull IntExpr right;
+    private final int hashCode;
 
     /**
      * Create a new Lesser-or-equals boolean expression.
@@ -30,6 +31,7 @@ public class LeExpr implements ReBoolExpr {
     public LeExpr(@NotNull IntExpr left, @NotNull IntExpr right) {
         this.left = left;
         this.right = right;
+        hashCode = Objects.hash("LeExpr", left, right);
     }
 
     @Override
@@ -72,12 +74,13 @@ public class LeExpr implements ReBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         LeExpr leExpr = (LeExpr) o;
+        if (hashCode != leExpr.hashCode) return false;
         return Objects.equals(left, leExpr.left) &&
                 Objects.equals(right, leExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("LeExpr", left, right);
+        return hashCode;
     }
 }
@@ -20,6 +20,7 @@ public class LtExpr implements ReBoolExpr {
 
     private final @NotNull IntExpr left;
     private final @NotNull IntExpr right;
+    private final int hashCode;
 
     /**
      * Create a new Lesser-than boolean expression.
@@ -30,6 +31,7 @@ public class LtExpr implements ReBoolExpr {
     public LtExpr(@NotNull IntExpr left, @NotNull IntExpr right) {
         this.left = left;
         this.right = right;
+        hashCode = Objects.hash("LtExpr", left, right);
     }
 
     @Override
@@ -72,12 +74,13 @@ public class LtExpr implements ReBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         LtExpr ltExpr = (LtExpr) o;
+        if (hashCode != ltExpr.hashCode) return false;
         return Objects.equals(left, ltExpr.left) &&
                 Objects.equals(right, ltExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("LtExpr", left, right);
+        return hashCode;
     }
 }
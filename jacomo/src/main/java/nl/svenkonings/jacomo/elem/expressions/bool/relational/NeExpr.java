@@ -20,6 +20,7 @@ public class NeExpr implements ReBoolExpr {
 
     private final @NotNull IntExpr left;
     private final @NotNull IntExpr right;
+    private final int hashCode;
 
     /**
      * Create a new Not-equals boolean expression.
@@ -30,6 +31,7 @@ public class NeExpr implements ReBoolExpr {
     public NeExpr(@NotNull IntExpr left, @NotNull IntExpr right) {
         this.left = left;
         this.right = right;
+        hashCode = Objects.hash("NeExpr", left, right);
     }
 
     @Override
@@ -72,12 +74,13 @@ public class NeExpr implements ReBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         NeExpr neExpr = (NeExpr) o;
+        if (hashCode != neExpr.hashCode) return false;
         return Objects.equals(left, neExpr.left) &&
                 Objects.equals(right, neExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("NeExpr", left, right);
+        return hashCode;
     }
 }
@@ -18,6 +18,7 @@ import java.util.Objects;
 @SuppressWarnings("ConstantConditions")
 public class NotExpr implements UnBoolExpr {
     private final @NotNull BoolExpr expr;
+    private final int hashCode;
 
     /**
      * Creates a new Not boolean expression.
@@ -26,6 +27,7 @@ public class NotExpr implements UnBoolExpr {
      */
     public NotExpr(@NotNull BoolExpr expr) {
         this.expr = expr;
+        hashCode = Objects.hash("NotExpr", expr);
     }
 
     @Override
@@ -57,11 +59,12 @@ public class NotExpr implements UnBoolExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         NotExpr notExpr = (NotExpr) o;
+        if (hashCode != notExpr.hashCode) return false;
         return Objects.equals(expr, notExpr.expr);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("NotExpr", expr);
+        return hashCode;
     }
 }
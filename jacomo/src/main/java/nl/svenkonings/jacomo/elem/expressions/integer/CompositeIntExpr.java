@@ -0,0 +1,77 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Represents an integer expression composed of integer sub-expressions.
+ * The interval of the expression is computed from the intervals of the
+ * sub-expressions and memoized.
+ */
+public interface CompositeIntExpr extends IntExpr {
+    @Override
+    @NotNull List<? extends IntExpr> getChildren();
+
+    /**
+     * Returns the interval containing all possible values of this expression.
+     * The interval is computed from the intervals of the children and memoized.
+     *
+     * @return the interval of this expression
+     */
+    @Override
+    default @NotNull Interval getInterval() {
+        return getIntervalCache().get(this);
+    }
+
+    /**
+     * Returns the cache which memoizes the interval of this expression.
+     *
+     * @return the interval cache of this expression
+     */
+    @NotNull IntervalCache getIntervalCache();
+
+    /**
+     * Computes the interval of this expression from the intervals of its children.
+     *
+     * @return the interval of this expression
+     */
+    @NotNull Interval computeInterval();
+
+    @Override
+    default boolean hasValue() {
+        return getInterval().getIntValue() != null;
+    }
+
+    @Override
+    default @Nullable Integer getValue() {
+        return getInterval().getIntValue();
+    }
+
+    @Override
+    default boolean hasLowerBound() {
+        return getInterval().getIntLower() != null;
+    }
+
+    @Override
+    default @Nullable Integer getLowerBound() {
+        return getInterval().getIntLower();
+    }
+
+    @Override
+    default boolean hasUpperBound() {
+        return getInterval().getIntUpper() != null;
+    }
+
+    @Override
+    default @Nullable Integer getUpperBound() {
+        return getInterval().getIntUpper();
+    }
+}
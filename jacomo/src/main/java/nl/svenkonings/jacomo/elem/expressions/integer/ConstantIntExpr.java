@@ -16,6 +16,7 @@ import java.util.Objects;
 public class ConstantIntExpr implements IntExpr {
 
     private final int value;
+    private final int hashCode;
 
     /**
      * Create a new constant integer expression with the specified value.
@@ -24,6 +25,7 @@ public class ConstantIntExpr implements IntExpr {
      */
     public ConstantIntExpr(int value) {
         this.value = value;
+        hashCode = Objects.hash("ConstantIntExpr", value);
     }
 
     @Override
@@ -56,6 +58,11 @@ public class ConstantIntExpr implements IntExpr {
         return value;
     }
 
+    @Override
+    public @NotNull Interval getInterval() {
+        return Interval.of(value);
+    }
+
     @Override
     public String toString() {
         return Integer.toString(value);
@@ -66,11 +73,12 @@ public class ConstantIntExpr implements IntExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ConstantIntExpr that = (ConstantIntExpr) o;
+        if (hashCode != that.hashCode) return false;
         return value == that.value;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("ConstantIntExpr", value);
+        return hashCode;
     }
 }
@@ -7,9 +7,15 @@
 package nl.svenkonings.jacomo.elem.expressions.integer;
 
 import nl.svenkonings.jacomo.elem.expressions.Expr;
+import nl.svenkonings.jacomo.elem.expressions.ExprFactory;
 import nl.svenkonings.jacomo.elem.expressions.bool.relational.*;
 import nl.svenkonings.jacomo.elem.expressions.integer.binary.*;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMaxExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMinExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.SumExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
 import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static nl.svenkonings.jacomo.util.ArrayUtil.foldLeft;
@@ -49,6 +55,16 @@ public interface IntExpr extends Expr {
      */
     @Nullable Integer getUpperBound();
 
+    /**
+     * Returns the interval containing all possible values of this expression.
+     * Unlike the integer bounds, the interval bounds can exceed the integer range.
+     *
+     * @return the interval of this expression
+     */
+    default @NotNull Interval getInterval() {
+        return Interval.of(getLowerBound(), getUpperBound());
+    }
+
     // Factory methods
 
     /**
@@ -58,10 +74,10 @@ public interface IntExpr extends Expr {
      * @return the created integer constant
      */
     static ConstantIntExpr constant(int value) {
-        return new ConstantIntExpr(value);
+        return ExprFactory.intern(new ConstantIntExpr(value));
     }
 
-    // Binary int expressions
+    // Binary and n-ary int expressions
 
     /**
      * Creates a new integer expression adding the specified expression to this expression.
@@ -70,18 +86,60 @@ public interface IntExpr extends Expr {
      * @return the created Addition expression
      */
     default AddExpr add(IntExpr other) {
-        return new AddExpr(this, other);
+        return ExprFactory.intern(new AddExpr(this, other));
     }
 
     /**
      * Creates a new integer expression adding the specified elements from left to right.
      *
      * @param exprs the specified elements
-     * @return the created Addition expression
+     * @return the created Add expression
      * @throws InvalidInputException when less than two elements are specified
+     * @deprecated nests binary expressions, use {@link #sum(IntExpr...)} to create a single n-ary expression
      */
+    @Deprecated
     static AddExpr add(IntExpr... exprs) throws InvalidInputException {
-        return foldLeft(exprs, AddExpr::new);
+        return foldLeft(exprs, (left, right) -> left.add(right));
+    }
+
+    /**
+     * Creates a new integer expression adding the specified elements.
+     * The elements are stored in a single n-ary expression.
+     *
+     * @param exprs the specified elements
+     * @return the created Sum expression
+     * @throws InvalidInputException when no elements are specified
+     */
+    static SumExpr sum(IntExpr... exprs) throws InvalidInputException {
+        return ExprFactory.intern(new SumExpr(exprs));
+    }
+
+    /**
+     * Creates a new integer expression adding the specified elements multiplied by the specified coefficients.
+     *
+     * @param exprs  the specified elements
+     * @param coeffs the specified coefficients
+     * @return the created Weighted sum expression
+     * @throws InvalidInputException when no elements are specified,
+     *                               or the number of coefficients does not match the number of elements
+     */
+    static WeightedSumExpr weightedSum(IntExpr[] exprs, int[] coeffs) throws InvalidInputException {
+        return weightedSum(exprs, coeffs, 0);
+    }
+
+    /**
+     * Creates a new integer expression adding the specified elements multiplied by the specified coefficients
+     * and the specified offset.
+     *
+     * @param exprs  the specified elements
+     * @param coeffs the specified coefficients
+     * @param offset the specified offset
+     * @return the created Weighted sum expression
+     * @throws InvalidInputException when no elements are specified,
+     *                               or the number of coefficients does not match the number of elements
+     */
+    static WeightedSumExpr weightedSum(IntExpr[] exprs, int[] coeffs, int offset) throws InvalidInputException {
+        return ExprFactory.intern(new WeightedSumExpr(exprs, coeffs, offset));
     }
 
     /**
@@ -91,7 +149,7 @@ public interface IntExpr extends Expr {
      * @return the created Subtraction expression
      */
     default SubExpr sub(IntExpr other) {
-        return new SubExpr(this, other);
+        return ExprFactory.intern(new SubExpr(this, other));
     }
 
     /**
@@ -102,7 +160,7 @@ public interface IntExpr extends Expr {
      * @throws InvalidInputException when less than two elements are specified
      */
     static SubExpr sub(IntExpr... exprs) throws InvalidInputException {
-        return foldLeft(exprs, SubExpr::new);
+        return foldLeft(exprs, (left, right) -> left.sub(right));
     }
 
     /**
@@ -112,7 +170,7 @@ public interface IntExpr extends Expr {
      * @return the created Multiplication expression
      */
     default MulExpr mul(IntExpr other) {
-        return new MulExpr(this, other);
+        return ExprFactory.intern(new MulExpr(this, other));
     }
 
     /**
@@ -123,7 +181,7 @@ public interface IntExpr extends Expr {
      * @throws InvalidInputException when less than two elements are specified
      */
     static MulExpr mul(IntExpr... exprs) throws InvalidInputException {
-        return foldLeft(exprs, MulExpr::new);
+        return foldLeft(exprs, (left, right) -> left.mul(right));
     }
 
     /**
@@ -133,7 +191,7 @@ public interface IntExpr extends Expr {
      * @return the created Division expression
      */
     default DivExpr div(IntExpr other) {
-        return new DivExpr(this, other);
+        return ExprFactory.intern(new DivExpr(this, other));
     }
 
     /**
@@ -144,7 +202,7 @@ public interface IntExpr extends Expr {
      * @throws InvalidInputException when less than two elements are specified
      */
     static DivExpr div(IntExpr... exprs) throws InvalidInputException {
-        return foldLeft(exprs, DivExpr::new);
+        return foldLeft(exprs, (left, right) -> left.div(right));
     }
 
     /**
@@ -154,18 +212,32 @@ public interface IntExpr extends Expr {
      * @return the created Minimum expression
      */
     default MinExpr min(IntExpr other) {
-        return new MinExpr(this, other);
+        return ExprFactory.intern(new MinExpr(this, other));
     }
 
     /**
      * Creates a new integer expression taking the minimum of the specified elements from left to right.
      *
      * @param exprs the specified elements
-     * @return the created Minimum expression
+     * @return the created Min expression
      * @throws InvalidInputException when less than two elements are specified
+     * @deprecated nests binary expressions, use {@link #minimum(IntExpr...)} to create a single n-ary expression
      */
+    @Deprecated
     static MinExpr min(IntExpr... exprs) throws InvalidInputException {
-        return foldLeft(exprs, MinExpr::new);
+        return foldLeft(exprs, (left, right) -> left.min(right));
+    }
+
+    /**
+     * Creates a new integer expression taking the minimum of the specified elements.
+     * The elements are stored in a single n-ary expression.
+     *
+     * @param exprs the specified elements
+     * @return the created Minimum expression
+     * @throws InvalidInputException when no elements are specified
+     */
+    static NaryMinExpr minimum(IntExpr... exprs) throws InvalidInputException {
+        return ExprFactory.intern(new NaryMinExpr(exprs));
     }
 
     /**
@@ -175,18 +247,32 @@ public interface IntExpr extends Expr {
      * @return the created Maximum expression
      */
     default MaxExpr max(IntExpr other) {
-        return new MaxExpr(this, other);
+        return ExprFactory.intern(new MaxExpr(this, other));
     }
 
     /**
-     * Creates a new integer expression taking the maximum the specified elements from left to right.
+     * Creates a new integer expression taking the maximum of the specified elements from left to right.
      *
      * @param exprs the specified elements
-     * @return the created Maximum expression
+     * @return the created Max expression
      * @throws InvalidInputException when less than two elements are specified
+     * @deprecated nests binary expressions, use {@link #maximum(IntExpr...)} to create a single n-ary expression
      */
+    @Deprecated
     static MaxExpr max(IntExpr... exprs) throws InvalidInputException {
-        return foldLeft(exprs, MaxExpr::new);
+        return foldLeft(exprs, (left, right) -> left.max(right));
+    }
+
+    /**
+     * Creates a new integer expression taking the maximum of the specified elements.
+     * The elements are stored in a single n-ary expression.
+     *
+     * @param exprs the specified elements
+     * @return the created Maximum expression
+     * @throws InvalidInputException when no elements are specified
+     */
+    static NaryMaxExpr maximum(IntExpr... exprs) throws InvalidInputException {
+        return ExprFactory.intern(new NaryMaxExpr(exprs));
     }
 
     // Relational bool expressions
@@ -198,7 +284,7 @@ public interface IntExpr extends Expr {
      * @return the created Equals expression
      */
     default EqExpr eq(IntExpr other) {
-        return new EqExpr(this, other);
+        return ExprFactory.intern(new EqExpr(this, other));
     }
 
     /**
@@ -208,7 +294,7 @@ public interface IntExpr extends Expr {
      * @return the created Not-equals expression
      */
     default NeExpr ne(IntExpr other) {
-        return new NeExpr(this, other);
+        return ExprFactory.intern(new NeExpr(this, other));
     }
 
     /**
@@ -218,7 +304,7 @@ public interface IntExpr extends Expr {
      * @return the created Lesser-than expression
      */
     default LtExpr lt(IntExpr other) {
-        return new LtExpr(this, other);
+        return ExprFactory.intern(new LtExpr(this, other));
     }
 
     /**
@@ -228,7 +314,7 @@ public interface IntExpr extends Expr {
      * @return the created Lesser-or-equals expression
      */
     default LeExpr le(IntExpr other) {
-        return new LeExpr(this, other);
+        return ExprFactory.intern(new LeExpr(this, other));
     }
 
     /**
@@ -238,7 +324,7 @@ public interface IntExpr extends Expr {
      * @return the created Greater-than expression
      */
     default GtExpr gt(IntExpr other) {
-        return new GtExpr(this, other);
+        return ExprFactory.intern(new GtExpr(this, other));
     }
 
     /**
@@ -248,6 +334,6 @@ public interface IntExpr extends Expr {
      * @return the created Greater-or-equals expression
      */
     default GeExpr ge(IntExpr other) {
-        return new GeExpr(this, other);
+        return ExprFactory.intern(new GeExpr(this, other));
     }
 }
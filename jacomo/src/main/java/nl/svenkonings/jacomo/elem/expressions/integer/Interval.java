@@ -0,0 +1,282 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable closed interval of {@code long} values used to propagate the
+ * bounds of integer expressions.
+ * <p>
+ * {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE} represent an unbounded
+ * lower and upper bound respectively. Arithmetic saturates, results which
+ * overflow become unbounded. The arithmetic operations are sound: the
+ * resulting interval contains every value the operation can produce for
+ * operands within the operand intervals.
+ */
+public final class Interval {
+    /**
+     * Represents an unbounded lower bound.
+     */
+    public static final long NEG_INF = Long.MIN_VALUE;
+    /**
+     * Represents an unbounded upper bound.
+     */
+    public static final long POS_INF = Long.MAX_VALUE;
+    /**
+     * The unbounded interval.
+     */
+    public static final Interval UNBOUNDED = new Interval(NEG_INF, POS_INF);
+
+    private final long lower;
+    private final long upper;
+
+    private Interval(long lower, long upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Returns the interval between the specified bounds.
+     *
+     * @param lower the lower bound, or {@link #NEG_INF} if unbounded
+     * @param upper the upper bound, or {@link #POS_INF} if unbounded
+     * @return the interval between the specified bounds
+     */
+    public static @NotNull Interval of(long lower, long upper) {
+        if (lower == NEG_INF && upper == POS_INF) {
+            return UNBOUNDED;
+        }
+        return new Interval(lower, upper);
+    }
+
+    /**
+     * Returns the interval between the specified bounds.
+     *
+     * @param lower the lower bound, or {@code null} if unbounded
+     * @param upper the upper bound, or {@code null} if unbounded
+     * @return the interval between the specified bounds
+     */
+    public static @NotNull Interval of(@Nullable Integer lower, @Nullable Integer upper) {
+        return of(lower == null ? NEG_INF : lower, upper == null ? POS_INF : upper);
+    }
+
+    /**
+     * Returns the interval containing only the specified value.
+     *
+     * @param value the specified value
+     * @return the interval containing only the specified value
+     */
+    public static @NotNull Interval of(int value) {
+        return new Interval(value, value);
+    }
+
+    /**
+     * Returns the lower bound of this interval, or {@link #NEG_INF} if unbounded.
+     *
+     * @return the lower bound of this interval
+     */
+    public long getLower() {
+        return lower;
+    }
+
+    /**
+     * Returns the upper bound of this interval, or {@link #POS_INF} if unbounded.
+     *
+     * @return the upper bound of this interval
+     */
+    public long getUpper() {
+        return upper;
+    }
+
+    /**
+     * Returns the lower bound of this interval as an integer,
+     * or {@code null} if it is unbounded or outside the integer range.
+     *
+     * @return the integer lower bound of this interval, or {@code null}
+     */
+    public @Nullable Integer getIntLower() {
+        return isInt(lower) ? (int) lower : null;
+    }
+
+    /**
+     * Returns the upper bound of this interval as an integer,
+     * or {@code null} if it is unbounded or outside the integer range.
+     *
+     * @return the integer upper bound of this interval, or {@code null}
+     */
+    public @Nullable Integer getIntUpper() {
+        return isInt(upper) ? (int) upper : null;
+    }
+
+    /**
+     * Returns the value of this interval if it contains a single integer,
+     * {@code null} otherwise.
+     *
+     * @return the value of this interval, or {@code null}
+     */
+    public @Nullable Integer getIntValue() {
+        return lower == upper && isInt(lower) ? (int) lower : null;
+    }
+
+    private static boolean isInt(long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    // Arithmetic
+
+    /**
+     * Returns the interval of the sum of values within this and the specified interval.
+     *
+     * @param other the specified interval
+     * @return the resulting interval
+     */
+    public @NotNull Interval add(@NotNull Interval other) {
+        long lo = lower == NEG_INF || other.lower == NEG_INF ? NEG_INF : saturate(lower + other.lower, lower, other.lower);
+        long hi = upper == POS_INF || other.upper == POS_INF ? POS_INF : saturate(upper + other.upper, upper, other.upper);
+        return of(lo, hi);
+    }
+
+    /**
+     * Returns the interval of the difference of values within this and the specified interval.
+     *
+     * @param other the specified interval
+     * @return the resulting interval
+     */
+    public @NotNull Interval sub(@NotNull Interval other) {
+        return add(other.negate());
+    }
+
+    /**
+     * Returns the interval of the negation of the values within this interval.
+     *
+     * @return the resulting interval
+     */
+    public @NotNull Interval negate() {
+        return of(upper == POS_INF ? NEG_INF : -upper, lower == NEG_INF ? POS_INF : -lower);
+    }
+
+    /**
+     * Returns the interval of the product of values within this and the specified interval.
+     *
+     * @param other the specified interval
+     * @return the resulting interval
+     */
+    public @NotNull Interval mul(@NotNull Interval other) {
+        long a = mul(lower, other.lower);
+        long b = mul(lower, other.upper);
+        long c = mul(upper, other.lower);
+        long d = mul(upper, other.upper);
+        return of(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+
+    /**
+     * Returns the interval of the truncated quotient of values within this and the specified interval.
+     * A divisor of zero is excluded. If the divisor can only be zero, the unbounded interval is returned.
+     *
+     * @param other the specified interval
+     * @return the resulting interval
+     */
+    public @NotNull Interval div(@NotNull Interval other) {
+        // The quotient is monotone within each sign of the divisor, so the extremes are at the corners
+        Interval negative = other.lower <= -1 ? divCorners(other.lower, Math.min(other.upper, -1)) : null;
+        Interval positive = other.upper >= 1 ? divCorners(Math.max(other.lower, 1), other.upper) : null;
+        if (negative == null) {
+            return positive == null ? UNBOUNDED : positive;
+        } else if (positive == null) {
+            return negative;
+        } else {
+            return of(Math.min(negative.lower, positive.lower), Math.max(negative.upper, positive.upper));
+        }
+    }
+
+    private @NotNull Interval divCorners(long divLower, long divUpper) {
+        long a = div(lower, divLower);
+        long b = div(lower, divUpper);
+        long c = div(upper, divLower);
+        long d = div(upper, divUpper);
+        return of(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+
+    /**
+     * Returns the interval of the minimum of values within this and the specified interval.
+     *
+     * @param other the specified interval
+     * @return the resulting interval
+     */
+    public @NotNull Interval min(@NotNull Interval other) {
+        return of(Math.min(lower, other.lower), Math.min(upper, other.upper));
+    }
+
+    /**
+     * Returns the interval of the maximum of values within this and the specified interval.
+     *
+     * @param other the specified interval
+     * @return the resulting interval
+     */
+    public @NotNull Interval max(@NotNull Interval other) {
+        return of(Math.max(lower, other.lower), Math.max(upper, other.upper));
+    }
+
+    private static boolean isInf(long value) {
+        return value == NEG_INF || value == POS_INF;
+    }
+
+    private static long saturate(long result, long x, long y) {
+        // Overflow if both operands have the same sign, and the result has a different sign
+        if (((x ^ result) & (y ^ result)) < 0) {
+            return x < 0 ? NEG_INF : POS_INF;
+        }
+        return result;
+    }
+
+    private static long mul(long x, long y) {
+        if (x == 0 || y == 0) {
+            return 0;
+        }
+        boolean negative = (x < 0) != (y < 0);
+        if (isInf(x) || isInf(y)) {
+            return negative ? NEG_INF : POS_INF;
+        }
+        try {
+            return Math.multiplyExact(x, y);
+        } catch (ArithmeticException e) {
+            return negative ? NEG_INF : POS_INF;
+        }
+    }
+
+    private static long div(long x, long y) {
+        if (isInf(y)) {
+            // Any finite dividend truncates to zero for a large enough divisor
+            return 0;
+        }
+        if (isInf(x)) {
+            return (x < 0) != (y < 0) ? NEG_INF : POS_INF;
+        }
+        return x / y;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (lower == NEG_INF ? "-inf" : Long.toString(lower)) + ", " +
+                (upper == POS_INF ? "inf" : Long.toString(upper)) + "]";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Interval interval = (Interval) o;
+        return lower == interval.lower && upper == interval.upper;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(lower) + Long.hashCode(upper);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer;
+
+import nl.svenkonings.jacomo.elem.variables.integer.ExpressionIntVar;
+import nl.svenkonings.jacomo.elem.variables.integer.UpdatableIntVar;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memoizes the {@link Interval} of an integer expression.
+ * <p>
+ * When a cache first computes an interval, it registers itself with the
+ * {@link IntervalDependents} of the updatable variables and composite
+ * expressions among the children of its expression. Updatable variables
+ * invalidate their dependents whenever their bounds change, so only the
+ * intervals of expressions which contain the variable are recomputed.
+ * <p>
+ * Every invalidation increments the modification count of the cache. An
+ * interval is only stored if the count did not change while it was computed,
+ * so an interval which was computed concurrently with an update is never
+ * cached as valid.
+ * <p>
+ * Intervals of uncached descendants are computed bottom-up using an explicit
+ * stack, so arbitrarily deep expressions do not overflow the call stack.
+ * Each descendant is expanded at most once per lookup, so concurrent updates
+ * cannot make a lookup loop indefinitely.
+ */
+public final class IntervalCache {
+    private static final @NotNull AtomicLong epoch = new AtomicLong();
+
+    private final @NotNull IntervalDependents dependents;
+    private volatile @Nullable Entry entry;
+    private volatile long modCount;
+    private volatile boolean registered;
+
+    /**
+     * Create a new empty interval cache.
+     */
+    public IntervalCache() {
+        dependents = new IntervalDependents();
+        entry = null;
+        modCount = 0;
+        registered = false;
+    }
+
+    /**
+     * Invalidate all cached intervals of all expressions.
+     * Updatable variables only invalidate the intervals which depend on them,
+     * so this is only required when bounds change in another way.
+     */
+    public static void invalidateAll() {
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * Returns the caches which depend on the interval of this cache.
+     *
+     * @return the dependents of this cache
+     */
+    public @NotNull IntervalDependents getDependents() {
+        return dependents;
+    }
+
+    /**
+     * Returns the cached interval of the specified expression, or computes and caches
+     * the interval if there is no valid cached interval.
+     * This cache should belong to the specified expression.
+     *
+     * @param expr the specified expression
+     * @return the cached or computed interval
+     */
+    public @NotNull Interval get(@NotNull CompositeIntExpr expr) {
+        Interval interval = getCached();
+        if (interval != null) {
+            return interval;
+        }
+        Set<IntervalCache> expanded = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<CompositeIntExpr> stack = new ArrayDeque<>();
+        stack.push(expr);
+        while (!stack.isEmpty()) {
+            CompositeIntExpr current = stack.peek();
+            IntervalCache cache = current.getIntervalCache();
+            if (expanded.add(cache)) {
+                for (IntExpr child : current.getChildren()) {
+                    if (child instanceof CompositeIntExpr) {
+                        IntervalCache childCache = ((CompositeIntExpr) child).getIntervalCache();
+                        if (!expanded.contains(childCache) && childCache.getCached() == null) {
+                            stack.push((CompositeIntExpr) child);
+                        }
+                    }
+                }
+            } else {
+                stack.pop();
+                interval = cache.compute(current);
+            }
+        }
+        return interval;
+    }
+
+    private @Nullable Interval getCached() {
+        Entry currentEntry = entry;
+        if (currentEntry != null && currentEntry.modCount == modCount && currentEntry.epoch == epoch.get()) {
+            return currentEntry.interval;
+        }
+        return null;
+    }
+
+    private @NotNull Interval compute(@NotNull CompositeIntExpr expr) {
+        Interval interval = getCached();
+        if (interval != null) {
+            return interval;
+        }
+        register(expr);
+        long currentModCount = modCount;
+        long currentEpoch = epoch.get();
+        interval = expr.computeInterval();
+        synchronized (this) {
+            if (modCount == currentModCount) {
+                entry = new Entry(currentModCount, currentEpoch, interval);
+            }
+        }
+        return interval;
+    }
+
+    synchronized void invalidate() {
+        modCount++;
+        entry = null;
+    }
+
+    private void register(@NotNull CompositeIntExpr expr) {
+        if (!registered) {
+            for (IntExpr child : expr.getChildren()) {
+                register(child);
+            }
+            registered = true;
+        }
+    }
+
+    private void register(@NotNull IntExpr child) {
+        if (child instanceof CompositeIntExpr) {
+            ((CompositeIntExpr) child).getIntervalCache().getDependents().add(this);
+        } else if (child instanceof UpdatableIntVar) {
+            ((UpdatableIntVar) child).getIntervalDependents().add(this);
+        } else if (child instanceof ExpressionIntVar) {
+            register(((ExpressionIntVar) child).getExpression());
+        }
+    }
+
+    private static final class Entry {
+        private final long modCount;
+        private final long epoch;
+        private final @NotNull Interval interval;
+
+        private Entry(long modCount, long epoch, @NotNull Interval interval) {
+            this.modCount = modCount;
+            this.epoch = epoch;
+            this.interval = interval;
+        }
+    }
+}
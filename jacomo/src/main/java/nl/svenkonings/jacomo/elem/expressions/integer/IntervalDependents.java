@@ -0,0 +1,76 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Set of interval caches which depend on an updatable variable or on the
+ * interval of another expression.
+ * <p>
+ * An {@link IntervalCache} registers itself with the dependents of its
+ * children when it first computes an interval. Invalidating the dependents
+ * invalidates every registered cache and, transitively, the caches which
+ * depend on those, so only the intervals of expressions which contain the
+ * updated variable are recomputed.
+ * <p>
+ * Caches are weakly referenced, so expressions which are no longer in use
+ * are not retained.
+ */
+public final class IntervalDependents {
+    private @Nullable Set<IntervalCache> caches;
+
+    /**
+     * Create a new empty set of dependents.
+     */
+    public IntervalDependents() {
+        caches = null;
+    }
+
+    synchronized void add(@NotNull IntervalCache cache) {
+        if (caches == null) {
+            caches = Collections.newSetFromMap(new WeakHashMap<>());
+        }
+        caches.add(cache);
+    }
+
+    private synchronized @NotNull IntervalCache[] toArray() {
+        if (caches == null || caches.isEmpty()) {
+            return new IntervalCache[0];
+        }
+        return caches.toArray(new IntervalCache[0]);
+    }
+
+    /**
+     * Invalidate the cached intervals of all dependent expressions.
+     * Should be called whenever the bounds of the owning variable change.
+     */
+    public void invalidate() {
+        IntervalCache[] direct = toArray();
+        if (direct.length == 0) {
+            return;
+        }
+        Set<IntervalCache> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<IntervalCache> stack = new ArrayDeque<>();
+        Collections.addAll(stack, direct);
+        while (!stack.isEmpty()) {
+            IntervalCache cache = stack.pop();
+            if (visited.add(cache)) {
+                cache.invalidate();
+                Collections.addAll(stack, cache.getDependents().toArray());
+            }
+        }
+    }
+}
@@ -7,7 +7,9 @@
 package nl.svenkonings.jacomo.elem.expressions.integer.binary;
 
 import nl.svenkonings.jacomo.elem.expressions.BiExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.CompositeIntExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
 import nl.svenkonings.jacomo.util.ListUtil;
 import org.jetbrains.annotations.NotNull;
 
@@ -16,7 +18,21 @@ import java.util.List;
 /**
  * Represent a binary integer expression between two integer expressions.
  */
-public interface BiIntExpr extends IntExpr, BiExpr {
+public interface BiIntExpr extends CompositeIntExpr, BiExpr {
+    @Override
+    default @NotNull Interval computeInterval() {
+        return computeInterval(getLeft().getInterval(), getRight().getInterval());
+    }
+
+    /**
+     * Computes the interval of this expression from the specified intervals of its children.
+     *
+     * @param left  the interval of the left-hand expression
+     * @param right the interval of the right-hand expression
+     * @return the interval of this expression
+     */
+    @NotNull Interval computeInterval(@NotNull Interval left, @NotNull Interval right);
+
     @Override
     default @NotNull List<? extends IntExpr> getChildren() {
         return ListUtil.of(getLeft(), getRight());
@@ -7,19 +7,21 @@
 package nl.svenkonings.jacomo.elem.expressions.integer.binary;
 
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntervalCache;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
 /**
  * Represents a Division expression.
  */
-@SuppressWarnings({"ConstantConditions", "UnnecessaryUnboxing"})
 public class DivExpr implements BiIntExpr {
 
     private final @NotNull IntExpr left;
     private final @NotNull IntExpr right;
+    private final int hashCode;
+    private final @NotNull IntervalCache intervalCache;
 
     /**
      * Create a new Division integer expression.
@@ -30,6 +32,8 @@ public class DivExpr implements BiIntExpr {
     public DivExpr(@NotNull IntExpr left, @NotNull IntExpr right) {
         this.left = left;
         this.right = right;
+        intervalCache = new IntervalCache();
+        hashCode = Objects.hash("DivExpr", left, right);
     }
 
     @Override
@@ -43,51 +47,13 @@ public class DivExpr implements BiIntExpr {
     }
 
     @Override
-    public boolean hasValue() {
-        return (hasUpperBound() && getUpperBound().intValue() == 0) ||
-                (left.hasValue() && right.hasValue() && right.getValue().intValue() != 0);
+    public @NotNull IntervalCache getIntervalCache() {
+        return intervalCache;
     }
 
     @Override
-    public @Nullable Integer getValue() {
-        if (hasUpperBound() && getUpperBound().intValue() == 0) {
-            return 0;
-        } else if (hasValue()) {
-            return left.getValue() / right.getValue();
-        } else {
-            return null;
-        }
-    }
-
-    @Override
-    public boolean hasLowerBound() {
-        return (hasUpperBound() && getUpperBound().intValue() == 0) ||
-                (left.hasLowerBound() && right.hasUpperBound() && right.getUpperBound().intValue() != 0);
-    }
-
-    @Override
-    public @Nullable Integer getLowerBound() {
-        if (hasUpperBound() && getUpperBound().intValue() == 0) {
-            return 0;
-        } else if (hasLowerBound()) {
-            return left.getLowerBound() / right.getUpperBound();
-        } else {
-            return null;
-        }
-    }
-
-    @Override
-    public boolean hasUpperBound() {
-        return left.hasUpperBound() && right.hasLowerBound() && right.getLowerBound().intValue() != 0;
-    }
-
-    @Override
-    public @Nullable Integer getUpperBound() {
-        if (hasUpperBound()) {
-            return left.getUpperBound() / right.getLowerBound();
-        } else {
-            return null;
-        }
+    public @NotNull Interval computeInterval(@NotNull Interval left, @NotNull Interval right) {
+        return left.div(right);
     }
 
     @Override
@@ -100,12 +66,13 @@ public class DivExpr implements BiIntExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DivExpr divExpr = (DivExpr) o;
+        if (hashCode != divExpr.hashCode) return false;
         return Objects.equals(left, divExpr.left) &&
                 Objects.equals(right, divExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("DivExpr", left, right);
+        return hashCode;
     }
 }
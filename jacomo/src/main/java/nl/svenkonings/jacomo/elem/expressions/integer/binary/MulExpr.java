@@ -7,19 +7,21 @@
 package nl.svenkonings.jacomo.elem.expressions.integer.binary;
 
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntervalCache;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
 /**
  * Represents a Multiplication expression.
  */
-@SuppressWarnings("ConstantConditions")
 public class MulExpr implements BiIntExpr {
 
     private final @NotNull IntExpr left;
     private final @NotNull IntExpr right;
+    private final int hashCode;
+    private final @NotNull IntervalCache intervalCache;
 
     /**
      * Create a new Multiplication integer expression.
@@ -30,6 +32,8 @@ public class MulExpr implements BiIntExpr {
     public MulExpr(@NotNull IntExpr left, @NotNull IntExpr right) {
         this.left = left;
         this.right = right;
+        intervalCache = new IntervalCache();
+        hashCode = Objects.hash("MulExpr", left, right);
     }
 
     @Override
@@ -43,45 +47,13 @@ public class MulExpr implements BiIntExpr {
     }
 
     @Override
-    public boolean hasValue() {
-        return left.hasValue() && right.hasValue();
+    public @NotNull IntervalCache getIntervalCache() {
+        return intervalCache;
     }
 
     @Override
-    public @Nullable Integer getValue() {
-        if (hasValue()) {
-            return left.getValue() * right.getValue();
-        } else {
-            return null;
-        }
-    }
-
-    @Override
-    public boolean hasLowerBound() {
-        return left.hasLowerBound() && right.hasLowerBound();
-    }
-
-    @Override
-    public @Nullable Integer getLowerBound() {
-        if (hasLowerBound()) {
-            return left.getLowerBound() * right.getLowerBound();
-        } else {
-            return null;
-        }
-    }
-
-    @Override
-    public boolean hasUpperBound() {
-        return left.hasUpperBound() && right.hasUpperBound();
-    }
-
-    @Override
-    public @Nullable Integer getUpperBound() {
-        if (hasUpperBound()) {
-            return left.getUpperBound() * right.getUpperBound();
-        } else {
-            return null;
-        }
+    public @NotNull Interval computeInterval(@NotNull Interval left, @NotNull Interval right) {
+        return left.mul(right);
     }
 
     @Override
@@ -94,12 +66,13 @@ public class MulExpr implements BiIntExpr {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         MulExpr mulExpr = (MulExpr) o;
+        if (hashCode != mulExpr.hashCode) return false;
         return Objects.equals(left, mulExpr.left) &&
                 Objects.equals(right, mulExpr.right);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("MulExpr", left, right);
+        return hashCode;
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.NaryExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.CompositeIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Represent an n-ary integer expression of one or more integer expressions.
+ */
+public interface NaryIntExpr extends CompositeIntExpr, NaryExpr {
+    @Override
+    default @NotNull Interval computeInterval() {
+        List<? extends IntExpr> children = getChildren();
+        Interval interval = children.get(0).getInterval();
+        for (int i = 1; i < children.size(); i++) {
+            interval = computeInterval(interval, children.get(i).getInterval());
+        }
+        return interval;
+    }
+
+    /**
+     * Combines the specified intervals of two consecutive operands.
+     * The interval of this expression is computed by combining the intervals
+     * of its children from left to right.
+     *
+     * @param left  the interval of the left-hand operands
+     * @param right the interval of the right-hand operand
+     * @return the combined interval
+     */
+    @NotNull Interval computeInterval(@NotNull Interval left, @NotNull Interval right);
+
+    @Override
+    @NotNull List<? extends IntExpr> getChildren();
+}
@@ -0,0 +1,82 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntervalCache;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.util.ListUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Represent an n-ary Maximum integer expression.
+ */
+public class NaryMaxExpr implements NaryIntExpr {
+    private final @NotNull IntExpr[] exprs;
+    private final int hashCode;
+    private final @NotNull IntervalCache intervalCache;
+
+    /**
+     * Create a new n-ary Maximum integer expression.
+     *
+     * @param exprs the operands of the Maximum expression
+     * @throws InvalidInputException when no operands are specified
+     */
+    public NaryMaxExpr(@NotNull IntExpr... exprs) throws InvalidInputException {
+        if (exprs.length < 1) {
+            throw new InvalidInputException("At least 1 element is required");
+        }
+        this.exprs = exprs.clone();
+        intervalCache = new IntervalCache();
+        hashCode = Objects.hash("NaryMaxExpr", Arrays.hashCode(this.exprs));
+    }
+
+    @Override
+    public @NotNull List<? extends IntExpr> getChildren() {
+        return ListUtil.of(exprs);
+    }
+
+    @Override
+    public int size() {
+        return exprs.length;
+    }
+
+    @Override
+    public @NotNull IntervalCache getIntervalCache() {
+        return intervalCache;
+    }
+
+    @Override
+    public @NotNull Interval computeInterval(@NotNull Interval left, @NotNull Interval right) {
+        return left.max(right);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(exprs).map(Object::toString).collect(Collectors.joining(", ", "max(", ")"));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NaryMaxExpr that = (NaryMaxExpr) o;
+        if (hashCode != that.hashCode) return false;
+        return Arrays.equals(exprs, that.exprs);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
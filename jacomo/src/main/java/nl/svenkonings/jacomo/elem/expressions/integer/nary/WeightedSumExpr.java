@@ -0,0 +1,143 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntervalCache;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.util.ListUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represent a weighted sum integer expression: the sum of each operand
+ * multiplied by its coefficient, plus a constant offset.
+ * <p>
+ * Linear expressions like {@code 3 * x + 5 * y - 2 * z + 7} are stored in a
+ * single node, which solvers can translate to a native linear expression.
+ */
+public class WeightedSumExpr implements NaryIntExpr {
+    private final @NotNull IntExpr[] exprs;
+    private final @NotNull int[] coeffs;
+    private final int offset;
+    private final int hashCode;
+    private final @NotNull IntervalCache intervalCache;
+
+    /**
+     * Create a new weighted sum integer expression.
+     *
+     * @param exprs  the operands of the weighted sum
+     * @param coeffs the coefficients of the operands
+     * @param offset the constant offset
+     * @throws InvalidInputException when no operands are specified, or the number
+     *                               of coefficients does not match the number of operands
+     */
+    public WeightedSumExpr(@NotNull IntExpr[] exprs, @NotNull int[] coeffs, int offset) throws InvalidInputException {
+        if (exprs.length < 1) {
+            throw new InvalidInputException("At least 1 element is required");
+        } else if (exprs.length != coeffs.length) {
+            throw new InvalidInputException("Expected %d coefficients, got %d", exprs.length, coeffs.length);
+        }
+        this.exprs = exprs.clone();
+        this.coeffs = coeffs.clone();
+        this.offset = offset;
+        intervalCache = new IntervalCache();
+        hashCode = Objects.hash("WeightedSumExpr", Arrays.hashCode(this.exprs), Arrays.hashCode(this.coeffs), offset);
+    }
+
+    @Override
+    public @NotNull List<? extends IntExpr> getChildren() {
+        return ListUtil.of(exprs);
+    }
+
+    @Override
+    public int size() {
+        return exprs.length;
+    }
+
+    /**
+     * Returns the coefficient of the operand at the specified index.
+     *
+     * @param index the specified index
+     * @return the coefficient of the operand
+     */
+    public int getCoeff(int index) {
+        return coeffs[index];
+    }
+
+    /**
+     * Returns a copy of the coefficients of the operands.
+     *
+     * @return the coefficients of the operands
+     */
+    public @NotNull int[] getCoeffs() {
+        return coeffs.clone();
+    }
+
+    /**
+     * Returns the constant offset.
+     *
+     * @return the constant offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public @NotNull IntervalCache getIntervalCache() {
+        return intervalCache;
+    }
+
+    @Override
+    public @NotNull Interval computeInterval() {
+        Interval interval = Interval.of(offset);
+        for (int i = 0; i < exprs.length; i++) {
+            interval = computeInterval(interval, Interval.of(coeffs[i]).mul(exprs[i].getInterval()));
+        }
+        return interval;
+    }
+
+    @Override
+    public @NotNull Interval computeInterval(@NotNull Interval left, @NotNull Interval right) {
+        return left.add(right);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("(");
+        for (int i = 0; i < exprs.length; i++) {
+            if (i > 0) {
+                builder.append(" + ");
+            }
+            builder.append(coeffs[i]).append(" * ").append(exprs[i]);
+        }
+        if (offset != 0) {
+            builder.append(" + ").append(offset);
+        }
+        return builder.append(")").toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WeightedSumExpr that = (WeightedSumExpr) o;
+        if (hashCode != that.hashCode) return false;
+        return offset == that.offset &&
+                Arrays.equals(coeffs, that.coeffs) &&
+                Arrays.equals(exprs, that.exprs);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -20,4 +20,16 @@ public interface Var extends Elem, Expr {
      * @return the name of this variable
      */
     @NotNull String getName();
+
+    /**
+     * Returns the version of the state of this variable.
+     * The version is incremented whenever the value or bounds of this variable change,
+     * so results which depend on the state of this variable are valid as long as the
+     * version is unchanged. Variables which cannot be updated always return {@code 0}.
+     *
+     * @return the version of this variable
+     */
+    default long getVersion() {
+        return 0;
+    }
 }
@@ -16,6 +16,7 @@ import java.util.Objects;
 public class ConstantBoolVar implements BoolVar {
     private final @NotNull String name;
     private final boolean value;
+    private final int hashCode;
 
     /**
      * Create a new constant boolean variable with the specified name and value.
@@ -26,6 +27,7 @@ public class ConstantBoolVar implements BoolVar {
     public ConstantBoolVar(@NotNull String name, boolean value) {
         this.name = name;
         this.value = value;
+        hashCode = Objects.hash("ConstantBoolVar", name, value);
     }
 
     @Override
@@ -53,12 +55,13 @@ public class ConstantBoolVar implements BoolVar {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ConstantBoolVar that = (ConstantBoolVar) o;
+        if (hashCode != that.hashCode) return false;
         return value == that.value &&
                 Objects.equals(name, that.name);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("ConstantBoolVar", name, value);
+        return hashCode;
     }
 }
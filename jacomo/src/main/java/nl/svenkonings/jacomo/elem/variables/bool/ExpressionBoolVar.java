@@ -20,6 +20,7 @@ import java.util.Objects;
 public class ExpressionBoolVar implements BoolVar {
     private final @NotNull String name;
     private final @NotNull BoolExpr expression;
+    private final int hashCode;
 
     /**
      * Create a new boolean variable with the specified name and expression.
@@ -30,6 +31,7 @@ public class ExpressionBoolVar implements BoolVar {
     public ExpressionBoolVar(@NotNull String name, @NotNull BoolExpr expression) {
         this.name = name;
         this.expression = expression;
+        hashCode = Objects.hash("ExpressionBoolVar", name, expression);
     }
 
     @Override
@@ -66,12 +68,13 @@ public class ExpressionBoolVar implements BoolVar {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ExpressionBoolVar that = (ExpressionBoolVar) o;
+        if (hashCode != that.hashCode) return false;
         return Objects.equals(name, that.name) &&
                 Objects.equals(expression, that.expression);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("ExpressionBoolVar", name, expression);
+        return hashCode;
     }
 }
@@ -18,6 +18,7 @@ import java.util.Objects;
 public class InstantiatableBoolVar implements UpdatableBoolVar {
     private final @NotNull String name;
     private @Nullable Boolean value;
+    private long version;
 
     /**
      * Creates a new undefined boolean variable with the specified name.
@@ -44,6 +45,11 @@ public class InstantiatableBoolVar implements UpdatableBoolVar {
         return name;
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean hasValue() {
         return value != null;
@@ -58,8 +64,10 @@ public class InstantiatableBoolVar implements UpdatableBoolVar {
     public void instantiateValue(boolean value) throws ContradictionException {
         if (this.value != null && !this.value.equals(value)) {
             throw new ContradictionException("Value already instantiated");
+        } else if (this.value == null) {
+            this.value = value;
+            version++;
         }
-        this.value = value;
     }
 
     @Override
@@ -78,6 +86,7 @@ public class InstantiatableBoolVar implements UpdatableBoolVar {
 
     @Override
     public int hashCode() {
-        return Objects.hash("InstantiatableBoolVar", name, value);
+        // Only hash the immutable fields, so expressions containing this var can cache their hash
+        return Objects.hash("InstantiatableBoolVar", name);
     }
 }
@@ -6,6 +6,7 @@
 
 package nl.svenkonings.jacomo.elem.variables.integer;
 
+import nl.svenkonings.jacomo.elem.expressions.integer.IntervalDependents;
 import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -25,6 +26,10 @@ public class BoundedIntVar implements UpdatableIntVar {
 
     private @Nullable Integer upperBound;
 
+    private final @NotNull IntervalDependents intervalDependents = new IntervalDependents();
+
+    private long version;
+
     /**
      * Create a new integer variable with the specified name.
      * The bounds are left undefined.
@@ -69,6 +74,16 @@ public class BoundedIntVar implements UpdatableIntVar {
         return name;
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public @NotNull IntervalDependents getIntervalDependents() {
+        return intervalDependents;
+    }
+
     @Override
     public boolean hasValue() {
         return lowerBound != null && lowerBound.equals(upperBound);
@@ -88,6 +103,8 @@ public class BoundedIntVar implements UpdatableIntVar {
         checkValue(value);
         lowerBound = value;
         upperBound = value;
+        version++;
+        intervalDependents.invalidate();
     }
 
     @Override
@@ -104,6 +121,8 @@ public class BoundedIntVar implements UpdatableIntVar {
     public void updateLowerBound(int lowerBound) throws ContradictionException {
         checkLowerBound(lowerBound);
         this.lowerBound = lowerBound;
+        version++;
+        intervalDependents.invalidate();
     }
 
     @Override
@@ -120,6 +139,8 @@ public class BoundedIntVar implements UpdatableIntVar {
     public void updateUpperBound(int upperBound) throws ContradictionException {
         checkUpperBound(upperBound);
         this.upperBound = upperBound;
+        version++;
+        intervalDependents.invalidate();
     }
 
     @Override
@@ -129,6 +150,8 @@ public class BoundedIntVar implements UpdatableIntVar {
         checkUpperBound(upperBound);
         this.lowerBound = lowerBound;
         this.upperBound = upperBound;
+        version++;
+        intervalDependents.invalidate();
     }
 
     private void checkValue(int value) throws ContradictionException {
@@ -181,6 +204,7 @@ public class BoundedIntVar implements UpdatableIntVar {
 
     @Override
     public int hashCode() {
-        return Objects.hash("BoundedIntVar", name, lowerBound, upperBound);
+        // Only hash the immutable fields, so expressions containing this var can cache their hash
+        return Objects.hash("BoundedIntVar", name);
     }
 }
@@ -17,6 +17,7 @@ public class ConstantIntVar implements IntVar {
 
     private final @NotNull String name;
     private final int value;
+    private final int hashCode;
 
     /**
      * Create a new constant integer variable with the specified name and value.
@@ -27,6 +28,7 @@ public class ConstantIntVar implements IntVar {
     public ConstantIntVar(@NotNull String name, int value) {
         this.name = name;
         this.value = value;
+        hashCode = Objects.hash("ConstantIntVar", name, value);
     }
 
     @Override
@@ -74,12 +76,13 @@ public class ConstantIntVar implements IntVar {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ConstantIntVar that = (ConstantIntVar) o;
+        if (hashCode != that.hashCode) return false;
         return value == that.value &&
                 Objects.equals(name, that.name);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("ConstantIntVar", name, value);
+        return hashCode;
     }
 }
@@ -7,6 +7,7 @@
 package nl.svenkonings.jacomo.elem.variables.integer;
 
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
 import nl.svenkonings.jacomo.util.ListUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -21,6 +22,7 @@ public class ExpressionIntVar implements IntVar {
 
     private final @NotNull String name;
     private final @NotNull IntExpr expression;
+    private final int hashCode;
 
     /**
      * Create a new integer variable with the specified name and expression.
@@ -31,6 +33,7 @@ public class ExpressionIntVar implements IntVar {
     public ExpressionIntVar(@NotNull String name, @NotNull IntExpr expression) {
         this.name = name;
         this.expression = expression;
+        hashCode = Objects.hash("ExpressionIntVar", name, expression);
     }
 
     @Override
@@ -77,6 +80,11 @@ public class ExpressionIntVar implements IntVar {
         return expression.getUpperBound();
     }
 
+    @Override
+    public @NotNull Interval getInterval() {
+        return expression.getInterval();
+    }
+
     @Override
     public String toString() {
         return String.format("int %s = %s", name, expression);
@@ -87,12 +95,13 @@ public class ExpressionIntVar implements IntVar {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ExpressionIntVar that = (ExpressionIntVar) o;
+        if (hashCode != that.hashCode) return false;
         return Objects.equals(name, that.name) &&
                 Objects.equals(expression, that.expression);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash("ExpressionIntVar", name, expression);
+        return hashCode;
     }
 }
@@ -6,7 +6,9 @@
 
 package nl.svenkonings.jacomo.elem.variables.integer;
 
+import nl.svenkonings.jacomo.elem.expressions.integer.IntervalDependents;
 import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents an updatable integer variable.
@@ -48,4 +50,12 @@ public interface UpdatableIntVar extends IntVar {
      *                                outside the bounds of this variable
      */
     void updateBounds(int lowerBound, int upperBound) throws ContradictionException;
+
+    /**
+     * Returns the interval caches of the expressions which depend on the bounds of this variable.
+     * Implementations should invalidate the dependents whenever the bounds of this variable change.
+     *
+     * @return the dependents of this variable
+     */
+    @NotNull IntervalDependents getIntervalDependents();
 }
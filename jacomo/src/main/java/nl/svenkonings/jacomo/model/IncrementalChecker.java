@@ -0,0 +1,256 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.model;
+
+import nl.svenkonings.jacomo.elem.constraints.Constraint;
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.exceptions.unchecked.CheckException;
+import nl.svenkonings.jacomo.visitor.Checker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Maintains the checked variant of a model while the model is modified.
+ * <p>
+ * The model reports added and removed vars and constraints. When the model is
+ * checked again, only the added elements are checked and the results of the
+ * removed elements are removed from the checked model. The {@link Checker} is
+ * kept between checks, so sub-expressions shared with previously checked
+ * elements are not checked again.
+ * <p>
+ * A full check is used if the state of a variable encountered by the checker
+ * changed since the previous check, since every checked element may depend on
+ * it. The version of each encountered variable is recorded for this, so
+ * updates to variables which this model does not refer to do not cause a full
+ * check. A full check is also used after an incremental check fails, so errors
+ * are reported like a full check would, and after many removals, to release
+ * the cached results of removed elements.
+ * <p>
+ * The checked model is kept between checks and updated in place. It is never
+ * exposed, every check returns a snapshot of it instead.
+ */
+final class IncrementalChecker {
+    private final @NotNull Checker checker;
+    private final @NotNull Map<String, Var> addedVars;
+    private final @NotNull Set<String> removedVars;
+    private final @NotNull Set<Constraint> addedConstraints;
+    private final @NotNull Set<Constraint> removedConstraints;
+    private final @NotNull Map<Constraint, Constraint> checkedConstraints;
+    private final @NotNull Map<Constraint, Integer> checkedCounts;
+    private @Nullable Model result;
+    private long[] versions;
+    private int versionCount;
+    private int removedCount;
+    private int checkedCount;
+
+    /**
+     * Create a new incremental checker. The first check is a full check.
+     */
+    IncrementalChecker() {
+        checker = new Checker();
+        addedVars = new LinkedHashMap<>();
+        removedVars = new HashSet<>();
+        addedConstraints = new LinkedHashSet<>();
+        removedConstraints = new HashSet<>();
+        checkedConstraints = new HashMap<>();
+        checkedCounts = new HashMap<>();
+        result = null;
+        versions = new long[16];
+        versionCount = 0;
+        removedCount = 0;
+        checkedCount = 0;
+    }
+
+    /**
+     * Report that the specified var has been added to the model.
+     *
+     * @param var      the added var
+     * @param previous the var which has been replaced, or {@code null} if there was none
+     */
+    void varAdded(@NotNull Var var, @Nullable Var previous) {
+        if (previous != null) {
+            varRemoved(previous);
+        }
+        addedVars.put(var.getName(), var);
+    }
+
+    /**
+     * Report that the specified var has been removed from the model.
+     *
+     * @param var the removed var
+     */
+    void varRemoved(@NotNull Var var) {
+        // Vars which have not been checked yet do not have a result to remove
+        if (addedVars.remove(var.getName()) == null) {
+            removedVars.add(var.getName());
+            removedCount++;
+        }
+    }
+
+    /**
+     * Report that the specified constraint has been added to the model.
+     *
+     * @param constraint the added constraint
+     */
+    void constraintAdded(@NotNull Constraint constraint) {
+        if (!removedConstraints.remove(constraint)) {
+            addedConstraints.add(constraint);
+        }
+    }
+
+    /**
+     * Report that the specified constraint has been removed from the model.
+     *
+     * @param constraint the removed constraint
+     */
+    void constraintRemoved(@NotNull Constraint constraint) {
+        if (!addedConstraints.remove(constraint)) {
+            removedConstraints.add(constraint);
+            removedCount++;
+        }
+    }
+
+    /**
+     * Checks the specified model and returns the optimized model.
+     * The specified model should be the model which reported its modifications
+     * to this checker. The returned model is a snapshot, which is not affected
+     * by subsequent checks.
+     *
+     * @param model the specified model
+     * @return the optimized model
+     * @throws CheckException if one of the checks fails
+     */
+    @NotNull Model check(@NotNull Model model) throws CheckException {
+        Model checked = result;
+        if (checked == null || varsUpdated() ||
+                removedCount > model.varCount() + model.constraintCount()) {
+            return fullCheck(model);
+        }
+        checkedCount = 0;
+        try {
+            // Removing the vars in one batch compacts the remaining vars only once
+            checked.removeVars(removedVars);
+            for (Constraint constraint : removedConstraints) {
+                removeResult(checked, constraint);
+            }
+            for (Var var : addedVars.values()) {
+                addResult(checked, var);
+            }
+            for (Constraint constraint : addedConstraints) {
+                addResult(checked, constraint);
+            }
+            setObjective(model, checked);
+        } catch (CheckException e) {
+            return fullCheck(model);
+        } catch (RuntimeException e) {
+            result = null;
+            throw e;
+        }
+        clearModifications();
+        recordVersions();
+        return checked.snapshot();
+    }
+
+    /**
+     * Returns the number of vars and constraints which have been checked by the previous check.
+     *
+     * @return the number of checked vars and constraints
+     */
+    int getCheckedCount() {
+        return checkedCount;
+    }
+
+    private @NotNull Model fullCheck(@NotNull Model model) throws CheckException {
+        result = null;
+        checker.clear();
+        checkedConstraints.clear();
+        checkedCounts.clear();
+        clearModifications();
+        removedCount = 0;
+        versionCount = 0;
+        checkedCount = 0;
+        Model checked = new Model();
+        try {
+            model.varStream().forEachOrdered(var -> addResult(checked, var));
+            model.constraintStream().forEachOrdered(constraint -> addResult(checked, constraint));
+            setObjective(model, checked);
+        } catch (CheckException e) {
+            checker.clear();
+            checkedConstraints.clear();
+            checkedCounts.clear();
+            throw e;
+        }
+        recordVersions();
+        result = checked;
+        return checked.snapshot();
+    }
+
+    // Only the vars encountered by the checker can affect the checked model
+    private boolean varsUpdated() {
+        List<Var> vars = checker.getVars();
+        for (int i = 0; i < versionCount; i++) {
+            if (vars.get(i).getVersion() != versions[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recordVersions() {
+        List<Var> vars = checker.getVars();
+        if (vars.size() > versions.length) {
+            versions = Arrays.copyOf(versions, Math.max(vars.size(), 2 * versions.length));
+        }
+        for (int i = versionCount; i < vars.size(); i++) {
+            versions[i] = vars.get(i).getVersion();
+        }
+        versionCount = vars.size();
+    }
+
+    private void clearModifications() {
+        addedVars.clear();
+        removedVars.clear();
+        addedConstraints.clear();
+        removedConstraints.clear();
+    }
+
+    // The objective is checked on every check, the cached results of the checker make this cheap
+    private void setObjective(@NotNull Model model, @NotNull Model checked) {
+        Objective objective = model.getObjective();
+        checked.setObjective(objective == null ? null : checker.checkObjective(objective));
+        checked.setSearchStrategy(model.getSearchStrategy());
+    }
+
+    private void addResult(@NotNull Model checked, @NotNull Var var) {
+        checkedCount++;
+        Var checkedVar = checker.checkVar(var);
+        if (checkedVar != null) {
+            checked.addVarUnchecked(checkedVar);
+        }
+    }
+
+    private void addResult(@NotNull Model checked, @NotNull Constraint constraint) {
+        checkedCount++;
+        Constraint checkedConstraint = checker.checkConstraint(constraint);
+        if (checkedConstraint != null) {
+            checkedConstraints.put(constraint, checkedConstraint);
+            // Different constraints can have the same optimized constraint
+            checkedCounts.merge(checkedConstraint, 1, Integer::sum);
+            checked.addConstraint(checkedConstraint);
+        }
+    }
+
+    private void removeResult(@NotNull Model checked, @NotNull Constraint constraint) {
+        Constraint checkedConstraint = checkedConstraints.remove(constraint);
+        if (checkedConstraint != null && checkedCounts.merge(checkedConstraint, -1, Integer::sum) == 0) {
+            checkedCounts.remove(checkedConstraint);
+            checked.removeConstraint(checkedConstraint);
+        }
+    }
+}
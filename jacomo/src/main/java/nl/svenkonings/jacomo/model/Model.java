@@ -22,7 +22,6 @@ import nl.svenkonings.jacomo.exceptions.unchecked.CheckException;
 import nl.svenkonings.jacomo.exceptions.unchecked.ReservedNameException;
 import nl.svenkonings.jacomo.solvers.Solver;
 import nl.svenkonings.jacomo.util.ListUtil;
-import nl.svenkonings.jacomo.visitor.Checker;
 import nl.svenkonings.jacomo.visitor.ElemCopier;
 import nl.svenkonings.jacomo.visitor.ElemPrinter;
 import nl.svenkonings.jacomo.visitor.Visitor;
@@ -45,6 +44,10 @@ public class Model {
 
     private final @NotNull VarMap vars;
     private final @NotNull LinkedHashSet<Constraint> constraints;
+    private final @NotNull Map<String, Integer> genVarCounters;
+    private @Nullable Objective objective;
+    private @Nullable SearchStrategy searchStrategy;
+    private @Nullable IncrementalChecker checker;
 
     /**
      * Constructs an empty model
@@ -52,6 +55,20 @@ public class Model {
     public Model() {
         vars = new VarMap();
         constraints = new LinkedHashSet<>();
+        genVarCounters = new HashMap<>();
+        objective = null;
+        searchStrategy = null;
+        checker = null;
+    }
+
+    // Shares the vars and constraints, but not the collections containing them, with the specified model
+    private Model(@NotNull Model model) {
+        vars = new VarMap(model.vars);
+        constraints = new LinkedHashSet<>(model.constraints);
+        genVarCounters = new HashMap<>(model.genVarCounters);
+        objective = model.objective;
+        searchStrategy = model.searchStrategy;
+        checker = null;
     }
 
     // Variable methods
@@ -101,6 +118,41 @@ public class Model {
         return vars.getVar(name);
     }
 
+    /**
+     * Returns the dense index of the var with the specified name,
+     * or {@code -1} if there was none.
+     * Indices range from {@code 0} to the number of vars minus one and follow
+     * insertion order. Removing a var shifts the indices of all subsequent vars.
+     *
+     * @param name the specified name
+     * @return the index of the var with the specified name,
+     * or {@code -1} if there was none
+     */
+    public int indexOf(@NotNull String name) {
+        return vars.indexOf(name);
+    }
+
+    /**
+     * Returns the var at the specified index.
+     *
+     * @param index the specified index
+     * @return the var at the specified index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @see #indexOf(String)
+     */
+    public @NotNull Var getVar(int index) {
+        return vars.getVar(index);
+    }
+
+    /**
+     * Returns the number of vars in this model.
+     *
+     * @return the number of vars in this model
+     */
+    public int varCount() {
+        return vars.size();
+    }
+
     /**
      * Returns an unmodifiable list view of the vars in this model.
      *
@@ -152,7 +204,11 @@ public class Model {
      * or {@code null} if there was none
      */
     public Var addVarUnchecked(@NotNull Var var) {
-        return vars.addVar(var);
+        Var previous = vars.addVar(var);
+        if (checker != null) {
+            checker.varAdded(var, previous);
+        }
+        return previous;
     }
 
     /**
@@ -180,17 +236,30 @@ public class Model {
      * @return the list of replaced vars
      */
     public List<Var> addVarsUnchecked(@NotNull Collection<? extends Var> vars) {
-        return this.vars.addVars(vars);
+        List<Var> replaced = new ArrayList<>();
+        for (Var var : vars) {
+            Var previous = addVarUnchecked(var);
+            if (previous != null) {
+                replaced.add(previous);
+            }
+        }
+        return replaced;
     }
 
     /**
      * Remove the var with the specified name from this model.
+     * The indices of all subsequent vars are shifted, which takes linear time,
+     * so use {@link #removeVars(Collection)} to remove multiple vars.
      *
      * @param name the specified name
      * @return the removed var, or {@code null} if there was none
      */
     public Var removeVar(@NotNull String name) {
-        return vars.removeVar(name);
+        Var removed = vars.removeVar(name);
+        if (checker != null && removed != null) {
+            checker.varRemoved(removed);
+        }
+        return removed;
     }
 
     /**
@@ -200,7 +269,11 @@ public class Model {
      * @return the list of removed vars
      */
     public List<Var> removeVars(@NotNull Collection<String> names) {
-        return vars.removeVars(names);
+        List<Var> removed = vars.removeVars(names);
+        if (checker != null) {
+            removed.forEach(checker::varRemoved);
+        }
+        return removed;
     }
 
     // Constraint methods
@@ -238,6 +311,15 @@ public class Model {
         return this.constraints.containsAll(constraints);
     }
 
+    /**
+     * Returns the number of constraints in this model.
+     *
+     * @return the number of constraints in this model
+     */
+    public int constraintCount() {
+        return constraints.size();
+    }
+
     /**
      * Returns the list of constraints in this model.
      *
@@ -264,7 +346,11 @@ public class Model {
      * {@code false} otherwise
      */
     public boolean addConstraint(@NotNull Constraint constraint) {
-        return constraints.add(constraint);
+        boolean added = constraints.add(constraint);
+        if (checker != null && added) {
+            checker.constraintAdded(constraint);
+        }
+        return added;
     }
 
     /**
@@ -275,7 +361,11 @@ public class Model {
      * {@code false} otherwise
      */
     public boolean addConstraints(@NotNull Collection<? extends Constraint> constraints) {
-        return this.constraints.addAll(constraints);
+        boolean changed = false;
+        for (Constraint constraint : constraints) {
+            changed |= addConstraint(constraint);
+        }
+        return changed;
     }
 
     /**
@@ -286,7 +376,11 @@ public class Model {
      * {@code false} otherwise
      */
     public boolean removeConstraint(@NotNull Constraint constraint) {
-        return constraints.remove(constraint);
+        boolean removed = constraints.remove(constraint);
+        if (checker != null && removed) {
+            checker.constraintRemoved(constraint);
+        }
+        return removed;
     }
 
     /**
@@ -297,7 +391,11 @@ public class Model {
      * {@code false} otherwise
      */
     public boolean removeConstraints(@NotNull Collection<? extends Constraint> constraints) {
-        return this.constraints.removeAll(constraints);
+        boolean changed = false;
+        for (Constraint constraint : constraints) {
+            changed |= removeConstraint(constraint);
+        }
+        return changed;
     }
 
     // Element methods
@@ -322,18 +420,25 @@ public class Model {
         Model model = new Model();
         varStream().map(copier::copy).forEachOrdered(model::addVarUnchecked);
         constraintStream().map(copier::copy).forEachOrdered(model::addConstraint);
+        if (objective != null) {
+            model.setObjective(objective.withExpr(copier.copy(objective.getExpr())));
+        }
+        model.setSearchStrategy(searchStrategy);
         return model;
     }
 
     //Add to model methods
 
+    // Generated names are allocated monotonically per prefix, names of removed vars are not reused.
+    // Names which are already taken (for example by unchecked vars) are skipped.
     private String genVarName(@NotNull String prefix) {
-        int i = 0;
+        int i = genVarCounters.getOrDefault(prefix, 0);
         String name = prefix + i;
         while (containsVar(name)) {
             i++;
             name = prefix + i;
         }
+        genVarCounters.put(prefix, i + 1);
         return name;
     }
 
@@ -611,6 +716,91 @@ public class Model {
         return constraint;
     }
 
+    // Objective methods
+
+    /**
+     * Returns {@code true} if this model has an objective.
+     *
+     * @return {@code true} if this model has an objective
+     */
+    public boolean hasObjective() {
+        return objective != null;
+    }
+
+    /**
+     * Returns the objective of this model.
+     *
+     * @return the objective, or {@code null} if this model only has to be satisfied
+     */
+    public @Nullable Objective getObjective() {
+        return objective;
+    }
+
+    /**
+     * Set the objective of this model, replacing any existing objective.
+     *
+     * @param objective the objective, or {@code null} to remove the objective
+     */
+    public void setObjective(@Nullable Objective objective) {
+        this.objective = objective;
+    }
+
+    /**
+     * Set the objective of this model to minimize the specified expression,
+     * replacing any existing objective.
+     *
+     * @param expr the specified expression
+     * @return the resulting objective
+     */
+    public @NotNull Objective minimize(@NotNull IntExpr expr) {
+        Objective objective = Objective.minimize(expr);
+        setObjective(objective);
+        return objective;
+    }
+
+    /**
+     * Set the objective of this model to maximize the specified expression,
+     * replacing any existing objective.
+     *
+     * @param expr the specified expression
+     * @return the resulting objective
+     */
+    public @NotNull Objective maximize(@NotNull IntExpr expr) {
+        Objective objective = Objective.maximize(expr);
+        setObjective(objective);
+        return objective;
+    }
+
+    // Search strategy methods
+
+    /**
+     * Returns {@code true} if this model has a search strategy.
+     *
+     * @return {@code true} if this model has a search strategy
+     */
+    public boolean hasSearchStrategy() {
+        return searchStrategy != null;
+    }
+
+    /**
+     * Returns the search strategy of this model.
+     *
+     * @return the search strategy, or {@code null} if the default search of the solver is used
+     */
+    public @Nullable SearchStrategy getSearchStrategy() {
+        return searchStrategy;
+    }
+
+    /**
+     * Set the search strategy of this model, replacing any existing search strategy.
+     * The strategy is kept by {@link #check()} and by presolving.
+     *
+     * @param searchStrategy the search strategy, or {@code null} to use the default search of the solver
+     */
+    public void setSearchStrategy(@Nullable SearchStrategy searchStrategy) {
+        this.searchStrategy = searchStrategy;
+    }
+
     // Visit methods
 
     /**
@@ -652,12 +842,44 @@ public class Model {
 
     /**
      * Checks this model and returns and optimized model.
+     * <p>
+     * The optimized model is maintained incrementally: after the first check,
+     * only the vars and constraints which have been added or removed since the
+     * previous check are processed. A full check is used when the value or
+     * bounds of a variable referred to by this model changed since the previous
+     * check. The objective of this model, if any, is checked as well, and the
+     * search strategy is kept.
+     * <p>
+     * Every check returns a new model, which is not affected by subsequent
+     * checks and can be modified. It shares the checked vars and constraints
+     * with the incrementally maintained result, which is only copied, not
+     * checked again. Checks of the same model are serialized.
      *
      * @return the optimized model
      * @throws CheckException if one of the checks fails
      */
-    public Model check() throws CheckException {
-        return new Checker().check(this);
+    public synchronized Model check() throws CheckException {
+        if (checker == null) {
+            checker = new IncrementalChecker();
+        }
+        return checker.check(this);
+    }
+
+    /**
+     * Returns a new model containing the same vars and constraints as this
+     * model. Unlike {@link #copy()}, the elements themselves are not copied,
+     * so taking a snapshot is linear in the number of vars and constraints
+     * without visiting their expressions. Changes to this model are not
+     * reflected by the snapshot, and vice versa.
+     *
+     * @return the snapshot
+     */
+    @NotNull Model snapshot() {
+        return new Model(this);
+    }
+
+    @Nullable IncrementalChecker getIncrementalChecker() {
+        return checker;
     }
 
     @Override
@@ -678,7 +900,7 @@ public class Model {
         StringBuilder builder = new StringBuilder();
         ElemPrinter printer = new ElemPrinter();
         builder.append("Model {");
-        if (hasVars() || hasConstraints()) {
+        if (hasVars() || hasConstraints() || hasObjective() || hasSearchStrategy()) {
             builder.append("\n");
         }
         if (hasVars()) {
@@ -701,6 +923,18 @@ public class Model {
                     .append("}")
                     .append("\n");
         }
+        if (hasObjective()) {
+            builder.append("    ")
+                    .append(objective.isMaximize() ? "maximize " : "minimize ")
+                    .append(printer.visit(objective.getExpr()))
+                    .append("\n");
+        }
+        if (hasSearchStrategy()) {
+            builder.append("    ")
+                    .append("search ")
+                    .append(searchStrategy)
+                    .append("\n");
+        }
         builder.append("}");
         return builder.toString();
     }
@@ -711,11 +945,13 @@ public class Model {
         if (o == null || getClass() != o.getClass()) return false;
         Model model = (Model) o;
         return Objects.equals(vars, model.vars) &&
-                Objects.equals(constraints, model.constraints);
+                Objects.equals(constraints, model.constraints) &&
+                Objects.equals(objective, model.objective) &&
+                Objects.equals(searchStrategy, model.searchStrategy);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(vars, constraints);
+        return Objects.hash(vars, constraints, objective, searchStrategy);
     }
 }
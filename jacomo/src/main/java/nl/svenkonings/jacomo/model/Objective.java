@@ -0,0 +1,101 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.model;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * The objective of a {@link Model}: an integer expression which should be
+ * minimized or maximized.
+ */
+public final class Objective {
+    private final @NotNull IntExpr expr;
+    private final boolean maximize;
+
+    /**
+     * Create a new objective.
+     *
+     * @param expr     the expression to optimize
+     * @param maximize {@code true} if the expression should be maximized,
+     *                 {@code false} if it should be minimized
+     */
+    public Objective(@NotNull IntExpr expr, boolean maximize) {
+        this.expr = expr;
+        this.maximize = maximize;
+    }
+
+    /**
+     * Create a new objective which minimizes the specified expression.
+     *
+     * @param expr the specified expression
+     * @return the resulting objective
+     */
+    public static @NotNull Objective minimize(@NotNull IntExpr expr) {
+        return new Objective(expr, false);
+    }
+
+    /**
+     * Create a new objective which maximizes the specified expression.
+     *
+     * @param expr the specified expression
+     * @return the resulting objective
+     */
+    public static @NotNull Objective maximize(@NotNull IntExpr expr) {
+        return new Objective(expr, true);
+    }
+
+    /**
+     * Returns the expression to optimize.
+     *
+     * @return the expression to optimize
+     */
+    public @NotNull IntExpr getExpr() {
+        return expr;
+    }
+
+    /**
+     * Returns {@code true} if the expression should be maximized.
+     *
+     * @return {@code true} if the expression should be maximized,
+     * {@code false} if it should be minimized
+     */
+    public boolean isMaximize() {
+        return maximize;
+    }
+
+    /**
+     * Returns an objective with the same direction and the specified expression.
+     *
+     * @param expr the specified expression
+     * @return the resulting objective
+     */
+    public @NotNull Objective withExpr(@NotNull IntExpr expr) {
+        return expr.equals(this.expr) ? this : new Objective(expr, maximize);
+    }
+
+    @Override
+    public String toString() {
+        return (maximize ? "maximize " : "minimize ") + expr;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Objective objective = (Objective) o;
+        return maximize == objective.maximize &&
+                expr.equals(objective.expr);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expr, maximize);
+    }
+}
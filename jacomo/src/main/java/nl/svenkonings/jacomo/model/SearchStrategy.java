@@ -0,0 +1,358 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.model;
+
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The search strategy of a {@link Model}: the decision vars in priority order,
+ * how the next var and its value are selected, and when the search restarts.
+ * <p>
+ * The description is independent of the solver, each solver translates it to
+ * the closest native search. Decision vars are referenced by name, so the
+ * strategy remains valid for the checked and presolved model. Vars which have
+ * been resolved before solving are skipped, and vars which are not decision
+ * vars are searched by the default search of the solver afterwards.
+ */
+public final class SearchStrategy {
+    private final @NotNull List<String> vars;
+    private final @NotNull VarSelection varSelection;
+    private final @NotNull ValueSelection valueSelection;
+    private final @NotNull Restarts restarts;
+    private final boolean lastConflict;
+
+    /**
+     * Create a new search strategy without restarts.
+     *
+     * @param vars           the names of the decision vars in priority order, or an empty collection for all vars
+     * @param varSelection   the heuristic which selects the next decision var
+     * @param valueSelection the heuristic which selects the value of the decision var
+     */
+    public SearchStrategy(@NotNull Collection<String> vars, @NotNull VarSelection varSelection,
+                          @NotNull ValueSelection valueSelection) {
+        this(Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(vars))), varSelection, valueSelection,
+                Restarts.none(), false);
+    }
+
+    private SearchStrategy(@NotNull List<String> vars, @NotNull VarSelection varSelection,
+                           @NotNull ValueSelection valueSelection, @NotNull Restarts restarts, boolean lastConflict) {
+        this.vars = vars;
+        this.varSelection = varSelection;
+        this.valueSelection = valueSelection;
+        this.restarts = restarts;
+        this.lastConflict = lastConflict;
+    }
+
+    /**
+     * Create a new search strategy without restarts over the specified vars.
+     *
+     * @param varSelection   the heuristic which selects the next decision var
+     * @param valueSelection the heuristic which selects the value of the decision var
+     * @param vars           the decision vars in priority order, or no vars for all vars
+     * @return the resulting search strategy
+     */
+    public static @NotNull SearchStrategy of(@NotNull VarSelection varSelection, @NotNull ValueSelection valueSelection,
+                                             @NotNull Var... vars) {
+        List<String> names = new ArrayList<>(vars.length);
+        Arrays.stream(vars).map(Var::getName).forEachOrdered(names::add);
+        return new SearchStrategy(names, varSelection, valueSelection);
+    }
+
+    /**
+     * Returns the names of the decision vars in priority order.
+     *
+     * @return the names of the decision vars, or an empty list if all vars are decision vars
+     */
+    public @NotNull List<String> getVars() {
+        return vars;
+    }
+
+    /**
+     * Returns the heuristic which selects the next decision var.
+     *
+     * @return the var selection heuristic
+     */
+    public @NotNull VarSelection getVarSelection() {
+        return varSelection;
+    }
+
+    /**
+     * Returns the heuristic which selects the value of the decision var.
+     *
+     * @return the value selection heuristic
+     */
+    public @NotNull ValueSelection getValueSelection() {
+        return valueSelection;
+    }
+
+    /**
+     * Returns the restart policy.
+     *
+     * @return the restart policy
+     */
+    public @NotNull Restarts getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Returns {@code true} if the search first branches on the vars involved
+     * in the last conflict, before using the var selection heuristic.
+     *
+     * @return {@code true} if last conflict reasoning is used
+     */
+    public boolean isLastConflict() {
+        return lastConflict;
+    }
+
+    /**
+     * Returns a copy of this strategy with the specified restart policy.
+     *
+     * @param restarts the specified restart policy
+     * @return the resulting search strategy
+     */
+    public @NotNull SearchStrategy withRestarts(@NotNull Restarts restarts) {
+        return new SearchStrategy(vars, varSelection, valueSelection, restarts, lastConflict);
+    }
+
+    /**
+     * Returns a copy of this strategy which does or does not use last conflict reasoning.
+     *
+     * @param lastConflict {@code true} if the search should first branch on the vars of the last conflict
+     * @return the resulting search strategy
+     */
+    public @NotNull SearchStrategy withLastConflict(boolean lastConflict) {
+        return new SearchStrategy(vars, varSelection, valueSelection, restarts, lastConflict);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchStrategy(vars: %s, var selection: %s, value selection: %s, restarts: %s, last conflict: %s)",
+                vars.isEmpty() ? "all" : vars, varSelection, valueSelection, restarts, lastConflict);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchStrategy strategy = (SearchStrategy) o;
+        return lastConflict == strategy.lastConflict &&
+                vars.equals(strategy.vars) &&
+                varSelection == strategy.varSelection &&
+                valueSelection == strategy.valueSelection &&
+                restarts.equals(strategy.restarts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(vars, varSelection, valueSelection, restarts, lastConflict);
+    }
+
+    /**
+     * The heuristic which selects the next decision var among the decision
+     * vars which have not been instantiated.
+     */
+    public enum VarSelection {
+        /**
+         * The first var in priority order.
+         */
+        INPUT_ORDER,
+        /**
+         * The var with the smallest domain.
+         */
+        SMALLEST_DOMAIN,
+        /**
+         * The var with the largest domain.
+         */
+        LARGEST_DOMAIN,
+        /**
+         * The var with the smallest lower bound.
+         */
+        SMALLEST_MIN,
+        /**
+         * The var with the largest upper bound.
+         */
+        LARGEST_MAX,
+        /**
+         * The var with the smallest ratio of domain size to the weighted
+         * number of failures of its constraints. Solvers without failure
+         * weights use {@link #SMALLEST_DOMAIN}.
+         */
+        DOM_OVER_WDEG,
+        /**
+         * The var with the highest activity, the number of domain reductions
+         * it has recently been involved in. Activity based search selects its
+         * own values, so the value selection is ignored. Solvers without
+         * activity based var selection use their default search.
+         */
+        ACTIVITY
+    }
+
+    /**
+     * The heuristic which selects how the domain of the decision var is reduced.
+     */
+    public enum ValueSelection {
+        /**
+         * Assign the smallest value, or remove it on backtracking.
+         */
+        MIN_VALUE,
+        /**
+         * Assign the largest value, or remove it on backtracking.
+         */
+        MAX_VALUE,
+        /**
+         * Assign the median value of the domain, or remove it on backtracking.
+         */
+        MEDIAN_VALUE,
+        /**
+         * Restrict the var to the lower half of its domain, or to the upper half on backtracking.
+         */
+        SPLIT_LOWER,
+        /**
+         * Restrict the var to the upper half of its domain, or to the lower half on backtracking.
+         */
+        SPLIT_UPPER
+    }
+
+    /**
+     * The policy which determines after how many failures the search restarts.
+     */
+    public static final class Restarts {
+        private static final @NotNull Restarts NONE = new Restarts(Policy.NONE, 0, 0);
+
+        private final @NotNull Policy policy;
+        private final int scale;
+        private final double factor;
+
+        private Restarts(@NotNull Policy policy, int scale, double factor) {
+            this.policy = policy;
+            this.scale = scale;
+            this.factor = factor;
+        }
+
+        /**
+         * Returns the policy which never restarts the search.
+         *
+         * @return the policy without restarts
+         */
+        public static @NotNull Restarts none() {
+            return NONE;
+        }
+
+        /**
+         * Returns a policy which restarts after a number of failures following
+         * the Luby sequence (1, 1, 2, 1, 1, 2, 4, ...) multiplied by the specified scale.
+         *
+         * @param scale the number of failures of the first run
+         * @return the resulting policy
+         * @throws InvalidInputException if the scale is not positive
+         */
+        public static @NotNull Restarts luby(int scale) throws InvalidInputException {
+            if (scale <= 0) {
+                throw new InvalidInputException("Restart scale should be positive, received %d", scale);
+            }
+            return new Restarts(Policy.LUBY, scale, 0);
+        }
+
+        /**
+         * Returns a policy which restarts after a number of failures which
+         * starts at the specified scale and is multiplied by the specified factor after every run.
+         *
+         * @param scale  the number of failures of the first run
+         * @param factor the growth factor of the number of failures
+         * @return the resulting policy
+         * @throws InvalidInputException if the scale is not positive or the factor is not larger than 1
+         */
+        public static @NotNull Restarts geometric(int scale, double factor) throws InvalidInputException {
+            if (scale <= 0) {
+                throw new InvalidInputException("Restart scale should be positive, received %d", scale);
+            } else if (!(factor > 1)) {
+                throw new InvalidInputException("Restart factor should be larger than 1, received %s", factor);
+            }
+            return new Restarts(Policy.GEOMETRIC, scale, factor);
+        }
+
+        /**
+         * Returns the type of this policy.
+         *
+         * @return the type of this policy
+         */
+        public @NotNull Policy getPolicy() {
+            return policy;
+        }
+
+        /**
+         * Returns the number of failures of the first run.
+         *
+         * @return the number of failures, or 0 if the search is not restarted
+         */
+        public int getScale() {
+            return scale;
+        }
+
+        /**
+         * Returns the growth factor of a geometric policy.
+         *
+         * @return the growth factor, or 0 if this is not a geometric policy
+         */
+        public double getFactor() {
+            return factor;
+        }
+
+        @Override
+        public String toString() {
+            switch (policy) {
+                case LUBY:
+                    return "luby(" + scale + ")";
+                case GEOMETRIC:
+                    return "geometric(" + scale + ", " + factor + ")";
+                default:
+                    return "none";
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Restarts other = (Restarts) o;
+            return scale == other.scale && Double.compare(factor, other.factor) == 0 && policy == other.policy;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(policy, scale, factor);
+        }
+
+        /**
+         * The type of a restart policy.
+         */
+        public enum Policy {
+            /**
+             * The search is never restarted.
+             */
+            NONE,
+            /**
+             * The number of failures between restarts follows the Luby sequence.
+             */
+            LUBY,
+            /**
+             * The number of failures between restarts grows geometrically.
+             */
+            GEOMETRIC
+        }
+    }
+}
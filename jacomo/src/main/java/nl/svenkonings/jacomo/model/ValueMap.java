@@ -0,0 +1,303 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.model;
+
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.DuplicateNameException;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A compact map of var names to values.
+ * <p>
+ * The values are stored in an {@code int[]}, boolean values as {@code 0} and
+ * {@code 1}. The names and types of the vars are stored in an {@link Index},
+ * which can be shared by all value maps containing the same vars, such as the
+ * solutions found during a single search. Unlike a {@link VarMap}, no var is
+ * created for each value.
+ */
+public class ValueMap {
+    private final @NotNull Index index;
+    private final @NotNull int[] values;
+
+    /**
+     * Create a new value map with the specified index and values. The value
+     * at each position belongs to the var at the same position of the index.
+     * The values are not copied.
+     *
+     * @param index  the specified index
+     * @param values the specified values
+     * @throws InvalidInputException if the number of values does not match the size of the index
+     */
+    public ValueMap(@NotNull Index index, @NotNull int[] values) throws InvalidInputException {
+        if (index.size() != values.length) {
+            throw new InvalidInputException("Expected %d values, received %d", index.size(), values.length);
+        }
+        this.index = index;
+        this.values = values;
+    }
+
+    /**
+     * Returns the index of this map.
+     *
+     * @return the index of this map
+     */
+    public @NotNull Index getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the number of values in this map.
+     *
+     * @return the number of values in this map
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a value for the var with the
+     * specified name, {@code false} otherwise.
+     *
+     * @param name the specified name
+     * @return {@code true} if this map contains a value for the var with the
+     * specified name, {@code false} otherwise
+     */
+    public boolean containsVar(@NotNull String name) {
+        return index.indexOf(name) >= 0;
+    }
+
+    /**
+     * Returns the value at the specified position. Boolean values are
+     * returned as {@code 0} and {@code 1}.
+     *
+     * @param position the specified position
+     * @return the value at the specified position
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public int getValue(int position) {
+        return values[position];
+    }
+
+    /**
+     * Returns the value of the integer var with the specified name.
+     *
+     * @param name the specified name
+     * @return the value of the var
+     * @throws InvalidInputException   if this map contains no value for the var
+     * @throws UnexpectedTypeException if the var is a boolean var
+     */
+    public int getInt(@NotNull String name) throws InvalidInputException, UnexpectedTypeException {
+        int position = position(name);
+        if (index.isBool(position)) {
+            throw new UnexpectedTypeException("Var %s is a boolean var", name);
+        }
+        return values[position];
+    }
+
+    /**
+     * Returns the value of the boolean var with the specified name.
+     *
+     * @param name the specified name
+     * @return the value of the var
+     * @throws InvalidInputException   if this map contains no value for the var
+     * @throws UnexpectedTypeException if the var is an integer var
+     */
+    public boolean getBool(@NotNull String name) throws InvalidInputException, UnexpectedTypeException {
+        int position = position(name);
+        if (!index.isBool(position)) {
+            throw new UnexpectedTypeException("Var %s is an integer var", name);
+        }
+        return values[position] == 1;
+    }
+
+    private int position(@NotNull String name) throws InvalidInputException {
+        int position = index.indexOf(name);
+        if (position < 0) {
+            throw new InvalidInputException("No value for var %s", name);
+        }
+        return position;
+    }
+
+    /**
+     * Returns a copy of the values of this map, in the order of the index.
+     *
+     * @return the values of this map
+     */
+    public @NotNull int[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * Returns a {@link VarMap} containing a constant var for every value of this map.
+     *
+     * @return the resulting var map
+     */
+    public @NotNull VarMap toVarMap() {
+        VarMap result = new VarMap(values.length);
+        for (int i = 0; i < values.length; i++) {
+            String name = index.getName(i);
+            result.add(index.isBool(i) ? BoolVar.constant(name, values[i] == 1) : IntVar.constant(name, values[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        for (int i = 0; i < values.length; i++) {
+            joiner.add(index.getName(i) + "=" + (index.isBool(i) ? String.valueOf(values[i] == 1) : String.valueOf(values[i])));
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ValueMap valueMap = (ValueMap) o;
+        return index.equals(valueMap.index) && Arrays.equals(values, valueMap.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * index.hashCode() + Arrays.hashCode(values);
+    }
+
+    /**
+     * The names and types of the vars of a {@link ValueMap}, each assigned
+     * a dense position in insertion order. An index should not be changed
+     * after value maps have been created with it.
+     */
+    public static final class Index {
+        private final @NotNull List<String> names;
+        private final @NotNull BitSet bools;
+        private final @NotNull HashMap<String, Integer> positions;
+
+        /**
+         * Create a new empty index with the specified initial capacity.
+         *
+         * @param initialCapacity the initial capacity
+         * @throws IllegalArgumentException if the initial capacity is negative
+         */
+        public Index(int initialCapacity) {
+            if (initialCapacity < 0) {
+                throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+            }
+            names = new ArrayList<>(initialCapacity);
+            bools = new BitSet(initialCapacity);
+            positions = new HashMap<>((int) (initialCapacity / .75f) + 1);
+        }
+
+        /**
+         * Add an integer var with the specified name.
+         *
+         * @param name the specified name
+         * @return the position of the var
+         * @throws DuplicateNameException if the index already contains a var with the specified name
+         */
+        public int addInt(@NotNull String name) throws DuplicateNameException {
+            return add(name, false);
+        }
+
+        /**
+         * Add a boolean var with the specified name.
+         *
+         * @param name the specified name
+         * @return the position of the var
+         * @throws DuplicateNameException if the index already contains a var with the specified name
+         */
+        public int addBool(@NotNull String name) throws DuplicateNameException {
+            return add(name, true);
+        }
+
+        private int add(@NotNull String name, boolean bool) throws DuplicateNameException {
+            int position = names.size();
+            if (positions.putIfAbsent(name, position) != null) {
+                throw new DuplicateNameException("Variable name %s already exists", name);
+            }
+            names.add(name);
+            bools.set(position, bool);
+            return position;
+        }
+
+        /**
+         * Returns the number of vars in this index.
+         *
+         * @return the number of vars in this index
+         */
+        public int size() {
+            return names.size();
+        }
+
+        /**
+         * Returns the position of the var with the specified name,
+         * or {@code -1} if there was none.
+         *
+         * @param name the specified name
+         * @return the position of the var with the specified name,
+         * or {@code -1} if there was none
+         */
+        public int indexOf(@NotNull String name) {
+            Integer position = positions.get(name);
+            return position == null ? -1 : position;
+        }
+
+        /**
+         * Returns the name of the var at the specified position.
+         *
+         * @param position the specified position
+         * @return the name of the var
+         * @throws IndexOutOfBoundsException if the position is out of range
+         */
+        public @NotNull String getName(int position) {
+            return names.get(position);
+        }
+
+        /**
+         * Returns {@code true} if the var at the specified position is a boolean var.
+         *
+         * @param position the specified position
+         * @return {@code true} if the var is a boolean var
+         */
+        public boolean isBool(int position) {
+            return bools.get(position);
+        }
+
+        /**
+         * Returns an unmodifiable list of the names in this index, in position order.
+         *
+         * @return the names in this index
+         */
+        public @NotNull List<String> getNames() {
+            return Collections.unmodifiableList(names);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Index other = (Index) o;
+            return names.equals(other.names) && bools.equals(other.bools);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * names.hashCode() + bools.hashCode();
+        }
+    }
+}
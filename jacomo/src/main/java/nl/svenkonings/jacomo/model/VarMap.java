@@ -17,16 +17,55 @@ import java.util.stream.Collectors;
 /**
  * An insertion-ordered map of {@link Var}s.
  * The vars are mapped based on their name.
+ * <p>
+ * Each var is assigned a dense index between {@code 0} and {@code size() - 1},
+ * in insertion order. Replacing a var keeps its index, removing a var shifts
+ * the indices of all subsequent vars down.
  */
 public class VarMap extends AbstractCollection<Var> {
-    private final @NotNull LinkedHashMap<String, Var> vars;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private @NotNull Var[] vars;
+    private final @NotNull HashMap<String, Integer> indices;
+    private int size;
+    private int modCount;
 
     /**
      * Constructs an empty insertion-ordered {@code VarMap}.
      */
     public VarMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty insertion-ordered {@code VarMap} with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public VarMap(int initialCapacity) {
+        super();
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        vars = new Var[initialCapacity];
+        indices = new HashMap<>(Math.max((int) (initialCapacity / .75f) + 1, DEFAULT_CAPACITY));
+        size = 0;
+        modCount = 0;
+    }
+
+    /**
+     * Constructs an insertion-ordered {@code VarMap} with the same vars and
+     * indices as the specified map. The vars themselves are not copied.
+     *
+     * @param map the specified map
+     */
+    public VarMap(@NotNull VarMap map) {
         super();
-        vars = new LinkedHashMap<>();
+        vars = Arrays.copyOf(map.vars, Math.max(map.size, DEFAULT_CAPACITY));
+        indices = new HashMap<>(map.indices);
+        size = map.size;
+        modCount = 0;
     }
 
     /**
@@ -38,7 +77,7 @@ public class VarMap extends AbstractCollection<Var> {
      * {@code false} otherwise
      */
     public boolean containsVar(@NotNull String name) {
-        return vars.containsKey(name);
+        return indices.containsKey(name);
     }
 
     /**
@@ -53,6 +92,19 @@ public class VarMap extends AbstractCollection<Var> {
         return names.stream().allMatch(this::containsVar);
     }
 
+    /**
+     * Returns the index of the var with the specified name,
+     * or {@code -1} if there was none.
+     *
+     * @param name the specified name
+     * @return the index of the var with the specified name,
+     * or {@code -1} if there was none
+     */
+    public int indexOf(@NotNull String name) {
+        Integer index = indices.get(name);
+        return index == null ? -1 : index;
+    }
+
     /**
      * Returns the var with the specified name,
      * or {@code null} if there was none.
@@ -62,7 +114,22 @@ public class VarMap extends AbstractCollection<Var> {
      * or {@code null} if there was none
      */
     public @Nullable Var getVar(@NotNull String name) {
-        return vars.get(name);
+        Integer index = indices.get(name);
+        return index == null ? null : vars[index];
+    }
+
+    /**
+     * Returns the var at the specified index.
+     *
+     * @param index the specified index
+     * @return the var at the specified index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public @NotNull Var getVar(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return vars[index];
     }
 
     /**
@@ -71,27 +138,67 @@ public class VarMap extends AbstractCollection<Var> {
      * @return an unmodifiable list view of the vars in this map
      */
     public @NotNull List<Var> getVars() {
-        return ListUtil.copyOf(vars.values());
+        return ListUtil.copyOf(Arrays.asList(vars).subList(0, size));
     }
 
     /**
      * Returns an unmodifiable set view of the var names in this map.
+     * The names are iterated in index order.
      *
      * @return an unmodifiable set view of the var names in this map
      */
     public @NotNull Set<String> getVarNames() {
-        return Collections.unmodifiableSet(vars.keySet());
+        return new AbstractSet<String>() {
+            @Override
+            public boolean contains(Object o) {
+                return indices.containsKey(o);
+            }
+
+            @Override
+            public @NotNull Iterator<String> iterator() {
+                Iterator<Var> iterator = new VarIterator(false);
+                return new Iterator<String>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return iterator.next().getName();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
     }
 
     /**
      * Add the specified var to this map.
+     * If a var with the same name already exists, it is replaced and its index is kept.
      *
      * @param var the var to be added
      * @return the previous var with the given name,
      * or {@code null} if there was none
      */
     public Var addVar(@NotNull Var var) {
-        return vars.put(var.getName(), var);
+        Integer index = indices.get(var.getName());
+        if (index != null) {
+            Var previous = vars[index];
+            vars[index] = var;
+            return previous;
+        }
+        if (size == vars.length) {
+            vars = Arrays.copyOf(vars, Math.max(size * 2, DEFAULT_CAPACITY));
+        }
+        indices.put(var.getName(), size);
+        vars[size++] = var;
+        modCount++;
+        return null;
     }
 
     /**
@@ -107,22 +214,69 @@ public class VarMap extends AbstractCollection<Var> {
 
     /**
      * Remove the var with the specified name from this map.
+     * The indices of all subsequent vars are shifted, which takes linear time,
+     * so use {@link #removeVars(Collection)} to remove multiple vars.
      *
      * @param name the specified name
      * @return the removed var, or {@code null} if there was none
      */
     public Var removeVar(@NotNull String name) {
-        return vars.remove(name);
+        Integer index = indices.get(name);
+        return index == null ? null : removeIndex(index);
     }
 
     /**
      * Remove the vars with the specified names from this map.
+     * The remaining vars are compacted in a single pass.
      *
      * @param names the specified collection of names
      * @return the list of removed vars
      */
     public List<Var> removeVars(@NotNull Collection<String> names) {
-        return names.stream().map(this::removeVar).filter(Objects::nonNull).collect(Collectors.toList());
+        List<Var> removed = new ArrayList<>();
+        for (String name : names) {
+            Integer index = indices.remove(name);
+            if (index != null) {
+                removed.add(vars[index]);
+                vars[index] = null;
+            }
+        }
+        if (!removed.isEmpty()) {
+            compact();
+        }
+        return removed;
+    }
+
+    private Var removeIndex(int index) {
+        Var removed = vars[index];
+        indices.remove(removed.getName());
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(vars, index + 1, vars, index, moved);
+            for (int i = index; i < size - 1; i++) {
+                indices.put(vars[i].getName(), i);
+            }
+        }
+        vars[--size] = null;
+        modCount++;
+        return removed;
+    }
+
+    private void compact() {
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            Var var = vars[i];
+            if (var != null) {
+                if (i != newSize) {
+                    vars[newSize] = var;
+                    indices.put(var.getName(), newSize);
+                }
+                newSize++;
+            }
+        }
+        Arrays.fill(vars, newSize, size, null);
+        size = newSize;
+        modCount++;
     }
 
     @Override
@@ -131,19 +285,27 @@ public class VarMap extends AbstractCollection<Var> {
         return true;
     }
 
+    @Override
+    public void clear() {
+        Arrays.fill(vars, 0, size, null);
+        indices.clear();
+        size = 0;
+        modCount++;
+    }
+
     @Override
     public @NotNull Iterator<Var> iterator() {
-        return vars.values().iterator();
+        return new VarIterator(true);
     }
 
     @Override
     public int size() {
-        return vars.size();
+        return size;
     }
 
     @Override
     public String toString() {
-        return vars.values().toString();
+        return getVars().toString();
     }
 
     @Override
@@ -151,11 +313,69 @@ public class VarMap extends AbstractCollection<Var> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         VarMap varMap = (VarMap) o;
-        return Objects.equals(vars, varMap.vars);
+        if (size != varMap.size) return false;
+        for (int i = 0; i < size; i++) {
+            Var var = vars[i];
+            if (!var.equals(varMap.getVar(var.getName()))) return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(vars);
+        // Order independent, consistent with equals
+        int hash = 0;
+        for (int i = 0; i < size; i++) {
+            hash += vars[i].getName().hashCode() ^ vars[i].hashCode();
+        }
+        return 31 + hash;
+    }
+
+    private class VarIterator implements Iterator<Var> {
+        private final boolean removable;
+        private int cursor;
+        private int last;
+        private int expectedModCount;
+
+        private VarIterator(boolean removable) {
+            this.removable = removable;
+            cursor = 0;
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Var next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            last = cursor++;
+            return vars[last];
+        }
+
+        @Override
+        public void remove() {
+            if (!removable) {
+                throw new UnsupportedOperationException();
+            }
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeIndex(last);
+            cursor = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
     }
 }
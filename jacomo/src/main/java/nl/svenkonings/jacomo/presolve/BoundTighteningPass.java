@@ -0,0 +1,117 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.constraints.Constraint;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.elem.variables.integer.BoundedIntVar;
+import nl.svenkonings.jacomo.elem.variables.integer.ConstantIntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import nl.svenkonings.jacomo.model.Model;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Presolve pass which tightens the bounds of bounded integer variables using
+ * unary constraints.
+ * <p>
+ * Constraints of the form {@code x < c}, {@code x <= c}, {@code x > c} and
+ * {@code x >= c}, where {@code x} is a bounded integer variable and {@code c}
+ * a constant, are removed and the bounds of {@code x} are tightened instead.
+ * Weighted comparisons such as {@code 2 * x + 1 <= c} are tightened as well.
+ * This way solvers can create variables with tight domains, instead of
+ * starting from the full integer range.
+ * Constraints of the form {@code x != c} are removed if {@code c} is a bound of
+ * {@code x}. The variables are replaced by the tightened variables throughout
+ * the model.
+ */
+public class BoundTighteningPass implements PresolvePass {
+
+    @Override
+    public @NotNull String getName() {
+        return "bound-tightening";
+    }
+
+    @Override
+    public @NotNull Model apply(@NotNull Model model) throws ContradictionException {
+        Map<BoundedIntVar, Interval> bounds = new HashMap<>();
+        Set<Constraint> removed = new HashSet<>();
+        List<Constraint> notEquals = new ArrayList<>();
+        for (Constraint constraint : model.getConstraints()) {
+            UnaryConstraint unary = UnaryConstraint.of(constraint);
+            if (unary == null) {
+                continue;
+            }
+            long value = unary.getValue();
+            switch (unary.getType()) {
+                case "LeExpr":
+                    tighten(bounds, unary.getVar(), Interval.NEG_INF, value);
+                    break;
+                case "GeExpr":
+                    tighten(bounds, unary.getVar(), value, Interval.POS_INF);
+                    break;
+                case "NeExpr":
+                    notEquals.add(constraint);
+                    continue;
+                default:
+                    continue;
+            }
+            removed.add(constraint);
+        }
+        // Exclude values at the bounds after all other constraints have been applied
+        for (Constraint constraint : notEquals) {
+            UnaryConstraint unary = UnaryConstraint.of(constraint);
+            Interval interval = getBounds(bounds, unary.getVar());
+            if (interval.getLower() == unary.getValue()) {
+                tighten(bounds, unary.getVar(), interval.getLower() + 1, Interval.POS_INF);
+                removed.add(constraint);
+            } else if (interval.getUpper() == unary.getValue()) {
+                tighten(bounds, unary.getVar(), Interval.NEG_INF, interval.getUpper() - 1);
+                removed.add(constraint);
+            }
+        }
+        if (removed.isEmpty()) {
+            return model;
+        }
+        Map<Var, Var> replacements = new HashMap<>();
+        for (Map.Entry<BoundedIntVar, Interval> entry : bounds.entrySet()) {
+            BoundedIntVar var = entry.getKey();
+            Interval interval = entry.getValue();
+            if (!interval.equals(Interval.of(var.getLowerBound(), var.getUpperBound()))) {
+                replacements.put(var, tightenedVar(var, interval));
+            }
+        }
+        return ModelRewriter.rewrite(model, replacements, removed);
+    }
+
+    private static @NotNull Interval getBounds(@NotNull Map<BoundedIntVar, Interval> bounds, @NotNull BoundedIntVar var) {
+        return bounds.computeIfAbsent(var, key -> Interval.of(key.getLowerBound(), key.getUpperBound()));
+    }
+
+    private static void tighten(@NotNull Map<BoundedIntVar, Interval> bounds, @NotNull BoundedIntVar var,
+                                long lower, long upper) throws ContradictionException {
+        Interval interval = getBounds(bounds, var);
+        // Integer variables can't exceed the integer range
+        long newLower = Math.max(Math.max(interval.getLower(), lower), Integer.MIN_VALUE);
+        long newUpper = Math.min(Math.min(interval.getUpper(), upper), Integer.MAX_VALUE);
+        if (newLower > newUpper) {
+            throw new ContradictionException("The domain of var %s is empty", var.getName());
+        }
+        bounds.put(var, Interval.of(newLower, newUpper));
+    }
+
+    private static @NotNull Var tightenedVar(@NotNull BoundedIntVar var, @NotNull Interval interval) {
+        Integer lower = interval.getLower() == Integer.MIN_VALUE && !var.hasLowerBound() ? null : interval.getIntLower();
+        Integer upper = interval.getUpper() == Integer.MAX_VALUE && !var.hasUpperBound() ? null : interval.getIntUpper();
+        if (lower != null && lower.equals(upper)) {
+            return new ConstantIntVar(var.getName(), lower);
+        }
+        return new BoundedIntVar(var.getName(), lower, upper);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
+import nl.svenkonings.jacomo.elem.constraints.Constraint;
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.model.Model;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Presolve pass which splits top-level conjunctions into separate constraints.
+ * <p>
+ * For example, the constraint {@code (x >= 0) && (x <= 10)} is replaced by the
+ * constraints {@code x >= 0} and {@code x <= 10}. This allows the other passes
+ * to handle the operands of the conjunction individually.
+ */
+public class ConjunctionSplittingPass implements PresolvePass {
+
+    @Override
+    public @NotNull String getName() {
+        return "conjunction-splitting";
+    }
+
+    @Override
+    public @NotNull Model apply(@NotNull Model model) {
+        if (model.constraintStream().noneMatch(ConjunctionSplittingPass::isConjunction)) {
+            return model;
+        }
+        Model result = new Model();
+        model.varStream().forEachOrdered(result::addVarUnchecked);
+        for (Constraint constraint : model.getConstraints()) {
+            if (!isConjunction(constraint)) {
+                result.addConstraint(constraint);
+                continue;
+            }
+            Deque<BoolExpr> stack = new ArrayDeque<>();
+            stack.push(((BoolExprConstraint) constraint).getExpr());
+            while (!stack.isEmpty()) {
+                BoolExpr expr = stack.pop();
+                if (isConjunction(expr)) {
+                    // Push in reverse order, so the operands keep their order
+                    for (int i = expr.getChildren().size() - 1; i >= 0; i--) {
+                        stack.push((BoolExpr) expr.getChildren().get(i));
+                    }
+                } else {
+                    result.addConstraint(new BoolExprConstraint(expr));
+                }
+            }
+        }
+        result.setObjective(model.getObjective());
+        result.setSearchStrategy(model.getSearchStrategy());
+        return result;
+    }
+
+    private static boolean isConjunction(@NotNull Constraint constraint) {
+        return constraint instanceof BoolExprConstraint && isConjunction(((BoolExprConstraint) constraint).getExpr());
+    }
+
+    private static boolean isConjunction(@NotNull BoolExpr expr) {
+        return !expr.hasValue() && (expr.getType().equals("AndExpr") || expr.getType().equals("NaryAndExpr"));
+    }
+}
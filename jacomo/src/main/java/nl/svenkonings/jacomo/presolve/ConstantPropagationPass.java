@@ -0,0 +1,43 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.elem.variables.bool.ConstantBoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.ConstantIntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import nl.svenkonings.jacomo.model.Model;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Presolve pass which propagates resolved variables as constants.
+ * <p>
+ * Variables which have a value but are not constant variables, such as
+ * expression variables whose expression has become constant after other
+ * variables have been fixed, are replaced by constants throughout the model.
+ * All expressions using them are folded.
+ */
+public class ConstantPropagationPass implements PresolvePass {
+
+    @Override
+    public @NotNull String getName() {
+        return "constant-propagation";
+    }
+
+    @Override
+    public @NotNull Model apply(@NotNull Model model) throws ContradictionException {
+        Map<Var, Var> replacements = new HashMap<>();
+        model.varStream()
+                .filter(var -> var.hasValue() && !(var instanceof ConstantIntVar) && !(var instanceof ConstantBoolVar))
+                .forEachOrdered(var -> replacements.put(var, ModelRewriter.toConstant(var)));
+        return replacements.isEmpty() ? model : ModelRewriter.rewrite(model, replacements, Collections.emptySet());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
+import nl.svenkonings.jacomo.elem.constraints.Constraint;
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.relational.ReBoolExpr;
+import nl.svenkonings.jacomo.model.Model;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Presolve pass which removes constraints which are equal to a previous
+ * constraint up to the order of their operands.
+ * <p>
+ * For example, {@code x > y} is a duplicate of {@code y < x}, {@code y == x}
+ * is a duplicate of {@code x == y} and {@code b & a} is a duplicate of
+ * {@code a & b}. Exact duplicates are already removed by the model itself.
+ */
+public class DuplicateConstraintPass implements PresolvePass {
+
+    @Override
+    public @NotNull String getName() {
+        return "duplicate-constraints";
+    }
+
+    @Override
+    public @NotNull Model apply(@NotNull Model model) {
+        Set<Object> keys = new HashSet<>();
+        Set<Constraint> removed = new HashSet<>();
+        model.constraintStream().forEachOrdered(constraint -> {
+            if (!keys.add(key(constraint))) {
+                removed.add(constraint);
+            }
+        });
+        return removed.isEmpty() ? model : ModelRewriter.removeConstraints(model, removed);
+    }
+
+    // Returns a key which is equal for constraints which only differ in the order of their operands
+    private static @NotNull Object key(@NotNull Constraint constraint) {
+        if (!(constraint instanceof BoolExprConstraint)) {
+            return constraint;
+        }
+        BoolExpr expr = ((BoolExprConstraint) constraint).getExpr();
+        switch (expr.getType()) {
+            case "LtExpr":
+            case "LeExpr":
+                return Arrays.asList(expr.getType(), ((ReBoolExpr) expr).getLeft(), ((ReBoolExpr) expr).getRight());
+            case "GtExpr":
+                return Arrays.asList("LtExpr", ((ReBoolExpr) expr).getRight(), ((ReBoolExpr) expr).getLeft());
+            case "GeExpr":
+                return Arrays.asList("LeExpr", ((ReBoolExpr) expr).getRight(), ((ReBoolExpr) expr).getLeft());
+            case "EqExpr":
+            case "NeExpr":
+                return Arrays.asList(expr.getType(), new HashSet<>(expr.getChildren()));
+            case "AndExpr":
+            case "NaryAndExpr":
+                return Arrays.asList("AndExpr", new HashSet<>(expr.getChildren()));
+            case "OrExpr":
+            case "NaryOrExpr":
+                return Arrays.asList("OrExpr", new HashSet<>(expr.getChildren()));
+            default:
+                return constraint;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
+import nl.svenkonings.jacomo.elem.constraints.Constraint;
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.unary.NotExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.Interval;
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.elem.variables.bool.ConstantBoolVar;
+import nl.svenkonings.jacomo.elem.variables.bool.InstantiatableBoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.BoundedIntVar;
+import nl.svenkonings.jacomo.elem.variables.integer.ConstantIntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import nl.svenkonings.jacomo.model.Model;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Presolve pass which eliminates vars which are fixed by an equality.
+ * <p>
+ * Constraints of the form {@code x == c}, where {@code x} is a bounded integer
+ * variable and {@code c} a constant, as well as constraints consisting of a
+ * single boolean variable or its negation, are removed. The variables are
+ * replaced by constants throughout the model.
+ */
+public class FixedVarEliminationPass implements PresolvePass {
+
+    @Override
+    public @NotNull String getName() {
+        return "fixed-var-elimination";
+    }
+
+    @Override
+    public @NotNull Model apply(@NotNull Model model) throws ContradictionException {
+        Map<Var, Var> replacements = new HashMap<>();
+        Set<Constraint> removed = new HashSet<>();
+        for (Constraint constraint : model.getConstraints()) {
+            Var var = getFixedVar(constraint);
+            if (var != null) {
+                Var fixed = fix(constraint);
+                Var previous = replacements.get(var);
+                if (previous != null && !previous.getValue().equals(fixed.getValue())) {
+                    throw new ContradictionException("Var %s can't be equal to both %s and %s",
+                            var.getName(), previous.getValue(), fixed.getValue());
+                }
+                replacements.put(var, fixed);
+                removed.add(constraint);
+            }
+        }
+        return removed.isEmpty() ? model : ModelRewriter.rewrite(model, replacements, removed);
+    }
+
+    // Returns the var fixed by the specified constraint, or null if it does not fix a var
+    private static @Nullable Var getFixedVar(@NotNull Constraint constraint) {
+        if (constraint instanceof BoolExprConstraint) {
+            BoolExpr expr = ((BoolExprConstraint) constraint).getExpr();
+            if (isBoolVar(expr)) {
+                return (Var) expr;
+            } else if (expr instanceof NotExpr && isBoolVar(((NotExpr) expr).getExpr())) {
+                return (Var) ((NotExpr) expr).getExpr();
+            }
+        }
+        UnaryConstraint unary = UnaryConstraint.of(constraint);
+        if (unary != null && unary.getType().equals("EqExpr")) {
+            return unary.getVar();
+        }
+        return null;
+    }
+
+    // Returns the constant var fixed by the specified constraint
+    private static @NotNull Var fix(@NotNull Constraint constraint) throws ContradictionException {
+        UnaryConstraint unary = UnaryConstraint.of(constraint);
+        if (unary != null) {
+            BoundedIntVar var = unary.getVar();
+            long value = unary.getValue();
+            Interval bounds = Interval.of(var.getLowerBound(), var.getUpperBound());
+            if (value < Math.max(bounds.getLower(), Integer.MIN_VALUE) ||
+                    value > Math.min(bounds.getUpper(), Integer.MAX_VALUE)) {
+                throw new ContradictionException("Var %s can't be equal to %s", var, value);
+            }
+            return new ConstantIntVar(var.getName(), (int) value);
+        }
+        BoolExpr expr = ((BoolExprConstraint) constraint).getExpr();
+        if (expr instanceof NotExpr) {
+            return new ConstantBoolVar(((Var) ((NotExpr) expr).getExpr()).getName(), false);
+        } else {
+            return new ConstantBoolVar(((Var) expr).getName(), true);
+        }
+    }
+
+    private static boolean isBoolVar(@NotNull BoolExpr expr) {
+        return expr instanceof InstantiatableBoolVar && !expr.hasValue();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.Elem;
+import nl.svenkonings.jacomo.elem.constraints.Constraint;
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.bool.ConstantBoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.ConstantIntVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.CheckException;
+import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.visitor.Checker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility methods to build reduced models.
+ */
+final class ModelRewriter {
+
+    private ModelRewriter() {
+    }
+
+    /**
+     * Returns a copy of the specified model without the specified constraints.
+     *
+     * @param model   the specified model
+     * @param removed the constraints to remove
+     * @return the resulting model
+     */
+    static @NotNull Model removeConstraints(@NotNull Model model, @NotNull Set<Constraint> removed) {
+        Model result = new Model();
+        model.varStream().forEachOrdered(result::addVarUnchecked);
+        model.constraintStream().filter(constraint -> !removed.contains(constraint)).forEachOrdered(result::addConstraint);
+        result.setObjective(model.getObjective());
+        result.setSearchStrategy(model.getSearchStrategy());
+        return result;
+    }
+
+    /**
+     * Returns a copy of the specified model in which the specified vars are
+     * replaced and the specified constraints are removed. All remaining elements,
+     * including the objective, are checked again, so expressions which have
+     * become constant are folded.
+     *
+     * @param model        the specified model
+     * @param replacements the replacements of the vars, which should have the same names
+     * @param removed      the constraints to remove
+     * @return the resulting model
+     * @throws ContradictionException if a constraint has become false
+     */
+    static @NotNull Model rewrite(@NotNull Model model, @NotNull Map<? extends Var, ? extends Var> replacements,
+                                  @NotNull Set<Constraint> removed) throws ContradictionException {
+        Checker checker = new Checker();
+        replacements.forEach(checker::substitute);
+        Model result = new Model();
+        try {
+            for (Var var : model.getVars()) {
+                Var rewritten = toVar(var.getName(), checker.visit(var));
+                // Rewritten vars are final, so checking a changed constraint again should keep them
+                checker.substitute(rewritten, rewritten);
+                result.addVarUnchecked(rewritten);
+            }
+            for (Constraint constraint : model.getConstraints()) {
+                if (removed.contains(constraint)) {
+                    continue;
+                }
+                Constraint checked = checker.checkConstraint(constraint);
+                // Check changed constraints again, since their new operands may have resolved them
+                if (checked != null && !checked.equals(constraint)) {
+                    checked = checker.checkConstraint(checked);
+                }
+                if (checked != null) {
+                    result.addConstraint(checked);
+                }
+            }
+            if (model.hasObjective()) {
+                result.setObjective(checker.checkObjective(model.getObjective()));
+            }
+            result.setSearchStrategy(model.getSearchStrategy());
+        } catch (CheckException e) {
+            throw new ContradictionException(e, "The model has no solution: %s", e.getMessage());
+        }
+        return result;
+    }
+
+    // Resolved vars are checked as expressions, keep them as constant vars with the same name
+    private static @NotNull Var toVar(@NotNull String name, @NotNull Elem elem) {
+        if (elem instanceof Var) {
+            return (Var) elem;
+        } else if (elem instanceof IntExpr && ((IntExpr) elem).hasValue()) {
+            return new ConstantIntVar(name, ((IntExpr) elem).getValue());
+        } else if (elem instanceof BoolExpr && ((BoolExpr) elem).hasValue()) {
+            return new ConstantBoolVar(name, ((BoolExpr) elem).getValue());
+        } else {
+            throw new UnexpectedTypeException(elem);
+        }
+    }
+
+    /**
+     * Returns a constant var with the name and value of the specified resolved var.
+     *
+     * @param var the specified resolved var
+     * @return the constant var
+     */
+    static @NotNull Var toConstant(@NotNull Var var) {
+        if (var instanceof IntVar) {
+            return new ConstantIntVar(var.getName(), ((IntVar) var).getValue());
+        } else if (var instanceof BoolVar) {
+            return new ConstantBoolVar(var.getName(), ((BoolVar) var).getValue());
+        } else {
+            throw new UnexpectedTypeException(var);
+        }
+    }
+}
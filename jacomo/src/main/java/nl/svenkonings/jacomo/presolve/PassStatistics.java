@@ -0,0 +1,118 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Statistics of a single {@link PresolvePass} during a presolve.
+ */
+public class PassStatistics {
+    private final @NotNull String name;
+    private int runs;
+    private int reductions;
+    private int removedConstraints;
+    private int fixedVars;
+    private int tightenedVars;
+    private long time;
+
+    /**
+     * Create new empty statistics for the pass with the specified name.
+     *
+     * @param name the specified name
+     */
+    PassStatistics(@NotNull String name) {
+        this.name = name;
+        runs = 0;
+        reductions = 0;
+        removedConstraints = 0;
+        fixedVars = 0;
+        tightenedVars = 0;
+        time = 0;
+    }
+
+    /**
+     * Returns the name of the pass.
+     *
+     * @return the name of the pass
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of times the pass has been applied.
+     *
+     * @return the number of runs
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Returns the number of runs which reduced the model.
+     *
+     * @return the number of reducing runs
+     */
+    public int getReductions() {
+        return reductions;
+    }
+
+    /**
+     * Returns the number of constraints removed by the pass.
+     *
+     * @return the number of removed constraints
+     */
+    public int getRemovedConstraints() {
+        return removedConstraints;
+    }
+
+    /**
+     * Returns the number of vars which have been fixed to a single value by the pass.
+     *
+     * @return the number of fixed vars
+     */
+    public int getFixedVars() {
+        return fixedVars;
+    }
+
+    /**
+     * Returns the number of integer vars whose bounds have been tightened by the pass,
+     * without fixing them to a single value.
+     *
+     * @return the number of tightened vars
+     */
+    public int getTightenedVars() {
+        return tightenedVars;
+    }
+
+    /**
+     * Returns the total time spent in the pass.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    void addRun(boolean reduced, int removedConstraints, int fixedVars, int tightenedVars, long time) {
+        this.runs++;
+        if (reduced) {
+            this.reductions++;
+        }
+        this.removedConstraints += removedConstraints;
+        this.fixedVars += fixedVars;
+        this.tightenedVars += tightenedVars;
+        this.time += time;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(runs: %d, reductions: %d, removed constraints: %d, fixed vars: %d, tightened vars: %d, time: %.3f ms)",
+                name, runs, reductions, removedConstraints, fixedVars, tightenedVars, time / 1_000_000.0);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import nl.svenkonings.jacomo.model.Model;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A reduction pass used by the {@link Presolver}.
+ * <p>
+ * A pass transforms a checked model into an equivalent, smaller model.
+ * Passes must keep every var of the model at the same index: vars can only be
+ * replaced by reduced vars with the same name, for example a var with tighter
+ * bounds or a constant. This way solutions of the reduced model can be used to
+ * update the original model.
+ */
+public interface PresolvePass {
+
+    /**
+     * Returns the name of this pass, used to report statistics.
+     *
+     * @return the name of this pass
+     */
+    @NotNull String getName();
+
+    /**
+     * Applies this pass to the specified checked model.
+     * Returns the specified model itself if it could not be reduced.
+     *
+     * @param model the specified model
+     * @return the reduced model, or the specified model if nothing changed
+     * @throws ContradictionException if the pass proves that the model has no solution
+     */
+    @NotNull Model apply(@NotNull Model model) throws ContradictionException;
+}
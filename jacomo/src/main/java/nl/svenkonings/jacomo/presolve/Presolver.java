@@ -0,0 +1,205 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.util.ListUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reduces checked models before they are solved.
+ * <p>
+ * The presolver applies an ordered list of {@link PresolvePass}es until none of
+ * the passes can reduce the model any further, or until the maximum number of
+ * rounds has been reached. Statistics are collected for every pass.
+ * <p>
+ * The default passes are, in order:
+ * <ol>
+ *     <li>{@link ConjunctionSplittingPass}</li>
+ *     <li>{@link DuplicateConstraintPass}</li>
+ *     <li>{@link FixedVarEliminationPass}</li>
+ *     <li>{@link BoundTighteningPass}</li>
+ *     <li>{@link ConstantPropagationPass}</li>
+ * </ol>
+ */
+public class Presolver {
+    private static final int DEFAULT_MAX_ROUNDS = 16;
+
+    private final @NotNull List<PresolvePass> passes;
+    private final @NotNull List<PassStatistics> statistics;
+    private int maxRounds;
+    private int rounds;
+
+    /**
+     * Create a new presolver using the default passes.
+     */
+    public Presolver() {
+        this(defaultPasses());
+    }
+
+    /**
+     * Create a new presolver using the specified passes.
+     *
+     * @param passes the passes, in the order in which they should be applied
+     */
+    public Presolver(@NotNull List<? extends PresolvePass> passes) {
+        this.passes = ListUtil.copyOf(passes);
+        statistics = new ArrayList<>(passes.size());
+        maxRounds = DEFAULT_MAX_ROUNDS;
+        rounds = 0;
+    }
+
+    /**
+     * Returns a new list of the default passes.
+     *
+     * @return the default passes
+     */
+    public static @NotNull List<PresolvePass> defaultPasses() {
+        List<PresolvePass> passes = new ArrayList<>();
+        passes.add(new ConjunctionSplittingPass());
+        passes.add(new DuplicateConstraintPass());
+        passes.add(new FixedVarEliminationPass());
+        passes.add(new BoundTighteningPass());
+        passes.add(new ConstantPropagationPass());
+        return passes;
+    }
+
+    /**
+     * Returns a new list of the passes which tighten the bounds of vars:
+     * {@link ConjunctionSplittingPass} and {@link BoundTighteningPass}.
+     * A single round of these passes reaches a fixpoint, and the model is only
+     * rewritten if it contains unary constraints.
+     *
+     * @return the bound tightening passes
+     */
+    public static @NotNull List<PresolvePass> boundTighteningPasses() {
+        List<PresolvePass> passes = new ArrayList<>();
+        passes.add(new ConjunctionSplittingPass());
+        passes.add(new BoundTighteningPass());
+        return passes;
+    }
+
+    /**
+     * Returns the maximum number of rounds. In every round, each pass is applied once.
+     *
+     * @return the maximum number of rounds
+     */
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    /**
+     * Set the maximum number of rounds. In every round, each pass is applied once.
+     *
+     * @param maxRounds the maximum number of rounds
+     */
+    public void setMaxRounds(int maxRounds) {
+        if (maxRounds < 0) {
+            throw new InvalidInputException("Can't have a negative amount of rounds");
+        }
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Returns the number of rounds used by the last presolve.
+     *
+     * @return the number of rounds
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the statistics of every pass during the last presolve,
+     * in the same order as the passes.
+     *
+     * @return the list of pass statistics
+     */
+    public @NotNull List<PassStatistics> getStatistics() {
+        return Collections.unmodifiableList(statistics);
+    }
+
+    /**
+     * Presolves the specified checked model and returns the reduced model.
+     * The vars of the reduced model have the same names and indices as the vars
+     * of the specified model. If the model could not be reduced, the specified
+     * model itself is returned.
+     *
+     * @param model the specified checked model
+     * @return the reduced model
+     * @throws ContradictionException if the model has no solution
+     */
+    public @NotNull Model presolve(@NotNull Model model) throws ContradictionException {
+        statistics.clear();
+        for (PresolvePass pass : passes) {
+            statistics.add(new PassStatistics(pass.getName()));
+        }
+        rounds = 0;
+        Model current = model;
+        // Stop once every pass has been applied to the current model without reducing it
+        int stable = 0;
+        while (rounds < maxRounds && stable < passes.size()) {
+            rounds++;
+            for (int i = 0; i < passes.size() && stable < passes.size(); i++) {
+                Model reduced = apply(passes.get(i), statistics.get(i), current);
+                if (reduced == current) {
+                    stable++;
+                } else {
+                    current = reduced;
+                    stable = 0;
+                }
+            }
+        }
+        return current;
+    }
+
+    private @NotNull Model apply(@NotNull PresolvePass pass, @NotNull PassStatistics passStatistics,
+                                 @NotNull Model model) throws ContradictionException {
+        long start = System.nanoTime();
+        Model reduced = pass.apply(model);
+        long time = System.nanoTime() - start;
+        if (reduced == model) {
+            passStatistics.addRun(false, 0, 0, 0, time);
+            return model;
+        }
+        if (reduced.varCount() != model.varCount()) {
+            throw new InvalidInputException("Presolve pass %s changed the vars of the model", pass.getName());
+        }
+        int fixedVars = 0;
+        int tightenedVars = 0;
+        for (int i = 0; i < model.varCount(); i++) {
+            Var before = model.getVar(i);
+            Var after = reduced.getVar(i);
+            if (!before.getName().equals(after.getName())) {
+                throw new InvalidInputException("Presolve pass %s changed the vars of the model", pass.getName());
+            }
+            if (after.hasValue() && !before.hasValue()) {
+                fixedVars++;
+            } else if (before instanceof IntVar && after instanceof IntVar && !after.hasValue()
+                    && !sameBounds((IntVar) before, (IntVar) after)) {
+                tightenedVars++;
+            }
+        }
+        int removedConstraints = Math.max(0, model.constraintCount() - reduced.constraintCount());
+        passStatistics.addRun(true, removedConstraints, fixedVars, tightenedVars, time);
+        return reduced;
+    }
+
+    private static boolean sameBounds(@NotNull IntVar before, @NotNull IntVar after) {
+        return Objects.equals(before.getLowerBound(), after.getLowerBound()) &&
+                Objects.equals(before.getUpperBound(), after.getUpperBound());
+    }
+}
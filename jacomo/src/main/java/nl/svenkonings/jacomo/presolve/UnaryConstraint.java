@@ -0,0 +1,167 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
+import nl.svenkonings.jacomo.elem.constraints.Constraint;
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.relational.ReBoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
+import nl.svenkonings.jacomo.elem.variables.integer.BoundedIntVar;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A constraint which compares an unresolved bounded integer variable with a constant.
+ * <p>
+ * Besides direct comparisons such as {@code x < c} and {@code c >= x}, comparisons
+ * of a single weighted variable with a constant, such as {@code 2 * x + 3 <= c},
+ * are recognized. The comparison is normalized, so the variable is always the
+ * left operand without coefficient, and the type is one of {@code LeExpr},
+ * {@code GeExpr}, {@code EqExpr} or {@code NeExpr}.
+ */
+final class UnaryConstraint {
+    private final @NotNull BoundedIntVar var;
+    private final @NotNull String type;
+    private final long value;
+
+    private UnaryConstraint(@NotNull BoundedIntVar var, @NotNull String type, long value) {
+        this.var = var;
+        this.type = type;
+        this.value = value;
+    }
+
+    /**
+     * Returns the unary constraint represented by the specified constraint,
+     * or {@code null} if the constraint does not compare a single bounded
+     * integer variable with a constant.
+     *
+     * @param constraint the specified constraint
+     * @return the unary constraint, or {@code null}
+     */
+    static @Nullable UnaryConstraint of(@NotNull Constraint constraint) {
+        if (!(constraint instanceof BoolExprConstraint)) {
+            return null;
+        }
+        BoolExpr expr = ((BoolExprConstraint) constraint).getExpr();
+        if (!(expr instanceof ReBoolExpr)) {
+            return null;
+        }
+        IntExpr left = ((ReBoolExpr) expr).getLeft();
+        IntExpr right = ((ReBoolExpr) expr).getRight();
+        if (right.hasValue()) {
+            return of(left, expr.getType(), right.getValue());
+        } else if (left.hasValue()) {
+            return of(right, flip(expr.getType()), left.getValue());
+        } else {
+            return null;
+        }
+    }
+
+    // Normalizes the comparison coeff * var + offset <type> value
+    private static @Nullable UnaryConstraint of(@NotNull IntExpr expr, @NotNull String type, long value) {
+        long coeff;
+        long offset;
+        BoundedIntVar var;
+        if (isVar(expr)) {
+            var = (BoundedIntVar) expr;
+            coeff = 1;
+            offset = 0;
+        } else if (expr instanceof WeightedSumExpr && ((WeightedSumExpr) expr).size() == 1 &&
+                isVar(((WeightedSumExpr) expr).getChildren().get(0))) {
+            WeightedSumExpr sum = (WeightedSumExpr) expr;
+            var = (BoundedIntVar) sum.getChildren().get(0);
+            coeff = sum.getCoeff(0);
+            offset = sum.getOffset();
+        } else {
+            return null;
+        }
+        if (coeff == 0) {
+            return null;
+        }
+        long rhs = value - offset;
+        switch (type) {
+            case "LtExpr":
+                rhs--;
+                type = "LeExpr";
+                break;
+            case "GtExpr":
+                rhs++;
+                type = "GeExpr";
+                break;
+            case "LeExpr":
+            case "GeExpr":
+                break;
+            case "EqExpr":
+            case "NeExpr":
+                // Leave equalities without integer solution to the solver
+                return rhs % coeff == 0 ? new UnaryConstraint(var, type, rhs / coeff) : null;
+            default:
+                return null;
+        }
+        // Dividing by a negative coefficient swaps the direction of the comparison
+        if (coeff < 0) {
+            coeff = -coeff;
+            rhs = -rhs;
+            type = flip(type);
+        }
+        if (type.equals("LeExpr")) {
+            return new UnaryConstraint(var, type, Math.floorDiv(rhs, coeff));
+        } else {
+            return new UnaryConstraint(var, type, -Math.floorDiv(-rhs, coeff));
+        }
+    }
+
+    private static boolean isVar(@NotNull IntExpr expr) {
+        return expr instanceof BoundedIntVar && !expr.hasValue();
+    }
+
+    // Returns the type of the comparison with swapped operands
+    private static @NotNull String flip(@NotNull String type) {
+        switch (type) {
+            case "LtExpr":
+                return "GtExpr";
+            case "LeExpr":
+                return "GeExpr";
+            case "GtExpr":
+                return "LtExpr";
+            case "GeExpr":
+                return "LeExpr";
+            default:
+                return type;
+        }
+    }
+
+    /**
+     * Returns the compared variable.
+     *
+     * @return the compared variable
+     */
+    @NotNull BoundedIntVar getVar() {
+        return var;
+    }
+
+    /**
+     * Returns the type of the comparison, with the variable as left operand.
+     *
+     * @return the type of the comparison
+     */
+    @NotNull String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the constant the variable is compared with.
+     * The constant can be outside the integer range.
+     *
+     * @return the constant value
+     */
+    long getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.exceptions.unchecked.CheckException;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.model.Model;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Solves batches of independent models using a bounded pool of threads.
+ * <p>
+ * Small models are solved concurrently, one model per thread, each by a solver
+ * using a single worker. Large models are solved one at a time by a solver
+ * using all workers. This way the number of search threads never exceeds the
+ * number of workers, so the throughput scales with the number of cores instead
+ * of oversubscribing them.
+ */
+public class BatchSolver {
+    private final @NotNull Solver solver;
+    private int workers;
+    private int portfolioThreshold;
+
+    /**
+     * Create a new batch solver using the specified solver. The settings of the
+     * specified solver, such as the time limit, are used for every model.
+     *
+     * @param solver the specified solver
+     */
+    public BatchSolver(@NotNull Solver solver) {
+        this.solver = solver;
+        workers = 0;
+        portfolioThreshold = 1000;
+    }
+
+    /**
+     * Returns the number of threads used to solve the models.
+     * A value of 0 (default) means all logical processors on the machine are used.
+     *
+     * @return the number of threads
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Set the number of threads used to solve the models.
+     * A value of 0 (default) means all logical processors on the machine are used.
+     *
+     * @param workers the number of threads
+     */
+    public void setWorkers(int workers) {
+        if (workers < 0) {
+            throw new InvalidInputException("Can't have a negative amount of workers");
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * Returns the size from which models are solved using all workers.
+     * The size of a model is the number of vars and constraints of the checked model.
+     *
+     * @return the portfolio threshold
+     */
+    public int getPortfolioThreshold() {
+        return portfolioThreshold;
+    }
+
+    /**
+     * Set the size from which models are solved using all workers.
+     * The size of a model is the number of vars and constraints of the checked model.
+     *
+     * @param portfolioThreshold the portfolio threshold
+     */
+    public void setPortfolioThreshold(int portfolioThreshold) {
+        if (portfolioThreshold < 0) {
+            throw new InvalidInputException("Portfolio threshold can't be negative");
+        }
+        this.portfolioThreshold = portfolioThreshold;
+    }
+
+    /**
+     * Check, presolve and solve the specified models, optimizing their objectives.
+     * Returns the results in the order of the specified models.
+     *
+     * @param models the specified models
+     * @return the results of the models
+     * @throws CheckException if one of the checks fails
+     */
+    public @NotNull List<SolveResult> solveAll(@NotNull Collection<Model> models) throws CheckException {
+        SolveResult[] results = new SolveResult[models.size()];
+        solveAll(models, (result, index) -> results[index] = result);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Check, presolve and solve the specified models, optimizing their objectives.
+     * Every result is passed to the specified consumer as soon as it is
+     * available, together with the index of its model. The consumer is called
+     * on the calling thread.
+     * <p>
+     * All models are checked before any model is solved. When solving one of
+     * the models fails, the remaining models are not solved.
+     *
+     * @param models  the specified models
+     * @param results the consumer of the results and the indices of their models
+     * @throws CheckException if one of the checks fails
+     */
+    public void solveAll(@NotNull Collection<Model> models, @NotNull ObjIntConsumer<SolveResult> results) throws CheckException {
+        List<Model> checked = new ArrayList<>(models.size());
+        long[] checkTimes = new long[models.size()];
+        for (Model model : models) {
+            long start = System.nanoTime();
+            checked.add(model.check());
+            checkTimes[checked.size() - 1] = System.nanoTime() - start;
+        }
+        // Cancelled when solving fails, so the running searches stop as well
+        CancellationToken cancellation = new CancellationToken();
+        int threadCount = workers <= 0 ? Runtime.getRuntime().availableProcessors() : workers;
+        // Large models are solved first, while the pool is still idle
+        Solver portfolio = solver.withWorkers(threadCount);
+        List<Integer> small = new ArrayList<>(checked.size());
+        for (int i = 0; i < checked.size(); i++) {
+            Model model = checked.get(i);
+            if (threadCount > 1 && model.varCount() + model.constraintCount() >= portfolioThreshold) {
+                results.accept(solve(portfolio, model, checkTimes[i], cancellation), i);
+            } else {
+                small.add(i);
+            }
+        }
+        if (small.isEmpty()) {
+            return;
+        }
+        Solver single = solver.withWorkers(1);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threadCount, small.size()), runnable -> {
+            Thread thread = new Thread(runnable, "jacomo-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletionService<IndexedResult> completion = new ExecutorCompletionService<>(pool);
+            for (int index : small) {
+                completion.submit(() -> new IndexedResult(index, solve(single, checked.get(index), checkTimes[index], cancellation)));
+            }
+            for (int i = 0; i < small.size(); i++) {
+                Future<IndexedResult> future = completion.take();
+                IndexedResult result = future.get();
+                results.accept(result.result, result.index);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving models", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            cancellation.cancel();
+            pool.shutdownNow();
+        }
+    }
+
+    private static @NotNull SolveResult solve(@NotNull Solver solver, @NotNull Model checked, long checkTime,
+                                              @NotNull CancellationToken cancellation) {
+        long start = System.nanoTime();
+        Model presolved = solver.presolve(checked);
+        long presolveTime = System.nanoTime() - start;
+        SolveResult result = presolved == null ? SolveResult.noSolution(SolveStatus.INFEASIBLE)
+                : solver.optimizeUnchecked(presolved, null, cancellation);
+        return result.withStatistics(result.getStatistics().withCheckTime(checkTime, presolveTime));
+    }
+
+    private static class IndexedResult {
+        private final int index;
+        private final @NotNull SolveResult result;
+
+        private IndexedResult(int index, @NotNull SolveResult result) {
+            this.index = index;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token used to cancel a running solve.
+ * <p>
+ * Solver implementations register listeners which stop their native search,
+ * so the solving thread is released as soon as the token is cancelled.
+ * A token can only be cancelled once and can be shared by multiple solves.
+ * Listeners should be unregistered once their solve has finished, so a shared
+ * token does not retain the state of completed solves.
+ */
+public class CancellationToken {
+    private final @NotNull List<Listener> listeners;
+    // Read without locking, since solvers poll this flag during the search
+    private volatile boolean cancelled;
+
+    /**
+     * Create a new cancellation token.
+     */
+    public CancellationToken() {
+        listeners = new ArrayList<>();
+        cancelled = false;
+    }
+
+    /**
+     * Returns {@code true} if this token has been cancelled.
+     *
+     * @return {@code true} if this token has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancel this token and run all registered listeners.
+     * Has no effect if this token has already been cancelled.
+     */
+    public void cancel() {
+        List<Listener> toRun;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        // Run the listeners outside the lock, since they can block on the solver
+        toRun.forEach(entry -> entry.listener.run());
+    }
+
+    /**
+     * Register a listener which is run when this token is cancelled.
+     * If this token has already been cancelled, the listener is run immediately.
+     * The listener is retained until this token is cancelled or the returned
+     * registration is closed.
+     *
+     * @param listener the specified listener
+     * @return the registration of the listener
+     */
+    public @NotNull Registration onCancel(@NotNull Runnable listener) {
+        synchronized (this) {
+            if (!cancelled) {
+                Listener entry = new Listener(listener);
+                listeners.add(entry);
+                return entry;
+            }
+        }
+        listener.run();
+        return () -> {
+        };
+    }
+
+    private synchronized void unregister(@NotNull Listener entry) {
+        listeners.remove(entry);
+    }
+
+    /**
+     * Returns the number of registered listeners.
+     *
+     * @return the number of registered listeners
+     */
+    synchronized int getListenerCount() {
+        return listeners.size();
+    }
+
+    /**
+     * Registration of a cancellation listener. Closing the registration
+     * unregisters the listener, so it is not run when the token is cancelled.
+     * Closing a registration more than once has no effect.
+     */
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    // Every registration has its own entry, so the same listener can be registered more than once
+    private final class Listener implements Registration {
+        private final @NotNull Runnable listener;
+
+        Listener(@NotNull Runnable listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void close() {
+            unregister(this);
+        }
+    }
+}
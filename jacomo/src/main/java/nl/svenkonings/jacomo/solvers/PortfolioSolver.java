@@ -0,0 +1,376 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.Objective;
+import nl.svenkonings.jacomo.model.VarMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Solver which races multiple solvers, usually of different backends, on the
+ * same model.
+ * <p>
+ * Every solver searches concurrently on its own thread, using its own number
+ * of workers. The first definitive answer is returned: a solution which is
+ * proven optimal, or a proof that the model has no solution. The other
+ * solvers are cancelled as soon as a definitive answer has been found. If no
+ * solver gives a definitive answer, the best result is returned.
+ * <p>
+ * The winning solver of every solve is logged at level {@link Level#FINE} and
+ * counted, see {@link #getWins()}, so the split of the workers can be tuned.
+ * The solvers should support setting the number of workers and the time limit.
+ */
+public class PortfolioSolver implements Solver {
+    private static final Logger LOGGER = Logger.getLogger(PortfolioSolver.class.getName());
+
+    private final @NotNull List<Solver> solvers;
+    private final @NotNull AtomicLongArray wins;
+    private final @NotNull ExecutorService pool;
+
+    /**
+     * Create a new portfolio solver racing the specified solvers. The settings
+     * of the specified solvers are used, unless they are changed using this
+     * portfolio solver.
+     *
+     * @param solvers the specified solvers
+     * @throws InvalidInputException if no solvers are specified
+     */
+    public PortfolioSolver(@NotNull Solver... solvers) throws InvalidInputException {
+        if (solvers.length == 0) {
+            throw new InvalidInputException("A portfolio requires at least one solver");
+        }
+        this.solvers = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(solvers)));
+        wins = new AtomicLongArray(solvers.length);
+        // Idle threads are reused by later races and expire when the portfolio is no longer used.
+        // The pool grows for concurrent races and for cancelled solvers which have not stopped yet.
+        pool = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "jacomo-portfolio");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the solvers of this portfolio.
+     *
+     * @return the solvers of this portfolio
+     */
+    public @NotNull List<Solver> getSolvers() {
+        return solvers;
+    }
+
+    /**
+     * Returns the number of solves won by each solver, in the order of the solvers.
+     *
+     * @return the number of wins per solver
+     */
+    public @NotNull long[] getWins() {
+        long[] result = new long[wins.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = wins.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total number of workers used by the solvers of this portfolio.
+     *
+     * @return the number of workers.
+     */
+    @Override
+    public int getWorkers() {
+        return solvers.stream().mapToInt(Solver::getWorkers).sum();
+    }
+
+    /**
+     * Split the specified number of workers evenly over the solvers of this
+     * portfolio. A value of 0 means all logical processors on the machine are
+     * used. Every solver uses at least one worker.
+     *
+     * @param workers the total number of workers to use.
+     */
+    @Override
+    public void setWorkers(int workers) {
+        if (workers < 0) {
+            throw new InvalidInputException("Can't have a negative amount of workers");
+        }
+        int total = workers == 0 ? Runtime.getRuntime().availableProcessors() : workers;
+        int[] split = new int[solvers.size()];
+        for (int i = 0; i < split.length; i++) {
+            split[i] = Math.max(1, total / split.length + (i < total % split.length ? 1 : 0));
+        }
+        setSplit(split);
+    }
+
+    /**
+     * Set the number of workers of each solver, in the order of the solvers.
+     *
+     * @param workers the number of workers per solver
+     * @throws InvalidInputException if the number of values does not match the number of solvers
+     */
+    public void setSplit(int... workers) throws InvalidInputException {
+        if (workers.length != solvers.size()) {
+            throw new InvalidInputException("Expected %d worker counts, received %d", solvers.size(), workers.length);
+        }
+        for (int i = 0; i < workers.length; i++) {
+            solvers.get(i).setWorkers(workers[i]);
+        }
+    }
+
+    /**
+     * Returns the largest time limit of the solvers of this portfolio.
+     *
+     * @return the time limit in milliseconds.
+     */
+    @Override
+    public long getTimeLimit() {
+        return solvers.stream().mapToLong(Solver::getTimeLimit).max().orElse(0);
+    }
+
+    /**
+     * Set the time limit of all solvers of this portfolio.
+     *
+     * @param timeLimit the time limit in milliseconds.
+     */
+    @Override
+    public void setTimeLimit(long timeLimit) {
+        solvers.forEach(solver -> solver.setTimeLimit(timeLimit));
+    }
+
+    /**
+     * Returns {@code true} if one of the solvers of this portfolio presolves models.
+     * The model is presolved once, before the solvers are raced.
+     *
+     * @return {@code true} if models are presolved
+     */
+    @Override
+    public boolean isPresolve() {
+        return solvers.stream().anyMatch(Solver::isPresolve);
+    }
+
+    /**
+     * Set whether all solvers of this portfolio presolve models.
+     *
+     * @param presolve {@code true} to presolve models
+     */
+    @Override
+    public void setPresolve(boolean presolve) {
+        solvers.forEach(solver -> solver.setPresolve(presolve));
+    }
+
+    @Override
+    public @NotNull PortfolioSolver withWorkers(int workers) {
+        PortfolioSolver portfolio = new PortfolioSolver(solvers.stream()
+                .map(solver -> solver.withWorkers(1))
+                .toArray(Solver[]::new));
+        portfolio.setWorkers(workers);
+        return portfolio;
+    }
+
+    @Override
+    public @Nullable VarMap solveUnchecked(@NotNull Model model) {
+        return optimizeUnchecked(model, null, new CancellationToken()).getSolution();
+    }
+
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements) {
+        return optimizeUnchecked(model, improvements, new CancellationToken());
+    }
+
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements,
+                                                  @NotNull CancellationToken cancellation) {
+        return optimizeUnchecked(model, null, null, improvements, cancellation);
+    }
+
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable VarMap hint, @Nullable Consumer<SolveResult> improvements,
+                                                  @NotNull CancellationToken cancellation) {
+        return optimizeUnchecked(model, hint, null, improvements, cancellation);
+    }
+
+    /**
+     * Race the solvers of this portfolio on the specified model. Only the
+     * solutions which improve on the solutions found by all solvers are passed
+     * to the specified consumer. The hint and the projection are passed to
+     * every solver.
+     *
+     * @param model        the specified model
+     * @param hint         the hinted values by var name, or {@code null}
+     * @param projection   the vars to include in the solutions, or {@code null} for all vars
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the first definitive result, or the best result if there is none
+     */
+    @Override
+    public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable VarMap hint, @Nullable Projection projection,
+                                                  @Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation) {
+        Objective objective = model.getObjective();
+        ImprovementFilter filter = improvements == null ? null : new ImprovementFilter(objective, improvements);
+        List<CancellationToken> tokens = new ArrayList<>(solvers.size());
+        List<CancellationToken.Registration> registrations = new ArrayList<>(solvers.size());
+        CompletionService<SolveResult> completion = new ExecutorCompletionService<>(pool);
+        Map<Future<SolveResult>, Integer> indices = new HashMap<>(solvers.size());
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < solvers.size(); i++) {
+                Solver solver = solvers.get(i);
+                CancellationToken token = new CancellationToken();
+                tokens.add(token);
+                registrations.add(cancellation.onCancel(token::cancel));
+                Callable<SolveResult> task = () -> solver.optimizeUnchecked(model, hint, projection, filter, token);
+                indices.put(completion.submit(task), i);
+            }
+            SolveResult best = SolveResult.noSolution();
+            int bestIndex = -1;
+            RuntimeException error = null;
+            for (int i = 0; i < solvers.size(); i++) {
+                Future<SolveResult> future = completion.take();
+                int index = indices.get(future);
+                SolveResult result;
+                try {
+                    result = future.get();
+                } catch (ExecutionException e) {
+                    // Another solver can still give an answer
+                    if (error == null) {
+                        error = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                                : new IllegalStateException(e.getCause());
+                    }
+                    continue;
+                }
+                if (isDefinitive(result)) {
+                    won(index, start, true);
+                    return result;
+                } else if (bestIndex < 0 || isBetter(result, best, objective)) {
+                    best = result;
+                    bestIndex = index;
+                }
+            }
+            if (bestIndex < 0 && error != null) {
+                throw error;
+            }
+            won(bestIndex, start, false);
+            return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while racing solvers", e);
+        } finally {
+            if (filter != null) {
+                filter.close();
+            }
+            registrations.forEach(CancellationToken.Registration::close);
+            tokens.forEach(CancellationToken::cancel);
+        }
+    }
+
+    /**
+     * Returns an iterator over the solutions of the specified model, searched
+     * by the first solver of this portfolio. Solution enumeration does not race.
+     *
+     * @param model the specified model
+     * @param limit the maximum number of solutions, or 0 for all solutions
+     * @return an iterator over the solutions
+     */
+    @Override
+    public @NotNull SolutionIterator solutionsUnchecked(@NotNull Model model, long limit) {
+        return solvers.get(0).solutionsUnchecked(model, limit);
+    }
+
+    /**
+     * Translate the specified model using the first solver of this portfolio.
+     * Prepared models do not race.
+     *
+     * @param model      the specified model
+     * @param parameters the names of the parameter vars of the model
+     * @return the prepared model
+     */
+    @Override
+    public @NotNull PreparedModel prepareUnchecked(@NotNull Model model, @NotNull Collection<String> parameters) {
+        return solvers.get(0).prepareUnchecked(model, parameters);
+    }
+
+    private void won(int index, long start, boolean definitive) {
+        if (index < 0) {
+            return;
+        }
+        wins.incrementAndGet(index);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(String.format("Portfolio solve won by solver %d (%s) after %d ms, definitive: %s",
+                    index, solvers.get(index).getClass().getSimpleName(), (System.nanoTime() - start) / 1_000_000, definitive));
+        }
+    }
+
+    private static boolean isDefinitive(@NotNull SolveResult result) {
+        return result.getStatus() == SolveStatus.OPTIMAL || result.getStatus() == SolveStatus.INFEASIBLE;
+    }
+
+    private static boolean isBetter(@NotNull SolveResult result, @NotNull SolveResult best, @Nullable Objective objective) {
+        if (!result.hasSolution()) {
+            return false;
+        } else if (!best.hasSolution()) {
+            return true;
+        } else if (objective == null) {
+            return false;
+        }
+        long value = result.getObjectiveValue();
+        long bestValue = best.getObjectiveValue();
+        return objective.isMaximize() ? value > bestValue : value < bestValue;
+    }
+
+    /**
+     * Consumer which only passes the solutions improving on all solutions
+     * passed before, since each solver only reports its own improvements.
+     */
+    private static class ImprovementFilter implements Consumer<SolveResult> {
+        private final @Nullable Objective objective;
+        private final @NotNull Consumer<SolveResult> improvements;
+        private @NotNull SolveResult best;
+        private boolean closed;
+
+        ImprovementFilter(@Nullable Objective objective, @NotNull Consumer<SolveResult> improvements) {
+            this.objective = objective;
+            this.improvements = improvements;
+            best = SolveResult.noSolution();
+            closed = false;
+        }
+
+        @Override
+        public synchronized void accept(SolveResult result) {
+            if (!closed && isBetter(result, best, objective)) {
+                best = result;
+                improvements.accept(result);
+            }
+        }
+
+        // Solvers which are still stopping should not report solutions after the race has ended
+        synchronized void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.VarMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A model which has been translated to the native model of a solver once, and
+ * can be solved repeatedly with different values for its parameter vars.
+ * <p>
+ * Parameter vars are vars of the model which are bound to a value before
+ * solving. Unbound parameter vars keep the domain of the model. Binding a
+ * parameter var only changes the native model, so solving a prepared model
+ * does not translate the model again.
+ */
+public abstract class PreparedModel {
+    private final @NotNull Model model;
+    private final @NotNull Map<String, Var> parameters;
+    private final @NotNull Map<String, Integer> bindings;
+
+    /**
+     * Create a new prepared model.
+     *
+     * @param model      the checked and presolved model
+     * @param parameters the names of the parameter vars
+     * @throws InvalidInputException if one of the parameters is not a boolean
+     *                               or integer var of the model
+     */
+    protected PreparedModel(@NotNull Model model, @NotNull Collection<String> parameters) throws InvalidInputException {
+        this.model = model;
+        this.parameters = new LinkedHashMap<>(parameters.size());
+        for (String name : parameters) {
+            Var var = model.getVar(name);
+            if (!(var instanceof BoolVar) && !(var instanceof IntVar)) {
+                throw new InvalidInputException("Parameter %s is not a boolean or integer var of the model", name);
+            }
+            this.parameters.put(name, var);
+        }
+        bindings = new LinkedHashMap<>(parameters.size());
+    }
+
+    /**
+     * Create a new prepared model of a model which has no solution, regardless
+     * of the values of its parameter vars.
+     *
+     * @param model      the checked model
+     * @param parameters the names of the parameter vars
+     * @return the resulting prepared model
+     */
+    public static @NotNull PreparedModel noSolution(@NotNull Model model, @NotNull Collection<String> parameters) {
+        return new PreparedModel(model, parameters) {
+            @Override
+            public @NotNull SolveResult optimize(@Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation) {
+                return SolveResult.noSolution(SolveStatus.INFEASIBLE);
+            }
+        };
+    }
+
+    /**
+     * Returns the checked and presolved model which has been translated.
+     *
+     * @return the prepared model
+     */
+    public @NotNull Model getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the names of the parameter vars.
+     *
+     * @return the names of the parameter vars
+     */
+    public @NotNull Set<String> getParameterNames() {
+        return Collections.unmodifiableSet(parameters.keySet());
+    }
+
+    /**
+     * Bind the specified integer parameter var to the specified value.
+     *
+     * @param var   the specified parameter var
+     * @param value the specified value
+     * @throws InvalidInputException if the var is not an integer parameter var
+     */
+    public void bind(@NotNull IntVar var, int value) throws InvalidInputException {
+        bind(var.getName(), value);
+    }
+
+    /**
+     * Bind the specified boolean parameter var to the specified value.
+     *
+     * @param var   the specified parameter var
+     * @param value the specified value
+     * @throws InvalidInputException if the var is not a boolean parameter var
+     */
+    public void bind(@NotNull BoolVar var, boolean value) throws InvalidInputException {
+        bind(var.getName(), value);
+    }
+
+    /**
+     * Bind the integer parameter var with the specified name to the specified value.
+     *
+     * @param name  the name of the parameter var
+     * @param value the specified value
+     * @throws InvalidInputException if the var is not an integer parameter var
+     */
+    public void bind(@NotNull String name, int value) throws InvalidInputException {
+        if (!(parameters.get(name) instanceof IntVar)) {
+            throw new InvalidInputException("%s is not an integer parameter", name);
+        }
+        bindings.put(name, value);
+    }
+
+    /**
+     * Bind the boolean parameter var with the specified name to the specified value.
+     *
+     * @param name  the name of the parameter var
+     * @param value the specified value
+     * @throws InvalidInputException if the var is not a boolean parameter var
+     */
+    public void bind(@NotNull String name, boolean value) throws InvalidInputException {
+        if (!(parameters.get(name) instanceof BoolVar)) {
+            throw new InvalidInputException("%s is not a boolean parameter", name);
+        }
+        bindings.put(name, value ? 1 : 0);
+    }
+
+    /**
+     * Remove the binding of the parameter var with the specified name, so it
+     * keeps the domain of the model.
+     *
+     * @param name the name of the parameter var
+     */
+    public void unbind(@NotNull String name) {
+        bindings.remove(name);
+    }
+
+    /**
+     * Returns the values of the bound parameter vars. Boolean values are
+     * represented by 0 and 1.
+     *
+     * @return the values of the bound parameter vars by name
+     */
+    protected @NotNull Map<String, Integer> getBindings() {
+        return Collections.unmodifiableMap(bindings);
+    }
+
+    /**
+     * Solve the prepared model using the current bindings. Returns a
+     * {@link VarMap} containing the resolved variables, or {@code null} if
+     * the model couldn't be solved. If the model has an objective, the best
+     * solution found is returned.
+     *
+     * @return A {@link VarMap} containing the resolved variables, or
+     * {@code null} if the model couldn't be solved
+     */
+    public @Nullable VarMap solve() {
+        return optimize(null).getSolution();
+    }
+
+    /**
+     * Solve the prepared model using the current bindings, optimizing its
+     * objective if it has one. See {@link Solver#optimize(Model, Consumer)}.
+     *
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @return the result containing the best solution found
+     */
+    public @NotNull SolveResult optimize(@Nullable Consumer<SolveResult> improvements) {
+        return optimize(improvements, new CancellationToken());
+    }
+
+    /**
+     * Solve the prepared model using the current bindings, optimizing its
+     * objective if it has one, until the search completes or the specified
+     * token is cancelled.
+     *
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     */
+    public abstract @NotNull SolveResult optimize(@Nullable Consumer<SolveResult> improvements, @NotNull CancellationToken cancellation);
+}
@@ -0,0 +1,135 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.ValueMap;
+import nl.svenkonings.jacomo.model.VarMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The vars of which the values are included in a projected solution.
+ * <p>
+ * A projected solution is a {@link ValueMap}, which stores the values of the
+ * projected vars in an {@code int[]} instead of creating a var for each value.
+ * Either the vars with the specified names are projected, or all vars with a
+ * user-defined name, which excludes the vars with generated names.
+ * <p>
+ * Like the vars of a {@link VarMap} solution, vars which already had a value
+ * before solving and vars which are not part of the model are not included.
+ */
+public final class Projection {
+    private static final @NotNull Projection NAMED_VARS = new Projection(null);
+
+    private final @Nullable List<String> names;
+
+    private Projection(@Nullable List<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Returns a projection of the vars with the specified names.
+     *
+     * @param names the specified names
+     * @return the resulting projection
+     */
+    public static @NotNull Projection of(@NotNull String... names) {
+        return of(Arrays.asList(names));
+    }
+
+    /**
+     * Returns a projection of the vars with the specified names.
+     *
+     * @param names the specified names
+     * @return the resulting projection
+     */
+    public static @NotNull Projection of(@NotNull Collection<String> names) {
+        return new Projection(Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(names))));
+    }
+
+    /**
+     * Returns a projection of all vars with a user-defined name. Vars with a
+     * generated name, which start with an underscore, are not projected.
+     *
+     * @return the resulting projection
+     */
+    public static @NotNull Projection namedVars() {
+        return NAMED_VARS;
+    }
+
+    /**
+     * Returns {@code true} if this projection contains all vars with a user-defined name.
+     *
+     * @return {@code true} if this projection contains all vars with a user-defined name
+     */
+    public boolean isNamedVars() {
+        return names == null;
+    }
+
+    /**
+     * Returns the names of the projected vars which are candidates in the
+     * specified model. Solvers include the vars with these names which they
+     * have translated.
+     *
+     * @param model the specified model
+     * @return the names of the projected vars
+     */
+    public @NotNull List<String> getNames(@NotNull Model model) {
+        if (names != null) {
+            return names;
+        }
+        List<String> result = new ArrayList<>(model.varCount());
+        for (int i = 0; i < model.varCount(); i++) {
+            String name = model.getVar(i).getName();
+            if (!name.startsWith("_")) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Project the specified solution of the specified model.
+     *
+     * @param model    the specified model
+     * @param solution the specified solution
+     * @return the values of the projected vars in the solution
+     */
+    public @NotNull ValueMap project(@NotNull Model model, @NotNull VarMap solution) {
+        List<String> projected = getNames(model);
+        ValueMap.Index index = new ValueMap.Index(projected.size());
+        int[] values = new int[projected.size()];
+        for (String name : projected) {
+            Var var = solution.getVar(name);
+            if (var == null || !var.hasValue()) {
+                continue;
+            }
+            if (var instanceof BoolVar) {
+                values[index.addBool(name)] = ((BoolVar) var).getValue() ? 1 : 0;
+            } else if (var instanceof IntVar) {
+                values[index.addInt(name)] = ((IntVar) var).getValue();
+            }
+        }
+        return new ValueMap(index, index.size() == values.length ? values : Arrays.copyOf(values, index.size()));
+    }
+
+    @Override
+    public String toString() {
+        return names == null ? "Projection(named vars)" : "Projection" + names;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.model.VarMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator which lazily searches the solutions of a translated model.
+ * <p>
+ * Implementations translate the model once and search for the next solution
+ * each time {@link #findNext()} is called. The iterator is closed once all
+ * solutions have been found, the limit has been reached or {@link #close()}
+ * has been called, after which the resources of the solver are released.
+ */
+public abstract class SolutionIterator implements Iterator<VarMap>, AutoCloseable {
+    private final long limit;
+    private long count;
+    private @Nullable VarMap next;
+    private boolean closed;
+
+    /**
+     * Create a new solution iterator with the specified limit.
+     * A limit of 0 means all solutions are returned.
+     *
+     * @param limit the maximum number of solutions
+     * @throws InvalidInputException if the limit is negative
+     */
+    protected SolutionIterator(long limit) throws InvalidInputException {
+        if (limit < 0) {
+            throw new InvalidInputException("Solution limit can't be negative");
+        }
+        this.limit = limit;
+        count = 0;
+        next = null;
+        closed = false;
+    }
+
+    /**
+     * Search for the next solution.
+     *
+     * @return the next solution, or {@code null} if there are no more solutions
+     */
+    protected abstract @Nullable VarMap findNext();
+
+    /**
+     * Release the resources of the solver. Called once, when the iterator is closed.
+     */
+    protected void release() {
+    }
+
+    /**
+     * Returns the number of solutions found so far.
+     *
+     * @return the number of solutions
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        } else if (closed) {
+            return false;
+        } else if (limit > 0 && count >= limit) {
+            close();
+            return false;
+        }
+        VarMap solution = findNext();
+        if (solution == null) {
+            close();
+            return false;
+        }
+        count++;
+        next = solution;
+        return true;
+    }
+
+    @Override
+    public @NotNull VarMap next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more solutions");
+        }
+        VarMap solution = next;
+        next = null;
+        return solution;
+    }
+
+    /**
+     * Stops the search and releases the resources of the solver.
+     * Solutions which have not been retrieved yet are discarded.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            next = null;
+            release();
+        }
+    }
+
+    /**
+     * Returns a sequential stream of the remaining solutions.
+     * Closing the stream closes this iterator.
+     *
+     * @return the stream of solutions
+     */
+    public @NotNull Stream<VarMap> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+}
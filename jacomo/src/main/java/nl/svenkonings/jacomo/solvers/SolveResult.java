@@ -0,0 +1,256 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.ValueMap;
+import nl.svenkonings.jacomo.model.VarMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The result of solving a model, which can have an objective.
+ * <p>
+ * The status of the result tells whether a solution has been found, and if
+ * not, whether the model has been proven to have no solution. For models with
+ * an objective, the result contains the value of the objective in the solution
+ * and the best bound on the objective proven by the solver. The difference
+ * between both is reported as the gap. The statistics of the result contain
+ * the time spent in every phase of the solve and the search counters of the
+ * solver.
+ */
+public class SolveResult {
+    private final @NotNull SolveStatus status;
+    private final @Nullable VarMap solution;
+    private final @Nullable ValueMap values;
+    private final @Nullable Long objectiveValue;
+    private final @Nullable Long objectiveBound;
+    private final @NotNull SolveStatistics statistics;
+
+    /**
+     * Create a new solve result. The status is {@link SolveStatus#OPTIMAL} or
+     * {@link SolveStatus#FEASIBLE} if there is a solution, and
+     * {@link SolveStatus#UNKNOWN} otherwise.
+     *
+     * @param solution       the solution, or {@code null} if no solution has been found
+     * @param optimal        {@code true} if the solution is proven to be optimal
+     * @param objectiveValue the value of the objective in the solution, or {@code null} if there is none
+     * @param objectiveBound the best proven bound on the objective, or {@code null} if there is none
+     */
+    public SolveResult(@Nullable VarMap solution, boolean optimal, @Nullable Long objectiveValue, @Nullable Long objectiveBound) {
+        this(solution == null ? SolveStatus.UNKNOWN : optimal ? SolveStatus.OPTIMAL : SolveStatus.FEASIBLE,
+                solution, objectiveValue, objectiveBound, SolveStatistics.none());
+    }
+
+    /**
+     * Create a new solve result.
+     *
+     * @param status         the status of the result
+     * @param solution       the solution, or {@code null} if no solution has been found
+     * @param objectiveValue the value of the objective in the solution, or {@code null} if there is none
+     * @param objectiveBound the best proven bound on the objective, or {@code null} if there is none
+     * @param statistics     the statistics of the solve
+     * @throws InvalidInputException if the status does not match the presence of the solution
+     */
+    public SolveResult(@NotNull SolveStatus status, @Nullable VarMap solution, @Nullable Long objectiveValue,
+                       @Nullable Long objectiveBound, @NotNull SolveStatistics statistics) throws InvalidInputException {
+        this(status, solution, null, objectiveValue, objectiveBound, statistics);
+    }
+
+    private SolveResult(@NotNull SolveStatus status, @Nullable VarMap solution, @Nullable ValueMap values,
+                        @Nullable Long objectiveValue, @Nullable Long objectiveBound, @NotNull SolveStatistics statistics) {
+        if (status.hasSolution() != (solution != null || values != null)) {
+            throw new InvalidInputException("Status %s does not match solution: %s", status, solution != null ? solution : values);
+        }
+        this.status = status;
+        this.solution = solution;
+        this.values = values;
+        this.objectiveValue = objectiveValue;
+        this.objectiveBound = objectiveBound;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Create a new solve result of which the solution has been projected.
+     *
+     * @param status         the status of the result
+     * @param values         the values of the projected vars, or {@code null} if no solution has been found
+     * @param objectiveValue the value of the objective in the solution, or {@code null} if there is none
+     * @param objectiveBound the best proven bound on the objective, or {@code null} if there is none
+     * @param statistics     the statistics of the solve
+     * @return the resulting solve result
+     * @throws InvalidInputException if the status does not match the presence of the values
+     * @see Projection
+     */
+    public static @NotNull SolveResult projected(@NotNull SolveStatus status, @Nullable ValueMap values, @Nullable Long objectiveValue,
+                                                 @Nullable Long objectiveBound, @NotNull SolveStatistics statistics) throws InvalidInputException {
+        return new SolveResult(status, null, values, objectiveValue, objectiveBound, statistics);
+    }
+
+    /**
+     * Create a new solve result without solution, of a search which stopped
+     * before it completed.
+     *
+     * @return the resulting solve result
+     */
+    public static @NotNull SolveResult noSolution() {
+        return noSolution(SolveStatus.UNKNOWN);
+    }
+
+    /**
+     * Create a new solve result without solution, with the specified status.
+     *
+     * @param status the status of the result
+     * @return the resulting solve result
+     * @throws InvalidInputException if the status requires a solution
+     */
+    public static @NotNull SolveResult noSolution(@NotNull SolveStatus status) throws InvalidInputException {
+        return new SolveResult(status, null, null, null, SolveStatistics.none());
+    }
+
+    /**
+     * Create a new solve result of a model without objective. A missing
+     * solution has status {@link SolveStatus#UNKNOWN}, since it is not known
+     * whether the search completed.
+     *
+     * @param solution the solution, or {@code null} if no solution has been found
+     * @return the resulting solve result
+     */
+    public static @NotNull SolveResult of(@Nullable VarMap solution) {
+        return new SolveResult(solution, solution != null, null, null);
+    }
+
+    /**
+     * Returns a copy of this result with the specified statistics.
+     *
+     * @param statistics the specified statistics
+     * @return the resulting solve result
+     */
+    public @NotNull SolveResult withStatistics(@NotNull SolveStatistics statistics) {
+        return new SolveResult(status, solution, values, objectiveValue, objectiveBound, statistics);
+    }
+
+    /**
+     * Returns a copy of this result of which the solution has been projected
+     * using the specified projection. Used by solvers which do not project
+     * solutions themselves.
+     *
+     * @param model      the solved model
+     * @param projection the specified projection
+     * @return the resulting solve result
+     */
+    public @NotNull SolveResult project(@NotNull Model model, @NotNull Projection projection) {
+        if (solution == null) {
+            return this;
+        }
+        return new SolveResult(status, null, projection.project(model, solution), objectiveValue, objectiveBound, statistics);
+    }
+
+    /**
+     * Returns the status of this result.
+     *
+     * @return the status
+     */
+    public @NotNull SolveStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns {@code true} if a solution has been found.
+     *
+     * @return {@code true} if a solution has been found
+     */
+    public boolean hasSolution() {
+        return status.hasSolution();
+    }
+
+    /**
+     * Returns the solution, containing the resolved variables. If the solution
+     * has been projected, a new {@link VarMap} containing the projected
+     * variables is created for every call, see {@link #getValues()}.
+     *
+     * @return the solution, or {@code null} if no solution has been found
+     */
+    public @Nullable VarMap getSolution() {
+        return values != null ? values.toVarMap() : solution;
+    }
+
+    /**
+     * Returns the values of the projected variables, if the solution has been projected.
+     *
+     * @return the projected values, or {@code null} if no solution has been
+     * found or if the solution has not been projected
+     */
+    public @Nullable ValueMap getValues() {
+        return values;
+    }
+
+    /**
+     * Returns {@code true} if the solution is proven to be optimal.
+     * Solutions of models without objective are always optimal.
+     *
+     * @return {@code true} if the solution is proven to be optimal
+     */
+    public boolean isOptimal() {
+        return status == SolveStatus.OPTIMAL;
+    }
+
+    /**
+     * Returns the value of the objective in the solution.
+     *
+     * @return the objective value, or {@code null} if there is no solution or objective
+     */
+    public @Nullable Long getObjectiveValue() {
+        return objectiveValue;
+    }
+
+    /**
+     * Returns the best bound on the objective proven by the solver. When
+     * minimizing, no solution has an objective value below this bound. When
+     * maximizing, no solution has an objective value above this bound.
+     *
+     * @return the objective bound, or {@code null} if there is no solution or objective
+     */
+    public @Nullable Long getObjectiveBound() {
+        return objectiveBound;
+    }
+
+    /**
+     * Returns the relative gap between the objective value and the objective bound:
+     * {@code |value - bound| / max(1, |value|)}. The gap of an optimal solution is 0.
+     *
+     * @return the relative gap, or {@code null} if there is no solution or objective
+     */
+    public @Nullable Double getGap() {
+        if (objectiveValue == null || objectiveBound == null) {
+            return null;
+        }
+        return Math.abs((double) objectiveValue - objectiveBound) / Math.max(1.0, Math.abs((double) objectiveValue));
+    }
+
+    /**
+     * Returns the statistics of the solve.
+     *
+     * @return the statistics
+     */
+    public @NotNull SolveStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        Object result = values != null ? values : solution;
+        if (result == null) {
+            return String.format("SolveResult(%s)", status);
+        } else if (objectiveValue == null) {
+            return String.format("SolveResult(%s, solution: %s)", status, result);
+        }
+        return String.format("SolveResult(%s, objective: %d, bound: %d, gap: %.4f, solution: %s)",
+                status, objectiveValue, objectiveBound, getGap(), result);
+    }
+}
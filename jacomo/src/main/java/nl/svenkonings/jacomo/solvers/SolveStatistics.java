@@ -0,0 +1,144 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statistics of a single solve: the time spent in every phase and the search
+ * counters reported by the solver.
+ * <p>
+ * The time spent checking and presolving the model is only measured by the
+ * methods which check the model, such as {@link Solver#optimize}.
+ * The counters depend on the solver, see the documentation of the solver
+ * implementation for their names.
+ */
+public class SolveStatistics {
+    private static final @NotNull SolveStatistics NONE = new SolveStatistics(0, 0, Collections.emptyMap());
+
+    private final long checkTime;
+    private final long presolveTime;
+    private final long translationTime;
+    private final long searchTime;
+    private final @NotNull Map<String, Long> counters;
+
+    /**
+     * Create new statistics of a solve of which the model has not been
+     * checked or presolved.
+     *
+     * @param translationTime the time spent translating the model to the native model of the solver in nanoseconds
+     * @param searchTime      the time spent in the native search in nanoseconds
+     * @param counters        the search counters by name
+     */
+    public SolveStatistics(long translationTime, long searchTime, @NotNull Map<String, Long> counters) {
+        this(0, 0, translationTime, searchTime, counters);
+    }
+
+    private SolveStatistics(long checkTime, long presolveTime, long translationTime, long searchTime,
+                            @NotNull Map<String, Long> counters) {
+        this.checkTime = checkTime;
+        this.presolveTime = presolveTime;
+        this.translationTime = translationTime;
+        this.searchTime = searchTime;
+        this.counters = Collections.unmodifiableMap(new LinkedHashMap<>(counters));
+    }
+
+    /**
+     * Returns empty statistics, used when nothing has been measured.
+     *
+     * @return the empty statistics
+     */
+    public static @NotNull SolveStatistics none() {
+        return NONE;
+    }
+
+    /**
+     * Returns a copy of these statistics with the specified check and presolve times.
+     *
+     * @param checkTime    the time spent checking the model in nanoseconds
+     * @param presolveTime the time spent presolving the model in nanoseconds
+     * @return the resulting statistics
+     */
+    public @NotNull SolveStatistics withCheckTime(long checkTime, long presolveTime) {
+        return new SolveStatistics(checkTime, presolveTime, translationTime, searchTime, counters);
+    }
+
+    /**
+     * Returns the time spent checking the model.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getCheckTime() {
+        return checkTime;
+    }
+
+    /**
+     * Returns the time spent presolving the model.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getPresolveTime() {
+        return presolveTime;
+    }
+
+    /**
+     * Returns the time spent translating the model to the native model of the solver.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTranslationTime() {
+        return translationTime;
+    }
+
+    /**
+     * Returns the time spent in the native search of the solver.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getSearchTime() {
+        return searchTime;
+    }
+
+    /**
+     * Returns the total time spent in all phases.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTotalTime() {
+        return checkTime + presolveTime + translationTime + searchTime;
+    }
+
+    /**
+     * Returns the search counters reported by the solver.
+     *
+     * @return the counters by name
+     */
+    public @NotNull Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    /**
+     * Returns the search counter with the specified name.
+     *
+     * @param name the specified name
+     * @return the value of the counter, or {@code null} if the solver did not report it
+     */
+    public @Nullable Long getCounter(@NotNull String name) {
+        return counters.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SolveStatistics(check: %.3f ms, presolve: %.3f ms, translation: %.3f ms, search: %.3f ms, counters: %s)",
+                checkTime / 1_000_000.0, presolveTime / 1_000_000.0, translationTime / 1_000_000.0, searchTime / 1_000_000.0, counters);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+/**
+ * The status of a {@link SolveResult}.
+ */
+public enum SolveStatus {
+    /**
+     * A solution has been found and proven to be optimal. Solutions of models
+     * without objective are always optimal.
+     */
+    OPTIMAL,
+    /**
+     * A solution has been found, but the search stopped before it was proven
+     * to be optimal.
+     */
+    FEASIBLE,
+    /**
+     * The model has been proven to have no solution.
+     */
+    INFEASIBLE,
+    /**
+     * No solution has been found, because the search stopped before it
+     * completed, for example by the time limit or by cancellation.
+     */
+    UNKNOWN,
+    /**
+     * The solver rejected the translated model as invalid.
+     */
+    MODEL_INVALID;
+
+    /**
+     * Returns {@code true} if a result with this status has a solution.
+     *
+     * @return {@code true} if a result with this status has a solution
+     */
+    public boolean hasSolution() {
+        return this == OPTIMAL || this == FEASIBLE;
+    }
+}
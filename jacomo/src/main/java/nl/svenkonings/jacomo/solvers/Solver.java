@@ -14,12 +14,24 @@ import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
 import nl.svenkonings.jacomo.elem.variables.integer.UpdatableIntVar;
 import nl.svenkonings.jacomo.exceptions.unchecked.CheckException;
 import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
 import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.ValueMap;
 import nl.svenkonings.jacomo.model.VarMap;
+import nl.svenkonings.jacomo.presolve.Presolver;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A solver used to solve {@link Model}s.
@@ -76,7 +88,41 @@ public interface Solver {
     }
 
     /**
-     * Check, optimize, attempt to solve and update the specified model.
+     * Returns {@code true} if models are presolved before they are solved, see {@link #presolve(Model)}.
+     * Presolving is disabled by default, in which case only the bounds of vars are tightened.
+     *
+     * @return {@code true} if models are presolved
+     */
+    default boolean isPresolve() {
+        return false;
+    }
+
+    /**
+     * Set whether models are presolved before they are solved, see {@link #presolve(Model)}.
+     * Presolving is disabled by default, in which case only the bounds of vars are tightened.
+     *
+     * @param presolve {@code true} to presolve models
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default void setPresolve(boolean presolve) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a new solver with the same settings as this solver, using the
+     * specified number of workers. Used to solve models concurrently without
+     * changing the settings of this solver.
+     *
+     * @param workers the number of workers to use.
+     * @return the new solver
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull Solver withWorkers(int workers) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check, optimize, presolve, attempt to solve and update the specified model.
      * Returns {@code true} if the model has been solved and updated.
      *
      * @param model the specified model
@@ -85,11 +131,22 @@ public interface Solver {
      * @throws CheckException if one of the checks fails
      */
     default boolean solveAndUpdate(@NotNull Model model) throws CheckException {
-        return solveAndUpdateUnchecked(model.check());
+        Model checked = model.check();
+        Model presolved = presolve(checked);
+        if (presolved == null) {
+            return false;
+        }
+        VarMap result = solveUnchecked(presolved);
+        if (result == null) {
+            return false;
+        }
+        // The presolved vars have the same names and indices as the checked vars
+        update(checked, result);
+        return true;
     }
 
     /**
-     * Check, optimize and attempt to solve the specified model. Returns a
+     * Check, optimize, presolve and attempt to solve the specified model. Returns a
      * {@link VarMap} containing the resolved variables, or {@code null} if
      * the model couldn't be solved.
      * All variables present in the model should be included in the map.
@@ -100,7 +157,412 @@ public interface Solver {
      * @throws CheckException if one of the checks fails
      */
     default @Nullable VarMap solve(@NotNull Model model) throws CheckException {
-        return solveUnchecked(model.check());
+        Model presolved = presolve(model.check());
+        return presolved == null ? null : solveUnchecked(presolved);
+    }
+
+    /**
+     * Check, optimize, presolve and attempt to solve the specified model,
+     * starting the search from the specified hint. See {@link #solve(Model)}
+     * and {@link #optimize(Model, VarMap, Consumer)}.
+     *
+     * @param model the specified model
+     * @param hint  the hinted values by var name, or {@code null}
+     * @return A {@link VarMap} containing the resolved variables, or
+     * {@code null} if the model couldn't be solved
+     * @throws CheckException if one of the checks fails
+     */
+    default @Nullable VarMap solve(@NotNull Model model, @Nullable VarMap hint) throws CheckException {
+        Model presolved = presolve(model.check());
+        return presolved == null ? null : optimizeUnchecked(presolved, hint, null, new CancellationToken()).getSolution();
+    }
+
+    /**
+     * Check, optimize, presolve and solve the specified model, optimizing its
+     * objective. See {@link #optimize(Model, Consumer)}.
+     *
+     * @param model the specified model
+     * @return the result containing the best solution found
+     * @throws CheckException                if one of the checks fails
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolveResult optimize(@NotNull Model model) throws CheckException, UnsupportedOperationException {
+        return optimize(model, null);
+    }
+
+    /**
+     * Check, optimize, presolve and solve the specified model, optimizing its
+     * objective. The search continues until the best solution has been proven
+     * optimal or the time limit has been reached. Every improving solution found
+     * during the search is passed to the specified consumer, so callers can use
+     * a good solution before the search has finished.
+     * <p>
+     * Models without objective are solved like {@link #solve(Model)}.
+     *
+     * @param model        the specified model
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @return the result containing the best solution found
+     * @throws CheckException                if one of the checks fails
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolveResult optimize(@NotNull Model model, @Nullable Consumer<SolveResult> improvements) throws CheckException, UnsupportedOperationException {
+        return optimize(model, null, improvements);
+    }
+
+    /**
+     * Check, optimize, presolve and solve the specified model, optimizing its
+     * objective. The search starts from the values of the specified hint,
+     * typically the solution of a slightly different model solved before, so
+     * a good solution is found early. See {@link #optimize(Model, Consumer)}.
+     * <p>
+     * Vars of the hint are matched by name. Vars which are not in the model,
+     * have no value or have a value outside their domain are ignored, so the
+     * hint does not have to be a solution of the model.
+     *
+     * @param model        the specified model
+     * @param hint         the hinted values by var name, or {@code null}
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @return the result containing the best solution found
+     * @throws CheckException                if one of the checks fails
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolveResult optimize(@NotNull Model model, @Nullable VarMap hint, @Nullable Consumer<SolveResult> improvements) throws CheckException, UnsupportedOperationException {
+        return optimize(model, hint, null, improvements);
+    }
+
+    /**
+     * Check, optimize, presolve and attempt to solve the specified model,
+     * returning only the values of the vars of the specified projection. See
+     * {@link #solve(Model)} and {@link Projection}.
+     *
+     * @param model      the specified model
+     * @param projection the vars to include in the result
+     * @return A {@link ValueMap} containing the values of the projected vars,
+     * or {@code null} if the model couldn't be solved
+     * @throws CheckException if one of the checks fails
+     */
+    default @Nullable ValueMap solve(@NotNull Model model, @NotNull Projection projection) throws CheckException {
+        return optimize(model, null, projection, null).getValues();
+    }
+
+    /**
+     * Check, optimize, presolve and solve the specified model, optimizing its
+     * objective. See {@link #optimize(Model, VarMap, Consumer)}.
+     * <p>
+     * If a projection is specified, the solutions of the result and of the
+     * improvements only contain the values of the projected vars, see
+     * {@link SolveResult#getValues()}. For large models, this avoids creating
+     * a var for every value of every solution.
+     *
+     * @param model        the specified model
+     * @param hint         the hinted values by var name, or {@code null}
+     * @param projection   the vars to include in the solutions, or {@code null} for all vars
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @return the result containing the best solution found
+     * @throws CheckException                if one of the checks fails
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolveResult optimize(@NotNull Model model, @Nullable VarMap hint, @Nullable Projection projection,
+                                          @Nullable Consumer<SolveResult> improvements) throws CheckException, UnsupportedOperationException {
+        long start = System.nanoTime();
+        Model checked = model.check();
+        long checkTime = System.nanoTime() - start;
+        Model presolved = presolve(checked);
+        long presolveTime = System.nanoTime() - start - checkTime;
+        SolveResult result = presolved == null ? SolveResult.noSolution(SolveStatus.INFEASIBLE)
+                : optimizeUnchecked(presolved, hint, projection, improvements, new CancellationToken());
+        return result.withStatistics(result.getStatistics().withCheckTime(checkTime, presolveTime));
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective.
+     * Does not check or optimize the model.
+     *
+     * @param model        the specified model
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @return the result containing the best solution found
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective if it has one, until
+     * the search completes or the specified token is cancelled. When the token
+     * is cancelled, the search is stopped and the best solution found so far is
+     * returned. Does not check or optimize the model.
+     * <p>
+     * The default implementation only checks the token before the search starts.
+     * Implementations should override this method to stop their search when the
+     * token is cancelled.
+     *
+     * @param model        the specified model
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements,
+                                                   @NotNull CancellationToken cancellation) throws UnsupportedOperationException {
+        if (cancellation.isCancelled()) {
+            return SolveResult.noSolution();
+        } else if (model.hasObjective()) {
+            return optimizeUnchecked(model, improvements);
+        } else {
+            return SolveResult.of(solveUnchecked(model));
+        }
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective if it has one,
+     * starting the search from the values of the specified hint. See
+     * {@link #optimizeUnchecked(Model, Consumer, CancellationToken)}.
+     * Does not check or optimize the model.
+     * <p>
+     * The default implementation ignores the hint.
+     *
+     * @param model        the specified model
+     * @param hint         the hinted values by var name, or {@code null}
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable VarMap hint, @Nullable Consumer<SolveResult> improvements,
+                                                   @NotNull CancellationToken cancellation) throws UnsupportedOperationException {
+        return optimizeUnchecked(model, improvements, cancellation);
+    }
+
+    /**
+     * Solve the specified model, optimizing its objective if it has one,
+     * starting the search from the values of the specified hint and projecting
+     * the solutions on the specified projection. See
+     * {@link #optimizeUnchecked(Model, VarMap, Consumer, CancellationToken)}.
+     * Does not check or optimize the model.
+     * <p>
+     * The default implementation projects the complete solutions found by
+     * the solver. Implementations should override this method to only read
+     * the values of the projected vars from their native solutions.
+     *
+     * @param model        the specified model
+     * @param hint         the hinted values by var name, or {@code null}
+     * @param projection   the vars to include in the solutions, or {@code null} for all vars
+     * @param improvements the consumer of improving solutions, or {@code null}
+     * @param cancellation the token used to cancel the search
+     * @return the result containing the best solution found
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable VarMap hint, @Nullable Projection projection,
+                                                   @Nullable Consumer<SolveResult> improvements,
+                                                   @NotNull CancellationToken cancellation) throws UnsupportedOperationException {
+        if (projection == null) {
+            return optimizeUnchecked(model, hint, improvements, cancellation);
+        }
+        Consumer<SolveResult> projected = improvements == null ? null
+                : improvement -> improvements.accept(improvement.project(model, projection));
+        return optimizeUnchecked(model, hint, projected, cancellation).project(model, projection);
+    }
+
+    /**
+     * Check the specified model and solve it on the specified executor,
+     * optimizing its objective if it has one. The model is checked and copied
+     * on the calling thread, so it can be changed while it is being solved.
+     * The presolve and the search run on the executor.
+     * <p>
+     * Cancelling the returned future stops the search, which releases the
+     * executor thread and the search threads of the solver without waiting for
+     * the time limit.
+     *
+     * @param model    the specified model
+     * @param executor the executor used to solve the model
+     * @return a future of the result containing the best solution found
+     * @throws CheckException if one of the checks fails
+     */
+    default @NotNull CompletableFuture<SolveResult> solveAsync(@NotNull Model model, @NotNull Executor executor) throws CheckException {
+        long start = System.nanoTime();
+        Model checked = model.check().copy();
+        long checkTime = System.nanoTime() - start;
+        CancellationToken cancellation = new CancellationToken();
+        CompletableFuture<SolveResult> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                cancellation.cancel();
+            }
+        });
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    long presolveStart = System.nanoTime();
+                    Model presolved = presolve(checked);
+                    long presolveTime = System.nanoTime() - presolveStart;
+                    SolveResult result = presolved == null ? SolveResult.noSolution(SolveStatus.INFEASIBLE)
+                            : optimizeUnchecked(presolved, null, cancellation);
+                    future.complete(result.withStatistics(result.getStatistics().withCheckTime(checkTime, presolveTime)));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Check, optimize and presolve the specified model and translate it to the
+     * native model of this solver. The returned {@link PreparedModel} can be
+     * solved repeatedly, binding the specified parameter vars to different
+     * values, without translating the model again.
+     * <p>
+     * The parameter vars should not have a value. The model is presolved with
+     * the domains of the parameter vars, so the reductions remain valid for
+     * all values in these domains.
+     *
+     * @param model      the specified model
+     * @param parameters the parameter vars of the model
+     * @return the prepared model
+     * @throws CheckException                if one of the checks fails
+     * @throws InvalidInputException         if one of the parameter vars has a value
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull PreparedModel prepare(@NotNull Model model, @NotNull Var... parameters) throws CheckException, InvalidInputException, UnsupportedOperationException {
+        List<String> names = new ArrayList<>(parameters.length);
+        for (Var parameter : parameters) {
+            if (parameter.hasValue()) {
+                throw new InvalidInputException("Parameter %s already has a value", parameter.getName());
+            }
+            names.add(parameter.getName());
+        }
+        Model checked = model.check();
+        Model presolved = presolve(checked);
+        return presolved == null ? PreparedModel.noSolution(checked, names) : prepareUnchecked(presolved, names);
+    }
+
+    /**
+     * Translate the specified model to the native model of this solver.
+     * Does not check or optimize the model.
+     *
+     * @param model      the specified model
+     * @param parameters the names of the parameter vars of the model
+     * @return the prepared model
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull PreparedModel prepareUnchecked(@NotNull Model model, @NotNull Collection<String> parameters) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check, optimize, presolve and solve the specified independent models on a
+     * bounded pool of threads, using a {@link BatchSolver} with the default
+     * settings. Returns the results in the order of the specified models.
+     *
+     * @param models the specified models
+     * @return the results of the models
+     * @throws CheckException                if one of the checks fails
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull List<SolveResult> solveAll(@NotNull Collection<Model> models) throws CheckException, UnsupportedOperationException {
+        return new BatchSolver(this).solveAll(models);
+    }
+
+    /**
+     * Check, optimize, presolve and solve the specified independent models on a
+     * bounded pool of threads, using a {@link BatchSolver} with the default
+     * settings. Every result is passed to the specified consumer as soon as it
+     * is available, together with the index of its model.
+     *
+     * @param models  the specified models
+     * @param results the consumer of the results and the indices of their models
+     * @throws CheckException                if one of the checks fails
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default void solveAll(@NotNull Collection<Model> models, @NotNull ObjIntConsumer<SolveResult> results) throws CheckException, UnsupportedOperationException {
+        new BatchSolver(this).solveAll(models, results);
+    }
+
+    /**
+     * Check, optimize and presolve the specified model and returns a stream of
+     * all its solutions. See {@link #solutions(Model, long)}.
+     *
+     * @param model the specified model
+     * @return a lazy stream of the solutions
+     * @throws CheckException                if one of the checks fails
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull Stream<VarMap> solutions(@NotNull Model model) throws CheckException, UnsupportedOperationException {
+        return solutions(model, 0);
+    }
+
+    /**
+     * Check, optimize and presolve the specified model and returns a stream of
+     * its solutions. The model is translated once, and the next solution is only
+     * searched when it is pulled from the stream. Every {@link VarMap} contains
+     * all variables present in the model, like the result of {@link #solve(Model)}.
+     * The objective of the model, if any, is ignored.
+     * <p>
+     * The stream should be closed if it is not fully consumed, to stop the
+     * search and release the resources of the solver.
+     *
+     * @param model the specified model
+     * @param limit the maximum number of solutions, or 0 for all solutions
+     * @return a lazy stream of the solutions
+     * @throws CheckException                if one of the checks fails
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull Stream<VarMap> solutions(@NotNull Model model, long limit) throws CheckException, UnsupportedOperationException {
+        if (limit < 0) {
+            throw new InvalidInputException("Solution limit can't be negative");
+        }
+        Model presolved = presolve(model.check());
+        return presolved == null ? Stream.empty() : solutionsUnchecked(presolved, limit).stream();
+    }
+
+    /**
+     * Returns an iterator which lazily searches the solutions of the specified
+     * model. Does not check or optimize the model.
+     *
+     * @param model the specified model
+     * @param limit the maximum number of solutions, or 0 for all solutions
+     * @return an iterator over the solutions
+     * @throws UnsupportedOperationException when this operation is not supported by the Solver implementation.
+     */
+    default @NotNull SolutionIterator solutionsUnchecked(@NotNull Model model, long limit) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Presolve the specified checked model using the default {@link Presolver},
+     * if presolving is enabled, see {@link #isPresolve()}. Returns the reduced
+     * model, or {@code null} if the presolve proved that the model has no
+     * solution. The vars of the reduced model have the same names and indices
+     * as the vars of the specified model.
+     * <p>
+     * Every pass of the presolve rewrites the whole model, so presolving pays
+     * off for models which are solved once, but not for models which are
+     * solved repeatedly after small changes. If presolving is disabled, only
+     * a single round of the {@link Presolver#boundTighteningPasses()} is
+     * applied, so the solvers still create vars with the domains declared by
+     * unary constraints instead of the full integer range.
+     * Implementations can override this method to configure the presolve.
+     *
+     * @param model the specified checked model
+     * @return the reduced model, or {@code null} if the model has no solution
+     */
+    default @Nullable Model presolve(@NotNull Model model) {
+        try {
+            if (isPresolve()) {
+                return new Presolver().presolve(model);
+            }
+            Presolver presolver = new Presolver(Presolver.boundTighteningPasses());
+            presolver.setMaxRounds(1);
+            return presolver.presolve(model);
+        } catch (ContradictionException e) {
+            return null;
+        }
     }
 
     /**
@@ -125,6 +587,7 @@ public interface Solver {
      * {@link VarMap} containing the resolved variables, or {@code null} if
      * the model couldn't be solved. Does not check or optimize the
      * model. All variables present in the model should be included in the map.
+     * If the model has an objective, the best solution found is returned.
      *
      * @param model the specified model
      * @return A {@link VarMap} containing the resolved variables, or
@@ -143,32 +606,46 @@ public interface Solver {
      * @throws ContradictionException if the values do not match
      */
     default void update(@NotNull Model model, @NotNull VarMap varMap) throws CheckException, ContradictionException {
-        if (!model.getVarNames().equals(varMap.getVarNames())) {
+        int size = varMap.size();
+        if (model.varCount() != size) {
             throw new CheckException("Var names within the model do not match var names within the map. Model: %s, VarMap: %s", model.getVarNames(), varMap.getVars());
         }
+        // Align the model vars with the map indices, only fall back to name lookups if the orders differ
+        Var[] modelVars = new Var[size];
+        for (int i = 0; i < size; i++) {
+            String name = varMap.getVar(i).getName();
+            Var modelVar = model.getVar(i);
+            if (!modelVar.getName().equals(name)) {
+                modelVar = model.getVar(name);
+                if (modelVar == null) {
+                    throw new CheckException("Var names within the model do not match var names within the map. Model: %s, VarMap: %s", model.getVarNames(), varMap.getVars());
+                }
+            }
+            modelVars[i] = modelVar;
+        }
         if (!varMap.stream().allMatch(Expr::hasValue)) {
             throw new CheckException("Not all vars in the map have been resolved: %s", varMap.stream().filter(var -> !var.hasValue()).collect(Collectors.toList()));
         }
-        for (Var mapVar : varMap) {
-            String name = mapVar.getName();
-            Var modelVar = model.getVar(name);
+        for (int i = 0; i < size; i++) {
+            Var mapVar = varMap.getVar(i);
+            Var modelVar = modelVars[i];
             if (modelVar instanceof UpdatableBoolVar) {
                 if (!(mapVar instanceof BoolVar)) {
-                    throw new CheckException("Expected boolean result for var %s, received: ", name, mapVar.getType());
+                    throw new CheckException("Expected boolean result for var %s, received: ", mapVar.getName(), mapVar.getType());
                 }
                 ((UpdatableBoolVar) modelVar).instantiateValue(((BoolVar) mapVar).getValue());
             } else if (modelVar instanceof UpdatableIntVar) {
                 if (!(mapVar instanceof IntVar)) {
-                    throw new CheckException("Expected integer result for var %s, received: ", name, mapVar.getType());
+                    throw new CheckException("Expected integer result for var %s, received: ", mapVar.getName(), mapVar.getType());
                 }
                 ((UpdatableIntVar) modelVar).instantiateValue(((IntVar) mapVar).getValue());
             }
         }
-        for (Var mapVar : varMap) {
-            String name = mapVar.getName();
-            Var modelVar = model.getVar(name);
+        for (int i = 0; i < size; i++) {
+            Var mapVar = varMap.getVar(i);
+            Var modelVar = modelVars[i];
             if (!mapVar.getValue().equals(modelVar.getValue())) {
-                throw new ContradictionException("The original value (%s) for var %s does not match the solved value (%s)", modelVar.getValue(), name, mapVar.getValue());
+                throw new ContradictionException("The original value (%s) for var %s does not match the solved value (%s)", modelVar.getValue(), mapVar.getName(), mapVar.getValue());
             }
         }
     }
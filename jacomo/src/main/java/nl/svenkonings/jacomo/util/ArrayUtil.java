@@ -32,7 +32,7 @@ public class ArrayUtil {
      * @throws InvalidInputException if the array has less than two elements
      */
     public static <T, U extends T> U foldLeft(T[] array, BiFunction<T, T, U> function) throws InvalidInputException {
-        if (array.length < 1) {
+        if (array.length < 2) {
             throw new InvalidInputException("At least 2 elements are required");
         }
         U result = function.apply(array[0], array[1]);
@@ -6,11 +6,11 @@
 
 package nl.svenkonings.jacomo.util;
 
+import nl.svenkonings.jacomo.elem.Elem;
 import nl.svenkonings.jacomo.elem.expressions.BiExpr;
 import nl.svenkonings.jacomo.elem.expressions.Expr;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 public class ElemUtil {
     /**
@@ -20,21 +20,37 @@ public class ElemUtil {
      * @return the list of collected children
      */
     public static List<Expr> collectAll(BiExpr expr) {
+        // Uses an explicit stack, so long chains do not overflow the call stack
         List<Expr> vars = new ArrayList<>();
-        collectAll(expr, vars);
+        Deque<Expr> stack = new ArrayDeque<>();
+        stack.push(expr.getRight());
+        stack.push(expr.getLeft());
+        while (!stack.isEmpty()) {
+            Expr child = stack.pop();
+            if (expr.getType().equals(child.getType())) {
+                BiExpr biChild = (BiExpr) child;
+                stack.push(biChild.getRight());
+                stack.push(biChild.getLeft());
+            } else {
+                vars.add(child);
+            }
+        }
         return vars;
     }
 
-    private static void collectAll(BiExpr expr, List<Expr> vars) {
-        collectAll(expr, expr.getLeft(), vars);
-        collectAll(expr, expr.getRight(), vars);
-    }
-
-    private static void collectAll(BiExpr expr, Expr child, List<Expr> vars) {
-        if (expr.getType().equals(child.getType())) {
-            collectAll((BiExpr) child, vars);
+    /**
+     * Returns the children of the specified element, where chained binary
+     * expressions with one of the specified types are flattened.
+     *
+     * @param elem          the specified element
+     * @param flattenTypes  the types of binary expressions which should be flattened
+     * @return the list of children
+     */
+    public static List<? extends Elem> getChildren(Elem elem, Set<String> flattenTypes) {
+        if (elem instanceof BiExpr && flattenTypes.contains(elem.getType())) {
+            return collectAll((BiExpr) elem);
         } else {
-            vars.add(child);
+            return elem.getChildren();
         }
     }
 }
@@ -9,17 +9,29 @@ package nl.svenkonings.jacomo.visitor;
 import nl.svenkonings.jacomo.elem.Elem;
 import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
 import nl.svenkonings.jacomo.elem.constraints.Constraint;
+import nl.svenkonings.jacomo.elem.expressions.Expr;
 import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.ConstantBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.AndExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.BiBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.OrExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryAndExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryOrExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.relational.ReBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.NotExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.UnBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.ConstantIntExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.AddExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.binary.BiIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.MaxExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.MinExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.MulExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.SubExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMaxExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMinExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.SumExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
 import nl.svenkonings.jacomo.elem.variables.Var;
 import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
 import nl.svenkonings.jacomo.elem.variables.bool.ExpressionBoolVar;
@@ -29,7 +41,10 @@ import nl.svenkonings.jacomo.exceptions.unchecked.CheckException;
 import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
 import nl.svenkonings.jacomo.exceptions.unchecked.UnknownTypeException;
 import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.Objective;
+import nl.svenkonings.jacomo.util.ElemUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -47,13 +62,19 @@ import java.util.*;
  *     <li>Replace resolved variables and expressions with constants</li>
  *     <li>Only include unresolved top-level variables and constraints</li>
  *     <li>Remove duplicate variables and constraints</li>
+ *     <li>Merge chained associative expressions into n-ary expressions</li>
+ *     <li>Canonicalize linear arithmetic into sums and weighted sums</li>
  * </ul>
  */
 @SuppressWarnings({"ConstantConditions", "SwitchStatementWithTooFewBranches"})
 public class Checker implements Visitor<Elem> {
+    private static final Set<String> FLATTEN_TYPES = new HashSet<>(Arrays.asList(
+            "AndExpr", "OrExpr", "MinExpr", "MaxExpr"));
+
     private final @NotNull Map<Elem, Elem> checkedElems;
     private final @NotNull Map<String, BoolVar> boolVars;
     private final @NotNull Map<String, IntVar> intVars;
+    private final @NotNull List<Var> vars;
 
     /**
      * Create a new Checker.
@@ -62,66 +83,159 @@ public class Checker implements Visitor<Elem> {
         checkedElems = new HashMap<>();
         boolVars = new HashMap<>();
         intVars = new HashMap<>();
+        vars = new ArrayList<>();
     }
 
     /**
      * Checks the specified model and returns and optimized model.
+     * The caches of this checker are cleared afterwards.
      *
      * @param model the specified model
      * @return the optimized model
      * @throws CheckException if one of the checks fails
      */
     public @NotNull Model check(Model model) throws CheckException {
-        List<Elem> visitedVars = model.visitVars(this);
-        List<Elem> visitedConstraints = model.visitConstraints(this);
-        checkedElems.clear();
-        boolVars.clear();
-        intVars.clear();
-
-        Set<Var> vars = new LinkedHashSet<>();
-        for (Elem elem : visitedVars) {
-            // Resolved vars have been replaced by expressions
-            if (elem instanceof Var) {
-                vars.add((Var) elem);
+        try {
+            List<Var> vars = new ArrayList<>();
+            for (Var var : model.getVars()) {
+                Var checked = checkVar(var);
+                if (checked != null) {
+                    vars.add(checked);
+                }
+            }
+            List<Constraint> constraints = new ArrayList<>();
+            for (Constraint constraint : model.getConstraints()) {
+                Constraint checked = checkConstraint(constraint);
+                if (checked != null) {
+                    constraints.add(checked);
+                }
+            }
+            Model result = new Model();
+            result.addVarsUnchecked(vars);
+            result.addConstraints(constraints);
+            if (model.hasObjective()) {
+                result.setObjective(checkObjective(model.getObjective()));
             }
+            result.setSearchStrategy(model.getSearchStrategy());
+            return result;
+        } finally {
+            clear();
         }
+    }
 
-        Set<Constraint> constraints = new LinkedHashSet<>();
-        for (Elem elem : visitedConstraints) {
-            // Do not add resolved constraints
-            if (elem instanceof BoolExprConstraint && ((BoolExprConstraint) elem).getExpr().hasValue()) {
-                // Check if resolved constraint holds
-                if (!(((BoolExprConstraint) elem).getExpr().getValue())) {
-                    throw new CheckException("The following constraint is always false: %s", elem);
-                }
-            } else {
-                constraints.add((Constraint) elem);
+    /**
+     * Checks the specified top-level var and returns the optimized var.
+     * Unlike {@link #check(Model)}, the caches of this checker are kept, so
+     * elements shared with previously checked elements are not checked again.
+     *
+     * @param var the specified var
+     * @return the optimized var, or {@code null} if the var has been resolved
+     * @throws CheckException if one of the checks fails
+     */
+    public @Nullable Var checkVar(@NotNull Var var) throws CheckException {
+        Elem elem = visit(var);
+        // Resolved vars have been replaced by expressions
+        return elem instanceof Var ? (Var) elem : null;
+    }
+
+    /**
+     * Checks the specified top-level constraint and returns the optimized constraint.
+     * Unlike {@link #check(Model)}, the caches of this checker are kept, so
+     * elements shared with previously checked elements are not checked again.
+     *
+     * @param constraint the specified constraint
+     * @return the optimized constraint, or {@code null} if the constraint always holds
+     * @throws CheckException if one of the checks fails
+     */
+    public @Nullable Constraint checkConstraint(@NotNull Constraint constraint) throws CheckException {
+        Elem elem = visit(constraint);
+        if (elem instanceof BoolExprConstraint && ((BoolExprConstraint) elem).getExpr().hasValue()) {
+            // Check if resolved constraint holds
+            if (!(((BoolExprConstraint) elem).getExpr().getValue())) {
+                throw new CheckException("The following constraint is always false: %s", elem);
             }
+            return null;
         }
+        return (Constraint) elem;
+    }
+
+    /**
+     * Checks the expression of the specified objective and returns the optimized objective.
+     * Unlike {@link #check(Model)}, the caches of this checker are kept, so
+     * elements shared with previously checked elements are not checked again.
+     *
+     * @param objective the specified objective
+     * @return the optimized objective
+     * @throws CheckException if one of the checks fails
+     */
+    public @NotNull Objective checkObjective(@NotNull Objective objective) throws CheckException {
+        return objective.withExpr((IntExpr) visit(objective.getExpr()));
+    }
 
-        Model result = new Model();
-        result.addVarsUnchecked(vars);
-        result.addConstraints(constraints);
-        return result;
+    /**
+     * Registers the specified replacement for the specified element.
+     * Checking the element, or any element containing it, uses the replacement
+     * as the checked element. The replacement itself is not checked.
+     * The replacement is removed when the caches are cleared.
+     *
+     * @param elem        the specified element
+     * @param replacement the replacement for the element
+     */
+    public void substitute(@NotNull Elem elem, @NotNull Elem replacement) {
+        checkedElems.put(elem, replacement);
+    }
+
+    /**
+     * Clears the caches of this checker, including the registered variable names.
+     */
+    public void clear() {
+        checkedElems.clear();
+        boolVars.clear();
+        intVars.clear();
+        vars.clear();
+    }
+
+    /**
+     * Returns the variables which have been encountered by this checker since the caches
+     * were last cleared, in the order in which they were first encountered.
+     * The results of this checker depend on the state of these variables.
+     *
+     * @return the encountered variables
+     */
+    public @NotNull List<Var> getVars() {
+        return Collections.unmodifiableList(vars);
     }
 
     @Override
     public Elem visit(Elem elem) throws UnknownTypeException {
-        if (checkedElems.containsKey(elem)) {
-            return checkedElems.get(elem);
+        if (!checkedElems.containsKey(elem)) {
+            // Check the children first, so visiting an element never recurses deeper than its children.
+            // Chained associative and linear expressions are merged as a whole, so only their operands are checked.
+            new PostOrderTraverser(this::getOperands, checkedElems::containsKey, this::checkElem).traverse(elem);
+        }
+        return checkedElems.get(elem);
+    }
+
+    private List<? extends Elem> getOperands(Elem elem) {
+        if (LinearCollector.isLinear(elem)) {
+            return LinearCollector.getLeaves((IntExpr) elem);
         } else {
-            Elem checkedElem = Visitor.super.visit(elem);
-            checkedElems.put(elem, checkedElem);
-            return checkedElem;
+            return ElemUtil.getChildren(elem, FLATTEN_TYPES);
+        }
+    }
+
+    private void checkElem(Elem elem) {
+        if (!checkedElems.containsKey(elem)) {
+            checkedElems.put(elem, Visitor.super.visit(elem));
         }
     }
 
     private IntExpr intConst(IntExpr intExpr) {
-        return (IntExpr) visit(new ConstantIntExpr(intExpr.getValue()));
+        return (IntExpr) visit(IntExpr.constant(intExpr.getValue()));
     }
 
     private BoolExpr boolConst(BoolExpr boolExpr) {
-        return (BoolExpr) visit(new ConstantBoolExpr(boolExpr.getValue()));
+        return (BoolExpr) visit(BoolExpr.constant(boolExpr.getValue()));
     }
 
     @SuppressWarnings("DuplicatedCode")
@@ -132,7 +246,9 @@ public class Checker implements Visitor<Elem> {
         } else if (intVars.containsKey(name)) {
             throw new CheckException("Variable %s already exists. Var1: %s, Var2: %s", name, intVars.get(name), var);
         }
-        boolVars.put(name, var);
+        if (boolVars.put(name, var) == null) {
+            vars.add(var);
+        }
     }
 
     @SuppressWarnings("DuplicatedCode")
@@ -143,7 +259,9 @@ public class Checker implements Visitor<Elem> {
         } else if (boolVars.containsKey(name)) {
             throw new CheckException("Variable %s already exists. Var1: %s, Var2: %s", name, boolVars.get(name), var);
         }
-        intVars.put(name, var);
+        if (intVars.put(name, var) == null) {
+            vars.add(var);
+        }
     }
 
     @Override
@@ -212,26 +330,85 @@ public class Checker implements Visitor<Elem> {
     public Elem visitAndExpr(AndExpr andExpr) {
         if (andExpr.hasValue()) {
             return boolConst(andExpr);
-        } else if (andExpr.getLeft().hasValue() && andExpr.getLeft().getValue()) {
-            return visit(andExpr.getRight());
-        } else if (andExpr.getRight().hasValue() && andExpr.getRight().getValue()) {
-            return visit(andExpr.getLeft());
-        } else {
-            return visitBiBoolExpr(andExpr);
         }
+        return and(checkOperands("NaryAndExpr", ElemUtil.collectAll(andExpr)));
     }
 
     @Override
     public Elem visitOrExpr(OrExpr orExpr) {
         if (orExpr.hasValue()) {
             return boolConst(orExpr);
-        } else if (orExpr.getLeft().hasValue() && !orExpr.getLeft().getValue()) {
-            return visit(orExpr.getRight());
-        } else if (orExpr.getRight().hasValue() && !orExpr.getRight().getValue()) {
-            return visit(orExpr.getLeft());
-        } else {
-            return visitBiBoolExpr(orExpr);
         }
+        return or(checkOperands("NaryOrExpr", ElemUtil.collectAll(orExpr)));
+    }
+
+    @Override
+    public Elem visitNaryAndExpr(NaryAndExpr naryAndExpr) {
+        if (naryAndExpr.hasValue()) {
+            return boolConst(naryAndExpr);
+        }
+        return and(checkOperands("NaryAndExpr", naryAndExpr.getChildren()));
+    }
+
+    @Override
+    public Elem visitNaryOrExpr(NaryOrExpr naryOrExpr) {
+        if (naryOrExpr.hasValue()) {
+            return boolConst(naryOrExpr);
+        }
+        return or(checkOperands("NaryOrExpr", naryOrExpr.getChildren()));
+    }
+
+    // Creates an And expression of the specified checked operands, skipping true and duplicate operands
+    private BoolExpr and(List<BoolExpr> operands) {
+        Set<BoolExpr> exprs = new LinkedHashSet<>();
+        for (BoolExpr operand : operands) {
+            if (!operand.hasValue()) {
+                exprs.add(operand);
+            } else if (!operand.getValue()) {
+                // Substituted operands can be false even if the expression itself was unresolved
+                return boolConst(operand);
+            }
+        }
+        if (exprs.isEmpty()) {
+            return (BoolExpr) visit(BoolExpr.constant(true));
+        } else if (exprs.size() == 1) {
+            return exprs.iterator().next();
+        }
+        return BoolExpr.all(exprs.toArray(new BoolExpr[0]));
+    }
+
+    // Creates an Or expression of the specified checked operands, skipping false and duplicate operands
+    private BoolExpr or(List<BoolExpr> operands) {
+        Set<BoolExpr> exprs = new LinkedHashSet<>();
+        for (BoolExpr operand : operands) {
+            if (!operand.hasValue()) {
+                exprs.add(operand);
+            } else if (operand.getValue()) {
+                // Substituted operands can be true even if the expression itself was unresolved
+                return boolConst(operand);
+            }
+        }
+        if (exprs.isEmpty()) {
+            return (BoolExpr) visit(BoolExpr.constant(false));
+        } else if (exprs.size() == 1) {
+            return exprs.iterator().next();
+        }
+        return BoolExpr.any(exprs.toArray(new BoolExpr[0]));
+    }
+
+    // Checks the specified operands and merges the operands of checked n-ary expressions with the specified type
+    @SuppressWarnings("unchecked")
+    private <T extends Expr> List<T> checkOperands(String naryType, List<? extends Expr> operands) {
+        List<T> checked = new ArrayList<>(operands.size());
+        for (Expr operand : operands) {
+            T expr = (T) visit(operand);
+            if (expr.getType().equals(naryType)) {
+                checked.addAll((List<? extends T>) expr.getChildren());
+            } else {
+                checked.add(expr);
+            }
+        }
+        return checked;
     }
 
     @Override
@@ -298,6 +475,127 @@ public class Checker implements Visitor<Elem> {
         }
     }
 
+    @Override
+    public Elem visitAddExpr(AddExpr addExpr) {
+        return linear(addExpr);
+    }
+
+    @Override
+    public Elem visitSubExpr(SubExpr subExpr) {
+        return linear(subExpr);
+    }
+
+    @Override
+    public Elem visitMulExpr(MulExpr mulExpr) {
+        if (LinearCollector.isLinear(mulExpr)) {
+            return linear(mulExpr);
+        } else {
+            return visitBiIntExpr(mulExpr);
+        }
+    }
+
+    @Override
+    public Elem visitMinExpr(MinExpr minExpr) {
+        if (minExpr.hasValue()) {
+            return intConst(minExpr);
+        }
+        return min(checkOperands("NaryMinExpr", ElemUtil.collectAll(minExpr)));
+    }
+
+    @Override
+    public Elem visitMaxExpr(MaxExpr maxExpr) {
+        if (maxExpr.hasValue()) {
+            return intConst(maxExpr);
+        }
+        return max(checkOperands("NaryMaxExpr", ElemUtil.collectAll(maxExpr)));
+    }
+
+    @Override
+    public Elem visitSumExpr(SumExpr sumExpr) {
+        return linear(sumExpr);
+    }
+
+    @Override
+    public Elem visitWeightedSumExpr(WeightedSumExpr weightedSumExpr) {
+        return linear(weightedSumExpr);
+    }
+
+    // Canonicalizes the specified linear expression into a constant, term, sum or weighted sum
+    private Elem linear(IntExpr intExpr) {
+        if (intExpr.hasValue()) {
+            return intConst(intExpr);
+        }
+        LinearCollector collector = new LinearCollector();
+        collector.collect(intExpr, child -> (IntExpr) visit(child));
+        IntExpr result = collector.build();
+        if (result != null) {
+            return result;
+        }
+        // The coefficients overflow, keep the structure of the expression
+        switch (intExpr.getType()) {
+            case "SumExpr":
+                return sum(checkOperands("SumExpr", ((SumExpr) intExpr).getChildren()));
+            case "WeightedSumExpr":
+                WeightedSumExpr weightedSumExpr = (WeightedSumExpr) intExpr;
+                IntExpr[] exprs = weightedSumExpr.getChildren().stream()
+                        .map(child -> (IntExpr) visit(child))
+                        .toArray(IntExpr[]::new);
+                return IntExpr.weightedSum(exprs, weightedSumExpr.getCoeffs(), weightedSumExpr.getOffset());
+            default:
+                return visitBiIntExpr((BiIntExpr) intExpr);
+        }
+    }
+
+    @Override
+    public Elem visitNaryMinExpr(NaryMinExpr naryMinExpr) {
+        if (naryMinExpr.hasValue()) {
+            return intConst(naryMinExpr);
+        }
+        return min(checkOperands("NaryMinExpr", naryMinExpr.getChildren()));
+    }
+
+    @Override
+    public Elem visitNaryMaxExpr(NaryMaxExpr naryMaxExpr) {
+        if (naryMaxExpr.hasValue()) {
+            return intConst(naryMaxExpr);
+        }
+        return max(checkOperands("NaryMaxExpr", naryMaxExpr.getChildren()));
+    }
+
+    // Creates a Sum expression of the specified checked operands, skipping zero operands. Returns zero if no operands remain
+    private IntExpr sum(List<IntExpr> operands) {
+        List<IntExpr> exprs = new ArrayList<>(operands.size());
+        for (IntExpr operand : operands) {
+            if (!operand.hasValue() || operand.getValue() != 0) {
+                exprs.add(operand);
+            }
+        }
+        if (exprs.isEmpty()) {
+            return IntExpr.constant(0);
+        } else if (exprs.size() == 1) {
+            return exprs.get(0);
+        }
+        return IntExpr.sum(exprs.toArray(new IntExpr[0]));
+    }
+
+    // Creates a Minimum expression of the specified checked operands, skipping duplicate operands
+    private IntExpr min(List<IntExpr> operands) {
+        Set<IntExpr> exprs = new LinkedHashSet<>(operands);
+        if (exprs.size() == 1) {
+            return exprs.iterator().next();
+        }
+        return IntExpr.minimum(exprs.toArray(new IntExpr[0]));
+    }
+
+    // Creates a Maximum expression of the specified checked operands, skipping duplicate operands
+    private IntExpr max(List<IntExpr> operands) {
+        Set<IntExpr> exprs = new LinkedHashSet<>(operands);
+        if (exprs.size() == 1) {
+            return exprs.iterator().next();
+        }
+        return IntExpr.maximum(exprs.toArray(new IntExpr[0]));
+    }
+
     @Override
     public Elem visitConstantIntExpr(ConstantIntExpr constantIntExpr) {
         return constantIntExpr;
@@ -8,13 +8,21 @@ package nl.svenkonings.jacomo.visitor;
 
 import nl.svenkonings.jacomo.elem.Elem;
 import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.ConstantBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.AndExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.OrExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryAndExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryOrExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.relational.*;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.NotExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.ConstantIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.binary.*;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMaxExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMinExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.SumExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
 import nl.svenkonings.jacomo.elem.variables.bool.ConstantBoolVar;
 import nl.svenkonings.jacomo.elem.variables.bool.ExpressionBoolVar;
 import nl.svenkonings.jacomo.elem.variables.bool.InstantiatableBoolVar;
@@ -25,6 +33,7 @@ import nl.svenkonings.jacomo.exceptions.unchecked.UnknownTypeException;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -64,12 +73,16 @@ public class ElemCopier implements Visitor<Elem> {
 
     @Override
     public Elem visit(Elem elem) throws UnknownTypeException {
-        if (copyMap.containsKey(elem)) {
-            return copyMap.get(elem);
-        } else {
-            Elem copy = Visitor.super.visit(elem);
-            copyMap.put(elem, copy);
-            return copy;
+        if (!copyMap.containsKey(elem)) {
+            // Copy the children first, so copying an element never recurses deeper than its children
+            new PostOrderTraverser(copyMap::containsKey, this::copyElem).traverse(elem);
+        }
+        return copyMap.get(elem);
+    }
+
+    private void copyElem(Elem elem) {
+        if (!copyMap.containsKey(elem)) {
+            copyMap.put(elem, Visitor.super.visit(elem));
         }
     }
 
@@ -98,6 +111,20 @@ public class ElemCopier implements Visitor<Elem> {
         return new OrExpr(copy(orExpr.getLeft()), copy(orExpr.getRight()));
     }
 
+    @Override
+    public Elem visitNaryAndExpr(NaryAndExpr naryAndExpr) {
+        return new NaryAndExpr(copyBoolExprs(naryAndExpr.getChildren()));
+    }
+
+    @Override
+    public Elem visitNaryOrExpr(NaryOrExpr naryOrExpr) {
+        return new NaryOrExpr(copyBoolExprs(naryOrExpr.getChildren()));
+    }
+
+    private BoolExpr[] copyBoolExprs(List<? extends BoolExpr> exprs) {
+        return exprs.stream().map(this::copy).toArray(BoolExpr[]::new);
+    }
+
     @Override
     public Elem visitEqExpr(EqExpr eqExpr) {
         return new EqExpr(copy(eqExpr.getLeft()), copy(eqExpr.getRight()));
@@ -163,6 +190,31 @@ public class ElemCopier implements Visitor<Elem> {
         return new MaxExpr(copy(maxExpr.getLeft()), copy(maxExpr.getRight()));
     }
 
+    @Override
+    public Elem visitSumExpr(SumExpr sumExpr) {
+        return new SumExpr(copyIntExprs(sumExpr.getChildren()));
+    }
+
+    @Override
+    public Elem visitWeightedSumExpr(WeightedSumExpr weightedSumExpr) {
+        return new WeightedSumExpr(copyIntExprs(weightedSumExpr.getChildren()),
+                weightedSumExpr.getCoeffs(), weightedSumExpr.getOffset());
+    }
+
+    @Override
+    public Elem visitNaryMinExpr(NaryMinExpr naryMinExpr) {
+        return new NaryMinExpr(copyIntExprs(naryMinExpr.getChildren()));
+    }
+
+    @Override
+    public Elem visitNaryMaxExpr(NaryMaxExpr naryMaxExpr) {
+        return new NaryMaxExpr(copyIntExprs(naryMaxExpr.getChildren()));
+    }
+
+    private IntExpr[] copyIntExprs(List<? extends IntExpr> exprs) {
+        return exprs.stream().map(this::copy).toArray(IntExpr[]::new);
+    }
+
     @Override
     public Elem visitConstantBoolVar(ConstantBoolVar constantBoolVar) {
         return new ConstantBoolVar(constantBoolVar.getName(), constantBoolVar.getValue());
@@ -11,24 +11,47 @@ import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
 import nl.svenkonings.jacomo.elem.constraints.Constraint;
 import nl.svenkonings.jacomo.elem.expressions.BiExpr;
 import nl.svenkonings.jacomo.elem.expressions.Expr;
+import nl.svenkonings.jacomo.elem.expressions.NaryExpr;
 import nl.svenkonings.jacomo.elem.expressions.UnExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.AndExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.OrExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryAndExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryOrExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.relational.*;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.NotExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.binary.*;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMaxExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMinExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.SumExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
 import nl.svenkonings.jacomo.elem.variables.Var;
 import nl.svenkonings.jacomo.elem.variables.bool.ExpressionBoolVar;
 import nl.svenkonings.jacomo.elem.variables.integer.ExpressionIntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.UnknownTypeException;
 import nl.svenkonings.jacomo.util.ElemUtil;
+import nl.svenkonings.jacomo.util.ListUtil;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Prints string representations of elements with flattened expressions.
  */
 public class ElemPrinter implements Visitor<String> {
+    private static final Set<String> FLATTEN_TYPES = new HashSet<>(Arrays.asList(
+            "AndExpr", "OrExpr", "AddExpr", "MulExpr", "MinExpr", "MaxExpr"));
+
+    private final @NotNull Map<Elem, String> printed;
+    private boolean traversing;
+
+    /**
+     * Create a new ElemPrinter.
+     */
+    public ElemPrinter() {
+        printed = new IdentityHashMap<>();
+        traversing = false;
+    }
 
     /**
      * Returns a string representation of the specified var with flattened expressions.
@@ -63,6 +86,34 @@ public class ElemPrinter implements Visitor<String> {
         }
     }
 
+    @Override
+    public String visit(Elem elem) throws UnknownTypeException {
+        if (printed.containsKey(elem)) {
+            return printed.get(elem);
+        } else if (traversing) {
+            return Visitor.super.visit(elem);
+        }
+        // Print the children first, so printing an element never recurses deeper than its children
+        traversing = true;
+        try {
+            new PostOrderTraverser(this::getChildren, printed::containsKey,
+                    child -> printed.put(child, Visitor.super.visit(child))).traverse(elem);
+            return printed.get(elem);
+        } finally {
+            traversing = false;
+            printed.clear();
+        }
+    }
+
+    private List<? extends Elem> getChildren(Elem elem) {
+        // Vars are printed by name
+        if (elem instanceof Var) {
+            return ListUtil.of();
+        } else {
+            return ElemUtil.getChildren(elem, FLATTEN_TYPES);
+        }
+    }
+
     @Override
     public String visitElem(Elem elem) {
         return elem.toString();
@@ -88,6 +139,16 @@ public class ElemPrinter implements Visitor<String> {
         return printAssociativeBiExpr(orExpr, "||");
     }
 
+    @Override
+    public String visitNaryAndExpr(NaryAndExpr naryAndExpr) {
+        return printNaryExpr(naryAndExpr, "&&");
+    }
+
+    @Override
+    public String visitNaryOrExpr(NaryOrExpr naryOrExpr) {
+        return printNaryExpr(naryOrExpr, "||");
+    }
+
     @Override
     public String visitEqExpr(EqExpr eqExpr) {
         return printBiExpr(eqExpr, "==");
@@ -148,6 +209,42 @@ public class ElemPrinter implements Visitor<String> {
         return printAssociativeBiExpr("max", maxExpr);
     }
 
+    @Override
+    public String visitSumExpr(SumExpr sumExpr) {
+        return printNaryExpr(sumExpr, "+");
+    }
+
+    @Override
+    public String visitWeightedSumExpr(WeightedSumExpr weightedSumExpr) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < weightedSumExpr.size(); i++) {
+            int coeff = weightedSumExpr.getCoeff(i);
+            String child = visit(weightedSumExpr.getChildren().get(i));
+            if (i == 0) {
+                builder.append(coeff == 1 ? "" : coeff == -1 ? "-" : coeff + " * ");
+            } else {
+                builder.append(coeff < 0 ? " - " : " + ");
+                builder.append(Math.abs((long) coeff) == 1 ? "" : Math.abs((long) coeff) + " * ");
+            }
+            builder.append(child);
+        }
+        int offset = weightedSumExpr.getOffset();
+        if (offset != 0) {
+            builder.append(offset < 0 ? " - " : " + ").append(Math.abs((long) offset));
+        }
+        return addBrackets(builder.toString());
+    }
+
+    @Override
+    public String visitNaryMinExpr(NaryMinExpr naryMinExpr) {
+        return printNaryExpr("min", naryMinExpr);
+    }
+
+    @Override
+    public String visitNaryMaxExpr(NaryMaxExpr naryMaxExpr) {
+        return printNaryExpr("max", naryMaxExpr);
+    }
+
     private String printUnExpr(UnExpr expr, String delimiter) {
         return delimiter + visit(expr.getExpr());
     }
@@ -170,6 +267,18 @@ public class ElemPrinter implements Visitor<String> {
                 .collect(Collectors.joining(", ")));
     }
 
+    private String printNaryExpr(NaryExpr expr, String delimiter) {
+        return addBrackets(expr.getChildren().stream()
+                .map(this::visit)
+                .collect(Collectors.joining(addSpaces(delimiter))));
+    }
+
+    private String printNaryExpr(String prefix, NaryExpr expr) {
+        return prefix + addBrackets(expr.getChildren().stream()
+                .map(this::visit)
+                .collect(Collectors.joining(", ")));
+    }
+
     private String addSpaces(String string) {
         return " " + string + " ";
     }
@@ -0,0 +1,218 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.visitor;
+
+import nl.svenkonings.jacomo.elem.Elem;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.BiIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.MulExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
+import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Collects the linear terms of an integer expression.
+ * <p>
+ * Additions, subtractions, sums, weighted sums and multiplications with a
+ * constant are linear. The linear part of an expression is walked as a whole,
+ * the remaining operands are its leaves. The coefficients of equal leaves are
+ * summed and all constants are folded into a single offset. Coefficients are
+ * computed with long arithmetic, if they overflow no expression is built.
+ */
+@SuppressWarnings("ConstantConditions")
+final class LinearCollector {
+    private final @NotNull Map<IntExpr, Long> coeffs;
+    private long offset;
+    private boolean overflow;
+
+    /**
+     * Create a new empty linear collector.
+     */
+    LinearCollector() {
+        coeffs = new LinkedHashMap<>();
+        offset = 0;
+        overflow = false;
+    }
+
+    /**
+     * Returns whether the specified element is a linear integer expression.
+     *
+     * @param elem the specified element
+     * @return {@code true} if the element is linear
+     */
+    static boolean isLinear(@NotNull Elem elem) {
+        switch (elem.getType()) {
+            case "AddExpr":
+            case "SubExpr":
+            case "SumExpr":
+            case "WeightedSumExpr":
+                return true;
+            case "MulExpr":
+                MulExpr mulExpr = (MulExpr) elem;
+                return mulExpr.getLeft().hasValue() || mulExpr.getRight().hasValue();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the leaves of the linear part of the specified expression, from left to right.
+     * Shared leaves are only included once.
+     *
+     * @param expr the specified linear expression
+     * @return the leaves of the expression
+     */
+    static @NotNull List<IntExpr> getLeaves(@NotNull IntExpr expr) {
+        List<IntExpr> leaves = new ArrayList<>();
+        for (IntExpr elem : traverse(expr)) {
+            if (isLeaf(expr, elem)) {
+                leaves.add(elem);
+            }
+        }
+        return leaves;
+    }
+
+    // Leaves are the operands of the linear part, expressions with a known value are leaves as well
+    private static boolean isLeaf(@NotNull IntExpr root, @NotNull IntExpr expr) {
+        return expr != root && (!isLinear(expr) || expr.hasValue());
+    }
+
+    // Returns the nodes and leaves of the linear part of the specified expression in post-order
+    private static @NotNull List<IntExpr> traverse(@NotNull IntExpr expr) {
+        List<IntExpr> postOrder = new ArrayList<>();
+        new PostOrderTraverser(
+                elem -> isLeaf(expr, (IntExpr) elem) ? Collections.emptyList() : elem.getChildren(),
+                elem -> false,
+                elem -> postOrder.add((IntExpr) elem)
+        ).traverse(expr);
+        return postOrder;
+    }
+
+    /**
+     * Collects the terms of the specified linear expression.
+     * The leaves are transformed with the specified function before they are collected.
+     *
+     * @param expr  the specified linear expression
+     * @param check the function to transform the leaves with
+     */
+    void collect(@NotNull IntExpr expr, @NotNull Function<IntExpr, IntExpr> check) {
+        List<IntExpr> postOrder = traverse(expr);
+        // Multipliers are propagated from parents to children in reverse post-order,
+        // so shared nodes are only walked once
+        Map<IntExpr, Long> multipliers = new IdentityHashMap<>();
+        multipliers.put(expr, 1L);
+        try {
+            for (int i = postOrder.size() - 1; i >= 0; i--) {
+                IntExpr node = postOrder.get(i);
+                if (isLeaf(expr, node)) {
+                    continue;
+                }
+                long multiplier = multipliers.getOrDefault(node, 0L);
+                switch (node.getType()) {
+                    case "AddExpr":
+                        propagate(multipliers, ((BiIntExpr) node).getLeft(), multiplier);
+                        propagate(multipliers, ((BiIntExpr) node).getRight(), multiplier);
+                        break;
+                    case "SubExpr":
+                        propagate(multipliers, ((BiIntExpr) node).getLeft(), multiplier);
+                        propagate(multipliers, ((BiIntExpr) node).getRight(), Math.negateExact(multiplier));
+                        break;
+                    case "SumExpr":
+                        for (Elem child : node.getChildren()) {
+                            propagate(multipliers, (IntExpr) child, multiplier);
+                        }
+                        break;
+                    case "WeightedSumExpr":
+                        WeightedSumExpr weightedSumExpr = (WeightedSumExpr) node;
+                        List<? extends IntExpr> children = weightedSumExpr.getChildren();
+                        for (int j = 0; j < children.size(); j++) {
+                            propagate(multipliers, children.get(j), Math.multiplyExact(multiplier, weightedSumExpr.getCoeff(j)));
+                        }
+                        offset = Math.addExact(offset, Math.multiplyExact(multiplier, weightedSumExpr.getOffset()));
+                        break;
+                    case "MulExpr":
+                        MulExpr mulExpr = (MulExpr) node;
+                        if (mulExpr.getLeft().hasValue()) {
+                            propagate(multipliers, mulExpr.getRight(), Math.multiplyExact(multiplier, mulExpr.getLeft().getValue()));
+                        } else {
+                            propagate(multipliers, mulExpr.getLeft(), Math.multiplyExact(multiplier, mulExpr.getRight().getValue()));
+                        }
+                        break;
+                    default:
+                        throw new UnexpectedTypeException(node);
+                }
+            }
+            // Collect the leaves from left to right
+            for (IntExpr leaf : postOrder) {
+                if (isLeaf(expr, leaf)) {
+                    long coeff = multipliers.getOrDefault(leaf, 0L);
+                    if (coeff == 0) {
+                        continue;
+                    }
+                    IntExpr checked = check.apply(leaf);
+                    if (checked.hasValue()) {
+                        offset = Math.addExact(offset, Math.multiplyExact(coeff, checked.getValue()));
+                    } else {
+                        coeffs.put(checked, Math.addExact(coeffs.getOrDefault(checked, 0L), coeff));
+                    }
+                }
+            }
+        } catch (ArithmeticException e) {
+            overflow = true;
+        }
+    }
+
+    private static void propagate(Map<IntExpr, Long> multipliers, IntExpr child, long multiplier) {
+        multipliers.put(child, Math.addExact(multipliers.getOrDefault(child, 0L), multiplier));
+    }
+
+    /**
+     * Builds the expression of the collected terms.
+     * Returns a constant if there are no terms, the term itself if there is a
+     * single term, a sum if all coefficients are one, and a weighted sum otherwise.
+     *
+     * @return the built expression, or {@code null} if the coefficients or
+     * offset do not fit in an integer
+     */
+    @Nullable IntExpr build() {
+        if (overflow || !isInt(offset)) {
+            return null;
+        }
+        List<IntExpr> exprs = new ArrayList<>(coeffs.size());
+        List<Integer> values = new ArrayList<>(coeffs.size());
+        boolean unweighted = offset == 0;
+        for (Map.Entry<IntExpr, Long> entry : coeffs.entrySet()) {
+            long coeff = entry.getValue();
+            if (coeff == 0) {
+                continue;
+            } else if (!isInt(coeff)) {
+                return null;
+            }
+            exprs.add(entry.getKey());
+            values.add((int) coeff);
+            unweighted &= coeff == 1;
+        }
+        if (exprs.isEmpty()) {
+            return IntExpr.constant((int) offset);
+        } else if (unweighted && exprs.size() == 1) {
+            return exprs.get(0);
+        } else if (unweighted) {
+            return IntExpr.sum(exprs.toArray(new IntExpr[0]));
+        } else {
+            return IntExpr.weightedSum(exprs.toArray(new IntExpr[0]),
+                    values.stream().mapToInt(Integer::intValue).toArray(), (int) offset);
+        }
+    }
+
+    private static boolean isInt(long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.visitor;
+
+import nl.svenkonings.jacomo.elem.Elem;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Traverses element graphs in post-order using an explicit stack.
+ * <p>
+ * The traversal does not recurse, so it can handle arbitrarily deep
+ * expressions. Shared elements are identified by identity and are only
+ * processed once. Visitors with a cache can use the traverser to populate
+ * their cache bottom-up, after which visiting the root only requires cached
+ * lookups for its children.
+ */
+public final class PostOrderTraverser {
+    private final @NotNull Function<? super Elem, ? extends Collection<? extends Elem>> children;
+    private final @NotNull Predicate<? super Elem> skip;
+    private final @NotNull Consumer<? super Elem> action;
+
+    /**
+     * Create a new traverser which uses {@link Elem#getChildren()} to find children.
+     *
+     * @param skip   predicate which returns {@code true} for elements which should not be
+     *               processed or descended into, for example because they are already cached
+     * @param action the action to perform for each element
+     */
+    public PostOrderTraverser(@NotNull Predicate<? super Elem> skip, @NotNull Consumer<? super Elem> action) {
+        this(Elem::getChildren, skip, action);
+    }
+
+    /**
+     * Create a new traverser.
+     *
+     * @param children function which returns the children of an element,
+     *                 used to follow the structure a visitor actually visits
+     * @param skip     predicate which returns {@code true} for elements which should not be
+     *                 processed or descended into, for example because they are already cached
+     * @param action   the action to perform for each element
+     */
+    public PostOrderTraverser(@NotNull Function<? super Elem, ? extends Collection<? extends Elem>> children,
+                              @NotNull Predicate<? super Elem> skip,
+                              @NotNull Consumer<? super Elem> action) {
+        this.children = children;
+        this.skip = skip;
+        this.action = action;
+    }
+
+    /**
+     * Traverse the specified root element and its descendants.
+     * The action is performed on every non-skipped element after it has been
+     * performed on all of its children.
+     *
+     * @param root the specified root element
+     */
+    public void traverse(@NotNull Elem root) {
+        traverse(root, true);
+    }
+
+    /**
+     * Traverse the descendants of the specified root element.
+     * The action is performed on every non-skipped descendant after it has been
+     * performed on all of its children, but not on the root itself.
+     *
+     * @param root the specified root element
+     */
+    public void traverseChildren(@NotNull Elem root) {
+        traverse(root, false);
+    }
+
+    private void traverse(@NotNull Elem root, boolean includeRoot) {
+        if (skip.test(root)) {
+            return;
+        }
+        Set<Elem> entered = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Frame> stack = new ArrayDeque<>();
+        stack.push(new Frame(root));
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (!frame.expanded) {
+                if (!entered.add(frame.elem)) {
+                    // Already processed or being processed through another parent
+                    stack.pop();
+                    continue;
+                }
+                frame.expanded = true;
+                List<Elem> elemChildren = new ArrayList<>(children.apply(frame.elem));
+                // Push in reverse order so children are processed from left to right
+                for (int i = elemChildren.size() - 1; i >= 0; i--) {
+                    Elem child = elemChildren.get(i);
+                    if (!entered.contains(child) && !skip.test(child)) {
+                        stack.push(new Frame(child));
+                    }
+                }
+            } else {
+                stack.pop();
+                if (includeRoot || frame.elem != root) {
+                    action.accept(frame.elem);
+                }
+            }
+        }
+    }
+
+    private static class Frame {
+        private final @NotNull Elem elem;
+        private boolean expanded;
+
+        private Frame(@NotNull Elem elem) {
+            this.elem = elem;
+            this.expanded = false;
+        }
+    }
+}
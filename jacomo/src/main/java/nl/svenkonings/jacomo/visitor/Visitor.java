@@ -11,18 +11,27 @@ import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
 import nl.svenkonings.jacomo.elem.constraints.Constraint;
 import nl.svenkonings.jacomo.elem.expressions.BiExpr;
 import nl.svenkonings.jacomo.elem.expressions.Expr;
+import nl.svenkonings.jacomo.elem.expressions.NaryExpr;
 import nl.svenkonings.jacomo.elem.expressions.UnExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.ConstantBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.AndExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.BiBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.binary.OrExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryAndExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryBoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.nary.NaryOrExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.relational.*;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.NotExpr;
 import nl.svenkonings.jacomo.elem.expressions.bool.unary.UnBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.ConstantIntExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.binary.*;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryIntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMaxExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.NaryMinExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.SumExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.WeightedSumExpr;
 import nl.svenkonings.jacomo.elem.variables.Var;
 import nl.svenkonings.jacomo.elem.variables.bool.*;
 import nl.svenkonings.jacomo.elem.variables.integer.*;
@@ -63,6 +72,10 @@ public interface Visitor<T> {
         return visitExpr(biExpr);
     }
 
+    default T visitNaryExpr(NaryExpr naryExpr) {
+        return visitExpr(naryExpr);
+    }
+
     // Bool expressions
     default T visitBoolExpr(BoolExpr boolExpr) {
         return visitExpr(boolExpr);
@@ -94,6 +107,19 @@ public interface Visitor<T> {
         return visitBiBoolExpr(orExpr);
     }
 
+    // N-ary bool expressions
+    default T visitNaryBoolExpr(NaryBoolExpr naryBoolExpr) {
+        return visitBoolExpr(naryBoolExpr);
+    }
+
+    default T visitNaryAndExpr(NaryAndExpr naryAndExpr) {
+        return visitNaryBoolExpr(naryAndExpr);
+    }
+
+    default T visitNaryOrExpr(NaryOrExpr naryOrExpr) {
+        return visitNaryBoolExpr(naryOrExpr);
+    }
+
     // Relational bool expressions
     default T visitReBoolExpr(ReBoolExpr reBoolExpr) {
         return visitBoolExpr(reBoolExpr);
@@ -161,6 +187,27 @@ public interface Visitor<T> {
         return visitBiIntExpr(maxExpr);
     }
 
+    // N-ary int expressions
+    default T visitNaryIntExpr(NaryIntExpr naryIntExpr) {
+        return visitIntExpr(naryIntExpr);
+    }
+
+    default T visitSumExpr(SumExpr sumExpr) {
+        return visitNaryIntExpr(sumExpr);
+    }
+
+    default T visitWeightedSumExpr(WeightedSumExpr weightedSumExpr) {
+        return visitNaryIntExpr(weightedSumExpr);
+    }
+
+    default T visitNaryMinExpr(NaryMinExpr naryMinExpr) {
+        return visitNaryIntExpr(naryMinExpr);
+    }
+
+    default T visitNaryMaxExpr(NaryMaxExpr naryMaxExpr) {
+        return visitNaryIntExpr(naryMaxExpr);
+    }
+
     // Variables
     default T visitVar(Var var) {
         return visitElem(var);
@@ -232,6 +279,8 @@ public interface Visitor<T> {
                 return visitUnExpr((UnExpr) elem);
             case "BiExpr":
                 return visitBiExpr((BiExpr) elem);
+            case "NaryExpr":
+                return visitNaryExpr((NaryExpr) elem);
             // Bool expressions
             case "BoolExpr":
                 return visitBoolExpr((BoolExpr) elem);
@@ -249,6 +298,13 @@ public interface Visitor<T> {
                 return visitAndExpr((AndExpr) elem);
             case "OrExpr":
                 return visitOrExpr((OrExpr) elem);
+            // N-ary bool expressions
+            case "NaryBoolExpr":
+                return visitNaryBoolExpr((NaryBoolExpr) elem);
+            case "NaryAndExpr":
+                return visitNaryAndExpr((NaryAndExpr) elem);
+            case "NaryOrExpr":
+                return visitNaryOrExpr((NaryOrExpr) elem);
             // Relational bool expressions
             case "ReBoolExpr":
                 return visitReBoolExpr((ReBoolExpr) elem);
@@ -284,6 +340,17 @@ public interface Visitor<T> {
                 return visitMinExpr((MinExpr) elem);
             case "MaxExpr":
                 return visitMaxExpr((MaxExpr) elem);
+            // N-ary int expressions
+            case "NaryIntExpr":
+                return visitNaryIntExpr((NaryIntExpr) elem);
+            case "SumExpr":
+                return visitSumExpr((SumExpr) elem);
+            case "WeightedSumExpr":
+                return visitWeightedSumExpr((WeightedSumExpr) elem);
+            case "NaryMinExpr":
+                return visitNaryMinExpr((NaryMinExpr) elem);
+            case "NaryMaxExpr":
+                return visitNaryMaxExpr((NaryMaxExpr) elem);
             // Variables
             case "Var":
                 return visitVar((Var) elem);
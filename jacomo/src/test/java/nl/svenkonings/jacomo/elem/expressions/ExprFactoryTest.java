@@ -0,0 +1,107 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions;
+
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.binary.AddExpr;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.BoundedIntVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExprFactoryTest {
+
+    @Test
+    public void sharedSubtreeTest() {
+        IntVar x = IntVar.variable("x");
+        IntVar y = IntVar.variable("y");
+        AddExpr sum1 = x.add(y);
+        AddExpr sum2 = x.add(y);
+        assertSame(sum1, sum2);
+        assertSame(sum1.mul(IntExpr.constant(2)), sum2.mul(IntExpr.constant(2)));
+        assertSame(IntExpr.constant(3), IntExpr.constant(3));
+        assertNotSame(sum1, y.add(x));
+
+        BoolVar a = BoolVar.variable("a");
+        assertSame(a.and(x.lt(y)).not(), a.and(x.lt(y)).not());
+        assertSame(BoolExpr.all(a, a, a), BoolExpr.all(a, a, a));
+    }
+
+    @Test
+    public void distinctVarsTest() {
+        // Equal vars which are different instances should not be merged
+        BoundedIntVar x1 = IntVar.bounds("x", 0, 10);
+        BoundedIntVar x2 = IntVar.bounds("x", 0, 10);
+        AddExpr sum1 = x1.add(IntExpr.constant(1));
+        AddExpr sum2 = x2.add(IntExpr.constant(1));
+        assertNotSame(sum1, sum2);
+        assertEquals(sum1, sum2);
+        assertSame(x2, sum2.getLeft());
+    }
+
+    @Test
+    public void stableHashTest() {
+        BoundedIntVar x = IntVar.variable("x");
+        AddExpr sum = x.add(IntExpr.constant(1));
+        int hashCode = sum.hashCode();
+        x.updateBounds(0, 5);
+        assertEquals(hashCode, sum.hashCode());
+    }
+
+    @Test
+    public void deepEqualsTest() {
+        IntVar x = IntVar.variable("x");
+        assertTimeout(Duration.ofSeconds(10), () -> {
+            IntExpr expr1 = x;
+            IntExpr expr2 = x;
+            for (int i = 0; i < 2000; i++) {
+                expr1 = expr1.add(IntExpr.constant(i));
+                expr2 = new AddExpr(expr2, IntExpr.constant(i));
+                assertEquals(expr1, expr2);
+                assertEquals(expr1.hashCode(), expr2.hashCode());
+            }
+        });
+    }
+
+    @Test
+    public void concurrentInternTest() throws Exception {
+        IntVar x = IntVar.variable("x");
+        IntVar y = IntVar.variable("y");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<IntExpr[]>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    IntExpr[] exprs = new IntExpr[1000];
+                    for (int i = 0; i < exprs.length; i++) {
+                        exprs[i] = x.add(y).mul(IntExpr.constant(i));
+                    }
+                    return exprs;
+                }));
+            }
+            IntExpr[] expected = futures.get(0).get();
+            for (Future<IntExpr[]> future : futures) {
+                IntExpr[] actual = future.get();
+                for (int i = 0; i < expected.length; i++) {
+                    assertSame(expected[i], actual[i]);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
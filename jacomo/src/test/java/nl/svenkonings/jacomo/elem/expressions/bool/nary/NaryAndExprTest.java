@@ -0,0 +1,63 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.bool.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NaryAndExprTest {
+
+    @Test
+    public void allTrue() {
+        testNaryAndExpr(true, true, true, true);
+    }
+
+    @Test
+    public void allFalse() {
+        testNaryAndExpr(false, false, false, false);
+    }
+
+    @Test
+    public void mixed() {
+        testNaryAndExpr(false, true, false, null);
+    }
+
+    @Test
+    public void varsAndConstant() {
+        testNaryAndExpr(null, null, null, true);
+    }
+
+    @Test
+    public void single() {
+        testNaryAndExpr(true, true);
+    }
+
+    @Test
+    public void empty() {
+        assertThrows(InvalidInputException.class, () -> BoolExpr.all());
+    }
+
+    @Test
+    public void size() {
+        assertEquals(3, BoolExpr.all(BoolVar.variable("a"), BoolVar.variable("b"), BoolVar.variable("c")).size());
+    }
+
+    public static void testNaryAndExpr(Boolean result, Boolean... values) {
+        BoolExpr[] exprs = new BoolExpr[values.length];
+        for (int i = 0; i < values.length; i++) {
+            exprs[i] = values[i] == null ? BoolVar.variable("var" + i) : BoolExpr.constant(values[i]);
+        }
+        NaryAndExpr naryAndExpr = BoolExpr.all(exprs);
+        assertEquals(result != null, naryAndExpr.hasValue());
+        assertEquals(result, naryAndExpr.getValue());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.bool.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NaryOrExprTest {
+
+    @Test
+    public void allTrue() {
+        testNaryOrExpr(true, true, true, true);
+    }
+
+    @Test
+    public void allFalse() {
+        testNaryOrExpr(false, false, false, false);
+    }
+
+    @Test
+    public void mixed() {
+        testNaryOrExpr(true, true, false, null);
+    }
+
+    @Test
+    public void varsAndConstant() {
+        testNaryOrExpr(null, null, null, false);
+    }
+
+    @Test
+    public void single() {
+        testNaryOrExpr(true, true);
+    }
+
+    @Test
+    public void empty() {
+        assertThrows(InvalidInputException.class, () -> BoolExpr.any());
+    }
+
+    @Test
+    public void size() {
+        assertEquals(3, BoolExpr.any(BoolVar.variable("a"), BoolVar.variable("b"), BoolVar.variable("c")).size());
+    }
+
+    public static void testNaryOrExpr(Boolean result, Boolean... values) {
+        BoolExpr[] exprs = new BoolExpr[values.length];
+        for (int i = 0; i < values.length; i++) {
+            exprs[i] = values[i] == null ? BoolVar.variable("var" + i) : BoolExpr.constant(values[i]);
+        }
+        NaryOrExpr naryOrExpr = BoolExpr.any(exprs);
+        assertEquals(result != null, naryOrExpr.hasValue());
+        assertEquals(result, naryOrExpr.getValue());
+    }
+}
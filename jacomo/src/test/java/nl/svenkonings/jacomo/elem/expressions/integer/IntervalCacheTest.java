@@ -0,0 +1,69 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer;
+
+import nl.svenkonings.jacomo.elem.variables.integer.BoundedIntVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalCacheTest {
+
+    @Test
+    public void scopedInvalidationTest() {
+        BoundedIntVar x = IntVar.bounds("x", 0, 10);
+        BoundedIntVar y = IntVar.bounds("y", 0, 10);
+        BoundedIntVar z = IntVar.bounds("z", 0, 10);
+        IntExpr sum = x.add(y).add(IntExpr.constant(1));
+        IntExpr product = z.mul(IntExpr.constant(2));
+        assertEquals(Interval.of(1, 21), sum.getInterval());
+        Interval productInterval = product.getInterval();
+        assertEquals(Interval.of(0, 20), productInterval);
+
+        x.updateBounds(5, 6);
+        assertEquals(Interval.of(6, 17), sum.getInterval());
+        // The product does not contain x, so its interval is still cached
+        assertSame(productInterval, product.getInterval());
+
+        z.updateLowerBound(3);
+        assertEquals(Interval.of(6, 20), product.getInterval());
+    }
+
+    @Test
+    public void expressionVarTest() {
+        BoundedIntVar x = IntVar.bounds("x", 0, 10);
+        IntVar doubled = IntVar.expression("doubled", x.mul(IntExpr.constant(2)));
+        IntExpr expr = doubled.add(IntExpr.constant(1));
+        assertEquals(Interval.of(1, 21), expr.getInterval());
+        x.instantiateValue(4);
+        assertEquals(Interval.of(9), expr.getInterval());
+    }
+
+    @Test
+    public void deepInvalidationTest() {
+        BoundedIntVar x = IntVar.bounds("x", 0, 10);
+        IntExpr expr = x;
+        for (int i = 0; i < 100000; i++) {
+            expr = expr.add(IntExpr.constant(1));
+        }
+        assertEquals(Interval.of(100000, 100010), expr.getInterval());
+        x.updateUpperBound(0);
+        assertEquals(Interval.of(100000), expr.getInterval());
+    }
+
+    @Test
+    public void invalidateAllTest() {
+        BoundedIntVar x = IntVar.bounds("x", 0, 10);
+        IntExpr expr = x.add(IntExpr.constant(1));
+        Interval interval = expr.getInterval();
+        assertSame(interval, expr.getInterval());
+        IntervalCache.invalidateAll();
+        assertNotSame(interval, expr.getInterval());
+        assertEquals(interval, expr.getInterval());
+    }
+}
@@ -8,9 +8,10 @@ package nl.svenkonings.jacomo.elem.expressions.integer.binary;
 
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
 import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class AddExprTest {
 
@@ -102,4 +103,16 @@ public class AddExprTest {
         assertEquals(result != null, addExpr.hasValue());
         assertEquals(result, addExpr.getValue());
     }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void varargs() {
+        IntVar a = IntVar.variable("a");
+        IntVar b = IntVar.variable("b");
+        IntVar c = IntVar.variable("c");
+        AddExpr addExpr = IntExpr.add(a, b, c);
+        assertEquals(a.add(b), addExpr.getLeft());
+        assertEquals(c, addExpr.getRight());
+        assertThrows(InvalidInputException.class, () -> IntExpr.add(new IntExpr[]{a}));
+    }
 }
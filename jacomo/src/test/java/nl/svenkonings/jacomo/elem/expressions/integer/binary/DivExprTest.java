@@ -7,53 +7,57 @@
 package nl.svenkonings.jacomo.elem.expressions.integer.binary;
 
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.integer.BoundedIntVar;
 import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 
 public class DivExprTest {
 
     @Test
     public void valVal() {
-        testDivExpr(4, 2, 2);
+        testDivExpr(4, 2, 2, 2, 2);
     }
 
     @Test
     public void valVar() {
-        testDivExpr(3, null, null);
+        testDivExpr(3, null, -3, 3, null);
     }
 
     @Test
     public void varVal() {
-        testDivExpr(null, 4, null);
+        testDivExpr(null, 4, null, null, null);
     }
 
     @Test
     public void varVar() {
-        testDivExpr(null, null, null);
+        testDivExpr(null, null, null, null, null);
     }
 
-    public static void testDivExpr(Integer left, Integer right, Integer result) {
+    public static void testDivExpr(Integer left, Integer right, Integer lowerBound, Integer upperBound, Integer result) {
         IntExpr leftExpr = left == null ? IntVar.variable("left") : IntExpr.constant(left);
         IntExpr rightExpr = right == null ? IntVar.variable("right") : IntExpr.constant(right);
         DivExpr divExpr = leftExpr.div(rightExpr);
-        assertEquals(result != null, divExpr.hasLowerBound());
-        assertEquals(result, divExpr.getLowerBound());
-        assertEquals(result != null, divExpr.hasUpperBound());
-        assertEquals(result, divExpr.getUpperBound());
+        assertEquals(lowerBound != null, divExpr.hasLowerBound());
+        assertEquals(lowerBound, divExpr.getLowerBound());
+        assertEquals(upperBound != null, divExpr.hasUpperBound());
+        assertEquals(upperBound, divExpr.getUpperBound());
         assertEquals(result != null, divExpr.hasValue());
         assertEquals(result, divExpr.getValue());
     }
 
     @Test
     public void lowLow() {
-        testBoundedDivExpr(5, null, 6, null, null, null, null);
+        testBoundedDivExpr(5, null, 6, null, 0, null, null);
     }
 
     @Test
     public void lowHigh() {
-        testBoundedDivExpr(15, null, null, 5, 3, null, null);
+        testBoundedDivExpr(15, null, null, 5, null, null, null);
     }
 
     @Test
@@ -73,17 +77,17 @@ public class DivExprTest {
 
     @Test
     public void highBoth() {
-        testBoundedDivExpr(null, 16, 17, 18, 0, 0, 0);
+        testBoundedDivExpr(null, 16, 17, 18, null, 0, null);
     }
 
     @Test
     public void bothLow() {
-        testBoundedDivExpr(19, 22, 11, null, null, 2, null);
+        testBoundedDivExpr(19, 22, 11, null, 0, 2, null);
     }
 
     @Test
     public void bothHigh() {
-        testBoundedDivExpr(22, 23, null, 24, 0, null, null);
+        testBoundedDivExpr(22, 23, null, 24, -23, 23, null);
     }
 
     @Test
@@ -91,6 +95,41 @@ public class DivExprTest {
         testBoundedDivExpr(10, 30, 2, 5, 2, 15, null);
     }
 
+    @Test
+    public void negative() {
+        testBoundedDivExpr(-10, 7, -3, 2, -10, 10, null);
+        testBoundedDivExpr(-10, -4, 2, 3, -5, -1, null);
+    }
+
+    @Test
+    public void zeroDivisor() {
+        testBoundedDivExpr(1, 2, 0, 0, null, null, null);
+        testBoundedDivExpr(1, 2, 0, 2, 0, 2, null);
+    }
+
+    @Test
+    public void nestedDivision() {
+        assertTimeout(Duration.ofSeconds(10), () -> {
+            IntExpr expr = IntVar.bounds("x", 0, 1000);
+            for (int i = 0; i < 200; i++) {
+                expr = expr.div(IntVar.bounds("y" + i, 1, 2));
+            }
+            assertEquals(0, expr.getLowerBound());
+            assertEquals(1000, expr.getUpperBound());
+        });
+    }
+
+    @Test
+    public void updatedBounds() {
+        BoundedIntVar left = IntVar.bounds("left", 0, 100);
+        DivExpr divExpr = left.div(IntExpr.constant(10));
+        assertEquals(10, divExpr.getUpperBound());
+        left.updateUpperBound(50);
+        assertEquals(5, divExpr.getUpperBound());
+        left.instantiateValue(20);
+        assertEquals(2, divExpr.getValue());
+    }
+
     public static void testBoundedDivExpr(Integer lLeft, Integer uLeft, Integer lRight, Integer uRight, Integer lowerBound, Integer upperBound, Integer result) {
         IntVar leftVar = IntVar.bounds("left", lLeft, uLeft);
         IntVar rightVar = IntVar.bounds("right", lRight, uRight);
@@ -16,32 +16,32 @@ public class MaxExprTest {
 
     @Test
     public void valVal() {
-        testMaxExpr(1, 2, 2);
+        testMaxExpr(1, 2, 2, 2, 2);
     }
 
     @Test
     public void valVar() {
-        testMaxExpr(3, null, null);
+        testMaxExpr(3, null, 3, null, null);
     }
 
     @Test
     public void varVal() {
-        testMaxExpr(null, 4, null);
+        testMaxExpr(null, 4, 4, null, null);
     }
 
     @Test
     public void varVar() {
-        testMaxExpr(null, null, null);
+        testMaxExpr(null, null, null, null, null);
     }
 
-    public static void testMaxExpr(Integer left, Integer right, Integer result) {
+    public static void testMaxExpr(Integer left, Integer right, Integer lowerBound, Integer upperBound, Integer result) {
         IntExpr leftExpr = left == null ? IntVar.variable("left") : IntExpr.constant(left);
         IntExpr rightExpr = right == null ? IntVar.variable("right") : IntExpr.constant(right);
         MaxExpr maxExpr = leftExpr.max(rightExpr);
-        assertEquals(result != null, maxExpr.hasLowerBound());
-        assertEquals(result, maxExpr.getLowerBound());
-        assertEquals(result != null, maxExpr.hasUpperBound());
-        assertEquals(result, maxExpr.getUpperBound());
+        assertEquals(lowerBound != null, maxExpr.hasLowerBound());
+        assertEquals(lowerBound, maxExpr.getLowerBound());
+        assertEquals(upperBound != null, maxExpr.hasUpperBound());
+        assertEquals(upperBound, maxExpr.getUpperBound());
         assertEquals(result != null, maxExpr.hasValue());
         assertEquals(result, maxExpr.getValue());
     }
@@ -53,7 +53,7 @@ public class MaxExprTest {
 
     @Test
     public void lowHigh() {
-        testBoundedMaxExpr(7, null, null, 8, null, null, null);
+        testBoundedMaxExpr(7, null, null, 8, 7, null, null);
     }
 
     @Test
@@ -63,7 +63,7 @@ public class MaxExprTest {
 
     @Test
     public void highLow() {
-        testBoundedMaxExpr(null, 12, 13, null, null, null, null);
+        testBoundedMaxExpr(null, 12, 13, null, 13, null, null);
     }
 
     @Test
@@ -73,7 +73,7 @@ public class MaxExprTest {
 
     @Test
     public void highBoth() {
-        testBoundedMaxExpr(null, 16, 17, 18, null, 18, null);
+        testBoundedMaxExpr(null, 16, 17, 18, 17, 18, null);
     }
 
     @Test
@@ -83,7 +83,7 @@ public class MaxExprTest {
 
     @Test
     public void bothHigh() {
-        testBoundedMaxExpr(22, 23, null, 24, null, 24, null);
+        testBoundedMaxExpr(22, 23, null, 24, 22, 24, null);
     }
 
     @Test
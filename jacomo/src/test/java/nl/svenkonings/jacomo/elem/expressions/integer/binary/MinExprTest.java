@@ -16,32 +16,32 @@ public class MinExprTest {
 
     @Test
     public void valVal() {
-        testMinExpr(1, 2, 1);
+        testMinExpr(1, 2, 1, 1, 1);
     }
 
     @Test
     public void valVar() {
-        testMinExpr(3, null, null);
+        testMinExpr(3, null, null, 3, null);
     }
 
     @Test
     public void varVal() {
-        testMinExpr(null, 4, null);
+        testMinExpr(null, 4, null, 4, null);
     }
 
     @Test
     public void varVar() {
-        testMinExpr(null, null, null);
+        testMinExpr(null, null, null, null, null);
     }
 
-    public static void testMinExpr(Integer left, Integer right, Integer result) {
+    public static void testMinExpr(Integer left, Integer right, Integer lowerBound, Integer upperBound, Integer result) {
         IntExpr leftExpr = left == null ? IntVar.variable("left") : IntExpr.constant(left);
         IntExpr rightExpr = right == null ? IntVar.variable("right") : IntExpr.constant(right);
         MinExpr minExpr = leftExpr.min(rightExpr);
-        assertEquals(result != null, minExpr.hasLowerBound());
-        assertEquals(result, minExpr.getLowerBound());
-        assertEquals(result != null, minExpr.hasUpperBound());
-        assertEquals(result, minExpr.getUpperBound());
+        assertEquals(lowerBound != null, minExpr.hasLowerBound());
+        assertEquals(lowerBound, minExpr.getLowerBound());
+        assertEquals(upperBound != null, minExpr.hasUpperBound());
+        assertEquals(upperBound, minExpr.getUpperBound());
         assertEquals(result != null, minExpr.hasValue());
         assertEquals(result, minExpr.getValue());
     }
@@ -53,17 +53,17 @@ public class MinExprTest {
 
     @Test
     public void lowHigh() {
-        testBoundedMinExpr(7, null, null, 8, null, null, null);
+        testBoundedMinExpr(7, null, null, 8, null, 8, null);
     }
 
     @Test
     public void lowBoth() {
-        testBoundedMinExpr(9, null, 10, 11, 9, null, null);
+        testBoundedMinExpr(9, null, 10, 11, 9, 11, null);
     }
 
     @Test
     public void highLow() {
-        testBoundedMinExpr(null, 12, 13, null, null, null, null);
+        testBoundedMinExpr(null, 12, 13, null, null, 12, null);
     }
 
     @Test
@@ -78,7 +78,7 @@ public class MinExprTest {
 
     @Test
     public void bothLow() {
-        testBoundedMinExpr(19, 20, 21, null, 19, null, null);
+        testBoundedMinExpr(19, 20, 21, null, 19, 20, null);
     }
 
     @Test
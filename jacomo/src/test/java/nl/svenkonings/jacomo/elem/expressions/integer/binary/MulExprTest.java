@@ -68,7 +68,7 @@ public class MulExprTest {
 
     @Test
     public void highHigh() {
-        testBoundedMulExpr(null, 14, null, 15, null, 210, null);
+        testBoundedMulExpr(null, 14, null, 15, null, null, null);
     }
 
     @Test
@@ -91,6 +91,13 @@ public class MulExprTest {
         testBoundedMulExpr(25, 26, 27, 28, 675, 728, null);
     }
 
+    @Test
+    public void negative() {
+        testBoundedMulExpr(-3, 2, -5, 4, -12, 15, null);
+        testBoundedMulExpr(-3, -2, -5, -4, 8, 15, null);
+        testBoundedMulExpr(0, 0, null, null, 0, 0, 0);
+    }
+
     public static void testBoundedMulExpr(Integer lLeft, Integer uLeft, Integer lRight, Integer uRight, Integer lowerBound, Integer upperBound, Integer result) {
         IntVar leftVar = IntVar.bounds("left", lLeft, uLeft);
         IntVar rightVar = IntVar.bounds("right", lRight, uRight);
@@ -0,0 +1,38 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NaryMaxExprTest {
+
+    @Test
+    public void values() {
+        NaryMaxExpr expr = IntExpr.maximum(IntExpr.constant(4), IntExpr.constant(-2), IntExpr.constant(7));
+        assertTrue(expr.hasValue());
+        assertEquals(7, expr.getValue());
+    }
+
+    @Test
+    public void bounds() {
+        NaryMaxExpr expr = IntExpr.maximum(IntVar.bounds("a", 0, 5), IntVar.bounds("b", 3, 8), IntExpr.constant(4));
+        assertFalse(expr.hasValue());
+        assertEquals(4, expr.getLowerBound());
+        assertEquals(8, expr.getUpperBound());
+    }
+
+    @Test
+    public void single() {
+        NaryMaxExpr expr = IntExpr.maximum(new IntExpr[]{IntVar.bounds("a", 1, 2)});
+        assertEquals(1, expr.getLowerBound());
+        assertEquals(2, expr.getUpperBound());
+    }
+}
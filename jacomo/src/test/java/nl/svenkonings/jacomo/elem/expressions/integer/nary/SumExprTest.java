@@ -0,0 +1,56 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SumExprTest {
+
+    @Test
+    public void values() {
+        SumExpr sumExpr = IntExpr.sum(IntExpr.constant(1), IntExpr.constant(2), IntExpr.constant(3));
+        assertTrue(sumExpr.hasValue());
+        assertEquals(6, sumExpr.getValue());
+    }
+
+    @Test
+    public void bounds() {
+        SumExpr sumExpr = IntExpr.sum(IntVar.bounds("a", 0, 5), IntExpr.constant(2), IntVar.bounds("b", -3, 1));
+        assertFalse(sumExpr.hasValue());
+        assertEquals(-1, sumExpr.getLowerBound());
+        assertEquals(8, sumExpr.getUpperBound());
+    }
+
+    @Test
+    public void unbounded() {
+        SumExpr sumExpr = IntExpr.sum(IntVar.bounds("a", 0, 5), IntVar.variable("b"));
+        assertFalse(sumExpr.hasLowerBound());
+        assertFalse(sumExpr.hasUpperBound());
+    }
+
+    @Test
+    public void manyTerms() {
+        IntExpr[] exprs = new IntExpr[10000];
+        for (int i = 0; i < exprs.length; i++) {
+            exprs[i] = IntVar.bounds("var" + i, 0, 1);
+        }
+        SumExpr sumExpr = IntExpr.sum(exprs);
+        assertEquals(10000, sumExpr.size());
+        assertEquals(0, sumExpr.getLowerBound());
+        assertEquals(10000, sumExpr.getUpperBound());
+    }
+
+    @Test
+    public void empty() {
+        assertThrows(InvalidInputException.class, () -> IntExpr.sum());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.elem.expressions.integer.nary;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightedSumExprTest {
+
+    @Test
+    public void values() {
+        WeightedSumExpr weightedSumExpr = IntExpr.weightedSum(
+                new IntExpr[]{IntExpr.constant(1), IntExpr.constant(2)}, new int[]{3, -4}, 5);
+        assertTrue(weightedSumExpr.hasValue());
+        assertEquals(0, weightedSumExpr.getValue());
+    }
+
+    @Test
+    public void bounds() {
+        WeightedSumExpr weightedSumExpr = IntExpr.weightedSum(
+                new IntExpr[]{IntVar.bounds("a", 0, 5), IntVar.bounds("b", -3, 1)}, new int[]{2, -3}, 1);
+        assertFalse(weightedSumExpr.hasValue());
+        assertEquals(-2, weightedSumExpr.getLowerBound());
+        assertEquals(20, weightedSumExpr.getUpperBound());
+    }
+
+    @Test
+    public void unbounded() {
+        WeightedSumExpr weightedSumExpr = IntExpr.weightedSum(
+                new IntExpr[]{IntVar.bounds("a", 0, 5), IntVar.variable("b")}, new int[]{1, 0});
+        assertEquals(0, weightedSumExpr.getLowerBound());
+        assertEquals(5, weightedSumExpr.getUpperBound());
+        weightedSumExpr = IntExpr.weightedSum(
+                new IntExpr[]{IntVar.bounds("a", 0, 5), IntVar.variable("b")}, new int[]{1, -1});
+        assertFalse(weightedSumExpr.hasLowerBound());
+        assertFalse(weightedSumExpr.hasUpperBound());
+    }
+
+    @Test
+    public void coefficients() {
+        int[] coeffs = {1, 2};
+        WeightedSumExpr weightedSumExpr = IntExpr.weightedSum(
+                new IntExpr[]{IntVar.variable("a"), IntVar.variable("b")}, coeffs, 3);
+        coeffs[0] = 5;
+        assertEquals(1, weightedSumExpr.getCoeff(0));
+        assertArrayEquals(new int[]{1, 2}, weightedSumExpr.getCoeffs());
+        assertEquals(3, weightedSumExpr.getOffset());
+        assertNotEquals(weightedSumExpr, IntExpr.weightedSum(
+                new IntExpr[]{IntVar.variable("a"), IntVar.variable("b")}, new int[]{1, 2}, 4));
+    }
+
+    @Test
+    public void invalid() {
+        assertThrows(InvalidInputException.class, () -> IntExpr.weightedSum(new IntExpr[0], new int[0]));
+        assertThrows(InvalidInputException.class, () -> IntExpr.weightedSum(
+                new IntExpr[]{IntVar.variable("a")}, new int[]{1, 2}));
+    }
+}
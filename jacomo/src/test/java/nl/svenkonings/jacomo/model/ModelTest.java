@@ -9,15 +9,27 @@ package nl.svenkonings.jacomo.model;
 import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
 import nl.svenkonings.jacomo.elem.constraints.Constraint;
 import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.Var;
 import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.bool.InstantiatableBoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.BoundedIntVar;
 import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.CheckException;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
 import nl.svenkonings.jacomo.exceptions.unchecked.ReservedNameException;
 import nl.svenkonings.jacomo.util.ListUtil;
+import nl.svenkonings.jacomo.visitor.Checker;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -122,4 +134,291 @@ public class ModelTest {
         assertEquals(ListUtil.of(), model.getConstraints());
         assertEquals(0L, model.constraintStream().count());
     }
+
+    @Test
+    public void genVarNameTest() {
+        Model model = new Model();
+        assertEquals("_int_0", model.intVar().getName());
+        assertEquals("_bool_0", model.boolVar().getName());
+
+        // Skip names which are already taken
+        model.addVarUnchecked(IntVar.variable("_int_1"));
+        model.addVarUnchecked(IntVar.variable("_int_2"));
+        assertEquals("_int_3", model.intVar().getName());
+        assertEquals("_bool_1", model.boolVar().getName());
+
+        // Names of removed vars are not reused
+        model.removeVar("_int_0");
+        assertEquals("_int_4", model.intVar().getName());
+        assertFalse(model.containsVar("_int_0"));
+    }
+
+    @Test
+    public void genVarNameScalingTest() {
+        // Generating names used to probe all previous names, which made building the model quadratic.
+        // Building a model four times as large should take about four times as long, not sixteen.
+        long small = buildTime(10_000);
+        long large = buildTime(40_000);
+        assertTrue(large < 10 * small, String.format("10000 vars: %d ms, 40000 vars: %d ms",
+                small / 1_000_000, large / 1_000_000));
+    }
+
+    // Returns the best time of several runs, to reduce the influence of the JIT and garbage collection
+    private static long buildTime(int size) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            Model model = new Model();
+            long start = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                IntVar x = model.intVar(0, i);
+                model.boolVar(x.ge(IntExpr.constant(i / 2)));
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            assertEquals(2 * size, model.getVars().size());
+            assertTrue(model.containsVars(ListUtil.of("_int_" + (size - 1), "_bool_" + (size - 1))));
+        }
+        return best;
+    }
+
+    @Test
+    public void incrementalCheckTest() {
+        Model model = new Model();
+        BoundedIntVar x = model.intVar("x", 0, 10);
+        BoundedIntVar y = model.intVar("y", 0, 10);
+        Constraint c1 = model.constraint(x.add(y).le(IntExpr.constant(5)));
+        Constraint c2 = model.constraint(x.lt(y));
+        assertEquals(new Checker().check(model), model.check());
+
+        // Added and removed elements
+        InstantiatableBoolVar a = model.boolVar("a");
+        Constraint c3 = model.constraint(a.or(x.gt(IntExpr.constant(2))));
+        model.removeConstraint(c1);
+        assertEquals(new Checker().check(model), model.check());
+
+        // Constraints with the same optimized constraint
+        Constraint c4 = model.constraint(x.lt(y).and(BoolExpr.constant(true)));
+        model.removeConstraint(c2);
+        assertEquals(new Checker().check(model), model.check());
+        assertTrue(model.check().containsConstraint(new BoolExprConstraint(x.lt(y))));
+
+        // Replaced and removed vars
+        model.removeVar("a");
+        model.addVar(IntVar.bounds("a", 1, 2));
+        model.removeConstraint(c3);
+        model.removeVar("y");
+        assertEquals(new Checker().check(model), model.check());
+
+        // Variable updates
+        x.instantiateValue(3);
+        assertEquals(new Checker().check(model), model.check());
+        assertFalse(model.check().containsVar("x"));
+
+        // Failing checks are reported like a full check
+        Constraint c5 = model.constraint(x.gt(IntExpr.constant(3)));
+        assertThrows(CheckException.class, model::check);
+        model.removeConstraint(c5);
+        model.removeConstraint(c4);
+        assertEquals(new Checker().check(model), model.check());
+    }
+
+    @Test
+    public void incrementalCheckScalingTest() {
+        // Re-checking a model after a small change should only check the changed elements
+        for (int size : new int[]{100, 10_000}) {
+            Model model = new Model();
+            IntVar previous = model.intVar(0, 1);
+            for (int i = 0; i < size; i++) {
+                IntVar x = model.intVar(0, i + 1);
+                model.constraint(x.mul(IntExpr.constant(2)).add(previous).ge(IntExpr.constant(i + 1)));
+                previous = x;
+            }
+            Model checked = model.check();
+            assertEquals(size, checked.constraintCount());
+            assertEquals(2 * size + 1, model.getIncrementalChecker().getCheckedCount());
+            IntVar extra = model.intVar(0, size);
+            model.check();
+            assertEquals(1, model.getIncrementalChecker().getCheckedCount());
+            for (int i = 0; i < 100; i++) {
+                model.constraint(extra.ne(IntExpr.constant(i)));
+                checked = model.check();
+                assertEquals(1, model.getIncrementalChecker().getCheckedCount());
+            }
+            assertEquals(size + 100, checked.constraintCount());
+        }
+    }
+
+    @Test
+    public void incrementalCheckRemovedVarsTest() {
+        Model model = new Model();
+        for (int i = 0; i < 1000; i++) {
+            IntVar x = model.intVar("x" + i, 0, i + 1);
+            model.constraint(x.ne(IntExpr.constant(i)));
+        }
+        model.check();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1000; i += 3) {
+            names.add("x" + i);
+        }
+        model.removeVars(names);
+        Model checked = model.check();
+        assertEquals(0, model.getIncrementalChecker().getCheckedCount());
+        assertEquals(new Checker().check(model).getVars(), checked.getVars());
+        assertEquals(model.varCount(), checked.varCount());
+        for (int i = 0; i < checked.varCount(); i++) {
+            assertEquals(i, checked.indexOf(checked.getVar(i).getName()));
+        }
+    }
+
+    @Test
+    public void incrementalCheckVarUpdateTest() {
+        Model model = new Model();
+        BoundedIntVar x = model.intVar("x", 0, 10);
+        BoundedIntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.lt(y));
+        model.check();
+
+        // Updates of vars which the model does not refer to do not cause a full check
+        BoundedIntVar other = new Model().intVar("other", 0, 10);
+        other.updateBounds(2, 3);
+        model.constraint(x.ne(IntExpr.constant(5)));
+        model.check();
+        assertEquals(1, model.getIncrementalChecker().getCheckedCount());
+
+        // Updates of vars which the model refers to do
+        y.updateLowerBound(4);
+        assertEquals(new Checker().check(model), model.check());
+        assertEquals(4, model.getIncrementalChecker().getCheckedCount());
+    }
+
+    @Test
+    public void snapshotCheckTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        model.constraint(x.gt(IntExpr.constant(2)));
+        Model checked = model.check();
+
+        // Every check returns a new model, which later checks do not change
+        model.constraint(x.lt(IntExpr.constant(8)));
+        Model rechecked = model.check();
+        assertNotSame(checked, rechecked);
+        assertEquals(1, checked.constraintCount());
+        assertEquals(2, rechecked.constraintCount());
+        assertEquals(1, model.getIncrementalChecker().getCheckedCount());
+
+        // Checked models can be modified without affecting later checks
+        checked.intVar("y", 0, 1);
+        rechecked.removeVar("x");
+        rechecked.minimize(x);
+        Model third = model.check();
+        assertEquals(new Checker().check(model), third);
+        assertFalse(third.containsVar("y"));
+        assertTrue(third.containsVar("x"));
+        assertNull(third.getObjective());
+    }
+
+    @Test
+    public void concurrentCheckTest() throws InterruptedException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 100);
+        model.constraint(x.gt(IntExpr.constant(2)));
+        Model checked = model.check();
+        List<Var> vars = new ArrayList<>(checked.getVars());
+        List<Constraint> constraints = new ArrayList<>(checked.getConstraints());
+
+        // One thread keeps reading the checked model while another thread modifies and checks the model again
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    assertEquals(vars, checked.getVars());
+                    assertEquals(constraints, checked.getConstraints());
+                    assertEquals(constraints, checked.constraintStream().collect(Collectors.toList()));
+                }
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                IntVar y = model.intVar("y" + i, 0, 100);
+                Constraint constraint = model.constraint(x.add(y).lt(IntExpr.constant(150 + i)));
+                model.check();
+                model.removeConstraint(constraint);
+                model.removeVar(y.getName());
+                model.check();
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertNull(error.get());
+        assertEquals(vars, checked.getVars());
+        assertEquals(constraints, checked.getConstraints());
+    }
+
+    @Test
+    public void objectiveTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 5);
+        assertFalse(model.hasObjective());
+        assertNull(model.check().getObjective());
+
+        Objective objective = model.minimize(x.add(y));
+        assertTrue(model.hasObjective());
+        assertSame(objective, model.getObjective());
+        assertFalse(objective.isMaximize());
+        assertEquals(objective, model.copy().getObjective());
+        assertTrue(model.toFullString().contains("minimize"));
+
+        // Checking folds the resolved var into the objective
+        Objective checked = model.check().getObjective();
+        assertFalse(checked.isMaximize());
+        assertEquals(new Checker().checkObjective(objective), checked);
+        assertNotEquals(objective, checked);
+
+        model.maximize(x);
+        assertTrue(model.check().getObjective().isMaximize());
+        model.setObjective(null);
+        assertNull(model.check().getObjective());
+    }
+
+    @Test
+    public void searchStrategyTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        BoolVar b = model.boolVar("b");
+        assertFalse(model.hasSearchStrategy());
+        assertNull(model.check().getSearchStrategy());
+
+        SearchStrategy strategy = SearchStrategy.of(SearchStrategy.VarSelection.INPUT_ORDER,
+                SearchStrategy.ValueSelection.MAX_VALUE, x, b, x);
+        assertEquals(Arrays.asList("x", "b"), strategy.getVars());
+        assertEquals(SearchStrategy.Restarts.none(), strategy.getRestarts());
+        assertFalse(strategy.isLastConflict());
+        model.setSearchStrategy(strategy);
+        assertTrue(model.hasSearchStrategy());
+        assertSame(strategy, model.getSearchStrategy());
+        assertEquals(strategy, model.copy().getSearchStrategy());
+        assertEquals(model, model.copy());
+        assertTrue(model.toFullString().contains("search"));
+
+        // The strategy is kept by incremental checks
+        assertSame(strategy, model.check().getSearchStrategy());
+        SearchStrategy restarting = strategy.withRestarts(SearchStrategy.Restarts.luby(100)).withLastConflict(true);
+        assertNotEquals(strategy, restarting);
+        assertEquals(SearchStrategy.Restarts.Policy.LUBY, restarting.getRestarts().getPolicy());
+        assertEquals(100, restarting.getRestarts().getScale());
+        assertTrue(restarting.isLastConflict());
+        model.setSearchStrategy(restarting);
+        assertSame(restarting, model.check().getSearchStrategy());
+        model.setSearchStrategy(null);
+        assertNull(model.check().getSearchStrategy());
+
+        assertEquals(2.0, SearchStrategy.Restarts.geometric(10, 2.0).getFactor());
+        assertThrows(InvalidInputException.class, () -> SearchStrategy.Restarts.luby(0));
+        assertThrows(InvalidInputException.class, () -> SearchStrategy.Restarts.geometric(10, 1.0));
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.model;
+
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.DuplicateNameException;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValueMapTest {
+
+    @Test
+    public void indexTest() {
+        ValueMap.Index index = new ValueMap.Index(0);
+        assertEquals(0, index.addInt("x"));
+        assertEquals(1, index.addBool("b"));
+        assertEquals(2, index.addInt("y"));
+        assertThrows(DuplicateNameException.class, () -> index.addBool("x"));
+        assertEquals(3, index.size());
+        assertEquals(1, index.indexOf("b"));
+        assertEquals(-1, index.indexOf("z"));
+        assertEquals("y", index.getName(2));
+        assertFalse(index.isBool(0));
+        assertTrue(index.isBool(1));
+        assertEquals(Arrays.asList("x", "b", "y"), index.getNames());
+        assertThrows(UnsupportedOperationException.class, () -> index.getNames().add("z"));
+        assertThrows(IllegalArgumentException.class, () -> new ValueMap.Index(-1));
+    }
+
+    @Test
+    public void valueTest() {
+        ValueMap.Index index = new ValueMap.Index(3);
+        index.addInt("x");
+        index.addBool("b");
+        index.addInt("y");
+        int[] values = {5, 1, -3};
+        ValueMap valueMap = new ValueMap(index, values);
+        assertEquals(3, valueMap.size());
+        assertEquals(5, valueMap.getInt("x"));
+        assertTrue(valueMap.getBool("b"));
+        assertEquals(-3, valueMap.getInt("y"));
+        assertEquals(1, valueMap.getValue(1));
+        assertTrue(valueMap.containsVar("y"));
+        assertFalse(valueMap.containsVar("z"));
+        assertThrows(InvalidInputException.class, () -> valueMap.getInt("z"));
+        assertThrows(UnexpectedTypeException.class, () -> valueMap.getInt("b"));
+        assertThrows(UnexpectedTypeException.class, () -> valueMap.getBool("x"));
+        assertThrows(InvalidInputException.class, () -> new ValueMap(index, new int[2]));
+
+        // The returned values are a copy
+        valueMap.getValues()[0] = 6;
+        assertArrayEquals(new int[]{5, 1, -3}, valueMap.getValues());
+        assertEquals(new ValueMap(index, values.clone()), valueMap);
+        assertEquals("{x=5, b=true, y=-3}", valueMap.toString());
+    }
+
+    @Test
+    public void toVarMapTest() {
+        ValueMap.Index index = new ValueMap.Index(2);
+        index.addBool("b");
+        index.addInt("x");
+        VarMap varMap = new ValueMap(index, new int[]{0, 7}).toVarMap();
+        assertEquals(2, varMap.size());
+        assertEquals(0, varMap.indexOf("b"));
+        assertEquals(Boolean.FALSE, ((BoolVar) varMap.getVar("b")).getValue());
+        assertEquals(7, ((IntVar) varMap.getVar("x")).getValue());
+    }
+}
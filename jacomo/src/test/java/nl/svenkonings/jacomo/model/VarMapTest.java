@@ -0,0 +1,80 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.model;
+
+import nl.svenkonings.jacomo.elem.variables.Var;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.util.ListUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VarMapTest {
+
+    @Test
+    public void indexTest() {
+        VarMap varMap = new VarMap(1);
+        IntVar x = IntVar.variable("x");
+        IntVar y = IntVar.variable("y");
+        IntVar z = IntVar.variable("z");
+        varMap.addVars(ListUtil.of(x, y, z));
+        assertEquals(0, varMap.indexOf("x"));
+        assertEquals(1, varMap.indexOf("y"));
+        assertEquals(2, varMap.indexOf("z"));
+        assertEquals(-1, varMap.indexOf("w"));
+        assertEquals(y, varMap.getVar(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> varMap.getVar(3));
+
+        // Replacing keeps the index
+        BoolVar y2 = BoolVar.variable("y");
+        assertEquals(y, varMap.addVar(y2));
+        assertEquals(1, varMap.indexOf("y"));
+        assertEquals(ListUtil.of(x, y2, z), varMap.getVars());
+
+        // Removing shifts the subsequent indices
+        assertEquals(x, varMap.removeVar("x"));
+        assertEquals(0, varMap.indexOf("y"));
+        assertEquals(1, varMap.indexOf("z"));
+        assertEquals(ListUtil.of("y", "z"), ListUtil.copyOf(varMap.getVarNames()));
+
+        assertEquals(ListUtil.of(y2), varMap.removeVars(Arrays.asList("y", "w")));
+        assertEquals(0, varMap.indexOf("z"));
+        assertEquals(1, varMap.size());
+    }
+
+    @Test
+    public void iteratorTest() {
+        VarMap varMap = new VarMap();
+        varMap.addVars(ListUtil.of(IntVar.variable("x"), IntVar.variable("y"), IntVar.variable("z")));
+        Iterator<Var> iterator = varMap.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getName().equals("y")) {
+                iterator.remove();
+            }
+        }
+        assertEquals(ListUtil.of("x", "z"), ListUtil.copyOf(varMap.getVarNames()));
+        assertEquals(1, varMap.indexOf("z"));
+    }
+
+    @Test
+    public void equalsTest() {
+        IntVar x = IntVar.variable("x");
+        BoolVar y = BoolVar.variable("y");
+        VarMap varMap1 = new VarMap();
+        varMap1.addVars(ListUtil.of(x, y));
+        VarMap varMap2 = new VarMap();
+        varMap2.addVars(ListUtil.of(y, x));
+        assertEquals(varMap1, varMap2);
+        assertEquals(varMap1.hashCode(), varMap2.hashCode());
+        varMap2.removeVar("x");
+        assertNotEquals(varMap1, varMap2);
+    }
+}
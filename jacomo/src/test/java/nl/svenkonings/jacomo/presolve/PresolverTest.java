@@ -0,0 +1,226 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.presolve;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
+import nl.svenkonings.jacomo.elem.variables.integer.BoundedIntVar;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.ContradictionException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.util.ListUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PresolverTest {
+
+    @Test
+    public void duplicateConstraintTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.lt(y));
+        model.constraint(y.gt(x));
+        model.constraint(x.add(y).eq(IntExpr.constant(7)));
+        model.constraint(IntExpr.constant(7).eq(x.add(y)));
+        Model checked = model.check();
+        assertEquals(4, checked.constraintCount());
+
+        Model reduced = new DuplicateConstraintPass().apply(checked);
+        assertEquals(2, reduced.constraintCount());
+        assertSame(reduced, new DuplicateConstraintPass().apply(reduced));
+    }
+
+    @Test
+    public void fixedVarEliminationTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        BoolVar a = model.boolVar("a");
+        BoolVar b = model.boolVar("b");
+        model.constraint(x.eq(IntExpr.constant(3)));
+        model.constraint(a);
+        model.constraint(b.not());
+        model.constraint(x.add(y).le(IntExpr.constant(8)));
+        model.constraint(a.or(b.and(y.gt(x))));
+
+        Model reduced = new FixedVarEliminationPass().apply(model.check());
+        assertEquals(Integer.valueOf(3), reduced.getVar("x").getValue());
+        assertEquals(Boolean.TRUE, reduced.getVar("a").getValue());
+        assertEquals(Boolean.FALSE, reduced.getVar("b").getValue());
+        assertFalse(reduced.getVar("y").hasValue());
+        // The disjunction is true since a is true, only the sum remains
+        assertEquals(1, reduced.constraintCount());
+        for (String name : ListUtil.of("x", "y", "a", "b")) {
+            assertEquals(model.indexOf(name), reduced.indexOf(name));
+        }
+    }
+
+    @Test
+    public void fixedVarContradictionTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        model.constraint(x.eq(IntExpr.constant(3)));
+        model.constraint(x.eq(IntExpr.constant(4)));
+        assertThrows(ContradictionException.class, () -> new FixedVarEliminationPass().apply(model.check()));
+
+        Model model2 = new Model();
+        BoolVar a = model2.boolVar("a");
+        model2.constraint(a);
+        model2.constraint(a.not());
+        assertThrows(ContradictionException.class, () -> new FixedVarEliminationPass().apply(model2.check()));
+    }
+
+    @Test
+    public void boundTighteningTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, null);
+        IntVar z = model.intVar("z", 0, 10);
+        model.constraint(x.gt(IntExpr.constant(2)));
+        model.constraint(IntExpr.constant(8).ge(x));
+        model.constraint(y.lt(IntExpr.constant(5)));
+        model.constraint(z.ne(IntExpr.constant(0)));
+        model.constraint(x.add(y).add(z).eq(IntExpr.constant(12)));
+
+        Model reduced = new BoundTighteningPass().apply(model.check());
+        BoundedIntVar rx = (BoundedIntVar) reduced.getVar("x");
+        BoundedIntVar ry = (BoundedIntVar) reduced.getVar("y");
+        BoundedIntVar rz = (BoundedIntVar) reduced.getVar("z");
+        assertEquals(Integer.valueOf(3), rx.getLowerBound());
+        assertEquals(Integer.valueOf(8), rx.getUpperBound());
+        assertEquals(Integer.valueOf(0), ry.getLowerBound());
+        assertEquals(Integer.valueOf(4), ry.getUpperBound());
+        assertEquals(Integer.valueOf(1), rz.getLowerBound());
+        assertEquals(Integer.valueOf(10), rz.getUpperBound());
+        assertEquals(1, reduced.constraintCount());
+    }
+
+    @Test
+    public void weightedBoundTighteningTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x");
+        IntVar y = model.intVar("y");
+        IntVar z = model.intVar("z");
+        model.constraint(x.mul(IntExpr.constant(2)).le(IntExpr.constant(7)));
+        model.constraint(x.add(IntExpr.constant(3)).gt(IntExpr.constant(-8)));
+        model.constraint(IntExpr.constant(3).sub(y).ge(IntExpr.constant(1)));
+        model.constraint(y.mul(IntExpr.constant(-3)).lt(IntExpr.constant(10)));
+        model.constraint(z.mul(IntExpr.constant(2)).eq(IntExpr.constant(7)));
+        model.constraint(x.add(y).add(z).eq(IntExpr.constant(5)));
+
+        Model reduced = new BoundTighteningPass().apply(model.check());
+        BoundedIntVar rx = (BoundedIntVar) reduced.getVar("x");
+        BoundedIntVar ry = (BoundedIntVar) reduced.getVar("y");
+        assertEquals(Integer.valueOf(-10), rx.getLowerBound());
+        assertEquals(Integer.valueOf(3), rx.getUpperBound());
+        assertEquals(Integer.valueOf(-3), ry.getLowerBound());
+        assertEquals(Integer.valueOf(2), ry.getUpperBound());
+        // Equalities without integer solution are left to the solver
+        assertFalse(((BoundedIntVar) reduced.getVar("z")).hasLowerBound());
+        assertEquals(2, reduced.constraintCount());
+    }
+
+    @Test
+    public void conjunctionSplittingTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x");
+        IntVar y = model.intVar("y");
+        model.constraint(x.ge(IntExpr.constant(0)).and(x.le(IntExpr.constant(10)).and(y.gt(x))));
+        Model checked = model.check();
+        assertEquals(1, checked.constraintCount());
+
+        Model split = new ConjunctionSplittingPass().apply(checked);
+        assertEquals(3, split.constraintCount());
+        assertSame(split, new ConjunctionSplittingPass().apply(split));
+
+        Model reduced = new Presolver().presolve(checked);
+        BoundedIntVar rx = (BoundedIntVar) reduced.getVar("x");
+        assertEquals(Integer.valueOf(0), rx.getLowerBound());
+        assertEquals(Integer.valueOf(10), rx.getUpperBound());
+        assertEquals(1, reduced.constraintCount());
+    }
+
+    @Test
+    public void boundTighteningContradictionTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.gt(IntExpr.constant(6)));
+        model.constraint(x.lt(IntExpr.constant(5)));
+        model.constraint(x.add(y).eq(IntExpr.constant(12)));
+        assertThrows(ContradictionException.class, () -> new BoundTighteningPass().apply(model.check()));
+    }
+
+    @Test
+    public void presolveTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        IntVar z = model.intVar("z", 0, 10);
+        IntVar sum = model.intVar("sum", x.add(y).add(z));
+        model.constraint(y.ge(IntExpr.constant(4)));
+        model.constraint(y.le(IntExpr.constant(4)));
+        model.constraint(x.lt(z));
+        model.constraint(z.gt(x));
+        model.constraint(sum.le(IntExpr.constant(9)));
+        Model checked = model.check();
+
+        Presolver presolver = new Presolver();
+        Model reduced = presolver.presolve(checked);
+        assertEquals(checked.getVarNames(), reduced.getVarNames());
+        // Bound tightening fixes y, which is propagated into the sum
+        assertEquals(Integer.valueOf(4), reduced.getVar("y").getValue());
+        assertEquals(2, reduced.constraintCount());
+        assertTrue(presolver.getRounds() > 0);
+        assertEquals(5, presolver.getStatistics().size());
+        assertEquals("duplicate-constraints", presolver.getStatistics().get(1).getName());
+        assertEquals(1, presolver.getStatistics().get(1).getRemovedConstraints());
+        assertTrue(presolver.getStatistics().stream().mapToInt(PassStatistics::getFixedVars).sum() >= 1);
+        for (PassStatistics statistics : presolver.getStatistics()) {
+            assertTrue(statistics.getRuns() > 0);
+            assertTrue(statistics.getReductions() <= statistics.getRuns());
+        }
+
+        // Presolving again does not change the reduced model
+        assertSame(reduced, presolver.presolve(reduced));
+    }
+
+    @Test
+    public void maxRoundsTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        model.constraint(x.lt(IntExpr.constant(5)));
+        Model checked = model.check();
+
+        Presolver presolver = new Presolver();
+        presolver.setMaxRounds(0);
+        assertEquals(0, presolver.getMaxRounds());
+        assertSame(checked, presolver.presolve(checked));
+        assertEquals(0, presolver.getRounds());
+        assertThrows(RuntimeException.class, () -> presolver.setMaxRounds(-1));
+    }
+
+    @Test
+    public void objectiveTest() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.eq(IntExpr.constant(3)));
+        model.constraint(x.add(y).le(IntExpr.constant(8)));
+        model.constraint(x.lt(y));
+        model.constraint(y.gt(x));
+        model.maximize(x.add(y));
+
+        Model reduced = new Presolver().presolve(model.check());
+        assertTrue(reduced.hasObjective());
+        assertTrue(reduced.getObjective().isMaximize());
+        // The fixed var is folded into the objective
+        assertFalse(reduced.getObjective().getExpr().getChildren().contains(x));
+    }
+}
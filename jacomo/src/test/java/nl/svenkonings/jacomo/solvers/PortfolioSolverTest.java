@@ -0,0 +1,216 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.VarMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PortfolioSolverTest {
+
+    private static @NotNull Model model() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        model.minimize(x);
+        return model;
+    }
+
+    private static @NotNull SolveResult result(long value, boolean optimal) {
+        return new SolveResult(new VarMap(), optimal, value, 0L);
+    }
+
+    @Test
+    public void raceTest() throws InterruptedException {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        StubSolver slow = new StubSolver(token -> {
+            while (!token.isCancelled()) {
+                Thread.yield();
+            }
+            cancelled.countDown();
+            return SolveResult.noSolution();
+        });
+        StubSolver fast = new StubSolver(token -> result(3, true));
+        PortfolioSolver portfolio = new PortfolioSolver(slow, fast);
+        List<Long> improvements = new ArrayList<>();
+
+        SolveResult result = portfolio.optimizeUnchecked(model(), improvement -> improvements.add(improvement.getObjectiveValue()));
+        assertTrue(result.isOptimal());
+        assertEquals(3L, result.getObjectiveValue());
+        assertEquals(Collections.singletonList(3L), improvements);
+        assertArrayEquals(new long[]{0, 1}, portfolio.getWins());
+        // The losing solver is cancelled
+        assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void bestResultTest() {
+        // Without proven optimality or infeasibility, the results of the solvers are not definitive
+        StubSolver first = new StubSolver(token -> result(7, false));
+        StubSolver second = new StubSolver(token -> result(4, false));
+        StubSolver third = new StubSolver(token -> SolveResult.noSolution());
+        PortfolioSolver portfolio = new PortfolioSolver(first, second, third);
+        portfolio.setTimeLimit(1000);
+        assertEquals(1000, third.getTimeLimit());
+
+        SolveResult result = portfolio.optimizeUnchecked(model(), null);
+        assertFalse(result.isOptimal());
+        assertEquals(4L, result.getObjectiveValue());
+        assertArrayEquals(new long[]{0, 1, 0}, portfolio.getWins());
+    }
+
+    @Test
+    public void noSolutionTest() {
+        // A proof that there is no solution is a definitive answer
+        StubSolver first = new StubSolver(token -> SolveResult.noSolution(SolveStatus.INFEASIBLE));
+        StubSolver second = new StubSolver(token -> {
+            while (!token.isCancelled()) {
+                Thread.yield();
+            }
+            return result(1, false);
+        });
+        PortfolioSolver portfolio = new PortfolioSolver(first, second);
+        SolveResult result = portfolio.optimizeUnchecked(model(), null);
+        assertEquals(SolveStatus.INFEASIBLE, result.getStatus());
+        assertFalse(result.hasSolution());
+        assertArrayEquals(new long[]{1, 0}, portfolio.getWins());
+    }
+
+    @Test
+    public void errorTest() {
+        StubSolver failing = new StubSolver(token -> {
+            throw new IllegalStateException("Failed");
+        });
+        StubSolver working = new StubSolver(token -> result(5, true));
+        assertEquals(5L, new PortfolioSolver(failing, working).optimizeUnchecked(model(), null).getObjectiveValue());
+        assertThrows(IllegalStateException.class, () -> new PortfolioSolver(failing, failing).optimizeUnchecked(model(), null));
+    }
+
+    @Test
+    public void cancellationListenerTest() {
+        StubSolver first = new StubSolver(token -> result(2, true));
+        StubSolver second = new StubSolver(token -> result(4, false));
+        PortfolioSolver portfolio = new PortfolioSolver(first, second);
+        CancellationToken cancellation = new CancellationToken();
+        for (int i = 0; i < 10; i++) {
+            portfolio.optimizeUnchecked(model(), null, cancellation);
+        }
+        // The listeners of the finished races are unregistered from the shared token
+        assertEquals(0, cancellation.getListenerCount());
+
+        CancellationToken.Registration registration = cancellation.onCancel(Assertions::fail);
+        assertEquals(1, cancellation.getListenerCount());
+        registration.close();
+        registration.close();
+        assertEquals(0, cancellation.getListenerCount());
+        cancellation.cancel();
+    }
+
+    @Test
+    public void threadReuseTest() throws InterruptedException {
+        Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        StubSolver solver = new StubSolver(token -> {
+            threads.add(Thread.currentThread());
+            return result(1, true);
+        });
+        PortfolioSolver portfolio = new PortfolioSolver(solver);
+        int races = 5;
+        for (int i = 0; i < races; i++) {
+            portfolio.optimizeUnchecked(model(), null);
+            // Give the thread time to return to the pool
+            Thread.sleep(50);
+        }
+        assertTrue(threads.size() < races);
+    }
+
+    @Test
+    public void workersTest() {
+        StubSolver first = new StubSolver(token -> SolveResult.noSolution());
+        StubSolver second = new StubSolver(token -> SolveResult.noSolution());
+        PortfolioSolver portfolio = new PortfolioSolver(first, second);
+        portfolio.setWorkers(5);
+        assertEquals(3, first.getWorkers());
+        assertEquals(2, second.getWorkers());
+        assertEquals(5, portfolio.getWorkers());
+        portfolio.setSplit(1, 7);
+        assertEquals(8, portfolio.getWorkers());
+        assertEquals(4, portfolio.withWorkers(4).getWorkers());
+        assertThrows(InvalidInputException.class, () -> portfolio.setSplit(1));
+        assertThrows(InvalidInputException.class, PortfolioSolver::new);
+    }
+
+    private static class StubSolver implements Solver {
+        private final @NotNull Function<CancellationToken, SolveResult> search;
+        private int workers;
+        private long timeLimit;
+
+        StubSolver(@NotNull Function<CancellationToken, SolveResult> search) {
+            this.search = search;
+            workers = 0;
+            timeLimit = 0;
+        }
+
+        @Override
+        public int getWorkers() {
+            return workers;
+        }
+
+        @Override
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        @Override
+        public long getTimeLimit() {
+            return timeLimit;
+        }
+
+        @Override
+        public void setTimeLimit(long timeLimit) {
+            this.timeLimit = timeLimit;
+        }
+
+        @Override
+        public @NotNull Solver withWorkers(int workers) {
+            StubSolver solver = new StubSolver(search);
+            solver.setWorkers(workers);
+            solver.setTimeLimit(timeLimit);
+            return solver;
+        }
+
+        @Override
+        public @NotNull SolveResult optimizeUnchecked(@NotNull Model model, @Nullable Consumer<SolveResult> improvements,
+                                                      @NotNull CancellationToken cancellation) {
+            SolveResult result = search.apply(cancellation);
+            if (improvements != null && result.hasSolution()) {
+                improvements.accept(result);
+            }
+            return result;
+        }
+
+        @Override
+        public @Nullable VarMap solveUnchecked(@NotNull Model model) {
+            return optimizeUnchecked(model, null, new CancellationToken()).getSolution();
+        }
+    }
+}
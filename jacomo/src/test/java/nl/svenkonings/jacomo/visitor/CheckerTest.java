@@ -6,8 +6,12 @@
 
 package nl.svenkonings.jacomo.visitor;
 
+import nl.svenkonings.jacomo.elem.constraints.BoolExprConstraint;
 import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
+import nl.svenkonings.jacomo.elem.expressions.bool.relational.ReBoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.expressions.integer.nary.SumExpr;
+import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
 import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
 import nl.svenkonings.jacomo.model.Model;
 import nl.svenkonings.jacomo.util.ListUtil;
@@ -27,4 +31,82 @@ public class CheckerTest {
         assertEquals(ListUtil.of(IntVar.expression("x", IntVar.variable("y").div(IntExpr.constant(2)))), checked.getVars());
         assertTrue(checked.getConstraints().isEmpty());
     }
+
+    @Test
+    public void deepExpressionTest() {
+        Model model = new Model();
+        IntVar var = model.intVar("x", 0, 10);
+        IntExpr expr = var;
+        for (int i = 0; i < 50000; i++) {
+            expr = expr.sub(IntExpr.constant(1));
+        }
+        model.constraint(expr.ge(IntExpr.constant(-49995)));
+        Model checked = model.check();
+        assertEquals(1, checked.getConstraints().size());
+    }
+
+    @Test
+    public void flattenTest() {
+        IntVar x = IntVar.variable("x");
+        IntVar y = IntVar.variable("y");
+        IntVar z = IntVar.variable("z");
+        BoolVar a = BoolVar.variable("a");
+        BoolVar b = BoolVar.variable("b");
+        Model model = new Model();
+        model.constraint(x.add(y).add(IntExpr.sum(z, IntExpr.constant(0))).eq(x.min(y).min(x)));
+        model.constraint(a.and(BoolExpr.constant(true)).and(BoolExpr.all(b, a)));
+        Model checked = model.check();
+        assertEquals(ListUtil.of(
+                new BoolExprConstraint(IntExpr.sum(x, y, z).eq(IntExpr.minimum(x, y))),
+                new BoolExprConstraint(BoolExpr.all(a, b))
+        ), checked.getConstraints());
+    }
+
+    @Test
+    public void linearTest() {
+        IntVar x = IntVar.variable("x");
+        IntVar y = IntVar.variable("y");
+        IntVar z = IntVar.variable("z");
+        Model model = new Model();
+        IntExpr expr = IntExpr.constant(3).mul(x).add(y.mul(IntExpr.constant(5)))
+                .sub(IntExpr.constant(2).mul(z)).add(IntExpr.constant(1));
+        model.constraint(expr.eq(IntExpr.constant(0)));
+        model.constraint(x.add(y).sub(x).eq(z));
+        model.constraint(x.add(x).sub(x.mul(IntExpr.constant(2))).eq(IntExpr.constant(0)));
+        Model checked = model.check();
+        assertEquals(ListUtil.of(
+                new BoolExprConstraint(IntExpr.weightedSum(
+                        new IntExpr[]{x, y, z}, new int[]{3, 5, -2}, 1).eq(IntExpr.constant(0))),
+                new BoolExprConstraint(y.eq(z))
+        ), checked.getConstraints());
+    }
+
+    @Test
+    public void deepChainTest() {
+        IntExpr expr = IntVar.variable("x");
+        for (int i = 0; i < 50000; i++) {
+            expr = expr.add(IntVar.variable("x" + i));
+        }
+        Model model = new Model();
+        model.constraint(expr.ge(IntExpr.constant(0)));
+        Model checked = model.check();
+        ReBoolExpr reBoolExpr = (ReBoolExpr) ((BoolExprConstraint) checked.getConstraints().get(0)).getExpr();
+        assertEquals("SumExpr", reBoolExpr.getLeft().getType());
+        assertEquals(50001, ((SumExpr) reBoolExpr.getLeft()).size());
+    }
+
+    @Test
+    public void substituteTest() {
+        BoolVar a = BoolVar.variable("a");
+        BoolVar b = BoolVar.variable("b");
+        IntVar x = IntVar.variable("x");
+        BoolExpr expr = a.or(b.and(x.gt(IntExpr.constant(0))));
+        Checker checker = new Checker();
+        checker.substitute(a, BoolVar.constant("a", true));
+        assertEquals(BoolExpr.constant(true), checker.visit(expr));
+
+        checker.clear();
+        checker.substitute(b, BoolVar.constant("b", false));
+        assertEquals(a, checker.visit(expr));
+    }
 }
@@ -6,11 +6,13 @@
 
 package nl.svenkonings.jacomo.visitor;
 
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
 import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
 import nl.svenkonings.jacomo.model.Model;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
 public class ElemCopierTest {
 
@@ -25,4 +27,18 @@ public class ElemCopierTest {
         Model copy = model.copy();
         assertEquals(model, copy);
     }
+
+    @Test
+    public void deepExpressionTest() {
+        Model model = new Model();
+        IntVar var = model.intVar("x", 0, 10);
+        IntExpr expr = var;
+        for (int i = 0; i < 50000; i++) {
+            expr = expr.sub(IntExpr.constant(1));
+        }
+        model.constraint(expr.ge(IntExpr.constant(-49995)));
+        Model copy = model.copy();
+        assertEquals(1, copy.getConstraints().size());
+        assertNotSame(model.getConstraints().get(0), copy.getConstraints().get(0));
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.VarMap;
+
+import java.util.Random;
+
+/**
+ * Benchmark which measures the solve time of models built from products and
+ * sums of bounded vars, of which the solver translates the intermediate
+ * results to auxiliary vars.
+ * <p>
+ * The benchmarked model chooses pairs {@code x, y} in {@code 0..10} and a
+ * shared factor {@code z} in {@code 1..5}. The sum of the products
+ * {@code x * y} should reach a target, and the product {@code (x + y) * z} of
+ * every pair is limited, while a weighted sum is minimized. Every solution is
+ * verified against the constraints.
+ * <p>
+ * Usage: {@code ArithmeticBenchmark <solver class> [pairs] [rounds]}
+ */
+public final class ArithmeticBenchmark {
+
+    private ArithmeticBenchmark() {
+    }
+
+    /**
+     * Create the model with the specified number of pairs, of which the
+     * weights are generated using the specified seed.
+     *
+     * @param pairs the number of pairs
+     * @param seed  the seed of the weights
+     * @return the model
+     */
+    public static Model model(int pairs, int seed) {
+        Random random = new Random(seed);
+        Model model = new Model();
+        IntVar z = model.intVar("z", 1, 5);
+        IntExpr[] products = new IntExpr[pairs];
+        IntExpr[] terms = new IntExpr[2 * pairs + 1];
+        int[] weights = new int[2 * pairs + 1];
+        for (int i = 0; i < pairs; i++) {
+            IntVar x = model.intVar("x" + i, 0, 10);
+            IntVar y = model.intVar("y" + i, 0, 10);
+            products[i] = x.mul(y);
+            model.constraint(x.add(y).mul(z).le(IntExpr.constant(15)));
+            terms[2 * i] = x;
+            terms[2 * i + 1] = y;
+            weights[2 * i] = 1 + random.nextInt(9);
+            weights[2 * i + 1] = 1 + random.nextInt(9);
+        }
+        terms[2 * pairs] = z;
+        weights[2 * pairs] = -4 * pairs;
+        model.constraint(IntExpr.sum(products).ge(IntExpr.constant(20 * pairs)));
+        model.minimize(IntExpr.weightedSum(terms, weights));
+        return model;
+    }
+
+    /**
+     * Run the benchmark using the specified solver.
+     *
+     * @param solver the specified solver
+     * @param pairs  the number of pairs
+     * @param rounds the number of models to solve
+     * @return the total solve time in nanoseconds
+     * @throws IllegalStateException if a solve is not optimal or its solution violates the constraints
+     */
+    public static long run(Solver solver, int pairs, int rounds) throws IllegalStateException {
+        long time = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            SolveResult result = solver.optimize(model(pairs, round));
+            time += System.nanoTime() - start;
+            if (!result.isOptimal()) {
+                throw new IllegalStateException(String.format("Round %d: no optimal solution found, status %s",
+                        round, result.getStatus()));
+            }
+            verify(result.getSolution(), pairs, round);
+        }
+        return time;
+    }
+
+    private static void verify(VarMap solution, int pairs, int round) throws IllegalStateException {
+        int z = value(solution, "z");
+        int sum = 0;
+        for (int i = 0; i < pairs; i++) {
+            int x = value(solution, "x" + i);
+            int y = value(solution, "y" + i);
+            if ((x + y) * z > 15) {
+                throw new IllegalStateException(String.format("Round %d: (x%d + y%d) * z = %d", round, i, i, (x + y) * z));
+            }
+            sum += x * y;
+        }
+        if (sum < 20 * pairs) {
+            throw new IllegalStateException(String.format("Round %d: sum of products %d", round, sum));
+        }
+    }
+
+    private static int value(VarMap solution, String name) {
+        return ((IntVar) solution.getVar(name)).getValue();
+    }
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        if (args.length == 0) {
+            System.err.println("Usage: ArithmeticBenchmark <solver class> [pairs] [rounds]");
+            System.exit(1);
+        }
+        Solver solver = (Solver) Class.forName(args[0]).getConstructor().newInstance();
+        int pairs = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        // Warm up the JIT and the native libraries
+        run(solver, pairs, 2);
+        long time = run(solver, pairs, rounds);
+        System.out.printf("%s, %d pairs, %d rounds%n", solver.getClass().getSimpleName(), pairs, rounds);
+        System.out.printf("Solve time: %d ms%n", time / 1_000_000);
+    }
+}
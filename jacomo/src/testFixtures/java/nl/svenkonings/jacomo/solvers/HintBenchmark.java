@@ -0,0 +1,107 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package nl.svenkonings.jacomo.solvers;
+
+import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
+import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.model.Model;
+
+import java.util.Random;
+
+/**
+ * Benchmark which measures the effect of solution hints on re-solving
+ * slightly perturbed models, like a rescheduling loop does.
+ * <p>
+ * The benchmarked model is a knapsack problem. Every round, the value of one
+ * item is changed and the perturbed model is optimized twice: once without
+ * hint and once using the previous solution as hint. Both solves should find
+ * the same optimal value.
+ * <p>
+ * Usage: {@code HintBenchmark <solver class> [items] [rounds]}
+ */
+public final class HintBenchmark {
+
+    private HintBenchmark() {
+    }
+
+    /**
+     * Create the knapsack model with the specified number of items, of which
+     * the values have been perturbed the specified number of times.
+     *
+     * @param items        the number of items
+     * @param perturbation the number of perturbations
+     * @return the model
+     */
+    public static Model model(int items, int perturbation) {
+        Random random = new Random(items);
+        int[] weights = new int[items];
+        int[] values = new int[items];
+        int totalWeight = 0;
+        for (int i = 0; i < items; i++) {
+            weights[i] = 10 + random.nextInt(40);
+            values[i] = 10 + random.nextInt(40);
+            totalWeight += weights[i];
+        }
+        for (int i = 0; i < perturbation; i++) {
+            values[random.nextInt(items)] += random.nextInt(11) - 5;
+        }
+        Model model = new Model();
+        IntVar[] taken = new IntVar[items];
+        for (int i = 0; i < items; i++) {
+            taken[i] = model.intVar("item" + i, 0, 1);
+        }
+        model.constraint(IntExpr.weightedSum(taken, weights).le(IntExpr.constant(totalWeight / 2)));
+        model.maximize(IntExpr.weightedSum(taken, values));
+        return model;
+    }
+
+    /**
+     * Run the benchmark using the specified solver.
+     *
+     * @param solver the specified solver
+     * @param items  the number of items
+     * @param rounds the number of perturbed models to solve
+     * @return the total solve time without and with hint in nanoseconds
+     * @throws IllegalStateException if the solves find different optimal values
+     */
+    public static long[] run(Solver solver, int items, int rounds) throws IllegalStateException {
+        SolveResult previous = solver.optimize(model(items, 0));
+        long cold = 0;
+        long hinted = 0;
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            SolveResult coldResult = solver.optimize(model(items, round));
+            cold += System.nanoTime() - start;
+            start = System.nanoTime();
+            SolveResult hintedResult = solver.optimize(model(items, round), previous.getSolution(), null);
+            hinted += System.nanoTime() - start;
+            if (!coldResult.isOptimal() || !hintedResult.isOptimal()
+                    || !coldResult.getObjectiveValue().equals(hintedResult.getObjectiveValue())) {
+                throw new IllegalStateException(String.format("Round %d: optimal value without hint %s, with hint %s",
+                        round, coldResult.getObjectiveValue(), hintedResult.getObjectiveValue()));
+            }
+            previous = hintedResult;
+        }
+        return new long[]{cold, hinted};
+    }
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        if (args.length == 0) {
+            System.err.println("Usage: HintBenchmark <solver class> [items] [rounds]");
+            System.exit(1);
+        }
+        Solver solver = (Solver) Class.forName(args[0]).getConstructor().newInstance();
+        int items = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        // Warm up the JIT and the native libraries
+        run(solver, items, 2);
+        long[] times = run(solver, items, rounds);
+        System.out.printf("%s, %d items, %d rounds%n", solver.getClass().getSimpleName(), items, rounds);
+        System.out.printf("Without hint: %d ms%n", times[0] / 1_000_000);
+        System.out.printf("With hint:    %d ms%n", times[1] / 1_000_000);
+    }
+}
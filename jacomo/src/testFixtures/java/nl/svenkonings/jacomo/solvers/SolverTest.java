@@ -10,9 +10,29 @@ import nl.svenkonings.jacomo.elem.expressions.bool.BoolExpr;
 import nl.svenkonings.jacomo.elem.expressions.integer.IntExpr;
 import nl.svenkonings.jacomo.elem.variables.bool.BoolVar;
 import nl.svenkonings.jacomo.elem.variables.integer.IntVar;
+import nl.svenkonings.jacomo.exceptions.unchecked.InvalidInputException;
+import nl.svenkonings.jacomo.exceptions.unchecked.UnexpectedTypeException;
 import nl.svenkonings.jacomo.model.Model;
+import nl.svenkonings.jacomo.model.SearchStrategy;
+import nl.svenkonings.jacomo.model.ValueMap;
+import nl.svenkonings.jacomo.model.VarMap;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SuppressWarnings("ConstantConditions")
@@ -280,4 +300,720 @@ public interface SolverTest {
         assertTrue(var2.getValue());
         assertTrue(var3.getValue());
     }
+
+    @Test
+    default void solveSharedSubexpression() {
+        Model model = new Model();
+        BoolVar p = model.boolVar("p");
+        BoolVar q = model.boolVar("q");
+        BoolVar r = model.boolVar("r");
+        // Vars and disjunctions which occur in more than one top-level constraint
+        model.constraint(p);
+        model.constraint(p.and(q));
+        model.constraint(q.or(r));
+        model.constraint(q.or(r).and(r));
+        boolean result = getSolver().solveAndUpdate(model);
+
+        assertTrue(result);
+        assertTrue(p.getValue());
+        assertTrue(q.getValue());
+        assertTrue(r.getValue());
+    }
+
+    @Test
+    default void solveNegatedMinValue() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        // The negation of MIN_VALUE does not fit in an int. The checker decides these constraints, so they are not checked
+        model.constraint(IntExpr.constant(0).sub(x).ge(IntExpr.constant(Integer.MIN_VALUE)));
+        assertNotNull(getSolver().solveUnchecked(model));
+        model.constraint(IntExpr.constant(0).sub(x).le(IntExpr.constant(Integer.MIN_VALUE)));
+        assertNull(getSolver().solveUnchecked(model));
+    }
+
+    @Test
+    default void solveDeepExpression() {
+        Model model = new Model();
+        IntVar var1 = model.intVar(0, 10);
+        IntExpr expr = var1;
+        for (int i = 0; i < 1000; i++) {
+            expr = expr.sub(IntExpr.constant(1));
+        }
+        IntExpr sum = var1;
+        for (int i = 0; i < 10000; i++) {
+            sum = sum.add(IntExpr.constant(1));
+        }
+        model.constraint(expr.eq(IntExpr.constant(-997)));
+        IntVar var2 = model.intVar(sum);
+        boolean result = getSolver().solveAndUpdate(model);
+
+        assertTrue(result);
+        assertEquals(3, var1.getValue());
+        assertEquals(10003, var2.getValue());
+    }
+
+    @Test
+    default void solveNarySum() {
+        Model model = new Model();
+        IntExpr[] exprs = new IntExpr[1000];
+        for (int i = 0; i < exprs.length; i++) {
+            exprs[i] = model.intVar(0, 1);
+        }
+        IntVar var1 = model.intVar(IntExpr.sum(exprs));
+        model.constraint(var1.eq(IntExpr.constant(500)));
+        boolean result = getSolver().solveAndUpdate(model);
+
+        assertTrue(result);
+        int sum = 0;
+        for (IntExpr expr : exprs) {
+            sum += expr.getValue();
+        }
+        assertEquals(500, sum);
+    }
+
+    @Test
+    default void solveWeightedSum() {
+        Model model = new Model();
+        IntVar var1 = model.intVar(0, 10);
+        IntVar var2 = model.intVar(0, 10);
+        IntVar var3 = model.intVar(0, 10);
+        IntVar sum = model.intVar(IntExpr.weightedSum(new IntExpr[]{var1, var2, var3}, new int[]{3, -2, 5}, 1));
+        model.constraint(sum.eq(IntExpr.constant(42)));
+        model.constraint(var1.add(var1).sub(var2).eq(IntExpr.constant(8)));
+        model.constraint(var3.gt(IntExpr.constant(5)));
+        boolean result = getSolver().solveAndUpdate(model);
+
+        assertTrue(result);
+        assertEquals(42, 3 * var1.getValue() - 2 * var2.getValue() + 5 * var3.getValue() + 1);
+        assertEquals(8, 2 * var1.getValue() - var2.getValue());
+        assertTrue(var3.getValue() > 5);
+    }
+
+    @Test
+    default void solveNaryMinMax() {
+        Model model = new Model();
+        IntVar var1 = model.intVar(2, 4);
+        IntVar var2 = model.intVar(3, 6);
+        IntVar var3 = model.intVar(1, 8);
+        IntVar min = model.intVar(IntExpr.minimum(var1, var2, var3));
+        IntVar max = model.intVar(IntExpr.maximum(var1, var2, var3));
+        model.constraint(min.eq(IntExpr.constant(3)));
+        model.constraint(max.eq(IntExpr.constant(3)));
+        boolean result = getSolver().solveAndUpdate(model);
+
+        assertTrue(result);
+        assertEquals(3, var1.getValue());
+        assertEquals(3, var2.getValue());
+        assertEquals(3, var3.getValue());
+    }
+
+    @Test
+    default void solveNaryAndOr() {
+        Model model = new Model();
+        BoolVar var1 = model.boolVar();
+        BoolVar var2 = model.boolVar();
+        BoolVar var3 = model.boolVar();
+        BoolVar or = model.boolVar(BoolExpr.any(var1, var2, var3));
+        model.constraint(BoolExpr.all(or, var1.not(), var2.not()));
+        boolean result = getSolver().solveAndUpdate(model);
+
+        assertTrue(result);
+        assertFalse(var1.getValue());
+        assertFalse(var2.getValue());
+        assertTrue(var3.getValue());
+        assertTrue(or.getValue());
+    }
+
+    @Test
+    default void enumerateSolutions() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 3);
+        IntVar y = model.intVar("y", 0, 3);
+        model.constraint(x.lt(y));
+        List<VarMap> solutions;
+        try (Stream<VarMap> stream = getSolver().solutions(model)) {
+            solutions = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(6, solutions.size());
+        Set<List<Object>> values = new HashSet<>();
+        for (VarMap solution : solutions) {
+            int xValue = ((IntVar) solution.getVar("x")).getValue();
+            int yValue = ((IntVar) solution.getVar("y")).getValue();
+            assertTrue(0 <= xValue && xValue < yValue && yValue <= 3);
+            values.add(Arrays.asList(xValue, yValue));
+        }
+        assertEquals(6, values.size());
+        assertNull(x.getValue());
+    }
+
+    @Test
+    default void enumerateLinearRelations() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        IntVar z = model.intVar("z", 0, 5);
+        model.constraint(x.mul(IntExpr.constant(2)).add(y).sub(z).ge(IntExpr.constant(4)));
+        model.constraint(x.gt(y).not());
+        model.constraint(x.ne(IntExpr.constant(4)).and(y.add(z).le(IntExpr.constant(8))));
+        model.constraint(z.lt(IntExpr.constant(1)).or(z.gt(IntExpr.constant(3))).not());
+        model.constraint(x.eq(y).or(x.eq(IntExpr.constant(0))));
+        model.constraint(IntExpr.sum(x, y, z).ne(IntExpr.constant(7)));
+        model.constraint(IntExpr.weightedSum(new IntExpr[]{x, y, z}, new int[]{3, -2, 1}).le(IntExpr.constant(6)));
+        model.constraint(IntExpr.weightedSum(new IntExpr[]{x, z}, new int[]{1, 1}).eq(IntExpr.constant(5)).not());
+        Set<List<Integer>> values;
+        try (Stream<VarMap> stream = getSolver().solutions(model)) {
+            values = stream.map(solution -> Arrays.asList(((IntVar) solution.getVar("x")).getValue(),
+                            ((IntVar) solution.getVar("y")).getValue(), ((IntVar) solution.getVar("z")).getValue()))
+                    .collect(Collectors.toSet());
+        }
+
+        Set<List<Integer>> expected = new HashSet<>();
+        for (int xValue = 0; xValue <= 5; xValue++) {
+            for (int yValue = 0; yValue <= 5; yValue++) {
+                for (int zValue = 1; zValue <= 3; zValue++) {
+                    if (2 * xValue + yValue - zValue >= 4 && xValue <= yValue && xValue != 4 && yValue + zValue <= 8
+                            && (xValue == yValue || xValue == 0) && xValue + yValue + zValue != 7
+                            && 3 * xValue - 2 * yValue + zValue <= 6 && xValue + zValue != 5) {
+                        expected.add(Arrays.asList(xValue, yValue, zValue));
+                    }
+                }
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, values);
+    }
+
+    @Test
+    default void enumerateLinearOperands() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 4);
+        IntVar y = model.intVar("y", -2, 2);
+        IntVar z = model.intVar("z", 0, 4);
+        IntVar sum = model.intVar("sum", x.add(y.mul(IntExpr.constant(2))).sub(IntExpr.constant(1)));
+        // Linear expressions as operands of products, minima and other linear expressions
+        model.constraint(sum.mul(z.sub(x)).ge(IntExpr.constant(-2)));
+        model.constraint(IntExpr.minimum(x.add(y), z.mul(IntExpr.constant(2))).le(IntExpr.constant(3)));
+        model.constraint(IntExpr.constant(3).mul(sum.add(z)).ne(IntExpr.constant(6)));
+        Set<List<Integer>> values;
+        try (Stream<VarMap> stream = getSolver().solutions(model)) {
+            values = stream.map(solution -> Arrays.asList(((IntVar) solution.getVar("x")).getValue(),
+                            ((IntVar) solution.getVar("y")).getValue(), ((IntVar) solution.getVar("z")).getValue(),
+                            ((IntVar) solution.getVar("sum")).getValue()))
+                    .collect(Collectors.toSet());
+        }
+
+        Set<List<Integer>> expected = new HashSet<>();
+        for (int xValue = 0; xValue <= 4; xValue++) {
+            for (int yValue = -2; yValue <= 2; yValue++) {
+                for (int zValue = 0; zValue <= 4; zValue++) {
+                    int sumValue = xValue + 2 * yValue - 1;
+                    if (sumValue * (zValue - xValue) >= -2 && Math.min(xValue + yValue, 2 * zValue) <= 3
+                            && 3 * (sumValue + zValue) != 6) {
+                        expected.add(Arrays.asList(xValue, yValue, zValue, sumValue));
+                    }
+                }
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, values);
+
+        model.maximize(sum.mul(IntExpr.constant(3)).add(z));
+        int best = expected.stream().mapToInt(value -> 3 * value.get(3) + value.get(2)).max().getAsInt();
+        assertEquals((long) best, getSolver().optimize(model).getObjectiveValue());
+    }
+
+    @Test
+    default void enumerateSolutionsLimit() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 100);
+        IntVar y = model.intVar("y", 0, 100);
+        model.constraint(x.ne(y));
+        try (Stream<VarMap> stream = getSolver().solutions(model, 3)) {
+            assertEquals(3L, stream.count());
+        }
+        // Closing a partially consumed stream stops the search
+        try (Stream<VarMap> stream = getSolver().solutions(model)) {
+            assertEquals(2L, stream.limit(2).count());
+        }
+        assertThrows(RuntimeException.class, () -> getSolver().solutions(model, -1));
+    }
+
+    @Test
+    default void enumerateNoSolutions() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 3);
+        IntVar y = model.intVar("y", 0, 3);
+        model.constraint(x.add(y).eq(IntExpr.constant(3)));
+        model.constraint(x.eq(y));
+        try (Stream<VarMap> stream = getSolver().solutions(model)) {
+            assertEquals(0L, stream.count());
+        }
+    }
+
+    @Test
+    default void enumerateManySolutions() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 99);
+        IntVar y = model.intVar("y", 0, 99);
+        model.constraint(x.ne(y));
+        Set<List<Integer>> values = new HashSet<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            try (Stream<VarMap> stream = getSolver().solutions(model)) {
+                stream.forEach(solution -> values.add(Arrays.asList(
+                        ((IntVar) solution.getVar("x")).getValue(),
+                        ((IntVar) solution.getVar("y")).getValue())));
+            }
+        });
+        assertEquals(9900, values.size());
+    }
+
+    @Test
+    default void optimizeMinimize() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.add(y).ge(IntExpr.constant(7)));
+        model.minimize(IntExpr.weightedSum(new IntExpr[]{x, y}, new int[]{2, 3}));
+        List<Long> improvements = new ArrayList<>();
+        SolveResult result = getSolver().optimize(model, improvement -> improvements.add(improvement.getObjectiveValue()));
+
+        assertTrue(result.hasSolution());
+        assertTrue(result.isOptimal());
+        assertEquals(14L, result.getObjectiveValue());
+        assertEquals(14L, result.getObjectiveBound());
+        assertEquals(0.0, result.getGap());
+        assertEquals(7, ((IntVar) result.getSolution().getVar("x")).getValue());
+        assertEquals(0, ((IntVar) result.getSolution().getVar("y")).getValue());
+        assertFalse(improvements.isEmpty());
+        for (int i = 1; i < improvements.size(); i++) {
+            assertTrue(improvements.get(i) < improvements.get(i - 1));
+        }
+        assertEquals(14L, improvements.get(improvements.size() - 1));
+    }
+
+    @Test
+    default void optimizeMaximize() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.add(y).le(IntExpr.constant(12)));
+        model.constraint(x.sub(y).le(IntExpr.constant(2)));
+        model.maximize(x.add(y.mul(IntExpr.constant(2))));
+        SolveResult result = getSolver().optimize(model);
+
+        assertTrue(result.isOptimal());
+        assertEquals(22L, result.getObjectiveValue());
+        assertEquals(2, ((IntVar) result.getSolution().getVar("x")).getValue());
+        assertEquals(10, ((IntVar) result.getSolution().getVar("y")).getValue());
+
+        // Solving a model with an objective returns the best solution
+        assertTrue(getSolver().solveAndUpdate(model));
+        assertEquals(2, x.getValue());
+        assertEquals(10, y.getValue());
+    }
+
+    @Test
+    default void optimizeNoSolution() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 3);
+        IntVar y = model.intVar("y", 0, 3);
+        model.constraint(x.add(y).eq(IntExpr.constant(3)));
+        model.constraint(x.eq(y));
+        model.minimize(x);
+        SolveResult result = getSolver().optimize(model);
+
+        assertFalse(result.hasSolution());
+        assertFalse(result.isOptimal());
+        assertEquals(SolveStatus.INFEASIBLE, result.getStatus());
+        assertNull(result.getObjectiveValue());
+        assertNull(result.getGap());
+    }
+
+    @Test
+    default void optimizeStatistics() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.add(y).ge(IntExpr.constant(7)));
+        model.minimize(IntExpr.weightedSum(new IntExpr[]{x, y}, new int[]{2, 3}));
+        Solver solver = getSolver();
+        assertFalse(solver.isPresolve());
+        SolveResult result = solver.optimize(model);
+        assertEquals(SolveStatus.OPTIMAL, result.getStatus());
+
+        solver.setPresolve(true);
+        assertTrue(solver.isPresolve());
+        assertTrue(solver.withWorkers(1).isPresolve());
+        result = solver.optimize(model);
+        assertEquals(SolveStatus.OPTIMAL, result.getStatus());
+        SolveStatistics statistics = result.getStatistics();
+        assertTrue(statistics.getCheckTime() > 0);
+        assertTrue(statistics.getPresolveTime() > 0);
+        assertTrue(statistics.getTranslationTime() > 0);
+        assertTrue(statistics.getSearchTime() > 0);
+        assertEquals(statistics.getCheckTime() + statistics.getPresolveTime() + statistics.getTranslationTime()
+                + statistics.getSearchTime(), statistics.getTotalTime());
+        assertFalse(statistics.getCounters().isEmpty());
+        statistics.getCounters().values().forEach(counter -> assertTrue(counter >= 0));
+
+        // The presolve proves that there is no solution, so the model is not translated
+        model.constraint(x.le(IntExpr.constant(2)));
+        model.constraint(y.le(IntExpr.constant(2)));
+        result = solver.optimize(model);
+        assertEquals(SolveStatus.INFEASIBLE, result.getStatus());
+        assertEquals(0, result.getStatistics().getTranslationTime());
+        assertTrue(result.getStatistics().getPresolveTime() > 0);
+
+        Model satisfiable = new Model();
+        satisfiable.intVar("z", 0, 3);
+        assertEquals(SolveStatus.OPTIMAL, getSolver().optimize(satisfiable).getStatus());
+    }
+
+    @Test
+    default void optimizeWithoutObjective() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 3);
+        model.constraint(x.ge(IntExpr.constant(2)));
+        SolveResult result = getSolver().optimize(model);
+
+        assertTrue(result.hasSolution());
+        assertTrue(result.isOptimal());
+        assertNull(result.getObjectiveValue());
+        assertTrue(((IntVar) result.getSolution().getVar("x")).getValue() >= 2);
+    }
+
+    @Test
+    default void optimizeWithHint() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        BoolVar b = model.boolVar("b");
+        model.constraint(x.add(y).ge(IntExpr.constant(7)));
+        model.constraint(b.not().or(y.ge(IntExpr.constant(2))));
+        model.minimize(IntExpr.weightedSum(new IntExpr[]{x, y}, new int[]{2, 3}));
+        VarMap hint = new VarMap();
+        hint.add(IntVar.constant("x", 3));
+        hint.add(IntVar.constant("y", 4));
+        hint.add(BoolVar.constant("b", true));
+        SolveResult result = getSolver().optimize(model, hint, null);
+
+        // The hint is not optimal, but the search continues to the optimum
+        assertTrue(result.isOptimal());
+        assertEquals(14L, result.getObjectiveValue());
+        assertEquals(7, ((IntVar) result.getSolution().getVar("x")).getValue());
+
+        // Infeasible values, values outside the domain and unknown vars are ignored
+        model.constraint(b);
+        hint = new VarMap();
+        hint.add(IntVar.constant("x", 20));
+        hint.add(IntVar.constant("y", 0));
+        hint.add(BoolVar.constant("b", false));
+        hint.add(IntVar.constant("z", 1));
+        assertEquals(16L, getSolver().optimize(model, hint, null).getObjectiveValue());
+        VarMap solution = getSolver().solve(model, result.getSolution());
+        assertEquals(Boolean.TRUE, solution.getVar("b").getValue());
+
+        // Re-solving perturbed models using the previous solution finds the same optimum
+        long[] times = HintBenchmark.run(getSolver(), 12, 3);
+        assertEquals(2, times.length);
+    }
+
+    @Test
+    default void solveMixedSignArithmetic() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -5, 3);
+        IntVar y = model.intVar("y", -4, 6);
+        model.constraint(x.mul(y).add(IntExpr.maximum(x, y)).sub(IntExpr.minimum(x, y)).ge(IntExpr.constant(4)));
+        long expected = 0;
+        for (int i = -5; i <= 3; i++) {
+            for (int j = -4; j <= 6; j++) {
+                if (i * j + Math.max(i, j) - Math.min(i, j) >= 4) {
+                    expected++;
+                }
+            }
+        }
+        try (Stream<VarMap> stream = getSolver().solutions(model)) {
+            assertEquals(expected, stream.count());
+        }
+
+        model.maximize(x.mul(y));
+        assertEquals(20L, getSolver().optimize(model).getObjectiveValue());
+        model.minimize(IntExpr.weightedSum(new IntExpr[]{x.mul(y), x}, new int[]{3, -2}, 7));
+        assertEquals(7L, getSolver().optimize(model).getObjectiveValue());
+
+        // Products and sums of bounded vars are solved to optimality
+        assertTrue(ArithmeticBenchmark.run(getSolver(), 3, 2) > 0);
+    }
+
+    @Test
+    default void solveProjected() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        IntVar unnamed = model.intVar(0, 10);
+        BoolVar b = model.boolVar("b");
+        model.constraint(x.add(y).add(unnamed).eq(IntExpr.constant(12)));
+        model.constraint(x.ge(IntExpr.constant(8)));
+        model.constraint(b.not().or(y.gt(unnamed)));
+        model.constraint(b.or(y.le(unnamed)));
+        ValueMap values = getSolver().solve(model, Projection.of("x"));
+        assertEquals(1, values.size());
+        assertTrue(values.getInt("x") >= 8);
+        assertFalse(values.containsVar("y"));
+        assertThrows(InvalidInputException.class, () -> values.getInt("y"));
+        assertThrows(UnexpectedTypeException.class, () -> values.getBool("x"));
+
+        // Only the vars with a user-defined name are included
+        ValueMap named = getSolver().solve(model, Projection.namedVars());
+        assertEquals(Arrays.asList("x", "y", "b"), named.getIndex().getNames());
+        assertEquals(named.getInt("y") > 12 - named.getInt("x") - named.getInt("y"), named.getBool("b"));
+
+        model.maximize(y);
+        List<SolveResult> improvements = new ArrayList<>();
+        SolveResult result = getSolver().optimize(model, null, Projection.of("y", "b", "z"), improvements::add);
+        assertTrue(result.isOptimal());
+        assertEquals(4L, result.getObjectiveValue());
+        assertEquals(Arrays.asList("y", "b"), result.getValues().getIndex().getNames());
+        assertEquals(4, result.getValues().getInt("y"));
+        assertEquals(Boolean.TRUE, result.getSolution().getVar("b").getValue());
+        assertNull(result.getSolution().getVar("x"));
+        assertFalse(improvements.isEmpty());
+        improvements.forEach(improvement -> assertEquals(2, improvement.getValues().size()));
+
+        model.constraint(x.add(y).gt(IntExpr.constant(12)));
+        assertNull(getSolver().solve(model, Projection.namedVars()));
+    }
+
+    @Test
+    default void solveWithSearchStrategy() {
+        for (SearchStrategy.VarSelection varSelection : SearchStrategy.VarSelection.values()) {
+            for (SearchStrategy.ValueSelection valueSelection : SearchStrategy.ValueSelection.values()) {
+                Model model = new Model();
+                IntVar x = model.intVar("x", 0, 10);
+                IntVar y = model.intVar("y", 0, 10);
+                IntVar z = model.intVar("z", 0, 10);
+                model.constraint(x.add(y).add(z).eq(IntExpr.constant(15)));
+                model.constraint(x.ne(y));
+                model.setSearchStrategy(SearchStrategy.of(varSelection, valueSelection, z, x));
+                VarMap solution = getSolver().solve(model);
+                assertNotNull(solution);
+                IntVar solvedX = (IntVar) solution.getVar("x");
+                IntVar solvedY = (IntVar) solution.getVar("y");
+                IntVar solvedZ = (IntVar) solution.getVar("z");
+                assertEquals(15, solvedX.getValue() + solvedY.getValue() + solvedZ.getValue());
+                assertNotEquals(solvedX.getValue(), solvedY.getValue());
+
+                model.maximize(IntExpr.weightedSum(new IntExpr[]{x, y, z}, new int[]{2, -1, 3}));
+                SolveResult result = getSolver().optimize(model);
+                assertTrue(result.isOptimal(), model.getSearchStrategy().toString());
+                assertEquals(40L, result.getObjectiveValue());
+            }
+        }
+
+        // Restarts and last conflict reasoning do not change the solutions
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.add(y).le(IntExpr.constant(3)));
+        model.constraint(x.ne(y));
+        SearchStrategy strategy = new SearchStrategy(Collections.emptyList(), SearchStrategy.VarSelection.DOM_OVER_WDEG,
+                SearchStrategy.ValueSelection.MIN_VALUE).withLastConflict(true);
+        model.setSearchStrategy(strategy.withRestarts(SearchStrategy.Restarts.luby(10)));
+        try (Stream<VarMap> stream = getSolver().solutions(model)) {
+            assertEquals(8, stream.count());
+        }
+        model.setSearchStrategy(strategy.withRestarts(SearchStrategy.Restarts.geometric(10, 1.5)));
+        model.minimize(y.sub(x));
+        SolveResult result = getSolver().optimize(model);
+        assertTrue(result.isOptimal());
+        assertEquals(-3L, result.getObjectiveValue());
+    }
+
+    @Test
+    default void solveAsync() throws Exception {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.add(y).ge(IntExpr.constant(7)));
+        model.minimize(IntExpr.weightedSum(new IntExpr[]{x, y}, new int[]{2, 3}));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<SolveResult> future = getSolver().solveAsync(model, executor);
+            // The model is copied, so changing it does not affect the running solve
+            model.constraint(x.le(IntExpr.constant(3)));
+            SolveResult result = future.get(60, TimeUnit.SECONDS);
+            assertTrue(result.isOptimal());
+            assertEquals(14L, result.getObjectiveValue());
+            assertFalse(x.hasValue());
+
+            model.constraint(y.lt(IntExpr.constant(4)));
+            assertFalse(getSolver().solveAsync(model, executor).get(60, TimeUnit.SECONDS).hasSolution());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    default void solveAsyncCancel() throws Exception {
+        // Proving the optimality of a Golomb ruler with 13 marks takes very long
+        int marks = 13;
+        Model model = new Model();
+        IntVar[] ruler = new IntVar[marks];
+        List<IntExpr> distances = new ArrayList<>();
+        for (int i = 0; i < marks; i++) {
+            ruler[i] = model.intVar(0, 200);
+            if (i > 0) {
+                model.constraint(ruler[i].gt(ruler[i - 1]));
+            }
+            for (int j = 0; j < i; j++) {
+                IntExpr distance = ruler[i].sub(ruler[j]);
+                for (IntExpr other : distances) {
+                    model.constraint(distance.ne(other));
+                }
+                distances.add(distance);
+            }
+        }
+        model.constraint(ruler[0].eq(IntExpr.constant(0)));
+        model.minimize(ruler[marks - 1]);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<SolveResult> future = getSolver().solveAsync(model, executor);
+            Thread.sleep(500);
+            assertFalse(future.isDone());
+            assertTrue(future.cancel(true));
+            assertThrows(CancellationException.class, future::join);
+            // The executor thread is only released when the search has stopped
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> executor.submit(() -> {
+            }).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    default void solveAll() {
+        List<Model> models = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Model model = new Model();
+            IntVar x = model.intVar("x", 0, 100);
+            IntVar y = model.intVar("y", 0, 100);
+            model.constraint(x.add(y).ge(IntExpr.constant(i)));
+            if (i % 5 == 0) {
+                // Infeasible, since x + y is at most 30
+                model.constraint(x.add(y).le(IntExpr.constant(30)));
+                model.constraint(x.ge(IntExpr.constant(31)));
+            }
+            model.minimize(x.add(y.mul(IntExpr.constant(2))));
+            models.add(model);
+        }
+        List<SolveResult> results = getSolver().solveAll(models);
+
+        assertEquals(models.size(), results.size());
+        for (int i = 0; i < models.size(); i++) {
+            SolveResult result = results.get(i);
+            if (i % 5 == 0) {
+                assertFalse(result.hasSolution());
+            } else {
+                assertTrue(result.isOptimal());
+                assertEquals((long) i, result.getObjectiveValue());
+                assertEquals(i, ((IntVar) result.getSolution().getVar("x")).getValue());
+            }
+        }
+    }
+
+    @Test
+    default void solveAllCompletion() {
+        List<Model> models = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Model model = new Model();
+            IntVar x = model.intVar("x", 0, 100);
+            model.constraint(x.eq(IntExpr.constant(i)));
+            // Every fourth model is large enough to be solved using all workers
+            for (int j = 0; j < (i % 4 == 0 ? 10 : 0); j++) {
+                IntVar y = model.intVar(0, 100);
+                model.constraint(y.gt(x));
+            }
+            models.add(model);
+        }
+        BatchSolver batchSolver = new BatchSolver(getSolver());
+        batchSolver.setWorkers(4);
+        batchSolver.setPortfolioThreshold(10);
+        int[] values = new int[models.size()];
+        Arrays.fill(values, -1);
+        batchSolver.solveAll(models, (result, index) -> {
+            assertEquals(-1, values[index]);
+            values[index] = ((IntVar) result.getSolution().getVar("x")).getValue();
+        });
+        for (int i = 0; i < models.size(); i++) {
+            assertEquals(i, values[i]);
+        }
+        assertThrows(RuntimeException.class, () -> batchSolver.setPortfolioThreshold(-1));
+    }
+
+    @Test
+    default void prepareParameters() {
+        Model model = new Model();
+        IntVar p = model.intVar("p", 0, 30);
+        BoolVar b = model.boolVar("b");
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 0, 10);
+        model.constraint(x.add(y).eq(p));
+        model.constraint(x.ge(y));
+        model.constraint(b.not().or(x.ge(IntExpr.constant(8))));
+        model.minimize(x);
+        PreparedModel prepared = getSolver().prepare(model, p, b);
+        assertEquals(new HashSet<>(Arrays.asList("p", "b")), prepared.getParameterNames());
+
+        prepared.bind(b, false);
+        for (int value = 0; value <= 20; value++) {
+            prepared.bind(p, value);
+            SolveResult result = prepared.optimize(null);
+            assertTrue(result.isOptimal());
+            assertEquals((long) (value + 1) / 2, result.getObjectiveValue());
+            assertEquals(value, ((IntVar) result.getSolution().getVar("p")).getValue());
+        }
+        prepared.bind(b, true);
+        prepared.bind(p, 9);
+        assertEquals(8L, prepared.optimize(null).getObjectiveValue());
+        assertEquals(Boolean.TRUE, prepared.solve().getVar("b").getValue());
+
+        // Values which are infeasible or outside the domain have no solution
+        prepared.bind(p, 25);
+        assertFalse(prepared.optimize(null).hasSolution());
+        prepared.bind(p, 40);
+        assertNull(prepared.solve());
+
+        prepared.unbind("p");
+        prepared.unbind("b");
+        assertEquals(0L, prepared.optimize(null).getObjectiveValue());
+        assertThrows(RuntimeException.class, () -> prepared.bind(x, 3));
+        assertThrows(RuntimeException.class, () -> prepared.bind("p", true));
+        assertThrows(RuntimeException.class, () -> getSolver().prepare(model, model.intVar(3)));
+    }
+
+    @Test
+    default void prepareWithoutObjective() {
+        Model model = new Model();
+        IntVar p = model.intVar("p", 0, 10);
+        IntVar x = model.intVar("x", 0, 10);
+        model.constraint(x.mul(IntExpr.constant(2)).eq(p));
+        PreparedModel prepared = getSolver().prepare(model, p);
+        for (int value = 0; value <= 10; value++) {
+            prepared.bind(p, value);
+            VarMap result = prepared.solve();
+            if (value % 2 == 0) {
+                assertEquals(value / 2, ((IntVar) result.getVar("x")).getValue());
+            } else {
+                assertNull(result);
+            }
+        }
+
+        // The solver proves that there is no solution
+        model.constraint(x.ge(IntExpr.constant(6)));
+        model.constraint(x.le(IntExpr.constant(5)));
+        PreparedModel infeasible = getSolver().prepare(model, p);
+        infeasible.bind(p, 4);
+        assertNull(infeasible.solve());
+    }
 }